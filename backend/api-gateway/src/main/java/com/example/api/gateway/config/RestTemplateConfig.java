@@ -1,5 +1,6 @@
 package com.example.api.gateway.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,9 +11,17 @@ import java.time.Duration;
 @Configuration
 public class RestTemplateConfig {
 
+    // built from the auto-configured builder so calls are observed (client spans, traceparent header).
+    // the read timeout bounds a hung downstream so its bulkhead permits come back (it is per read, so long
+    // streamed downloads are unaffected)
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+            @Value("${gateway.downstream.connect-timeout-ms:2000}") long connectTimeoutMs,
+            @Value("${gateway.downstream.read-timeout-ms:30000}") long readTimeoutMs) {
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .build();
     }
 
-}
\ No newline at end of file
+}
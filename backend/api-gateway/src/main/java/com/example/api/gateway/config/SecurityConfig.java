@@ -66,12 +66,15 @@ public class SecurityConfig { // sets up jwt inspection, cors, http headers to a
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/actuator/health").permitAll()
+                        // prometheus scrapes without a jwt; meters carry route templates only, no user data
+                        .requestMatchers("/actuator/prometheus").permitAll()
                         .requestMatchers("/error").permitAll()
                         .requestMatchers("/v3/api-docs/**").permitAll()
                         .requestMatchers("/swagger-ui.html", "/swagger-ui/**").permitAll()
                         .requestMatchers("/admin/test-update-tariffs").permitAll()
                         // admin-only endpoints
                         .requestMatchers(HttpMethod.POST, "/api/tariff-definitions/modified").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/tariff-definitions/modified/import").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/tariff-definitions/modified/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/tariff-definitions/modified/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.DELETE, "/api/tariff-definitions/global").hasRole("ADMIN")
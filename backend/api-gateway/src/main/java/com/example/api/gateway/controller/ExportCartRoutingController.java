@@ -54,6 +54,21 @@ public class ExportCartRoutingController {
         return routingService.forwardRequest(targetUrl, HttpMethod.POST, entity, Object.class);
     }
 
+    // POST /api/export-cart/add -> add several calculations to cart
+    @PostMapping("/add")
+    public ResponseEntity<?> addAllToCart(
+            @RequestBody List<String> calculationIds,
+            HttpServletRequest request) {
+        String queryString = request.getQueryString();
+        HttpEntity<?> entity = routingService.createHttpEntity(request, calculationIds);
+        String targetUrl = routingService.buildTargetUrl(
+            routingService.getCsvExportUrl(), 
+            "/api/export-cart/add", 
+            queryString
+        );
+        return routingService.forwardRequest(targetUrl, HttpMethod.POST, entity, Object.class);
+    }
+
     // DELETE /api/export-cart/remove/{id} -> remove item from cart
     @DeleteMapping("/remove/{calculationId}")
     public ResponseEntity<?> removeFromCart(
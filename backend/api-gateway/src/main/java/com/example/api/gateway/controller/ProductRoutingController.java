@@ -54,5 +54,19 @@ public class ProductRoutingController {
         ResponseEntity<?> response = routingService.forwardRequest(targetUrl, HttpMethod.GET, entity, Object.class);
         return (ResponseEntity<List<String>>) response;
     }
-}
 
+    // GET /api/typeahead -> ranked product, hs code and country suggestions
+    @GetMapping("/typeahead")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<List<Object>> getTypeahead(HttpServletRequest request) {
+        String queryString = request.getQueryString();
+        HttpEntity<?> entity = routingService.createHttpEntity(request, null);
+        String targetUrl = routingService.buildTargetUrl(
+            routingService.getProductServiceUrl(), 
+            "/api/typeahead", 
+            queryString
+        );
+        ResponseEntity<?> response = routingService.forwardRequest(targetUrl, HttpMethod.GET, entity, Object.class);
+        return (ResponseEntity<List<Object>>) response;
+    }
+}
@@ -65,6 +65,19 @@ public class TariffRoutingController {
         return routingService.forwardRequest(targetUrl, HttpMethod.GET, entity, Object.class);
     }
 
+    // GET /api/tariffs/stream -> proxy NDJSON tariff dump without buffering it
+    @GetMapping("/tariffs/stream")
+    public void streamTariffs(HttpServletRequest request, jakarta.servlet.http.HttpServletResponse response) {
+        String queryString = request.getQueryString();
+        HttpEntity<?> entity = routingService.createHttpEntity(request, null);
+        String targetUrl = routingService.buildTargetUrl(
+                routingService.getTariffCalculatorUrl(),
+                "/api/tariffs/stream",
+                queryString
+        );
+        routingService.streamRequest(targetUrl, HttpMethod.GET, entity, response);
+    }
+
     @GetMapping("/tariffs/country/{country}")
     public ResponseEntity<?> getTariffsByCountry(
             @PathVariable String country,
@@ -254,6 +267,23 @@ public class TariffRoutingController {
         return (ResponseEntity<Map<String, Object>>) response;
     }
 
+    // POST /api/tariff-definitions/modified/import -> bulk admin import (raw csv / json file body)
+    @PostMapping("/tariff-definitions/modified/import")
+    @SuppressWarnings("unchecked")
+    public ResponseEntity<Map<String, Object>> importModifiedTariffDefinitions(
+            @RequestBody byte[] body,
+            HttpServletRequest request) {
+        String queryString = request.getQueryString();
+        HttpEntity<?> entity = routingService.createHttpEntity(request, body);
+        String targetUrl = routingService.buildTargetUrl(
+            routingService.getGlobalTariffsUrl(), 
+            "/api/tariff-definitions/modified/import", 
+            queryString
+        );
+        ResponseEntity<?> response = routingService.forwardRequest(targetUrl, HttpMethod.POST, entity, Object.class);
+        return (ResponseEntity<Map<String, Object>>) response;
+    }
+
     // PUT /api/tariff-definitions/modified/{id} -> update admin definition
     @PutMapping("/tariff-definitions/modified/{id}")
     @SuppressWarnings("unchecked")
@@ -302,7 +332,7 @@ public class TariffRoutingController {
         return routingService.forwardRequest(targetUrl, HttpMethod.DELETE, entity, Object.class);
     }
 
-    // GET /api/tariff-definitions/export -> proxy csv export
+    // GET /api/tariff-definitions/export -> proxy streamed csv / csv.gz export
     @GetMapping("/tariff-definitions/export")
     public void exportTariffDefinitions(HttpServletRequest request, jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
         String queryString = request.getQueryString();
@@ -313,19 +343,8 @@ public class TariffRoutingController {
             queryString
         );
         
-        org.springframework.http.ResponseEntity<byte[]> responseEntity = routingService.forwardRequest(
-            targetUrl, 
-            HttpMethod.GET, 
-            entity, 
-            byte[].class
-        );
-        
-        if (responseEntity.getBody() != null) {
-            response.setContentType("text/csv");
-            response.setHeader("Content-Disposition", "attachment; filename=tariff-definitions.csv");
-            response.getOutputStream().write(responseEntity.getBody());
-            response.getOutputStream().flush();
-        }
+        // stream through instead of buffering the whole table in gateway memory
+        routingService.streamRequest(targetUrl, HttpMethod.GET, entity, response);
     }
 
     // Admin Dashboard Endpoints
@@ -0,0 +1,151 @@
+package com.example.api.gateway.service;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// per-downstream isolation for forwarded calls: a bulkhead caps how many gateway threads one service may hold,
+// a circuit breaker stops calling a service that keeps failing (5xx, connection errors, slow calls; 4xx are the
+// caller's problem and do not count). either one rejects immediately with DownstreamUnavailableException.
+// settings are read per service as services.<name>.bulkhead.* / services.<name>.circuit-breaker.*, falling back
+// to gateway.downstream.*; calls are matched to a service by the host and port of its services.<name>.url,
+// so no two services may share one
+@Component
+public class DownstreamIsolation {
+
+    private static final String DEFAULTS = "gateway.downstream.";
+
+    record Downstream(String name, Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+            Counter bulkheadRejections, Counter circuitRejections) {
+    }
+
+    private final Map<String, Downstream> byAuthority = new HashMap<>();
+
+    public DownstreamIsolation(Environment environment, DownstreamServices services, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+        services.urls().forEach((name, url) -> {
+            String authority = authority(URI.create(url));
+            Downstream existing = byAuthority.get(authority);
+            if (existing != null) {
+                // calls are told apart by host and port only; sharing one would hand both services one guard
+                throw new IllegalStateException("services." + name + ".url and services." + existing.name()
+                        + ".url both point at " + authority + "; each downstream service needs its own host:port");
+            }
+            Downstream downstream = new Downstream(
+                    name,
+                    bulkheads.bulkhead(name, bulkheadConfig(environment, name)),
+                    circuitBreakers.circuitBreaker(name, circuitBreakerConfig(environment, name)),
+                    rejectionCounter(meterRegistry, name, DownstreamUnavailableException.BULKHEAD_FULL),
+                    rejectionCounter(meterRegistry, name, DownstreamUnavailableException.CIRCUIT_OPEN));
+            byAuthority.put(authority, downstream);
+        });
+        // resilience4j.circuitbreaker.state / calls / not.permitted.calls and resilience4j.bulkhead.* by name
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    // runs the call inside the downstream's bulkhead and circuit breaker; targets that are not one of the
+    // configured services pass straight through
+    public <T> T call(URI target, Supplier<T> call) {
+        Downstream downstream = byAuthority.get(authority(target));
+        if (downstream == null) {
+            return call.get();
+        }
+        // bulkhead outside: a call rejected for concurrency never reaches (or counts against) the breaker
+        return guard(downstream, Bulkhead.decorateSupplier(downstream.bulkhead(),
+                CircuitBreaker.decorateSupplier(downstream.circuitBreaker(), call)));
+    }
+
+    // long streamed downloads take the bulkhead only: their duration says nothing about the service's health
+    // and would read as slow calls to the breaker. an open circuit still rejects them
+    public void stream(URI target, Runnable call) {
+        Downstream downstream = byAuthority.get(authority(target));
+        if (downstream == null) {
+            call.run();
+            return;
+        }
+        guard(downstream, Bulkhead.decorateSupplier(downstream.bulkhead(), () -> {
+            if (!downstream.circuitBreaker().tryAcquirePermission()) {
+                throw CallNotPermittedException.createCallNotPermittedException(downstream.circuitBreaker());
+            }
+            // the permission is only a probe; release it so a half-open breaker is not left waiting on it
+            downstream.circuitBreaker().releasePermission();
+            call.run();
+            return null;
+        }));
+    }
+
+    private static <T> T guard(Downstream downstream, Supplier<T> guarded) {
+        try {
+            return guarded.get();
+        } catch (BulkheadFullException e) {
+            downstream.bulkheadRejections().increment();
+            throw new DownstreamUnavailableException(downstream.name(), DownstreamUnavailableException.BULKHEAD_FULL, 1);
+        } catch (CallNotPermittedException e) {
+            downstream.circuitRejections().increment();
+            long retryAfter = downstream.circuitBreaker().getCircuitBreakerConfig()
+                    .getWaitIntervalFunctionInOpenState().apply(1) / 1000;
+            throw new DownstreamUnavailableException(downstream.name(), DownstreamUnavailableException.CIRCUIT_OPEN,
+                    Math.max(1, retryAfter));
+        }
+    }
+
+    private static BulkheadConfig bulkheadConfig(Environment environment, String service) {
+        return BulkheadConfig.custom()
+                .maxConcurrentCalls(setting(environment, service, "bulkhead.max-concurrent", 50))
+                .maxWaitDuration(Duration.ofMillis(setting(environment, service, "bulkhead.max-wait-ms", 0)))
+                .build();
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(Environment environment, String service) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(setting(environment, service, "circuit-breaker.window-size", 20))
+                .minimumNumberOfCalls(setting(environment, service, "circuit-breaker.minimum-calls", 10))
+                .failureRateThreshold(setting(environment, service, "circuit-breaker.failure-rate-threshold", 50))
+                .slowCallDurationThreshold(Duration.ofMillis(
+                        setting(environment, service, "circuit-breaker.slow-call-threshold-ms", 5000)))
+                .slowCallRateThreshold(setting(environment, service, "circuit-breaker.slow-call-rate-threshold", 80))
+                .waitDurationInOpenState(Duration.ofMillis(setting(environment, service, "circuit-breaker.open-ms", 10000)))
+                .permittedNumberOfCallsInHalfOpenState(setting(environment, service, "circuit-breaker.half-open-calls", 3))
+                .ignoreExceptions(HttpClientErrorException.class)
+                .build();
+    }
+
+    private static int setting(Environment environment, String service, String key, int fallback) {
+        Integer value = environment.getProperty("services." + service + "." + key, Integer.class);
+        return value != null ? value : environment.getProperty(DEFAULTS + key, Integer.class, fallback);
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String service, String reason) {
+        return Counter.builder("gateway.downstream.rejections")
+                .description("Forwarded calls refused without reaching the downstream service")
+                .tags("service", service, "reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static String authority(URI uri) {
+        int port = uri.getPort() != -1 ? uri.getPort() : "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+        return String.valueOf(uri.getHost()).toLowerCase(Locale.ROOT) + ":" + port;
+    }
+}
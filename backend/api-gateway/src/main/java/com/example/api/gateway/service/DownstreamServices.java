@@ -0,0 +1,60 @@
+package com.example.api.gateway.service;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// the services the gateway forwards to, name -> base url from services.<name>.url. RoutingService builds its
+// targets from these urls and DownstreamIsolation puts a bulkhead and circuit breaker around each of them, so
+// a service listed here is always both routed and isolated
+@Component
+public class DownstreamServices {
+
+    public static final String PRODUCT_SERVICE = "product-service";
+    public static final String GLOBAL_TARIFFS = "global-tariffs";
+    public static final String SIMULATOR_TARIFFS = "simulator-tariffs";
+    public static final String TARIFF_CALCULATOR = "tariff-calculator";
+    public static final String SESSION_MANAGEMENT = "session-management";
+    public static final String CSV_EXPORT = "csv-export";
+    public static final String TRADE_INSIGHTS = "trade-insights";
+
+    private static final Map<String, String> DEFAULT_URLS = defaultUrls();
+
+    private final Map<String, String> urls;
+
+    public DownstreamServices(Environment environment) {
+        Map<String, String> resolved = new LinkedHashMap<>();
+        DEFAULT_URLS.forEach((name, defaultUrl) ->
+                resolved.put(name, environment.getProperty("services." + name + ".url", defaultUrl)));
+        this.urls = Collections.unmodifiableMap(resolved);
+    }
+
+    // base url of one service
+    public String url(String service) {
+        String url = urls.get(service);
+        if (url == null) {
+            throw new IllegalArgumentException("Unknown downstream service: " + service);
+        }
+        return url;
+    }
+
+    // every service with its base url, in declaration order
+    public Map<String, String> urls() {
+        return urls;
+    }
+
+    private static Map<String, String> defaultUrls() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put(PRODUCT_SERVICE, "http://product-service:8084");
+        defaults.put(GLOBAL_TARIFFS, "http://global-tariffs:8083");
+        defaults.put(SIMULATOR_TARIFFS, "http://simulator-tariffs:8086");
+        defaults.put(TARIFF_CALCULATOR, "http://tariff-calculator:8081");
+        defaults.put(SESSION_MANAGEMENT, "http://session-management:8082");
+        defaults.put(CSV_EXPORT, "http://csv-export:8085");
+        defaults.put(TRADE_INSIGHTS, "http://trade-insights:8088");
+        return defaults;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.api.gateway.service;
+
+// thrown instead of calling a downstream whose bulkhead is full or whose circuit is open; mapped to 503
+public class DownstreamUnavailableException extends RuntimeException {
+
+    public static final String BULKHEAD_FULL = "bulkhead_full";
+    public static final String CIRCUIT_OPEN = "circuit_open";
+
+    private final String service;
+    private final String reason;
+    private final long retryAfterSeconds;
+
+    public DownstreamUnavailableException(String service, String reason, long retryAfterSeconds) {
+        super(BULKHEAD_FULL.equals(reason)
+                ? "Too many concurrent requests to " + service
+                : service + " is failing, requests are suspended for now");
+        this.service = service;
+        this.reason = reason;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
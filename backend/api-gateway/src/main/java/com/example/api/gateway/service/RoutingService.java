@@ -1,82 +1,77 @@
 package com.example.api.gateway.service;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.example.common.metrics.ClientTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RequestCallback;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Set;
 
 // routing helpers used by controllers to forward requests to downstream services
 @Service
 public class RoutingService {
-    private final RestTemplate restTemplate;
-
-    @Value("${services.product-service.url:http://product-service:8084}")
-    private String productServiceUrl;
-
-    @Value("${services.global-tariffs.url:http://global-tariffs:8083}")
-    private String globalTariffsUrl;
-
-    @Value("${services.simulator-tariffs.url:http://simulator-tariffs:8086}")
-    private String simulatorTariffsUrl;
-
-    @Value("${services.tariff-calculator.url:http://tariff-calculator:8081}")
-    private String tariffCalculatorUrl;
-
-    @Value("${services.session-management.url:http://session-management:8082}")
-    private String sessionManagementUrl;
-
-    @Value("${services.csv-export.url:http://csv-export:8085}")
-    private String csvExportUrl;
+    private static final Set<String> TRACE_HEADERS = Set.of("traceparent", "tracestate", "b3");
 
-    @Value("${services.trade-insights.url:http://trade-insights:8088}")
-    private String tradeInsightsUrl;
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final DownstreamIsolation isolation;
+    private final DownstreamServices services;
 
-    public RoutingService(RestTemplate restTemplate) {
+    public RoutingService(RestTemplate restTemplate, MeterRegistry meterRegistry, DownstreamIsolation isolation,
+            DownstreamServices services) {
         this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.isolation = isolation;
+        this.services = services;
     }
     // Getter methods for service URLs
     // base url for product-service
     public String getProductServiceUrl() {
-        return productServiceUrl;
+        return services.url(DownstreamServices.PRODUCT_SERVICE);
     }
     
     // base url for global-tariffs service
     public String getGlobalTariffsUrl() {
-        return globalTariffsUrl;
+        return services.url(DownstreamServices.GLOBAL_TARIFFS);
     }
     
     // base url for simulator-tariffs service
     public String getSimulatorTariffsUrl() {
-        return simulatorTariffsUrl;
+        return services.url(DownstreamServices.SIMULATOR_TARIFFS);
     }
     
     // base url for tariff-calculator service
     public String getTariffCalculatorUrl() {
-        return tariffCalculatorUrl;
+        return services.url(DownstreamServices.TARIFF_CALCULATOR);
     }
     
     // base url for session-management service
     public String getSessionManagementUrl() {
-        return sessionManagementUrl;
+        return services.url(DownstreamServices.SESSION_MANAGEMENT);
     }
     
     // base url for csv-export service
     public String getCsvExportUrl() {
-        return csvExportUrl;
+        return services.url(DownstreamServices.CSV_EXPORT);
     }
 
     public String getTradeInsightsUrl() {
-        return tradeInsightsUrl;
+        return services.url(DownstreamServices.TRADE_INSIGHTS);
     }
 
     // run the outbound call using a string url
@@ -84,14 +79,44 @@ public class RoutingService {
             HttpEntity<?> requestEntity, Class<T> responseType) {
         // Use URI.create() to properly handle already-encoded URLs
         // This ensures RestTemplate doesn't double-encode query parameters
-        return restTemplate.exchange(java.net.URI.create(targetUrl), method, requestEntity, responseType);
+        return forwardRequest(java.net.URI.create(targetUrl), method, requestEntity, responseType);
     }
     
-    // run the outbound call using a pre-built uri
+    // run the outbound call using a pre-built uri, inside the target service's bulkhead and circuit breaker
     public <T> ResponseEntity<T> forwardRequest(URI targetUri, HttpMethod method, 
             HttpEntity<?> requestEntity, Class<T> responseType) {
         // Use the URI directly - already properly encoded by UriComponentsBuilder
-        return restTemplate.exchange(targetUri, method, requestEntity, responseType);
+        return isolation.call(targetUri, () -> downstreamTimer(targetUri, "forward")
+                .record(() -> restTemplate.exchange(targetUri, method, requestEntity, responseType)));
+    }
+
+    // run the outbound call and copy the body straight into the servlet response without buffering it
+    // (used for large downloads such as the full tariff export)
+    public void streamRequest(String targetUrl, HttpMethod method, HttpEntity<?> requestEntity,
+            HttpServletResponse servletResponse) {
+        URI targetUri = java.net.URI.create(targetUrl);
+        RequestCallback requestCallback = restTemplate.httpEntityCallback(requestEntity);
+        isolation.stream(targetUri, () -> downstreamTimer(targetUri, "stream").record(() -> {
+            restTemplate.execute(targetUri, method, requestCallback, downstream -> {
+                servletResponse.setStatus(downstream.getStatusCode().value());
+                HttpHeaders downstreamHeaders = downstream.getHeaders();
+                if (downstreamHeaders.getContentType() != null) {
+                    servletResponse.setContentType(downstreamHeaders.getContentType().toString());
+                }
+                String disposition = downstreamHeaders.getFirst(HttpHeaders.CONTENT_DISPOSITION);
+                if (disposition != null) {
+                    servletResponse.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition);
+                }
+                StreamUtils.copy(downstream.getBody(), servletResponse.getOutputStream());
+                servletResponse.flushBuffer();
+                return null;
+            });
+        }));
+    }
+
+    // latency of one downstream call, tagged by target host (one per services.*.url entry, so bounded)
+    private Timer downstreamTimer(URI targetUri, String operation) {
+        return ClientTimers.of(meterRegistry, String.valueOf(targetUri.getHost()), operation);
     }
 
     // clone request headers/cookies and attach body if present
@@ -102,8 +127,9 @@ public class RoutingService {
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
             String headerName = headerNames.nextElement();
-            // Skip host header to avoid issues
-            if (!headerName.equalsIgnoreCase("host")) {
+            // Skip host header to avoid issues, and the caller's trace context: the instrumented
+            // RestTemplate writes traceparent for the gateway's own client span instead
+            if (!headerName.equalsIgnoreCase("host") && !TRACE_HEADERS.contains(headerName.toLowerCase(Locale.ROOT))) {
                 Enumeration<String> headerValues = request.getHeaders(headerName);
                 while (headerValues.hasMoreElements()) {
                     headers.add(headerName, headerValues.nextElement());
@@ -0,0 +1,188 @@
+package com.example.api.gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// concurrent-connection capacity of the gateway in its two request-thread modes: the whole application boots
+// (jwt filter, security chain, bulkheads, RestTemplate) in front of a product-service stand-in that answers after
+// a fixed latency, then every connection sends one authenticated GET /api/products at the same moment.
+// "peak" is the most requests the stand-in saw in flight at once, i.e. how many the gateway could hold open;
+// bulkheads are lifted so they do not cap either mode.
+// opt-in only: mvn test -Dtest=GatewayConcurrencyBenchmark -Dbenchmark=true [-Dconnections=2000]
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class GatewayConcurrencyBenchmark {
+
+    private static final int CONNECTIONS = Integer.getInteger("connections", 1000);
+    private static final long DOWNSTREAM_LATENCY_MS = 200;
+    private static final String SECRET = "gateway-concurrency-benchmark-secret-0123456789";
+    private static final String PRODUCTS_BODY = "[\"Electronics\",\"Machinery\"]";
+
+    private HttpServer productService;
+    private ExecutorService stubThreads;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubThreads = Executors.newVirtualThreadPerTaskExecutor();
+        productService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CONNECTIONS * 2);
+        productService.setExecutor(stubThreads);
+        productService.createContext("/", exchange -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(DOWNSTREAM_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+            byte[] bytes = PRODUCTS_BODY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        productService.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        productService.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @Test
+    public void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println();
+        System.out.printf("%d concurrent connections, downstream latency %d ms%n", CONNECTIONS, DOWNSTREAM_LATENCY_MS);
+        System.out.printf("%-9s %8s %8s %8s %8s %8s %6s %7s%n",
+                "mode", "wall ms", "req/s", "p50 ms", "p99 ms", "max ms", "peak", "errors");
+        platform.print();
+        virtual.print();
+
+        assertEquals(0, virtual.errors, "virtual-thread mode should serve every connection");
+        assertTrue(virtual.peak > platform.peak, "virtual-thread mode should hold more requests in flight");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        peak.set(0);
+        String downstream = "http://127.0.0.1:" + productService.getAddress().getPort();
+        // command-line args: application.properties sets every one of these, and it outranks .properties(...)
+        ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ApiGatewayApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--supabase.jwt.secret=" + SECRET,
+                        "--services.product-service.url=" + downstream,
+                        "--gateway.downstream.bulkhead.max-concurrent=" + CONNECTIONS * 2,
+                        "--management.tracing.sampling.probability=0.0");
+        String mode = virtualThreads ? "virtual" : "platform";
+        try {
+            URI products = URI.create("http://127.0.0.1:"
+                    + gateway.getEnvironment().getProperty("local.server.port") + "/api/products");
+            String token = Jwts.builder()
+                    .subject("user-1")
+                    .claim("email", "user@example.com")
+                    .claim("app_metadata", Map.of("role", "user"))
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .compact();
+            return load(mode, products, token);
+        } finally {
+            gateway.close();
+        }
+    }
+
+    private Result load(String mode, URI target, String token) throws InterruptedException {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CONNECTIONS);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONNECTIONS; i++) {
+                clients.submit(() -> {
+                    try {
+                        start.await();
+                        long t0 = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies.add((System.nanoTime() - t0) / 1_000_000);
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                });
+            }
+
+            long wallStart = System.nanoTime();
+            start.countDown();
+            done.await();
+            long wallMs = (System.nanoTime() - wallStart) / 1_000_000;
+            return new Result(mode, wallMs, new ArrayList<>(latencies), errors.get(), peak.get());
+        }
+    }
+
+    private record Result(String mode, long wallMs, List<Long> latencies, int errors, int peak) {
+        void print() {
+            Collections.sort(latencies);
+            System.out.printf("%-9s %8d %8.0f %8d %8d %8d %6d %7d%n",
+                    mode, wallMs, latencies.size() * 1000.0 / Math.max(1, wallMs),
+                    percentile(0.50), percentile(0.99), latencies.isEmpty() ? 0 : latencies.get(latencies.size() - 1),
+                    peak, errors);
+        }
+
+        long percentile(double p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.size()) - 1;
+            return latencies.get(Math.max(0, Math.min(index, latencies.size() - 1)));
+        }
+    }
+}
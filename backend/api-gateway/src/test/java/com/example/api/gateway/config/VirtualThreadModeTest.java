@@ -0,0 +1,140 @@
+package com.example.api.gateway.config;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the virtual-thread mode runs the same servlet stack: requests land on virtual threads and the jwt filter
+// plus the admin rules behave exactly as in the default mode
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.threads.virtual.enabled=true",
+        "supabase.jwt.secret=" + VirtualThreadModeTest.SECRET,
+        "management.tracing.sampling.probability=0.0"
+})
+public class VirtualThreadModeTest {
+
+    static final String SECRET = "virtual-thread-mode-test-secret-0123456789";
+
+    private static final AtomicReference<String> forwardedAuthorization = new AtomicReference<>();
+    private static final HttpServer globalTariffs = startGlobalTariffsStub();
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void downstreams(DynamicPropertyRegistry registry) {
+        registry.add("services.global-tariffs.url", () -> "http://127.0.0.1:" + globalTariffs.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        globalTariffs.stop(0);
+    }
+
+    @Test
+    void requests_RunOnVirtualThreads() throws Exception {
+        HttpResponse<String> response = send("GET", "/api/test/thread", null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"virtual\":true"), response.body());
+    }
+
+    @Test
+    void adminRoute_KeepsJwtRules() throws Exception {
+        assertEquals(401, send("POST", "/api/tariff-definitions/modified", null).statusCode());
+        assertEquals(403, send("POST", "/api/tariff-definitions/modified", token("user")).statusCode());
+
+        String admin = token("admin");
+        assertEquals(200, send("POST", "/api/tariff-definitions/modified", admin).statusCode());
+        assertEquals("Bearer " + admin, forwardedAuthorization.get());
+    }
+
+    @Test
+    void publicRoute_IgnoresInvalidToken() throws Exception {
+        assertEquals(200, send("GET", "/api/tariff-definitions/global", "not-a-jwt").statusCode());
+    }
+
+    private HttpResponse<String> send(String method, String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, "POST".equals(method)
+                        ? HttpRequest.BodyPublishers.ofString("{\"product\":\"Electronics\"}")
+                        : HttpRequest.BodyPublishers.noBody());
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    static String token(String role) {
+        return Jwts.builder()
+                .subject("user-1")
+                .claim("email", "user@example.com")
+                .claim("app_metadata", Map.of("role", role))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+    }
+
+    private static HttpServer startGlobalTariffsStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 50);
+            server.createContext("/", exchange -> {
+                forwardedAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                byte[] body = "{\"success\":true}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @TestConfiguration
+    static class ThreadProbeConfig {
+
+        @Bean
+        ThreadProbe threadProbe() {
+            return new ThreadProbe();
+        }
+    }
+
+    @RestController
+    static class ThreadProbe {
+
+        @GetMapping("/api/test/thread")
+        Map<String, Object> thread() {
+            return Map.of("virtual", Thread.currentThread().isVirtual());
+        }
+    }
+}
@@ -2,8 +2,12 @@ package com.example.api.gateway.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
 
+import com.example.api.gateway.service.DownstreamIsolation;
+import com.example.api.gateway.service.DownstreamServices;
 import com.example.api.gateway.service.RoutingService;
 
 public class TariffRoutingControllerTest {
@@ -15,7 +19,10 @@ public class TariffRoutingControllerTest {
 
     @Test
     void tariffRoutingController_CanBeInstantiated() {
-        RoutingService routingService = new RoutingService(new org.springframework.web.client.RestTemplate());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        DownstreamServices services = new DownstreamServices(new MockEnvironment());
+        RoutingService routingService = new RoutingService(new org.springframework.web.client.RestTemplate(), meterRegistry,
+                new DownstreamIsolation(new MockEnvironment(), services, meterRegistry), services);
         TariffRoutingController controller = new TariffRoutingController(routingService);
         
         assertNotNull(controller);
@@ -0,0 +1,130 @@
+package com.example.api.gateway.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DownstreamIsolationTest {
+
+    private static final URI CALCULATOR = URI.create("http://tariff-calculator:8081/api/tariff?product=x");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void call_RejectsOverBulkheadLimitWithoutWaiting() throws Exception {
+        DownstreamIsolation isolation = isolation(new MockEnvironment()
+                .withProperty("services.tariff-calculator.bulkhead.max-concurrent", "1"));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> isolation.call(CALCULATOR, () -> {
+            inFlight.countDown();
+            await(release);
+            return "first";
+        }));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        DownstreamUnavailableException rejected = assertThrows(DownstreamUnavailableException.class,
+                () -> isolation.call(CALCULATOR, () -> "second"));
+        // other services keep their own permits
+        assertEquals("ok", isolation.call(URI.create("http://product-service:8084/api/products"), () -> "ok"));
+
+        release.countDown();
+        assertEquals("first", first.get(5, TimeUnit.SECONDS));
+        assertEquals("tariff-calculator", rejected.getService());
+        assertEquals(DownstreamUnavailableException.BULKHEAD_FULL, rejected.getReason());
+        assertEquals(1.0, meterRegistry.get("gateway.downstream.rejections")
+                .tags("service", "tariff-calculator", "reason", "bulkhead_full").counter().count());
+    }
+
+    @Test
+    void call_OpensCircuitAfterServerErrorsAndFailsFast() {
+        DownstreamIsolation isolation = isolation(new MockEnvironment()
+                .withProperty("gateway.downstream.circuit-breaker.window-size", "4")
+                .withProperty("gateway.downstream.circuit-breaker.minimum-calls", "4")
+                .withProperty("services.tariff-calculator.circuit-breaker.open-ms", "30000"));
+        AtomicInteger calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> isolation.call(CALCULATOR, () -> {
+                calls.incrementAndGet();
+                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+            }));
+        }
+
+        DownstreamUnavailableException rejected = assertThrows(DownstreamUnavailableException.class,
+                () -> isolation.call(CALCULATOR, () -> calls.incrementAndGet()));
+
+        assertEquals(4, calls.get());
+        assertEquals(DownstreamUnavailableException.CIRCUIT_OPEN, rejected.getReason());
+        assertEquals(30, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("resilience4j.circuitbreaker.state")
+                .tags("name", "tariff-calculator", "state", "open").gauge().value());
+        assertEquals(1.0, meterRegistry.get("gateway.downstream.rejections")
+                .tags("service", "tariff-calculator", "reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void call_ClientErrorsDoNotOpenCircuit() {
+        DownstreamIsolation isolation = isolation(new MockEnvironment()
+                .withProperty("gateway.downstream.circuit-breaker.window-size", "4")
+                .withProperty("gateway.downstream.circuit-breaker.minimum-calls", "4"));
+        for (int i = 0; i < 10; i++) {
+            assertThrows(HttpClientErrorException.class, () -> isolation.call(CALCULATOR, () -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals("ok", isolation.call(CALCULATOR, () -> "ok"));
+    }
+
+    @Test
+    void call_MatchesServicesByConfiguredUrl() {
+        DownstreamIsolation isolation = isolation(new MockEnvironment()
+                .withProperty("services.trade-insights.url", "http://localhost:8088")
+                .withProperty("services.trade-insights.bulkhead.max-concurrent", "1"));
+
+        // nested call to the same service needs a second permit
+        DownstreamUnavailableException rejected = assertThrows(DownstreamUnavailableException.class,
+                () -> isolation.call(URI.create("http://localhost:8088/api/news/search"),
+                        () -> isolation.call(URI.create("http://LOCALHOST:8088/api/agreements/search"), () -> "x")));
+        // hosts that are not a configured service are not isolated
+        assertEquals("ok", isolation.call(URI.create("http://localhost:9999/x"),
+                () -> isolation.call(URI.create("http://localhost:9999/y"), () -> "ok")));
+
+        assertEquals("trade-insights", rejected.getService());
+    }
+
+    @Test
+    void constructor_RejectsTwoServicesOnOneHostAndPort() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("services.csv-export.url", "http://shared-host:9000")
+                .withProperty("services.trade-insights.url", "http://SHARED-HOST:9000/insights");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> isolation(environment));
+
+        assertTrue(failure.getMessage().contains("services.trade-insights.url and services.csv-export.url"));
+        assertTrue(failure.getMessage().contains("shared-host:9000"));
+    }
+
+    private DownstreamIsolation isolation(MockEnvironment environment) {
+        return new DownstreamIsolation(environment, new DownstreamServices(environment), meterRegistry);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
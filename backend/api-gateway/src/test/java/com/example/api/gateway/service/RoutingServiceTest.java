@@ -2,7 +2,12 @@ package com.example.api.gateway.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.web.client.RestTemplate;
 
 public class RoutingServiceTest {
@@ -14,7 +19,7 @@ public class RoutingServiceTest {
 
     @Test
     void buildTargetUrl_WithPath_ReturnsCorrectUrl() {
-        RoutingService routingService = new RoutingService(new RestTemplate());
+        RoutingService routingService = new RoutingService(new RestTemplate(), new SimpleMeterRegistry(), isolation(), services());
         String serviceUrl = "http://test-service:8080";
         String path = "/api/test";
         String result = routingService.buildTargetUrl(serviceUrl, path, null);
@@ -24,7 +29,7 @@ public class RoutingServiceTest {
 
     @Test
     void buildTargetUrl_WithPathAndQuery_ReturnsCorrectUrl() {
-        RoutingService routingService = new RoutingService(new RestTemplate());
+        RoutingService routingService = new RoutingService(new RestTemplate(), new SimpleMeterRegistry(), isolation(), services());
         String serviceUrl = "http://test-service:8080";
         String path = "/api/test";
         String queryString = "param1=value1&param2=value2";
@@ -35,12 +40,37 @@ public class RoutingServiceTest {
 
     @Test
     void buildTargetUrl_WithEmptyQuery_ReturnsUrlWithoutQuery() {
-        RoutingService routingService = new RoutingService(new RestTemplate());
+        RoutingService routingService = new RoutingService(new RestTemplate(), new SimpleMeterRegistry(), isolation(), services());
         String serviceUrl = "http://test-service:8080";
         String path = "/api/test";
         String result = routingService.buildTargetUrl(serviceUrl, path, "");
         
         assertEquals("http://test-service:8080/api/test", result);
     }
-}
 
+    @Test
+    void createHttpEntity_DropsInboundTraceContext() {
+        RoutingService routingService = new RoutingService(new RestTemplate(), new SimpleMeterRegistry(), isolation(), services());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Host", "gateway:8080");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        request.addHeader("tracestate", "vendor=1");
+        request.addHeader("Authorization", "Bearer token");
+
+        HttpEntity<?> entity = routingService.createHttpEntity(request, null);
+        HttpHeaders headers = entity.getHeaders();
+
+        assertFalse(headers.containsKey("traceparent"));
+        assertFalse(headers.containsKey("tracestate"));
+        assertFalse(headers.containsKey("Host"));
+        assertEquals("Bearer token", headers.getFirst("Authorization"));
+    }
+
+    private static DownstreamIsolation isolation() {
+        return new DownstreamIsolation(new MockEnvironment(), services(), new SimpleMeterRegistry());
+    }
+
+    private static DownstreamServices services() {
+        return new DownstreamServices(new MockEnvironment());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.api.gateway.service;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// downstream uri rebuilt by the gateway on every proxied request: query split, decode and re-encode
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoutingServiceBenchmark {
+
+    private static final Map<String, String> QUERIES = Map.of(
+            "none", "",
+            "simple", "country=Singapore&partner=Japan&limit=50",
+            "encoded", "product=Electric%20transformers%2C%20static&exportingFrom=Korea%2C%20Rep.&importingTo=China"
+                    + "&quantity=100&currency=SGD&mode=user&flag");
+
+    @Param({"none", "simple", "encoded"})
+    public String query;
+
+    private RoutingService routingService;
+    private String queryString;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        routingService = new RoutingService(new RestTemplate(), meterRegistry,
+                new DownstreamIsolation(new MockEnvironment(), meterRegistry));
+        queryString = QUERIES.get(query);
+    }
+
+    @Benchmark
+    public URI buildTargetUri() {
+        return routingService.buildTargetUri("http://tariff-calculator:8081", "/api/tariff/compare", queryString);
+    }
+}
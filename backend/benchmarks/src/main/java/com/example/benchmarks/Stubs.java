@@ -0,0 +1,31 @@
+package com.example.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+// in-memory stand-ins for spring data repositories: only the named methods answer, anything else throws so a
+// benchmark can't silently measure a code path that would hit the database. a jdk proxy instead of mockito
+// keeps the stub cost to a map lookup, well below the work being measured
+public final class Stubs {
+
+    private Stubs() {
+    }
+
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args == null ? new Object[0] : args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "stub " + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(self);
+                case "equals" -> self == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName()
+                        + " is not stubbed");
+            };
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.calculator.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import com.example.benchmarks.Stubs;
+import com.example.calculator.entity.Product;
+import com.example.calculator.entity.Tariff;
+import com.example.calculator.repository.ProductRepository;
+import com.example.calculator.repository.TariffHistoryRepository;
+import com.example.calculator.repository.TariffRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// synthetic catalog, rate table and exchange rates shared by the tariff-calculator benchmarks. every country
+// pair has a rate row; the first nine countries are the FTA list, so both AHS and MFN routes are exercised
+final class CalculatorFixtures {
+
+    static final List<String> COUNTRIES = List.of(
+            "Australia", "China", "Indonesia", "India", "Japan", "Malaysia", "Philippines", "Singapore", "Vietnam",
+            "Germany", "Brazil", "Canada", "Mexico", "France", "Italy", "Spain");
+    static final int PRODUCT_COUNT = 500;
+
+    private CalculatorFixtures() {
+    }
+
+    // catalog index loaded from a stubbed repository, as after ApplicationReadyEvent
+    static ProductCatalog productCatalog() {
+        List<Product> products = new ArrayList<>(PRODUCT_COUNT);
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("Product " + i);
+            product.setHsCode(String.valueOf(850400 + i % 50));
+            product.setCost(10.0 + i % 97);
+            product.setUnit("unit");
+            products.add(product);
+        }
+        ProductRepository repository = Stubs.repository(ProductRepository.class, Map.of(
+                "findCatalogFingerprint", args -> "benchmark",
+                "findAll", args -> products));
+        ProductCatalog catalog = new ProductCatalog(repository);
+        catalog.loadOnStartup();
+        return catalog;
+    }
+
+    static TariffRepository tariffRepository() {
+        Map<String, Tariff> byRoute = new HashMap<>();
+        for (int c = 0; c < COUNTRIES.size(); c++) {
+            for (int p = 0; p < COUNTRIES.size(); p++) {
+                Tariff tariff = new Tariff();
+                tariff.setCountry(COUNTRIES.get(c));
+                tariff.setPartner(COUNTRIES.get(p));
+                tariff.setYear(2022);
+                tariff.setAhsWeighted((double) ((c * 7 + p) % 12));
+                tariff.setMfnWeighted((double) ((c * 5 + p * 3) % 25));
+                byRoute.put(tariff.getCountry() + "|" + tariff.getPartner(), tariff);
+            }
+        }
+        return Stubs.repository(TariffRepository.class, Map.of(
+                "findByCountryAndPartner", args -> Optional.ofNullable(byRoute.get(args[0] + "|" + args[1])),
+                "findByCountriesAndPartners", args -> byRoute.values().stream()
+                        .filter(t -> ((Collection<?>) args[0]).contains(t.getCountry())
+                                && ((Collection<?>) args[1]).contains(t.getPartner()))
+                        .toList()));
+    }
+
+    // nothing in the calculation paths reads history
+    static TariffHistoryRepository tariffHistoryRepository() {
+        return Stubs.repository(TariffHistoryRepository.class, Map.of());
+    }
+
+    // rates cache primed as if the exchange-rate api had just answered, so no call leaves the process
+    static CurrencyService currencyService() {
+        CurrencyService currencyService = new CurrencyService(new RestTemplate(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(currencyService, "cachedRates", new HashMap<>(Map.of(
+                "USD", 1.0, "AUD", 1.52, "INR", 83.12, "CNY", 7.25, "JPY", 149.50,
+                "SGD", 1.34, "PHP", 56.50, "IDR", 15750.0, "MYR", 4.48, "VND", 24350.0)));
+        ReflectionTestUtils.setField(currencyService, "lastUpdated", LocalDateTime.now());
+        return currencyService;
+    }
+}
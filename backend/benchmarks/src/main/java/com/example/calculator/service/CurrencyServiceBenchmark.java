@@ -0,0 +1,43 @@
+package com.example.calculator.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// cached-rate conversion, called three times per calculation and twice per compared country. USD short-circuits
+// before the cache, the others take the hit path (freshness check, map probe, hit counter)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyServiceBenchmark {
+
+    @Param({"USD", "SGD", "vnd"})
+    public String currency;
+
+    private CurrencyService currencyService;
+    private double amount;
+
+    @Setup
+    public void setUp() {
+        currencyService = CalculatorFixtures.currencyService();
+        amount = 1234.56;
+    }
+
+    @Benchmark
+    public double convertFromUSD() {
+        return currencyService.convertFromUSD(amount, currency);
+    }
+}
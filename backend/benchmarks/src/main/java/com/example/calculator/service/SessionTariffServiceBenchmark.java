@@ -0,0 +1,61 @@
+package com.example.calculator.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpSession;
+
+import com.example.calculator.dto.TariffDefinitionsResponse.TariffDefinitionDto;
+
+// user-defined tariffs live in the http session as maps; every read converts the whole list back to dtos and
+// every save copies and re-converts it. cost grows with the number of tariffs a user has defined
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SessionTariffServiceBenchmark {
+
+    @Param({"10", "200"})
+    public int tariffs;
+
+    private SessionTariffService sessionTariffService;
+    private MockHttpSession session;
+    private TariffDefinitionDto update;
+
+    @Setup
+    public void setUp() {
+        sessionTariffService = new SessionTariffService();
+        session = new MockHttpSession();
+        for (int i = 0; i < tariffs; i++) {
+            sessionTariffService.saveTariffDefinition(session, new TariffDefinitionDto(
+                    "tariff-" + i, "Product " + i, "Japan", "Singapore", i % 2 == 0 ? "AHS" : "MFN",
+                    1.5 + i % 20, "2024-01-01", "Ongoing"));
+        }
+        // same id as an existing entry, so the session size stays fixed across invocations
+        update = new TariffDefinitionDto("tariff-" + (tariffs / 2), "Product 1", "Japan", "Singapore", "AHS",
+                4.25, "2024-01-01", "Ongoing");
+    }
+
+    @Benchmark
+    public List<TariffDefinitionDto> getTariffDefinitions() {
+        return sessionTariffService.getTariffDefinitions(session);
+    }
+
+    @Benchmark
+    public TariffDefinitionDto saveTariffDefinition() {
+        return sessionTariffService.saveTariffDefinition(session, update);
+    }
+}
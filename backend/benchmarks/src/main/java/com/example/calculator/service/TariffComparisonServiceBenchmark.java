@@ -0,0 +1,48 @@
+package com.example.calculator.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.calculator.dto.TariffComparisonDTO;
+
+// multi-country comparison: one route per importing country, ranking and chart series
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TariffComparisonServiceBenchmark {
+
+    @Param({"3", "15"})
+    public int countries;
+
+    private TariffComparisonService comparisonService;
+    private List<String> importingTo;
+
+    @Setup
+    public void setUp() {
+        comparisonService = new TariffComparisonService(CalculatorFixtures.tariffRepository(),
+                CalculatorFixtures.tariffHistoryRepository(), CalculatorFixtures.productCatalog(),
+                CalculatorFixtures.currencyService());
+        // exporter is the last country, so it never compares against itself
+        importingTo = CalculatorFixtures.COUNTRIES.subList(0, countries);
+    }
+
+    @Benchmark
+    public TariffComparisonDTO compareMultipleCountries() {
+        return comparisonService.compareMultipleCountries("Product 42", "Spain", importingTo, 100, null, "AUD");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.calculator.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.calculator.dto.TariffResponse;
+
+// single-route calculation (POST /api/tariff): catalog lookup, rate row, breakdown and currency conversion
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TariffServiceBenchmark {
+
+    private TariffService tariffService;
+
+    @Setup
+    public void setUp() {
+        tariffService = new TariffService(CalculatorFixtures.tariffRepository(), CalculatorFixtures.productCatalog(),
+                new SessionTariffService(), CalculatorFixtures.currencyService());
+    }
+
+    @Benchmark
+    public TariffResponse calculate_FtaRouteUsd() {
+        return tariffService.calculate("Product 42", "Japan", "Singapore", 100, null, "USD");
+    }
+
+    @Benchmark
+    public TariffResponse calculate_MfnRouteConverted() {
+        return tariffService.calculate("product 420", "Germany", "China", 100, "12.50", "sgd");
+    }
+}
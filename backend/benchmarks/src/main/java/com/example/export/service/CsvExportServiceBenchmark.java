@@ -0,0 +1,59 @@
+package com.example.export.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.session.dto.CalculationHistoryDto;
+
+// export cart download: header plus one formatted row per cart item, written into an in-memory response.
+// some product names need csv quoting so the escape path is part of the mix
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CsvExportServiceBenchmark {
+
+    @Param({"10", "500"})
+    public int rows;
+
+    private CsvExportService csvExportService;
+    private List<CalculationHistoryDto> cartItems;
+
+    @Setup
+    public void setUp() {
+        csvExportService = new CsvExportService();
+        cartItems = new ArrayList<>(rows);
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        for (int i = 0; i < rows; i++) {
+            String name = i % 5 == 0 ? "Transformers, \"static\" " + i : "Product " + i;
+            CalculationHistoryDto item = new CalculationHistoryDto(name, "Japan", "Singapore", 10.0 + i, "unit",
+                    125.5 * i, 5.25, 6.59 * i, 132.09 * i, i % 2 == 0 ? "AHS (with FTA)" : "MFN (no FTA)");
+            item.setCreatedAt(createdAt);
+            cartItems.add(item);
+        }
+    }
+
+    @Benchmark
+    public int exportToCsv() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        csvExportService.exportToCsv(cartItems, response);
+        return response.getContentAsByteArray().length;
+    }
+}
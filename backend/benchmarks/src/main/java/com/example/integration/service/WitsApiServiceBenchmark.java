@@ -0,0 +1,73 @@
+package com.example.integration.service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+
+import com.example.integration.dto.TariffRateDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// parsing a WITS SDMX-JSON tariff series (what every refresh does per reporter/partner/hs code) without the
+// http call: dataset series, observation index -> year mapping, one dto per year
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WitsApiServiceBenchmark {
+
+    @Param({"5", "30"})
+    public int years;
+
+    private WitsApiService witsApiService;
+    private String payload;
+
+    @Setup
+    public void setUp() {
+        witsApiService = new WitsApiService(RestClient.create(), new ObjectMapper(), new SimpleMeterRegistry());
+        payload = sdmxPayload(years);
+    }
+
+    // two series over the same years, the shape WITS returns for a reporter/partner/product query
+    static String sdmxPayload(int years) {
+        StringBuilder values = new StringBuilder();
+        StringBuilder observations = new StringBuilder();
+        for (int i = 0; i < years; i++) {
+            if (i > 0) {
+                values.append(',');
+                observations.append(',');
+            }
+            values.append("{\"id\":\"").append(1995 + i).append("\",\"name\":\"").append(1995 + i).append("\"}");
+            observations.append(String.format(Locale.ROOT, "\"%d\":[%.3f,%.3f,12,0,\"Reported\"]",
+                    i, 2.5 + i % 7 * 0.75, 5.0 + i % 5 * 0.5));
+        }
+        return "{\"header\":{\"id\":\"benchmark\",\"prepared\":\"2025-01-01T00:00:00\"},"
+                + "\"dataSets\":[{\"action\":\"Information\",\"series\":{"
+                + "\"0:0:0:0:0\":{\"attributes\":[0],\"observations\":{" + observations + "}},"
+                + "\"0:0:0:0:1\":{\"attributes\":[0],\"observations\":{" + observations + "}}}}],"
+                + "\"structure\":{\"dimensions\":{\"series\":[],\"observation\":[{\"id\":\"TIME_PERIOD\","
+                + "\"values\":[" + values + "]}]}}}";
+    }
+
+    @Benchmark
+    public List<TariffRateDto> parseSeries() throws JsonProcessingException {
+        return witsApiService.parseSeries(payload, "702", "392", "850440");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.tariffs.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.benchmarks.Stubs;
+import com.example.tariffs.dto.TariffDefinitionsResponse;
+import com.example.tariffs.entity.Product;
+import com.example.tariffs.repository.ProductRepository;
+import com.example.tariffs.repository.TariffRepository;
+
+// GET /api/tariff-definitions/global assembly: the rate rows of every hs code arrive in one query and are grouped,
+// then per product every country/partner row of its hs code is classified (FTA or equal rates), deduplicated and
+// turned into a definition. repository rows come from memory so only the assembly is measured
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TariffDefinitionsBenchmark {
+
+    private static final List<String> COUNTRIES = List.of(
+            "Australia", "China", "Indonesia", "India", "Japan", "Malaysia", "Philippines", "Singapore", "Vietnam",
+            "Germany", "Brazil", "Canada", "Mexico", "France", "Italy", "Spain");
+
+    @Param({"10", "100"})
+    public int products;
+
+    private TariffService tariffService;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = new ArrayList<>(products);
+        Map<String, List<Object[]>> rowsByHsCode = new HashMap<>();
+        for (int i = 1; i <= products; i++) {
+            Product product = new Product();
+            product.setId((long) i);
+            product.setName("Product " + i);
+            product.setHsCode(String.valueOf(850400 + i));
+            product.setCost(10.0 + i);
+            product.setUnit("unit");
+            catalog.add(product);
+            rowsByHsCode.put(product.getHsCode(), rateRows(i));
+        }
+        ProductRepository productRepository = Stubs.repository(ProductRepository.class, Map.of(
+                "findCatalogFingerprint", args -> "benchmark",
+                "findAll", args -> catalog));
+        TariffRepository tariffRepository = Stubs.repository(TariffRepository.class, Map.of(
+                "findDistinctCountryPartnerByHsCodes", args -> {
+                    List<Object[]> rows = new ArrayList<>();
+                    for (Object hsCode : (Collection<?>) args[0]) {
+                        for (Object[] row : rowsByHsCode.getOrDefault((String) hsCode, List.of())) {
+                            rows.add(new Object[] {hsCode, row[0], row[1], row[2], row[3]});
+                        }
+                    }
+                    return rows;
+                }));
+        ProductCatalog productCatalog = new ProductCatalog(productRepository);
+        productCatalog.loadOnStartup();
+        // dashboard stats and overrides are only touched by admin writes
+        tariffService = new TariffService(tariffRepository, productCatalog, null, null);
+    }
+
+    // every country/partner pair once; a third have equal AHS/MFN, a few have no rates at all
+    private static List<Object[]> rateRows(int seed) {
+        List<Object[]> rows = new ArrayList<>(COUNTRIES.size() * COUNTRIES.size());
+        for (int c = 0; c < COUNTRIES.size(); c++) {
+            for (int p = 0; p < COUNTRIES.size(); p++) {
+                int n = seed + c * 31 + p;
+                Double mfn = n % 17 == 0 ? null : (double) (n % 25);
+                Double ahs = n % 3 == 0 ? mfn : (n % 17 == 0 ? null : (double) (n % 9));
+                rows.add(new Object[] {COUNTRIES.get(c), COUNTRIES.get(p), ahs, mfn});
+            }
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public TariffDefinitionsResponse getTariffDefinitions() {
+        return tariffService.getTariffDefinitions();
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.export.client;
 
+import com.example.common.metrics.ClientTimers;
 import com.example.session.dto.CalculationHistoryDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 // http client that talks to session-management service
 @Component
 public class SessionManagementClient {
@@ -15,9 +24,15 @@ public class SessionManagementClient {
     private String sessionManagementUrl;
     
     private final RestTemplate restTemplate;
+    private final Timer getTimer;
+    private final Timer removeTimer;
+    private final Timer takeTimer;
     
-    public SessionManagementClient(RestTemplate restTemplate) {
+    public SessionManagementClient(RestTemplate restTemplate, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.getTimer = clientTimer(meterRegistry, "getCalculation");
+        this.removeTimer = clientTimer(meterRegistry, "removeCalculation");
+        this.takeTimer = clientTimer(meterRegistry, "takeCalculations");
     }
     
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(SessionManagementClient.class);
@@ -28,12 +43,12 @@ public class SessionManagementClient {
             // pass session ID as query param (works across services)
             String url = sessionManagementUrl + "/api/tariff/history/" + calculationId + "?sessionId=" + sessionId;
             
-            ResponseEntity<CalculationHistoryDto> response = restTemplate.exchange(
+            ResponseEntity<CalculationHistoryDto> response = getTimer.record(() -> restTemplate.exchange(
                 url,
                 HttpMethod.GET,
                 null,
                 CalculationHistoryDto.class
-            );
+            ));
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
                 return response.getBody();
@@ -51,16 +66,41 @@ public class SessionManagementClient {
             // pass session ID as query param
             String url = sessionManagementUrl + "/api/tariff/history/" + calculationId + "?sessionId=" + sessionId;
             
-            restTemplate.exchange(
+            removeTimer.record(() -> restTemplate.exchange(
                 url,
                 HttpMethod.DELETE,
                 null,
                 Void.class
-            );
+            ));
         } catch (Exception e) {
             throw new com.example.export.exception.DataAccessException(
                 "Failed to remove calculation from session-management service: " + e.getMessage(), e);
         }
     }
-}
 
+    // remove several calculations from session history and return them in a single round trip
+    public List<CalculationHistoryDto> takeCalculationsByIds(String sessionId, Collection<String> calculationIds) {
+        try {
+            String url = sessionManagementUrl + "/api/tariff/history/batch/take?sessionId=" + sessionId;
+
+            ResponseEntity<List<CalculationHistoryDto>> response = takeTimer.record(() -> restTemplate.exchange(
+                url,
+                HttpMethod.POST,
+                new HttpEntity<>(new ArrayList<>(calculationIds)),
+                new ParameterizedTypeReference<List<CalculationHistoryDto>>() {}
+            ));
+
+            if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+                return response.getBody();
+            }
+            return new ArrayList<>();
+        } catch (Exception e) {
+            throw new com.example.export.exception.DataAccessException(
+                "Failed to take calculations from session-management service: " + e.getMessage(), e);
+        }
+    }
+
+    private static Timer clientTimer(MeterRegistry meterRegistry, String operation) {
+        return ClientTimers.of(meterRegistry, "session-management", operation);
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -68,6 +69,23 @@ public class ExportCartController {
         }
     }
 
+    // POST /api/export-cart/add -> move several calcs into export cart in one call
+    @Operation(summary = "Add several calculations to the export cart")
+    @PostMapping("/add")
+    public ResponseEntity<?> addAllToCart(
+            @RequestBody List<String> calculationIds,
+            HttpSession session) {
+        if (calculationIds == null || calculationIds.isEmpty()) {
+            throw new com.example.export.exception.BadRequestException("At least one calculation ID is required");
+        }
+        try {
+            List<CalculationHistoryDto> added = exportCartService.addAllToCart(calculationIds, session);
+            return ResponseEntity.ok(added);
+        } catch (com.example.export.exception.NotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
     // DELETE /api/export-cart/remove/{calculationId} -> remove single calc
     @Operation(summary = "Remove a calculation from the export cart")
     @DeleteMapping("/remove/{calculationId}")
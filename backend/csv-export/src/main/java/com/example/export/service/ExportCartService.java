@@ -1,7 +1,11 @@
 package com.example.export.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.stereotype.Service;
 
@@ -15,19 +19,20 @@ public class ExportCartService {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(ExportCartService.class);
     private static final String CART_SESSION_KEY = "EXPORT_CART"; // session attribute key
+    private static final String CART_IDS_SESSION_KEY = "EXPORT_CART_IDS"; // id index for O(1) duplicate checks
 
     private final com.example.export.client.SessionManagementClient sessionManagementClient;
 
     public ExportCartService(com.example.export.client.SessionManagementClient sessionManagementClient) {
         this.sessionManagementClient = sessionManagementClient;
     }
-    
+
     // add calculation to cart (moves item from session history)
     public void addToCart(String calculationId, HttpSession session) {
         // call session-management to fetch calculation by id
         log.debug("Fetching calculation {} for session {}", calculationId, session.getId());
         CalculationHistoryDto calculation = sessionManagementClient.getCalculationById(session.getId(), calculationId);
-        
+
         if (calculation == null) {
             throw new com.example.export.exception.NotFoundException("Calculation not found in history");
         }
@@ -37,15 +42,18 @@ public class ExportCartService {
         if (cart == null) {
             cart = new ArrayList<>();
         }
+        Set<String> cartIds = getCartIds(session, cart);
 
         // prevent duplicates in cart
-        if (cart.stream().anyMatch(c -> c.getId().equals(calculationId))) {
+        if (cartIds.contains(calculationId)) {
             throw new com.example.export.exception.BadRequestException("Item already in cart");
         }
 
         cart.add(calculation);
+        cartIds.add(calculationId);
         session.setAttribute(CART_SESSION_KEY, cart);
-        
+        session.setAttribute(CART_IDS_SESSION_KEY, cartIds);
+
         // remove from history after adding to cart
         try {
             sessionManagementClient.removeCalculationById(session.getId(), calculationId);
@@ -56,6 +64,46 @@ public class ExportCartService {
         }
     }
 
+    // move several calculations from session history into the cart with one session-management call;
+    // ids already in the cart are skipped, returns the calculations that were actually added
+    public List<CalculationHistoryDto> addAllToCart(Collection<String> calculationIds, HttpSession session) {
+        @SuppressWarnings("unchecked")
+        List<CalculationHistoryDto> cart = (List<CalculationHistoryDto>) session.getAttribute(CART_SESSION_KEY);
+        if (cart == null) {
+            cart = new ArrayList<>();
+        }
+        Set<String> cartIds = getCartIds(session, cart);
+
+        Set<String> toMove = new LinkedHashSet<>();
+        for (String id : calculationIds) {
+            if (id != null && !id.isBlank() && !cartIds.contains(id)) {
+                toMove.add(id);
+            }
+        }
+        if (toMove.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // get-and-remove happens atomically on the session-management side
+        log.debug("Moving {} calculations into cart for session {}", toMove.size(), session.getId());
+        List<CalculationHistoryDto> moved = sessionManagementClient.takeCalculationsByIds(session.getId(), toMove);
+        if (moved.isEmpty()) {
+            throw new com.example.export.exception.NotFoundException("Calculations not found in history");
+        }
+
+        List<CalculationHistoryDto> added = new ArrayList<>(moved.size());
+        for (CalculationHistoryDto calculation : moved) {
+            if (cartIds.add(calculation.getId())) {
+                cart.add(calculation);
+                added.add(calculation);
+            }
+        }
+
+        session.setAttribute(CART_SESSION_KEY, cart);
+        session.setAttribute(CART_IDS_SESSION_KEY, cartIds);
+        return added;
+    }
+
     // remove individual calculation from cart
     public void removeFromCart(String calculationId, HttpSession session) {
         @SuppressWarnings("unchecked")
@@ -69,7 +117,10 @@ public class ExportCartService {
             throw new com.example.export.exception.NotFoundException("Item not found in cart");
         }
 
+        Set<String> cartIds = getCartIds(session, cart);
+        cartIds.remove(calculationId);
         session.setAttribute(CART_SESSION_KEY, cart);
+        session.setAttribute(CART_IDS_SESSION_KEY, cartIds);
     }
 
     // get current cart snapshot
@@ -82,6 +133,21 @@ public class ExportCartService {
     // remove cart from session
     public void clearCart(HttpSession session) {
         session.removeAttribute(CART_SESSION_KEY);
+        session.removeAttribute(CART_IDS_SESSION_KEY);
     }
-}
 
+    // id index stored next to the cart; rebuilt from the cart for sessions created before it existed
+    private Set<String> getCartIds(HttpSession session, List<CalculationHistoryDto> cart) {
+        Object stored = session.getAttribute(CART_IDS_SESSION_KEY);
+        if (stored instanceof Set<?> ids && ids.size() == cart.size()) {
+            @SuppressWarnings("unchecked")
+            Set<String> cartIds = (Set<String>) ids;
+            return cartIds;
+        }
+        Set<String> cartIds = new HashSet<>();
+        for (CalculationHistoryDto c : cart) {
+            cartIds.add(c.getId());
+        }
+        return cartIds;
+    }
+}
@@ -14,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -258,4 +259,67 @@ public class ExportCartServiceTest {
         verify(sessionManagementClient, times(1)).getCalculationById(testSessionId, testCalculationId);
         verify(sessionManagementClient, times(1)).removeCalculationById(testSessionId, testCalculationId);
     }
-}
\ No newline at end of file
+
+    // Test 13: addAllToCart - moves several calculations with a single take call
+    @Test
+    public void addAllToCart_ValidIds_MovesAllInOneCall() {
+        // Arrange
+        testCalculation.setId(testCalculationId);
+        CalculationHistoryDto secondCalculation = new CalculationHistoryDto(
+            "Other Product", "USA", "Canada", 1.0, "piece", 10.0, 5.0, 0.5, 10.5, "MFN"
+        );
+        List<CalculationHistoryDto> cart = new ArrayList<>();
+        when(session.getId()).thenReturn(testSessionId);
+        when(session.getAttribute("EXPORT_CART")).thenReturn(cart);
+        when(sessionManagementClient.takeCalculationsByIds(eq(testSessionId), any()))
+            .thenReturn(List.of(testCalculation, secondCalculation));
+
+        // Act
+        List<CalculationHistoryDto> added = exportCartService.addAllToCart(
+            List.of(testCalculationId, secondCalculation.getId()), session);
+
+        // Assert
+        assertEquals(2, added.size());
+        assertEquals(2, cart.size());
+        verify(sessionManagementClient, times(1)).takeCalculationsByIds(eq(testSessionId), any());
+        verify(sessionManagementClient, never()).getCalculationById(any(), any());
+        verify(sessionManagementClient, never()).removeCalculationById(any(), any());
+        verify(session, times(1)).setAttribute(eq("EXPORT_CART"), any(List.class));
+        verify(session, times(1)).setAttribute(eq("EXPORT_CART_IDS"), any(Set.class));
+    }
+
+    // Test 14: addAllToCart - ids already in the cart are not requested again
+    @Test
+    public void addAllToCart_AllIdsAlreadyInCart_SkipsSessionManagement() {
+        // Arrange
+        testCalculation.setId(testCalculationId);
+        List<CalculationHistoryDto> cart = new ArrayList<>();
+        cart.add(testCalculation);
+        when(session.getAttribute("EXPORT_CART")).thenReturn(cart);
+
+        // Act
+        List<CalculationHistoryDto> added = exportCartService.addAllToCart(List.of(testCalculationId), session);
+
+        // Assert
+        assertTrue(added.isEmpty());
+        verify(sessionManagementClient, never()).takeCalculationsByIds(any(), any());
+        verify(session, never()).setAttribute(any(), any());
+    }
+
+    // Test 15: addAllToCart - nothing found in history throws NotFoundException
+    @Test
+    public void addAllToCart_NothingInHistory_ThrowsNotFound() {
+        // Arrange
+        when(session.getId()).thenReturn(testSessionId);
+        when(session.getAttribute("EXPORT_CART")).thenReturn(null);
+        when(sessionManagementClient.takeCalculationsByIds(eq(testSessionId), any())).thenReturn(new ArrayList<>());
+
+        // Act + Assert
+        NotFoundException exception = assertThrows(NotFoundException.class, () -> {
+            exportCartService.addAllToCart(List.of(testCalculationId), session);
+        });
+
+        assertEquals("Calculations not found in history", exception.getMessage());
+        verify(session, never()).setAttribute(any(), any());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.migrations;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+// one-shot runner: flyway auto-configuration migrates the database on startup, then the jvm exits.
+// run it before the services that read the schema (docker-compose waits for it to complete)
+@SpringBootApplication
+public class DbMigrationsApplication {
+
+    public static void main(String[] args) {
+        SpringApplication app = new SpringApplication(DbMigrationsApplication.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        System.exit(SpringApplication.exit(app.run(args)));
+    }
+}
@@ -0,0 +1,48 @@
+-- tables read by the services. the two reference tables already exist in the hosted database
+-- (IF NOT EXISTS leaves them untouched); a fresh local database gets the same shape.
+
+-- product catalog (product-service, global-tariffs, tariff-calculator)
+CREATE TABLE IF NOT EXISTS "Products (Test)" (
+    "id" bigint PRIMARY KEY,
+    "hs_code" text NOT NULL,
+    "product" text NOT NULL,
+    "product_cost_usd" double precision,
+    "unit" text
+);
+
+-- current weighted AHS/MFN rate per (country, partner, hs_code), refreshed by wits-api-integration
+CREATE TABLE IF NOT EXISTS "Tariff Rates (Test)" (
+    "country" text NOT NULL,
+    "partner" text NOT NULL,
+    "hs_code" text NOT NULL,
+    "year" integer NOT NULL,
+    "ahs_weighted" double precision,
+    "mfn_weighted" double precision
+);
+
+-- per-year AHS/MFN series from WITS, one row per (country, partner, hs_code, year).
+-- the primary key doubles as the range index history and trend queries scan
+-- (previously created by wits-api-integration on startup)
+CREATE TABLE IF NOT EXISTS "Tariff Rate History" (
+    "country" text NOT NULL,
+    "partner" text NOT NULL,
+    "hs_code" text NOT NULL,
+    "year" smallint NOT NULL,
+    "ahs_weighted" real,
+    "mfn_weighted" real,
+    PRIMARY KEY ("country", "partner", "hs_code", "year")
+);
+
+-- admin tariff overrides shared by every global-tariffs replica
+-- (previously created by global-tariffs on startup)
+CREATE TABLE IF NOT EXISTS "Admin Tariff Overrides" (
+    "id" text PRIMARY KEY,
+    "product" text NOT NULL,
+    "exporting_from" text NOT NULL,
+    "importing_to" text NOT NULL,
+    "type" text NOT NULL,
+    "rate" double precision NOT NULL,
+    "effective_date" text,
+    "expiration_date" text,
+    "updated_at" timestamptz NOT NULL DEFAULT now()
+);
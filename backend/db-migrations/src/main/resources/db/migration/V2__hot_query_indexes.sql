@@ -0,0 +1,45 @@
+-- indexes matched to the query shapes the repositories actually issue.
+-- built CONCURRENTLY so live readers are not blocked; flyway runs a script made only of
+-- concurrent statements outside a transaction. a failed concurrent build leaves an INVALID
+-- index behind, drop it before re-running (IF NOT EXISTS would otherwise skip it).
+
+-- WHERE country = ? AND partner = ? [AND hs_code = ?] [AND year = ?], WHERE country = ? AND year = ?,
+-- DISTINCT country (index-only), GROUP BY country, partner and the route-sorted keyset listing.
+-- the rate columns are included so lookups and listings are answered from the index alone
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_route"
+    ON "Tariff Rates (Test)" ("country", "partner", "hs_code", "year")
+    INCLUDE ("ahs_weighted", "mfn_weighted");
+
+-- WHERE hs_code = ? (wits refresh, global-tariffs routes per product), covering the selected columns
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_hs_code"
+    ON "Tariff Rates (Test)" ("hs_code")
+    INCLUDE ("country", "partner", "year", "ahs_weighted", "mfn_weighted");
+
+-- DISTINCT partner [ORDER BY partner] as an index-only scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_partner"
+    ON "Tariff Rates (Test)" ("partner");
+
+-- trade-insights agreement routes: LOWER(country) = ? OR LOWER(partner) = ? (bitmap OR of both)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_lower_country"
+    ON "Tariff Rates (Test)" (LOWER("country"));
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_lower_partner"
+    ON "Tariff Rates (Test)" (LOWER("partner"));
+
+-- rate-sorted keyset listing in tariff-calculator: ORDER BY COALESCE(rate, 'NaN'::float8), route key.
+-- the expressions must stay textually identical to TariffListingService's sort key
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_ahs_sort"
+    ON "Tariff Rates (Test)" ((COALESCE("ahs_weighted", 'NaN'::float8)), "country", "partner", "hs_code", "year");
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_tariff_rates_mfn_sort"
+    ON "Tariff Rates (Test)" ((COALESCE("mfn_weighted", 'NaN'::float8)), "country", "partner", "hs_code", "year");
+
+-- WHERE LOWER(product) = LOWER(?) in every ProductRepository
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_products_lower_product"
+    ON "Products (Test)" (LOWER("product"));
+
+-- WHERE hs_code = ? and DISTINCT hs_code ORDER BY hs_code
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_products_hs_code"
+    ON "Products (Test)" ("hs_code");
+
+-- global-tariffs replays overrides ORDER BY updated_at, id on every resync
+CREATE INDEX CONCURRENTLY IF NOT EXISTS "idx_admin_overrides_change_order"
+    ON "Admin Tariff Overrides" ("updated_at", "id");
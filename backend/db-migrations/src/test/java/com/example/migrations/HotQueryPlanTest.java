@@ -0,0 +1,182 @@
+package com.example.migrations;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// migrates a throwaway postgres the way production does (the application's flyway auto-configuration on its
+// hikari pool, with application.properties), seeds synthetic rows and EXPLAINs the query shapes the services
+// issue. sequential scans are priced out (enable_seqscan=off) and every plan must name the index meant for
+// that query, so dropping or reshaping an index the repositories rely on fails here
+@Testcontainers(disabledWithoutDocker = true)
+public class HotQueryPlanTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    // V2__hot_query_indexes.sql, and the history table's primary key from V1
+    private static final String ROUTE_INDEX = "idx_tariff_rates_route";
+    private static final String HS_CODE_INDEX = "idx_tariff_rates_hs_code";
+    private static final String PARTNER_INDEX = "idx_tariff_rates_partner";
+    private static final String LOWER_COUNTRY_INDEX = "idx_tariff_rates_lower_country";
+    private static final String LOWER_PARTNER_INDEX = "idx_tariff_rates_lower_partner";
+    private static final String MFN_SORT_INDEX = "idx_tariff_rates_mfn_sort";
+    private static final String PRODUCT_NAME_INDEX = "idx_products_lower_product";
+    private static final String PRODUCT_HS_CODE_INDEX = "idx_products_hs_code";
+    private static final String OVERRIDES_CHANGE_INDEX = "idx_admin_overrides_change_order";
+    private static final String HISTORY_KEY = "Tariff Rate History_pkey";
+
+    private static ConfigurableApplicationContext context;
+    private static JdbcTemplate jdbcTemplate;
+    private static Flyway flyway;
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        // a migration blocked on its own lock never returns, fail instead of hanging the build
+        context = assertTimeoutPreemptively(Duration.ofMinutes(2), () ->
+                new SpringApplicationBuilder(DbMigrationsApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .run("--spring.datasource.url=" + POSTGRES.getJdbcUrl(),
+                                "--spring.datasource.username=" + POSTGRES.getUsername(),
+                                "--spring.datasource.password=" + POSTGRES.getPassword()));
+        DataSource dataSource = context.getBean(DataSource.class);
+        assertInstanceOf(HikariDataSource.class, dataSource);
+        flyway = context.getBean(Flyway.class);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        // 40 reporters x 40 partners x 25 products, one year each
+        jdbcTemplate.execute("INSERT INTO \"Tariff Rates (Test)\" "
+                + "(\"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\") "
+                + "SELECT 'Country ' || c, 'Partner ' || p, (850400 + h)::text, 2022, "
+                + "CASE WHEN h % 7 = 0 THEN NULL ELSE (c * p + h) % 30 END, (c + p * h) % 25 "
+                + "FROM generate_series(1, 40) c, generate_series(1, 40) p, generate_series(1, 25) h");
+        jdbcTemplate.execute("INSERT INTO \"Products (Test)\" (\"id\", \"hs_code\", \"product\", \"product_cost_usd\", \"unit\") "
+                + "SELECT i, (850400 + i % 25)::text, 'Product ' || i, i * 1.5, 'unit' FROM generate_series(1, 5000) i");
+        jdbcTemplate.execute("INSERT INTO \"Admin Tariff Overrides\" "
+                + "(\"id\", \"product\", \"exporting_from\", \"importing_to\", \"type\", \"rate\") "
+                + "SELECT 'route_' || i, 'Product ' || i, 'Partner ' || i, 'Country ' || i, 'AHS', 1.0 "
+                + "FROM generate_series(1, 5000) i");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    static void closeContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Test
+    void migrate_IsIdempotentOnceApplied() {
+        MigrateResult again = flyway.migrate();
+
+        assertEquals(0, again.migrationsExecuted);
+        assertEquals("2", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void routeLookups_UseIndex() {
+        assertUsesIndex("SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" = 'Country 3' AND \"partner\" = 'Partner 7'", ROUTE_INDEX);
+        assertUsesIndex("SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" = 'Country 3' AND \"partner\" = 'Partner 7' "
+                + "AND \"hs_code\" = '850410' LIMIT 1", ROUTE_INDEX);
+        assertUsesIndex("SELECT COUNT(*) > 0 FROM \"Tariff Rates (Test)\" WHERE \"country\" = 'Country 3' "
+                + "AND \"partner\" = 'Partner 7' AND \"hs_code\" = '850410'", ROUTE_INDEX);
+        assertUsesIndex("SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" IN ('Country 3', 'Country 4') "
+                + "AND \"partner\" IN ('Partner 7')", ROUTE_INDEX);
+        assertUsesIndex("SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" = 'Country 3' AND \"year\" = 2022", ROUTE_INDEX);
+    }
+
+    @Test
+    void hsCodeLookups_UseIndex() {
+        assertUsesIndex("SELECT * FROM \"Tariff Rates (Test)\" WHERE \"hs_code\" = '850410'", HS_CODE_INDEX);
+        assertUsesIndex("SELECT DISTINCT \"hs_code\", \"country\", \"partner\", \"ahs_weighted\", \"mfn_weighted\" "
+                + "FROM \"Tariff Rates (Test)\" WHERE \"hs_code\" IN ('850410', '850411', '850412')", HS_CODE_INDEX);
+    }
+
+    @Test
+    void distinctCountriesAndPartners_UseIndex() {
+        assertUsesIndex("SELECT DISTINCT \"country\" FROM \"Tariff Rates (Test)\" ORDER BY \"country\"", ROUTE_INDEX);
+        assertUsesIndex("SELECT DISTINCT \"partner\" FROM \"Tariff Rates (Test)\" ORDER BY \"partner\"", PARTNER_INDEX);
+        assertUsesIndex("SELECT \"country\", \"partner\", COUNT(*) FROM \"Tariff Rates (Test)\" "
+                + "GROUP BY \"country\", \"partner\"", ROUTE_INDEX);
+    }
+
+    @Test
+    void agreementRoutes_UseLowerCaseIndexes() {
+        assertUsesIndex("SELECT DISTINCT ON (t.\"country\", t.\"partner\") "
+                + "t.\"country\", t.\"partner\", t.\"ahs_weighted\", t.\"mfn_weighted\" "
+                + "FROM \"Tariff Rates (Test)\" t "
+                + "WHERE ('country 3' = '' OR LOWER(t.\"country\") = 'country 3' OR LOWER(t.\"partner\") = 'country 3') "
+                + "AND (t.\"country\", t.\"partner\") > ('', '') "
+                + "ORDER BY t.\"country\", t.\"partner\", t.\"year\" DESC, t.\"hs_code\" LIMIT 50", LOWER_COUNTRY_INDEX, LOWER_PARTNER_INDEX);
+    }
+
+    @Test
+    void keysetListing_UsesIndexForBothSorts() {
+        assertUsesIndex("SELECT \"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\" "
+                + "FROM \"Tariff Rates (Test)\" WHERE (\"country\", \"partner\", \"hs_code\", \"year\") > "
+                + "('Country 3', 'Partner 7', '850410', 2022) "
+                + "ORDER BY \"country\" ASC, \"partner\" ASC, \"hs_code\" ASC, \"year\" ASC LIMIT 101", ROUTE_INDEX);
+        assertUsesIndex("SELECT \"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\" "
+                + "FROM \"Tariff Rates (Test)\" ORDER BY COALESCE(\"mfn_weighted\", 'NaN'::float8) DESC, "
+                + "\"country\" DESC, \"partner\" DESC, \"hs_code\" DESC, \"year\" DESC LIMIT 101", MFN_SORT_INDEX);
+    }
+
+    @Test
+    void productLookups_UseIndex() {
+        assertUsesIndex("SELECT * FROM \"Products (Test)\" WHERE LOWER(\"product\") = LOWER('Product 42')", PRODUCT_NAME_INDEX);
+        assertUsesIndex("SELECT * FROM \"Products (Test)\" WHERE \"hs_code\" = '850410'", PRODUCT_HS_CODE_INDEX);
+        assertUsesIndex("SELECT DISTINCT \"hs_code\" FROM \"Products (Test)\" ORDER BY \"hs_code\"", PRODUCT_HS_CODE_INDEX);
+    }
+
+    @Test
+    void historyAndOverrides_UseIndex() {
+        assertUsesIndex("SELECT * FROM \"Tariff Rate History\" WHERE \"country\" = 'Country 3' AND \"partner\" = 'Partner 7' "
+                + "AND \"hs_code\" = '850410' AND \"year\" BETWEEN 2015 AND 2022 ORDER BY \"year\"", HISTORY_KEY);
+        assertUsesIndex("SELECT * FROM \"Admin Tariff Overrides\" ORDER BY \"updated_at\", \"id\"", OVERRIDES_CHANGE_INDEX);
+    }
+
+    // the plan must use every given index and no sequential scan. enable_seqscan is per session, so it is set
+    // on the pooled connection that runs the EXPLAIN and reset before the connection goes back
+    private static void assertUsesIndex(String sql, String... indexes) {
+        List<String> plan = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> lines = new ArrayList<>();
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                try (ResultSet rs = statement.executeQuery("EXPLAIN " + sql)) {
+                    while (rs.next()) {
+                        lines.add(rs.getString(1));
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+            }
+            return lines;
+        });
+        String text = String.join("\n", plan);
+        assertFalse(text.contains("Seq Scan"), () -> "sequential scan for:\n" + sql + "\n" + text);
+        for (String index : indexes) {
+            assertTrue(text.contains(index), () -> "expected " + index + " for:\n" + sql + "\n" + text);
+        }
+    }
+}
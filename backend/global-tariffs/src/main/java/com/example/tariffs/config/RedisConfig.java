@@ -0,0 +1,31 @@
+package com.example.tariffs.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.example.tariffs.service.TariffOverrideStore;
+
+// redis pub/sub wiring: admin override changes made on one replica are announced on a channel and
+// every other replica reloads the changed row
+@Configuration
+public class RedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer tariffOverrideListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            TariffOverrideStore tariffOverrideStore,
+            @Value("${tariff-overrides.channel:global-tariffs:overrides}") String channel) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> tariffOverrideStore.onMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(channel));
+        return container;
+    }
+}
@@ -3,14 +3,14 @@ package com.example.tariffs.controller;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.example.tariffs.dto.WitsRefreshEvent;
+import com.example.tariffs.service.DashboardStatsService;
+import com.example.tariffs.service.ProductCatalog;
 import com.example.tariffs.service.TariffService;
-import com.example.tariffs.repository.TariffRepository;
-import com.example.tariffs.repository.ProductRepository;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
-import java.util.HashMap;
 import java.util.Map;
 
 // admin endpoints that expose aggregate stats and reference data
@@ -20,39 +20,33 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AdminDashboardController {
     private final TariffService tariffService;
-    private final TariffRepository tariffRepository;
-    private final ProductRepository productRepository;
+    private final DashboardStatsService dashboardStatsService;
+    private final ProductCatalog productCatalog;
 
     public AdminDashboardController(TariffService tariffService, 
-                                   TariffRepository tariffRepository,
-                                   ProductRepository productRepository) {
+                                   DashboardStatsService dashboardStatsService,
+                                   ProductCatalog productCatalog) {
         this.tariffService = tariffService;
-        this.tariffRepository = tariffRepository;
-        this.productRepository = productRepository;
+        this.dashboardStatsService = dashboardStatsService;
+        this.productCatalog = productCatalog;
     }
 
-    @Operation(summary = "Get admin dashboard statistics")
+    @Operation(summary = "Get admin dashboard statistics",
+            description = "Precomputed counts (tariff rows, products, countries, routes), routes per country, "
+                    + "FTA coverage and the last WITS refresh time. Kept up to date on admin changes and "
+                    + "reconciled with the database periodically.")
     // GET /api/admin/dashboard/stats -> counts for dashboard widgets
     @GetMapping("/dashboard/stats")
     public ResponseEntity<Map<String, Object>> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-        
-        // Count tariffs
-        long totalTariffs = tariffRepository.count();
-        stats.put("totalTariffs", totalTariffs);
-        
-        // Count products
-        long totalProducts = productRepository.count();
-        stats.put("totalProducts", totalProducts);
-        
-        // Count countries
-        long totalCountries = tariffService.getAllCountries().size();
-        stats.put("totalCountries", totalCountries);
-        
-        // Count country pairs (unique tariff relationships)
-        stats.put("totalCountryPairs", totalTariffs);
-        
-        return ResponseEntity.ok(stats);
+        return ResponseEntity.ok(dashboardStatsService.getStats());
+    }
+
+    @Operation(summary = "Record a completed WITS refresh (called by wits-api-integration)")
+    // POST /api/admin/dashboard/refresh-events -> last refresh time for the dashboard
+    @PostMapping("/dashboard/refresh-events")
+    public ResponseEntity<Void> recordRefresh(@RequestBody WitsRefreshEvent event) {
+        dashboardStatsService.recordWitsRefresh(event);
+        return ResponseEntity.noContent().build();
     }
 
     @Operation(summary = "Get all available countries")
@@ -66,8 +60,7 @@ public class AdminDashboardController {
     // GET /api/admin/products -> distinct product list
     @GetMapping("/products")
     public ResponseEntity<java.util.List<String>> getAllProducts() {
-        java.util.List<String> products = productRepository.findDistinctProducts();
-        return ResponseEntity.ok(products);
+        return ResponseEntity.ok(productCatalog.getProductNames());
     }
 }
 
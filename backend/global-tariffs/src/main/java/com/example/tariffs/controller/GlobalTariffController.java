@@ -4,6 +4,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.example.tariffs.dto.TariffDefinitionsResponse;
+import com.example.tariffs.dto.TariffImportReport;
+import com.example.tariffs.service.TariffExportService;
+import com.example.tariffs.service.TariffImportService;
 import com.example.tariffs.service.TariffService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,9 +22,15 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class GlobalTariffController {
     private final TariffService tariffService;
+    private final TariffExportService tariffExportService;
+    private final TariffImportService tariffImportService;
+    private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(GlobalTariffController.class);
 
-    public GlobalTariffController(TariffService tariffService) {
+    public GlobalTariffController(TariffService tariffService, TariffExportService tariffExportService,
+                                  TariffImportService tariffImportService) {
         this.tariffService = tariffService;
+        this.tariffExportService = tariffExportService;
+        this.tariffImportService = tariffImportService;
     }
 
     @Operation(summary = "Retrieve all tariff definitions (both global and user-defined)")
@@ -59,7 +68,7 @@ public class GlobalTariffController {
     // POST /api/tariff-definitions/modified -> create admin override
     @PostMapping("/tariff-definitions/modified")
     public ResponseEntity<TariffDefinitionsResponse> addModifiedTariffDefinition(
-            @RequestBody Map<String, Object> requestBody) {
+            @RequestBody(required = false) Map<String, Object> requestBody) {
         if (requestBody == null) {
             throw new com.example.tariffs.exception.BadRequestException("Tariff definition data is required");
         }
@@ -83,6 +92,28 @@ public class GlobalTariffController {
         return ResponseEntity.ok(new TariffDefinitionsResponse(true, List.of(dto)));
     }
 
+    @Operation(summary = "Bulk import tariff definitions from a CSV file or JSON array (saves to database, reports rejected rows)")
+    // POST /api/tariff-definitions/modified/import -> set-based admin import, body is the raw file
+    @PostMapping(value = "/tariff-definitions/modified/import",
+            consumes = {"text/csv", "application/json", "application/octet-stream", "text/plain"})
+    public ResponseEntity<TariffImportReport> importModifiedTariffDefinitions(
+            @RequestParam(required = false) String format,
+            jakarta.servlet.http.HttpServletRequest request) throws java.io.IOException {
+        boolean json;
+        if (format == null || format.isBlank()) {
+            String contentType = request.getContentType();
+            json = contentType != null && contentType.toLowerCase().startsWith("application/json");
+        } else if ("csv".equalsIgnoreCase(format)) {
+            json = false;
+        } else if ("json".equalsIgnoreCase(format)) {
+            json = true;
+        } else {
+            throw new com.example.tariffs.exception.BadRequestException("Unsupported import format: " + format);
+        }
+        // read straight from the request stream so the upload is never held twice
+        return ResponseEntity.ok(tariffImportService.importTariffs(request.getInputStream(), json));
+    }
+
     @Operation(summary = "Update an existing tariff definition (updates database)")
     // PUT /api/tariff-definitions/modified/{id} -> update admin override
     @PutMapping("/tariff-definitions/modified/{id}")
@@ -133,17 +164,29 @@ public class GlobalTariffController {
         return ResponseEntity.ok().build();
     }
 
-    @Operation(summary = "Export tariff definitions as CSV")
-    // GET /api/tariff-definitions/export -> placeholder endpoint
+    @Operation(summary = "Export the full tariff rates table (all years, HS codes, AHS/MFN) as CSV or gzip-compressed CSV")
+    // GET /api/tariff-definitions/export?format=csv|csv.gz -> streamed download of the whole table
     @GetMapping("/tariff-definitions/export")
-    public void exportTariffDefinitions(jakarta.servlet.http.HttpServletResponse response) {
-        // Export functionality to be implemented
-        response.setStatus(jakarta.servlet.http.HttpServletResponse.SC_NOT_IMPLEMENTED);
+    public void exportTariffDefinitions(
+            @RequestParam(defaultValue = "csv") String format,
+            jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
+        boolean gzip;
+        if ("csv".equalsIgnoreCase(format)) {
+            gzip = false;
+        } else if ("csv.gz".equalsIgnoreCase(format) || "gzip".equalsIgnoreCase(format)) {
+            gzip = true;
+        } else {
+            throw new com.example.tariffs.exception.BadRequestException("Unsupported export format: " + format);
+        }
+
+        response.setContentType(gzip ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition",
+                "attachment; filename=tariff-definitions" + (gzip ? ".csv.gz" : ".csv"));
         try {
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\":\"Export functionality not yet implemented\"}");
+            tariffExportService.exportTariffs(response.getOutputStream(), gzip);
         } catch (java.io.IOException e) {
-            // Ignore
+            // response is already committed at this point, so just record the aborted download
+            log.warn("Tariff export aborted: {}", e.getMessage());
         }
     }
 
@@ -0,0 +1,62 @@
+package com.example.tariffs.dto;
+
+import java.util.List;
+
+// outcome of a bulk admin tariff import: counts plus one entry per rejected row
+// also includes a nested row error dto
+public class TariffImportReport {
+    private boolean success;
+    private int totalRows;
+    private int appliedRows;
+    private int rejectedRows;
+    private long insertedTariffRows;
+    private long updatedTariffRows;
+    private List<RowError> errors;
+
+    public TariffImportReport() {}
+
+    public TariffImportReport(int totalRows, int appliedRows, long insertedTariffRows, long updatedTariffRows,
+                              List<RowError> errors) {
+        this.success = errors.isEmpty();
+        this.totalRows = totalRows;
+        this.appliedRows = appliedRows;
+        this.rejectedRows = errors.size();
+        this.insertedTariffRows = insertedTariffRows;
+        this.updatedTariffRows = updatedTariffRows;
+        this.errors = errors;
+    }
+
+    // Getters and setters
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public int getTotalRows() { return totalRows; }
+    public void setTotalRows(int totalRows) { this.totalRows = totalRows; }
+    public int getAppliedRows() { return appliedRows; }
+    public void setAppliedRows(int appliedRows) { this.appliedRows = appliedRows; }
+    public int getRejectedRows() { return rejectedRows; }
+    public void setRejectedRows(int rejectedRows) { this.rejectedRows = rejectedRows; }
+    public long getInsertedTariffRows() { return insertedTariffRows; }
+    public void setInsertedTariffRows(long insertedTariffRows) { this.insertedTariffRows = insertedTariffRows; }
+    public long getUpdatedTariffRows() { return updatedTariffRows; }
+    public void setUpdatedTariffRows(long updatedTariffRows) { this.updatedTariffRows = updatedTariffRows; }
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    // row is 1-based and counts data rows only (csv header excluded)
+    public static class RowError {
+        private int row;
+        private String message;
+
+        public RowError() {}
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.tariffs.dto;
+
+// reported by wits-api-integration after a refresh batch has committed
+public class WitsRefreshEvent {
+    private String completedAt;
+    private int routesUpdated;
+    private int routesSkipped;
+
+    public WitsRefreshEvent() {}
+
+    public WitsRefreshEvent(String completedAt, int routesUpdated, int routesSkipped) {
+        this.completedAt = completedAt;
+        this.routesUpdated = routesUpdated;
+        this.routesSkipped = routesSkipped;
+    }
+
+    // Getters and setters
+    public String getCompletedAt() { return completedAt; }
+    public void setCompletedAt(String completedAt) { this.completedAt = completedAt; }
+    public int getRoutesUpdated() { return routesUpdated; }
+    public void setRoutesUpdated(int routesUpdated) { this.routesUpdated = routesUpdated; }
+    public int getRoutesSkipped() { return routesSkipped; }
+    public void setRoutesSkipped(int routesSkipped) { this.routesSkipped = routesSkipped; }
+}
@@ -0,0 +1,47 @@
+package com.example.tariffs.entity;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+// admin-managed tariff override persisted in the Admin Tariff Overrides table
+@Entity
+@Table(name = "\"Admin Tariff Overrides\"")
+public class TariffOverride {
+    @Id
+    @Column(name = "\"id\"")
+    private String id;
+    @Column(name = "\"product\"")
+    private String product;
+    @Column(name = "\"exporting_from\"")
+    private String exportingFrom;
+    @Column(name = "\"importing_to\"")
+    private String importingTo;
+    @Column(name = "\"type\"")
+    private String type;
+    @Column(name = "\"rate\"")
+    private double rate;
+    @Column(name = "\"effective_date\"")
+    private String effectiveDate;
+    @Column(name = "\"expiration_date\"")
+    private String expirationDate;
+    @Column(name = "\"updated_at\"")
+    private Instant updatedAt;
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getProduct() { return product; }
+    public void setProduct(String product) { this.product = product; }
+    public String getExportingFrom() { return exportingFrom; }
+    public void setExportingFrom(String exportingFrom) { this.exportingFrom = exportingFrom; }
+    public String getImportingTo() { return importingTo; }
+    public void setImportingTo(String importingTo) { this.importingTo = importingTo; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public double getRate() { return rate; }
+    public void setRate(double rate) { this.rate = rate; }
+    public String getEffectiveDate() { return effectiveDate; }
+    public void setEffectiveDate(String effectiveDate) { this.effectiveDate = effectiveDate; }
+    public String getExpirationDate() { return expirationDate; }
+    public void setExpirationDate(String expirationDate) { this.expirationDate = expirationDate; }
+    public Instant getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,42 @@
+package com.example.tariffs.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.tariffs.entity.TariffOverride;
+
+// jpa repository for admin tariff overrides
+public interface TariffOverrideRepository extends JpaRepository<TariffOverride, String> {
+    // all overrides, oldest change first (the order the admin view lists them in)
+    @Query(value = "SELECT * FROM \"Admin Tariff Overrides\" ORDER BY \"updated_at\", \"id\"", nativeQuery = true)
+    List<TariffOverride> findAllInChangeOrder();
+
+    // insert or replace one override by id in a single statement
+    @Modifying
+    @Query(value = "INSERT INTO \"Admin Tariff Overrides\" (\"id\", \"product\", \"exporting_from\", \"importing_to\", " +
+                   "\"type\", \"rate\", \"effective_date\", \"expiration_date\", \"updated_at\") " +
+                   "VALUES (:id, :product, :exportingFrom, :importingTo, :type, :rate, :effectiveDate, :expirationDate, now()) " +
+                   "ON CONFLICT (\"id\") DO UPDATE SET \"product\" = EXCLUDED.\"product\", " +
+                   "\"exporting_from\" = EXCLUDED.\"exporting_from\", \"importing_to\" = EXCLUDED.\"importing_to\", " +
+                   "\"type\" = EXCLUDED.\"type\", \"rate\" = EXCLUDED.\"rate\", " +
+                   "\"effective_date\" = EXCLUDED.\"effective_date\", \"expiration_date\" = EXCLUDED.\"expiration_date\", " +
+                   "\"updated_at\" = now()",
+           nativeQuery = true)
+    int upsert(@Param("id") String id,
+               @Param("product") String product,
+               @Param("exportingFrom") String exportingFrom,
+               @Param("importingTo") String importingTo,
+               @Param("type") String type,
+               @Param("rate") double rate,
+               @Param("effectiveDate") String effectiveDate,
+               @Param("expirationDate") String expirationDate);
+
+    // delete one override, returns the number of rows removed (0 when the id is unknown)
+    @Modifying
+    @Query(value = "DELETE FROM \"Admin Tariff Overrides\" WHERE \"id\" = :id", nativeQuery = true)
+    int deleteOverride(@Param("id") String id);
+}
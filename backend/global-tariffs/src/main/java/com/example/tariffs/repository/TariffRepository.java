@@ -1,5 +1,6 @@
 package com.example.tariffs.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,6 +29,12 @@ public interface TariffRepository extends JpaRepository<Tariff, TariffId> {
     @Query(value = "SELECT DISTINCT \"partner\" FROM \"Tariff Rates (Test)\"", nativeQuery = true)
     List<String> findAllDistinctPartners();
 
+    // row count per country/partner route in one pass (country, partner, count), used to reconcile the
+    // precomputed dashboard aggregates
+    @Query(value = "SELECT \"country\", \"partner\", COUNT(*) FROM \"Tariff Rates (Test)\" " +
+                   "GROUP BY \"country\", \"partner\"", nativeQuery = true)
+    List<Object[]> countRowsByRoute();
+
     // Update tariff rows for a specific product (hs_code) and country/partner pair
     // This updates only rows matching country + partner + hs_code (for all years of that product)
     @Modifying
@@ -59,13 +66,13 @@ public interface TariffRepository extends JpaRepository<Tariff, TariffId> {
                                     @Param("partner") String partner,
                                     @Param("hsCode") String hsCode);
     
-    // Find all distinct country/partner combinations for a specific HS code
-    // Returns one row per country/partner combination (deduplicated)
-    @Query(value = "SELECT DISTINCT \"country\", \"partner\", \"ahs_weighted\", \"mfn_weighted\" " +
+    // Find all distinct country/partner combinations for a set of HS codes in one query
+    // Returns one row per hs code and country/partner combination (deduplicated), hs_code first
+    @Query(value = "SELECT DISTINCT \"hs_code\", \"country\", \"partner\", \"ahs_weighted\", \"mfn_weighted\" " +
                    "FROM \"Tariff Rates (Test)\" " +
-                   "WHERE \"hs_code\" = ?1", 
+                   "WHERE \"hs_code\" IN (?1)",
            nativeQuery = true)
-    List<Object[]> findDistinctCountryPartnerByHsCode(String hsCode);
+    List<Object[]> findDistinctCountryPartnerByHsCodes(Collection<String> hsCodes);
     
     // Insert a new tariff row with country, partner, hs_code, year, and rates
     @Modifying
@@ -0,0 +1,155 @@
+package com.example.tariffs.service;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.tariffs.dto.WitsRefreshEvent;
+import com.example.tariffs.repository.TariffRepository;
+
+// precomputed admin dashboard aggregates. row counts are kept per country/partner route and adjusted when an
+// admin mutation commits; every change rebuilds a small immutable stats map, so a dashboard load only copies
+// it. a periodic GROUP BY reconcile replaces the counters with the database's numbers, which also corrects
+// drift from writes made outside this service or racing a reconcile
+@Service
+public class DashboardStatsService {
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+    private static final double PERCENTAGE = 100.0;
+
+    private final TariffRepository tariffRepository;
+    private final ProductCatalog productCatalog;
+
+    // importing country -> partner -> tariff rows; guarded by this
+    private final Map<String, Map<String, Long>> rowsByRoute = new HashMap<>();
+    private Instant lastReconciledAt;
+    private WitsRefreshEvent lastRefresh;
+
+    private volatile Map<String, Object> stats = Map.of();
+
+    public DashboardStatsService(TariffRepository tariffRepository, ProductCatalog productCatalog) {
+        this.tariffRepository = tariffRepository;
+        this.productCatalog = productCatalog;
+    }
+
+    // current aggregates; product count is read off the in-memory catalog
+    public Map<String, Object> getStats() {
+        Map<String, Object> current = new LinkedHashMap<>(stats);
+        current.put("totalProducts", (long) productCatalog.getProducts().size());
+        return current;
+    }
+
+    // rows inserted for a route, applied once the surrounding transaction commits
+    public void recordRowsAdded(String country, String partner, long rows) {
+        TransactionCallbacks.afterCommit(() -> adjust(country, partner, rows));
+    }
+
+    // rows deleted for a route, applied once the surrounding transaction commits
+    public void recordRowsRemoved(String country, String partner, long rows) {
+        TransactionCallbacks.afterCommit(() -> adjust(country, partner, -rows));
+    }
+
+    // a WITS batch only rewrites rates of existing rows, so counts stay as they are
+    public synchronized void recordWitsRefresh(WitsRefreshEvent event) {
+        if (event.getCompletedAt() == null || event.getCompletedAt().isBlank()) {
+            event.setCompletedAt(Instant.now().toString());
+        }
+        lastRefresh = event;
+        rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(
+            initialDelayString = "${dashboard.stats.reconcile-interval-ms:900000}",
+            fixedDelayString = "${dashboard.stats.reconcile-interval-ms:900000}")
+    public void reconcile() {
+        try {
+            List<Object[]> rows = tariffRepository.countRowsByRoute();
+            Map<String, Map<String, Long>> counted = new HashMap<>();
+            for (Object[] row : rows) {
+                counted.computeIfAbsent((String) row[0], k -> new HashMap<>())
+                        .put((String) row[1], ((Number) row[2]).longValue());
+            }
+            synchronized (this) {
+                if (lastReconciledAt != null && !counted.equals(rowsByRoute)) {
+                    log.info("Dashboard stats drifted from the database, reconciled {} route(s)", rows.size());
+                }
+                rowsByRoute.clear();
+                rowsByRoute.putAll(counted);
+                lastReconciledAt = Instant.now();
+                rebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to reconcile dashboard stats: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void adjust(String country, String partner, long delta) {
+        Map<String, Long> partners = rowsByRoute.computeIfAbsent(country, k -> new HashMap<>());
+        long rows = partners.getOrDefault(partner, 0L) + delta;
+        if (rows > 0) {
+            partners.put(partner, rows);
+        } else {
+            partners.remove(partner);
+            if (partners.isEmpty()) {
+                rowsByRoute.remove(country);
+            }
+        }
+        rebuild();
+    }
+
+    // O(routes); runs on writes only
+    private void rebuild() {
+        long totalRows = 0;
+        long totalRoutes = 0;
+        long ftaRoutes = 0;
+        Map<String, Integer> routesPerCountry = new TreeMap<>();
+        Set<String> partners = new HashSet<>();
+        for (Map.Entry<String, Map<String, Long>> country : rowsByRoute.entrySet()) {
+            routesPerCountry.put(country.getKey(), country.getValue().size());
+            for (Map.Entry<String, Long> partner : country.getValue().entrySet()) {
+                totalRows += partner.getValue();
+                totalRoutes++;
+                partners.add(partner.getKey());
+                if (TariffService.FTA_COUNTRIES.contains(country.getKey())
+                        && TariffService.FTA_COUNTRIES.contains(partner.getKey())) {
+                    ftaRoutes++;
+                }
+            }
+        }
+
+        Map<String, Object> ftaCoverage = new LinkedHashMap<>();
+        ftaCoverage.put("ftaRoutes", ftaRoutes);
+        ftaCoverage.put("totalRoutes", totalRoutes);
+        ftaCoverage.put("percentage", totalRoutes == 0 ? 0.0
+                : Math.round(ftaRoutes * PERCENTAGE * 10 / totalRoutes) / 10.0);
+
+        Map<String, Object> next = new LinkedHashMap<>();
+        next.put("totalTariffs", totalRows);
+        next.put("totalCountries", (long) rowsByRoute.size());
+        next.put("totalPartners", (long) partners.size());
+        next.put("totalCountryPairs", totalRoutes);
+        next.put("routesPerCountry", Collections.unmodifiableMap(routesPerCountry));
+        next.put("ftaCoverage", Collections.unmodifiableMap(ftaCoverage));
+        next.put("lastRefreshTime", lastRefresh != null ? lastRefresh.getCompletedAt() : null);
+        next.put("lastRefreshRoutesUpdated", lastRefresh != null ? lastRefresh.getRoutesUpdated() : null);
+        next.put("lastReconciledAt", lastReconciledAt != null ? lastReconciledAt.toString() : null);
+        stats = Collections.unmodifiableMap(next);
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.tariffs.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// streams the full tariff rates table (all years / hs codes / ahs + mfn) straight from a jdbc cursor
+@Service
+public class TariffExportService {
+    private static final Logger log = LoggerFactory.getLogger(TariffExportService.class);
+
+    static final String CSV_HEADER = "country,partner,hs_code,year,ahs_weighted,mfn_weighted";
+
+    private static final String EXPORT_SQL =
+            "SELECT \"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\" " +
+            "FROM \"Tariff Rates (Test)\" " +
+            "ORDER BY \"country\", \"partner\", \"hs_code\", \"year\"";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // rows pulled per round trip; postgres only honours this inside a transaction (autocommit off)
+    @Value("${tariffs.export.fetch-size:1000}")
+    private int fetchSize;
+
+    public TariffExportService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // write the table as csv (optionally gzip-compressed) and return the number of data rows written.
+    // memory use is bounded by the fetch size, not the table size.
+    @Transactional(readOnly = true)
+    public long exportTariffs(OutputStream out, boolean gzip) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(out, 64 * 1024) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzipStream != null ? gzipStream : out, StandardCharsets.UTF_8), 64 * 1024);
+
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long[] rows = {0};
+        RowCallbackHandler rowWriter = rs -> {
+            try {
+                writeRow(writer, rs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        };
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(EXPORT_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, rowWriter);
+        } catch (UncheckedIOException e) {
+            // client went away mid-download; nothing useful left to send
+            throw e.getCause();
+        }
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        log.info("Exported {} tariff rows (gzip={})", rows[0], gzip);
+        return rows[0];
+    }
+
+    private static void writeRow(Writer writer, ResultSet rs) throws IOException, java.sql.SQLException {
+        writeText(writer, rs.getString(1));
+        writer.write(',');
+        writeText(writer, rs.getString(2));
+        writer.write(',');
+        writeText(writer, rs.getString(3));
+        writer.write(',');
+        int year = rs.getInt(4);
+        if (!rs.wasNull()) {
+            writer.write(Integer.toString(year));
+        }
+        writer.write(',');
+        writeNumber(writer, rs.getDouble(5), rs.wasNull());
+        writer.write(',');
+        writeNumber(writer, rs.getDouble(6), rs.wasNull());
+        writer.write('\n');
+    }
+
+    private static void writeNumber(Writer writer, double value, boolean isNull) throws IOException {
+        if (!isNull) {
+            writer.write(Double.toString(value));
+        }
+    }
+
+    // quote only when needed (country names like "Korea, Rep." contain commas)
+    private static void writeText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
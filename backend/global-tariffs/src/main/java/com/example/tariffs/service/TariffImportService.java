@@ -0,0 +1,423 @@
+package com.example.tariffs.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.tariffs.dto.TariffDefinitionsResponse.TariffDefinitionDto;
+import com.example.tariffs.dto.TariffImportReport;
+import com.example.tariffs.dto.TariffImportReport.RowError;
+import com.example.tariffs.entity.Product;
+import com.example.tariffs.exception.ValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// bulk admin tariff import. the upload (csv or a json array of tariff definitions) is parsed and validated in
+// memory against the product catalog, so a bad row costs nothing in the database and is reported back by row
+// number. an AHS and an MFN row for the same route are merged into one staged row carrying both rates. the
+// staged rows are COPY'd into a temp table in one stream and applied with a single statement that updates
+// existing country/partner/hs_code rows and inserts the missing ones, the same rules addAdminTariffDefinition
+// applies one row at a time with about five round trips each
+@Service
+public class TariffImportService {
+    private static final Logger log = LoggerFactory.getLogger(TariffImportService.class);
+
+    // csv header names; matched ignoring case, '_' and spaces so importing_to works too
+    static final List<String> CSV_COLUMNS = List.of(
+            "id", "product", "exportingFrom", "importingTo", "type", "rate", "effectiveDate", "expirationDate");
+
+    // same default year addAdminTariffDefinition uses for new rows
+    private static final int DEFAULT_YEAR = 2022;
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE \"tariff_import_staging\" (" +
+            "\"row_no\" integer, \"country\" text, \"partner\" text, \"hs_code\" text, " +
+            "\"ahs_rate\" double precision, \"mfn_rate\" double precision, \"type\" text, \"rate\" double precision, " +
+            "\"override_id\" text, \"product\" text, \"effective_date\" text, \"expiration_date\" text" +
+            ") ON COMMIT DROP";
+
+    private static final String COPY_STAGING_SQL =
+            "COPY \"tariff_import_staging\" (\"row_no\", \"country\", \"partner\", \"hs_code\", \"ahs_rate\", \"mfn_rate\", " +
+            "\"type\", \"rate\", " +
+            "\"override_id\", \"product\", \"effective_date\", \"expiration_date\") FROM STDIN WITH (FORMAT csv)";
+
+    // both branches read the table as it was before the statement, so a route is either updated or inserted.
+    // a rate type missing from the import keeps its current value when it is set (as the single-row path does)
+    // and otherwise takes the imported one; a new route gets the imported rate for both when only one is given
+    private static final String MERGE_SQL =
+            "WITH updated AS (" +
+            "  UPDATE \"Tariff Rates (Test)\" t SET " +
+            "    \"ahs_weighted\" = COALESCE(s.\"ahs_rate\", CASE WHEN t.\"ahs_weighted\" IS NOT NULL AND t.\"ahs_weighted\" <> 0 " +
+            "                           THEN t.\"ahs_weighted\" ELSE s.\"mfn_rate\" END), " +
+            "    \"mfn_weighted\" = COALESCE(s.\"mfn_rate\", CASE WHEN t.\"mfn_weighted\" IS NOT NULL AND t.\"mfn_weighted\" <> 0 " +
+            "                           THEN t.\"mfn_weighted\" ELSE s.\"ahs_rate\" END) " +
+            "  FROM \"tariff_import_staging\" s " +
+            "  WHERE t.\"country\" = s.\"country\" AND t.\"partner\" = s.\"partner\" AND t.\"hs_code\" = s.\"hs_code\" " +
+            "  RETURNING 1" +
+            "), inserted AS (" +
+            "  INSERT INTO \"Tariff Rates (Test)\" (\"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\") " +
+            "  SELECT s.\"country\", s.\"partner\", s.\"hs_code\", " + DEFAULT_YEAR + ", " +
+            "  COALESCE(s.\"ahs_rate\", s.\"mfn_rate\"), COALESCE(s.\"mfn_rate\", s.\"ahs_rate\") " +
+            "  FROM \"tariff_import_staging\" s " +
+            "  WHERE NOT EXISTS (SELECT 1 FROM \"Tariff Rates (Test)\" t " +
+            "                   WHERE t.\"country\" = s.\"country\" AND t.\"partner\" = s.\"partner\" AND t.\"hs_code\" = s.\"hs_code\") " +
+            "  RETURNING \"country\", \"partner\"" +
+            ") " +
+            "SELECT \"country\", \"partner\", COUNT(*) AS \"row_count\" FROM inserted GROUP BY \"country\", \"partner\" " +
+            "UNION ALL SELECT NULL, NULL, COUNT(*) FROM updated";
+
+    // several imported routes can share an override id (default ids are per country pair); the last row wins,
+    // as it would when the rows were added one at a time. a merged AHS+MFN route stages its later row here
+    private static final String UPSERT_OVERRIDES_SQL =
+            "INSERT INTO \"Admin Tariff Overrides\" (\"id\", \"product\", \"exporting_from\", \"importing_to\", \"type\", " +
+            "\"rate\", \"effective_date\", \"expiration_date\", \"updated_at\") " +
+            "SELECT DISTINCT ON (\"override_id\") \"override_id\", \"product\", \"partner\", \"country\", \"type\", " +
+            "\"rate\", \"effective_date\", \"expiration_date\", now() FROM \"tariff_import_staging\" " +
+            "ORDER BY \"override_id\", \"row_no\" DESC " +
+            "ON CONFLICT (\"id\") DO UPDATE SET \"product\" = EXCLUDED.\"product\", " +
+            "\"exporting_from\" = EXCLUDED.\"exporting_from\", \"importing_to\" = EXCLUDED.\"importing_to\", " +
+            "\"type\" = EXCLUDED.\"type\", \"rate\" = EXCLUDED.\"rate\", " +
+            "\"effective_date\" = EXCLUDED.\"effective_date\", \"expiration_date\" = EXCLUDED.\"expiration_date\", " +
+            "\"updated_at\" = now()";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductCatalog productCatalog;
+    private final DashboardStatsService dashboardStatsService;
+    private final TariffOverrideStore tariffOverrideStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${tariffs.import.max-rows:100000}")
+    private int maxRows;
+
+    public TariffImportService(JdbcTemplate jdbcTemplate, ProductCatalog productCatalog,
+                               DashboardStatsService dashboardStatsService, TariffOverrideStore tariffOverrideStore,
+                               ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productCatalog = productCatalog;
+        this.dashboardStatsService = dashboardStatsService;
+        this.tariffOverrideStore = tariffOverrideStore;
+        this.objectMapper = objectMapper;
+    }
+
+    // parse, validate and apply an upload; valid rows are applied even when others are rejected
+    @Transactional
+    public TariffImportReport importTariffs(InputStream body, boolean json) {
+        List<RowError> errors = new ArrayList<>();
+        List<ParsedRow> parsed;
+        try {
+            parsed = json ? parseJson(body, errors) : parseCsv(body, errors);
+        } catch (IOException e) {
+            throw new ValidationException("Could not read import file: " + e.getMessage());
+        }
+
+        int parseErrors = errors.size();
+        List<StagedRow> staged = validate(parsed, errors);
+        errors.sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        // staged rows are per route, so count the applied input rows from what validation rejected
+        int totalRows = parsed.size() + parseErrors;
+        int appliedRows = totalRows - errors.size();
+        if (staged.isEmpty()) {
+            return new TariffImportReport(totalRows, 0, 0, 0, errors);
+        }
+
+        long started = System.nanoTime();
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        copyToStaging(staged);
+
+        long inserted = 0;
+        long updated = 0;
+        for (Map<String, Object> row : jdbcTemplate.queryForList(MERGE_SQL)) {
+            long rows = ((Number) row.get("row_count")).longValue();
+            String country = (String) row.get("country");
+            if (country == null) {
+                updated += rows;
+            } else {
+                inserted += rows;
+                dashboardStatsService.recordRowsAdded(country, (String) row.get("partner"), rows);
+            }
+        }
+        jdbcTemplate.update(UPSERT_OVERRIDES_SQL);
+        tariffOverrideStore.reloadAll();
+
+        log.info("Imported {} tariff definition(s) ({} rejected): {} rate rows updated, {} inserted in {} ms",
+                appliedRows, errors.size(), updated, inserted, (System.nanoTime() - started) / 1_000_000);
+        return new TariffImportReport(totalRows, appliedRows, inserted, updated, errors);
+    }
+
+    // field checks, product -> hs code resolution and in-file duplicate detection, all without the database.
+    // a duplicate is the same route and rate type; the other type for a route is merged into its staged row
+    List<StagedRow> validate(List<ParsedRow> parsed, List<RowError> errors) {
+        List<StagedRow> staged = new ArrayList<>();
+        Map<String, Integer> firstRowByRouteAndType = new HashMap<>();
+        Map<String, Integer> stagedIndexByRoute = new HashMap<>();
+        for (ParsedRow row : parsed) {
+            TariffDefinitionDto dto = row.dto();
+            try {
+                if (dto.getProduct() == null || dto.getProduct().trim().isEmpty()) {
+                    throw new ValidationException("Product is required");
+                }
+                if (Double.isNaN(dto.getRate()) || Double.isInfinite(dto.getRate())) {
+                    throw new ValidationException("Tariff rate must be a number");
+                }
+                TariffService.validateTariffDefinition(dto);
+
+                List<Product> products = productCatalog.findByName(dto.getProduct());
+                if (products.isEmpty()) {
+                    throw new ValidationException("Product not found: " + dto.getProduct());
+                }
+                String hsCode = products.get(0).getHsCode();
+                if (hsCode == null || hsCode.trim().isEmpty()) {
+                    throw new ValidationException("Product '" + dto.getProduct() + "' does not have an HS code");
+                }
+
+                String route = dto.getImportingTo() + "\u0000" + dto.getExportingFrom() + "\u0000" + hsCode.trim();
+                Integer firstRow = firstRowByRouteAndType.putIfAbsent(route + "\u0000" + dto.getType(), row.row());
+                if (firstRow != null) {
+                    throw new ValidationException("Duplicate of row " + firstRow
+                            + " (same importing country, exporting country, product and type)");
+                }
+
+                String id = dto.getId() != null && !dto.getId().trim().isEmpty()
+                        ? dto.getId().trim() : dto.getImportingTo() + "_" + dto.getExportingFrom();
+                boolean ahs = "AHS".equals(dto.getType());
+                StagedRow next = new StagedRow(row.row(), dto.getImportingTo(), dto.getExportingFrom(), hsCode.trim(),
+                        ahs ? dto.getRate() : null, ahs ? null : dto.getRate(), dto.getType(), dto.getRate(), id,
+                        dto.getProduct(), dto.getEffectiveDate(), dto.getExpirationDate());
+                Integer index = stagedIndexByRoute.putIfAbsent(route, staged.size());
+                if (index == null) {
+                    staged.add(next);
+                } else {
+                    staged.set(index, staged.get(index).mergedWith(next));
+                }
+            } catch (ValidationException e) {
+                errors.add(new RowError(row.row(), e.getMessage()));
+            }
+        }
+        return staged;
+    }
+
+    List<ParsedRow> parseCsv(InputStream body, List<RowError> errors) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> header = readCsvRecord(reader);
+        if (header == null) {
+            throw new ValidationException("Import file is empty");
+        }
+        int[] columnIndex = new int[CSV_COLUMNS.size()];
+        for (int c = 0; c < CSV_COLUMNS.size(); c++) {
+            columnIndex[c] = -1;
+            for (int h = 0; h < header.size(); h++) {
+                if (headerKey(header.get(h)).equals(headerKey(CSV_COLUMNS.get(c)))) {
+                    columnIndex[c] = h;
+                }
+            }
+        }
+        for (String required : List.of("product", "exportingFrom", "importingTo", "type", "rate")) {
+            if (columnIndex[CSV_COLUMNS.indexOf(required)] < 0) {
+                throw new ValidationException("Import file is missing the '" + required + "' column");
+            }
+        }
+
+        List<ParsedRow> rows = new ArrayList<>();
+        int rowNumber = 0;
+        for (List<String> record = readCsvRecord(reader); record != null; record = readCsvRecord(reader)) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            rowNumber++;
+            checkRowLimit(rowNumber);
+            String[] values = new String[CSV_COLUMNS.size()];
+            for (int c = 0; c < values.length; c++) {
+                values[c] = columnIndex[c] >= 0 && columnIndex[c] < record.size() ? record.get(columnIndex[c]) : null;
+            }
+            addRow(rows, errors, rowNumber, values);
+        }
+        return rows;
+    }
+
+    List<ParsedRow> parseJson(InputStream body, List<RowError> errors) throws IOException {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new ValidationException("Import file is not valid JSON: " + e.getMessage());
+        }
+        if (root == null || !root.isArray()) {
+            throw new ValidationException("JSON import must be an array of tariff definitions");
+        }
+        List<ParsedRow> rows = new ArrayList<>();
+        int rowNumber = 0;
+        for (JsonNode node : root) {
+            rowNumber++;
+            checkRowLimit(rowNumber);
+            if (!node.isObject()) {
+                errors.add(new RowError(rowNumber, "Row is not a JSON object"));
+                continue;
+            }
+            String[] values = new String[CSV_COLUMNS.size()];
+            for (int c = 0; c < values.length; c++) {
+                JsonNode value = node.get(CSV_COLUMNS.get(c));
+                values[c] = value == null || value.isNull() ? null : value.asText();
+            }
+            addRow(rows, errors, rowNumber, values);
+        }
+        return rows;
+    }
+
+    // values are in CSV_COLUMNS order
+    private static void addRow(List<ParsedRow> rows, List<RowError> errors, int rowNumber, String[] values) {
+        String rate = trimToNull(values[5]);
+        if (rate == null) {
+            errors.add(new RowError(rowNumber, "Tariff rate is required"));
+            return;
+        }
+        double parsedRate;
+        try {
+            parsedRate = Double.parseDouble(rate);
+        } catch (NumberFormatException e) {
+            errors.add(new RowError(rowNumber, "Tariff rate is not a number: " + rate));
+            return;
+        }
+        String type = trimToNull(values[4]);
+        rows.add(new ParsedRow(rowNumber, new TariffDefinitionDto(
+                trimToNull(values[0]),
+                trimToNull(values[1]),
+                trimToNull(values[2]),
+                trimToNull(values[3]),
+                type != null ? type.toUpperCase(Locale.ROOT) : null,
+                parsedRate,
+                trimToNull(values[6]),
+                trimToNull(values[7]))));
+    }
+
+    private void checkRowLimit(int rowNumber) {
+        if (rowNumber > maxRows) {
+            throw new ValidationException("Import exceeds the maximum of " + maxRows + " rows");
+        }
+    }
+
+    // streams the staged rows through the postgres COPY protocol on the transaction's connection
+    private void copyToStaging(List<StagedRow> staged) {
+        StringBuilder csv = new StringBuilder(staged.size() * 96);
+        for (StagedRow row : staged) {
+            csv.append(row.row()).append(',');
+            appendCsv(csv, row.country()).append(',');
+            appendCsv(csv, row.partner()).append(',');
+            appendCsv(csv, row.hsCode()).append(',');
+            appendNumber(csv, row.ahsRate()).append(',');
+            appendNumber(csv, row.mfnRate()).append(',');
+            appendCsv(csv, row.type()).append(',');
+            csv.append(row.rate()).append(',');
+            appendCsv(csv, row.overrideId()).append(',');
+            appendCsv(csv, row.product()).append(',');
+            appendCsv(csv, row.effectiveDate()).append(',');
+            appendCsv(csv, row.expirationDate()).append('\n');
+        }
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI()
+                        .copyIn(COPY_STAGING_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new java.sql.SQLException("Failed to stream import rows", e);
+            }
+        });
+        log.debug("Staged {} import row(s)", copied);
+    }
+
+    // null stays an empty unquoted field, which COPY reads as NULL
+    private static StringBuilder appendCsv(StringBuilder csv, String value) {
+        if (value == null) {
+            return csv;
+        }
+        return csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendNumber(StringBuilder csv, Double value) {
+        return value == null ? csv : csv.append(value.doubleValue());
+    }
+
+    // one csv record, honouring quoted fields (commas, quotes and newlines inside quotes); null at end of input
+    static List<String> readCsvRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c >= 0) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (next >= 0) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String headerKey(String name) {
+        return name.replace("_", "").replace(" ", "").replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    record ParsedRow(int row, TariffDefinitionDto dto) {
+    }
+
+    // one route: ahsRate/mfnRate are null when the file has no row of that type. type, rate and the override
+    // fields are those of the route's last row, which the admin overrides table keeps
+    record StagedRow(int row, String country, String partner, String hsCode, Double ahsRate, Double mfnRate,
+                     String type, double rate, String overrideId, String product, String effectiveDate,
+                     String expirationDate) {
+
+        StagedRow mergedWith(StagedRow later) {
+            return new StagedRow(later.row, country, partner, hsCode,
+                    later.ahsRate != null ? later.ahsRate : ahsRate, later.mfnRate != null ? later.mfnRate : mfnRate,
+                    later.type, later.rate, later.overrideId, later.product, later.effectiveDate, later.expirationDate);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.tariffs.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.tariffs.dto.TariffDefinitionsResponse.TariffDefinitionDto;
+import com.example.tariffs.entity.TariffOverride;
+import com.example.tariffs.repository.TariffOverrideRepository;
+
+// admin tariff overrides. the Admin Tariff Overrides table is the source of truth so overrides survive restarts
+// and every replica sees the same set; reads are served from an in-memory index keyed by id (insertion
+// ordered, a rewrite moves the override to the end like the old list did). writes hit the table, update the
+// local index once the transaction commits and publish the id on a redis channel so other replicas reload
+// just that row. a missed message (redis down, replica restarting) is healed by the periodic full resync
+@Component
+public class TariffOverrideStore {
+    private static final Logger log = LoggerFactory.getLogger(TariffOverrideStore.class);
+    private static final String SEPARATOR = "|";
+    // override id that tells other replicas to reload the whole table (bulk import)
+    private static final String ALL = "*";
+
+    private final TariffOverrideRepository overrideRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    // lets a replica skip its own change notifications
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // id -> override; guarded by this
+    private final Map<String, TariffDefinitionDto> overridesById = new LinkedHashMap<>();
+    // read view rebuilt lazily after a change, so repeated reads don't copy the map
+    private volatile List<TariffDefinitionDto> view = List.of();
+
+    public TariffOverrideStore(TariffOverrideRepository overrideRepository,
+                               StringRedisTemplate redisTemplate,
+                               @Value("${tariff-overrides.channel:global-tariffs:overrides}") String channel) {
+        this.overrideRepository = overrideRepository;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    // all overrides, oldest change first
+    public List<TariffDefinitionDto> findAll() {
+        List<TariffDefinitionDto> current = view;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (view == null) {
+                view = List.copyOf(overridesById.values());
+            }
+            return view;
+        }
+    }
+
+    // insert or replace an override by id
+    @Transactional
+    public void upsert(TariffDefinitionDto dto) {
+        overrideRepository.upsert(dto.getId(), dto.getProduct(), dto.getExportingFrom(), dto.getImportingTo(),
+                dto.getType(), dto.getRate(), dto.getEffectiveDate(), dto.getExpirationDate());
+        TransactionCallbacks.afterCommit(() -> {
+            put(dto);
+            publish(dto.getId());
+        });
+    }
+
+    // remove an override, false when no override had that id
+    @Transactional
+    public boolean delete(String id) {
+        if (overrideRepository.deleteOverride(id) == 0) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            remove(id);
+            publish(id);
+        });
+        return true;
+    }
+
+    // after a set-based write to the table (bulk import): reload everything once the transaction commits and
+    // have the other replicas do the same
+    public void reloadAll() {
+        TransactionCallbacks.afterCommit(() -> {
+            resync();
+            publish(ALL);
+        });
+    }
+
+    // change notification from the redis channel: "<instance id>|<override id or *>"
+    public void onMessage(String message) {
+        int separator = message.indexOf(SEPARATOR);
+        if (separator < 0 || message.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        String id = message.substring(separator + 1);
+        if (ALL.equals(id)) {
+            resync();
+            return;
+        }
+        try {
+            Optional<TariffOverride> stored = overrideRepository.findById(id);
+            if (stored.isPresent()) {
+                put(toDto(stored.get()));
+            } else {
+                remove(id);
+            }
+        } catch (Exception e) {
+            // the next resync picks the change up
+            log.warn("Failed to reload tariff override {}: {}", id, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        resync();
+    }
+
+    @Scheduled(
+            initialDelayString = "${tariff-overrides.resync-interval-ms:300000}",
+            fixedDelayString = "${tariff-overrides.resync-interval-ms:300000}")
+    public void resync() {
+        try {
+            List<TariffOverride> stored = overrideRepository.findAllInChangeOrder();
+            synchronized (this) {
+                overridesById.clear();
+                for (TariffOverride override : stored) {
+                    overridesById.put(override.getId(), toDto(override));
+                }
+                view = null;
+            }
+        } catch (Exception e) {
+            // keep serving the current index until the next resync
+            log.warn("Failed to load tariff overrides: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void put(TariffDefinitionDto dto) {
+        overridesById.remove(dto.getId());
+        overridesById.put(dto.getId(), dto);
+        view = null;
+    }
+
+    private synchronized void remove(String id) {
+        if (overridesById.remove(id) != null) {
+            view = null;
+        }
+    }
+
+    // best effort: the write is already committed, other replicas converge on their next resync
+    private void publish(String id) {
+        try {
+            redisTemplate.convertAndSend(channel, instanceId + SEPARATOR + id);
+        } catch (Exception e) {
+            log.warn("Failed to publish tariff override change {}: {}", id, e.getMessage());
+        }
+    }
+
+    private static TariffDefinitionDto toDto(TariffOverride override) {
+        return new TariffDefinitionDto(
+                override.getId(),
+                override.getProduct(),
+                override.getExportingFrom(),
+                override.getImportingTo(),
+                override.getType(),
+                override.getRate(),
+                override.getEffectiveDate(),
+                override.getExpirationDate()
+        );
+    }
+}
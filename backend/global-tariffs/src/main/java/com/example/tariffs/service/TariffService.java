@@ -2,11 +2,11 @@ package com.example.tariffs.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,30 +16,32 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.tariffs.dto.TariffDefinitionsResponse;
 import com.example.tariffs.entity.Tariff;
 import com.example.tariffs.entity.TariffId;
-import com.example.tariffs.repository.ProductRepository;
 import com.example.tariffs.repository.TariffRepository;
 
 // business logic for tariff definitions and persistence
 @Service
 public class TariffService {
     private static final Logger log = LoggerFactory.getLogger(TariffService.class);
-    private static final Set<String> FTA_COUNTRIES = Set.of(
+    static final Set<String> FTA_COUNTRIES = Set.of(
             "Australia", "China", "Indonesia", "India", "Japan",
             "Malaysia", "Philippines", "Singapore", "Vietnam"
     );
 
     private final TariffRepository tariffRepository;
-    private final ProductRepository productRepository;
-    private final List<TariffDefinitionsResponse.TariffDefinitionDto> userDefinedTariffs =
-            new CopyOnWriteArrayList<>();
+    private final ProductCatalog productCatalog;
+    private final DashboardStatsService dashboardStatsService;
+    private final TariffOverrideStore tariffOverrideStore;
 
-    public TariffService(TariffRepository tariffRepository, ProductRepository productRepository) {
+    public TariffService(TariffRepository tariffRepository, ProductCatalog productCatalog,
+                         DashboardStatsService dashboardStatsService, TariffOverrideStore tariffOverrideStore) {
         this.tariffRepository = tariffRepository;
-        this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
+        this.dashboardStatsService = dashboardStatsService;
+        this.tariffOverrideStore = tariffOverrideStore;
     }
 
     // determine if route is covered by FTA list
-    private boolean hasFTA(String importCountry, String exportCountry) {
+    boolean hasFTA(String importCountry, String exportCountry) {
         return FTA_COUNTRIES.contains(importCountry) && FTA_COUNTRIES.contains(exportCountry);
     }
 
@@ -52,7 +54,7 @@ public class TariffService {
     public TariffDefinitionsResponse getTariffDefinitions() {
         try {
             // Use distinct product names to avoid duplicating rows in definitions
-            List<String> products = productRepository.findDistinctProducts();
+            List<String> products = productCatalog.getProductNames();
 
             // Use a Set to track unique combinations and avoid duplicates
             // Key format: "product_country_partner_type"
@@ -60,32 +62,38 @@ public class TariffService {
             List<TariffDefinitionsResponse.TariffDefinitionDto> definitions = new ArrayList<>();
             int idCounter = 1;
 
-            // Pre-load all products with their HS codes to avoid repeated queries
+            // Resolve HS codes from the in-memory product catalog
             Map<String, String> productHsCodeMap = new HashMap<>();
             for (String productName : products) {
-                List<com.example.tariffs.entity.Product> productList = productRepository.findByName(productName);
+                List<com.example.tariffs.entity.Product> productList = productCatalog.findByName(productName);
                 if (!productList.isEmpty() && productList.get(0).getHsCode() != null && !productList.get(0).getHsCode().trim().isEmpty()) {
                     productHsCodeMap.put(productName, productList.get(0).getHsCode());
                 }
             }
 
-            // For each product, query all its tariffs in one efficient query
+            // Query the country/partner combinations of every HS code in ONE query (not one per product)
+            Map<String, List<Object[]>> tariffRowsByHsCode = new HashMap<>();
+            if (!productHsCodeMap.isEmpty()) {
+                for (Object[] row : tariffRepository.findDistinctCountryPartnerByHsCodes(
+                        new HashSet<>(productHsCodeMap.values()))) {
+                    tariffRowsByHsCode.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add(row);
+                }
+            }
+
             for (String productName : products) {
                 String hsCode = productHsCodeMap.get(productName);
                 if (hsCode == null || hsCode.trim().isEmpty()) {
                     continue; // Skip products without HS codes
                 }
 
-                // Query all distinct country/partner combinations for this HS code in ONE query
-                // This is much more efficient than nested loops
-                List<Object[]> tariffRows = tariffRepository.findDistinctCountryPartnerByHsCode(hsCode);
+                List<Object[]> tariffRows = tariffRowsByHsCode.getOrDefault(hsCode, List.of());
                 
                 for (Object[] row : tariffRows) {
-                    // row[0] = country, row[1] = partner, row[2] = ahs_weighted, row[3] = mfn_weighted
-                    String country = (String) row[0];
-                    String partner = (String) row[1];
-                    Double ahsWeighted = row[2] != null ? ((Number) row[2]).doubleValue() : null;
-                    Double mfnWeighted = row[3] != null ? ((Number) row[3]).doubleValue() : null;
+                    // row[0] = hs_code, row[1] = country, row[2] = partner, row[3] = ahs_weighted, row[4] = mfn_weighted
+                    String country = (String) row[1];
+                    String partner = (String) row[2];
+                    Double ahsWeighted = row[3] != null ? ((Number) row[3]).doubleValue() : null;
+                    Double mfnWeighted = row[4] != null ? ((Number) row[4]).doubleValue() : null;
                     
                     // Skip tariffs with null rates
                     if (ahsWeighted == null && mfnWeighted == null) {
@@ -141,9 +149,9 @@ public class TariffService {
         return getTariffDefinitions();
     }
 
-    // admin managed overrides stored in-memory for quick reference
+    // admin managed overrides, served from the override store's in-memory index
     public TariffDefinitionsResponse getUserTariffDefinitions() {
-        return new TariffDefinitionsResponse(true, new ArrayList<>(userDefinedTariffs));
+        return new TariffDefinitionsResponse(true, new ArrayList<>(tariffOverrideStore.findAll()));
     }
 
     // add or update tariff override (admin) - creates new entry if it doesn't exist
@@ -160,7 +168,7 @@ public class TariffService {
                 throw new com.example.tariffs.exception.ValidationException("Product is required to add tariff");
             }
             
-            List<com.example.tariffs.entity.Product> products = productRepository.findByName(dto.getProduct());
+            List<com.example.tariffs.entity.Product> products = productCatalog.findByName(dto.getProduct());
             if (products.isEmpty()) {
                 throw new com.example.tariffs.exception.NotFoundException(
                     "Product not found: " + dto.getProduct());
@@ -198,6 +206,7 @@ public class TariffService {
                 if (insertedRows == 0) {
                     throw new com.example.tariffs.exception.DataAccessException("Failed to create new tariff: no rows were inserted");
                 }
+                dashboardStatsService.recordRowsAdded(importingTo, exportingFrom, insertedRows);
                 
                 log.info("Created new tariff entry for country: {}, partner: {}, product: {} (hs_code: {}, year: {})", 
                         importingTo, exportingFrom, dto.getProduct(), hsCode, year);
@@ -275,7 +284,7 @@ public class TariffService {
                 throw new com.example.tariffs.exception.ValidationException("Product is required to update tariff");
             }
             
-            List<com.example.tariffs.entity.Product> products = productRepository.findByName(dto.getProduct());
+            List<com.example.tariffs.entity.Product> products = productCatalog.findByName(dto.getProduct());
             if (products.isEmpty()) {
                 throw new com.example.tariffs.exception.NotFoundException(
                     "Product not found: " + dto.getProduct());
@@ -365,7 +374,7 @@ public class TariffService {
         }
     }
 
-    // delete override (admin) - for modified global tariffs (in-memory)
+    // delete override (admin) - for modified global tariffs
     public void deleteAdminTariffDefinition(String id) {
         try {
             String[] parts = id.split("_");
@@ -383,6 +392,7 @@ public class TariffService {
             }
 
             tariffRepository.delete(tariffOptional.get());
+            dashboardStatsService.recordRowsRemoved(importingTo, exportingFrom, 1);
             removeUserTariff(id);
         } catch (com.example.tariffs.exception.ValidationException | com.example.tariffs.exception.NotFoundException e) {
             throw e;
@@ -410,7 +420,7 @@ public class TariffService {
             String exportingFrom = dto.getExportingFrom();
             
             // Get hs_code from product name
-            List<com.example.tariffs.entity.Product> products = productRepository.findByName(dto.getProduct());
+            List<com.example.tariffs.entity.Product> products = productCatalog.findByName(dto.getProduct());
             if (products.isEmpty()) {
                 throw new com.example.tariffs.exception.NotFoundException(
                     "Product not found: " + dto.getProduct());
@@ -434,6 +444,7 @@ public class TariffService {
             if (deletedRows == 0) {
                 throw new com.example.tariffs.exception.DataAccessException("Failed to delete tariff: no rows were deleted");
             }
+            dashboardStatsService.recordRowsRemoved(importingTo, exportingFrom, deletedRows);
             
             log.info("Deleted {} tariff row(s) for country: {}, partner: {}, product: {} (hs_code: {})", 
                     deletedRows, importingTo, exportingFrom, dto.getProduct(), hsCode);
@@ -446,7 +457,7 @@ public class TariffService {
     }
 
     // sanity-check input dto
-    private void validateTariffDefinition(TariffDefinitionsResponse.TariffDefinitionDto dto) {
+    static void validateTariffDefinition(TariffDefinitionsResponse.TariffDefinitionDto dto) {
         if (dto.getImportingTo() == null || dto.getImportingTo().trim().isEmpty()) {
             throw new com.example.tariffs.exception.ValidationException("Importing country is required");
         }
@@ -465,7 +476,7 @@ public class TariffService {
     }
 
     // convert entity + context into dto
-    private TariffDefinitionsResponse.TariffDefinitionDto convertToDto(
+    TariffDefinitionsResponse.TariffDefinitionDto convertToDto(
             Tariff tariff,
             String product,
             String effectiveDate,
@@ -496,18 +507,17 @@ public class TariffService {
         );
     }
 
-    // maintain in-memory list of overrides
+    // record override in the shared override store
     private void upsertUserTariff(TariffDefinitionsResponse.TariffDefinitionDto dto) {
-        userDefinedTariffs.removeIf(existing -> existing.getId().equals(dto.getId()));
-        userDefinedTariffs.add(dto);
+        tariffOverrideStore.upsert(dto);
     }
 
-    // remove override from in-memory list
+    // remove override from the shared override store
     private void removeUserTariff(String id) {
-        userDefinedTariffs.removeIf(existing -> existing.getId().equals(id));
+        tariffOverrideStore.delete(id);
     }
     
-    // add user-defined tariff (stores in-memory only, no database operations)
+    // add user-defined tariff (persisted to the override store only, the tariff dataset is untouched)
     public void addUserTariffDefinition(TariffDefinitionsResponse.TariffDefinitionDto dto) {
         if (dto == null) {
             throw new com.example.tariffs.exception.ValidationException("Tariff definition is required");
@@ -533,7 +543,7 @@ public class TariffService {
             throw new com.example.tariffs.exception.ValidationException("Tariff rate cannot be negative");
         }
         
-        // Add to in-memory list (upsert behavior - replace if exists)
+        // Upsert behavior - replace if exists
         upsertUserTariff(dto);
     }
     
@@ -553,7 +563,7 @@ public class TariffService {
         }
         
         final String finalDecodedId = decodedId;
-        boolean removed = userDefinedTariffs.removeIf(existing -> existing.getId().equals(finalDecodedId));
+        boolean removed = tariffOverrideStore.delete(finalDecodedId);
         if (!removed) {
             throw new com.example.tariffs.exception.NotFoundException(
                 "User tariff definition not found with ID: " + finalDecodedId);
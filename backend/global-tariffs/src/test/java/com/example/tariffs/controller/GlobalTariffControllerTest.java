@@ -1,10 +1,14 @@
 package com.example.tariffs.controller;
 
+import com.example.tariffs.config.SecurityConfig;
 import com.example.tariffs.dto.TariffDefinitionsResponse;
 import com.example.tariffs.dto.TariffDefinitionsResponse.TariffDefinitionDto;
 import com.example.tariffs.exception.BadRequestException;
 import com.example.tariffs.exception.NotFoundException;
 import com.example.tariffs.exception.ValidationException;
+import com.example.tariffs.dto.TariffImportReport;
+import com.example.tariffs.service.TariffExportService;
+import com.example.tariffs.service.TariffImportService;
 import com.example.tariffs.service.TariffService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,20 +16,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 // Use @WebMvcTest to load only web layer (no JPA context)
 @WebMvcTest(GlobalTariffController.class)
+@Import(SecurityConfig.class) // the service's own permit-all chain instead of Boot's default basic auth
 public class GlobalTariffControllerTest {
 
     @Autowired
@@ -37,6 +47,12 @@ public class GlobalTariffControllerTest {
     @MockBean // Mock the service dependency
     private TariffService tariffService;
 
+    @MockBean
+    private TariffExportService tariffExportService;
+
+    @MockBean
+    private TariffImportService tariffImportService;
+
     private TariffDefinitionsResponse successResponse;
     private TariffDefinitionDto testDto;
 
@@ -116,8 +132,8 @@ public class GlobalTariffControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(null)))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> result.getResolvedException() instanceof BadRequestException)
-                .andExpect(result -> result.getResolvedException().getMessage().contains("Tariff definition data is required"));
+                .andExpect(result -> assertInstanceOf(BadRequestException.class, result.getResolvedException()))
+                .andExpect(result -> assertTrue(result.getResolvedException().getMessage().contains("Tariff definition data is required")));
 
         verify(tariffService, never()).addAdminTariffDefinition(any());
     }
@@ -147,11 +163,12 @@ public class GlobalTariffControllerTest {
     void updateModifiedTariffDefinition_EmptyId_ShouldThrowBadRequest() throws Exception {
         Map<String, Object> updateRequest = Map.of("product", "Electronics");
 
-        mockMvc.perform(put("/api/tariff-definitions/modified/") // Empty ID
+        // a blank ID reaches the controller, a missing one never matches the route
+        mockMvc.perform(put("/api/tariff-definitions/modified/{id}", " ")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(updateRequest)))
                 .andExpect(status().isBadRequest())
-                .andExpect(result -> result.getResolvedException() instanceof BadRequestException);
+                .andExpect(result -> assertInstanceOf(BadRequestException.class, result.getResolvedException()));
 
         verify(tariffService, never()).updateAdminTariffDefinition(any(), any());
     }
@@ -169,10 +186,58 @@ public class GlobalTariffControllerTest {
     }
 
     @Test
-    void exportTariffDefinitions_ShouldReturnNotImplemented() throws Exception {
-        mockMvc.perform(get("/api/tariff-definitions/export")
-                        .contentType(MediaType.APPLICATION_JSON))
-                .andExpect(status().is5xxServerError()) // 501 Not Implemented
-                .andExpect(jsonPath("$.error").value("Export functionality not yet implemented"));
+    void exportTariffDefinitions_DefaultFormat_ShouldStreamCsv() throws Exception {
+        mockMvc.perform(get("/api/tariff-definitions/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=tariff-definitions.csv"))
+                .andExpect(content().contentTypeCompatibleWith("text/csv"));
+
+        verify(tariffExportService, times(1)).exportTariffs(any(), eq(false));
+    }
+
+    @Test
+    void exportTariffDefinitions_GzipFormat_ShouldStreamCompressedCsv() throws Exception {
+        mockMvc.perform(get("/api/tariff-definitions/export").param("format", "csv.gz"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=tariff-definitions.csv.gz"))
+                .andExpect(content().contentType("application/gzip"));
+
+        verify(tariffExportService, times(1)).exportTariffs(any(), eq(true));
+    }
+
+    @Test
+    void exportTariffDefinitions_UnknownFormat_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/tariff-definitions/export").param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+
+        verify(tariffExportService, never()).exportTariffs(any(), anyBoolean());
+    }
+
+    @Test
+    void importModifiedTariffDefinitions_Csv_ShouldReturnRowReport() throws Exception {
+        TariffImportReport report = new TariffImportReport(2, 1, 1, 0,
+                List.of(new TariffImportReport.RowError(2, "Product not found: Widgets")));
+        when(tariffImportService.importTariffs(any(), eq(false))).thenReturn(report);
+
+        mockMvc.perform(post("/api/tariff-definitions/modified/import")
+                        .contentType("text/csv")
+                        .content("product,exportingFrom,importingTo,type,rate\n"
+                                + "Electronics,Singapore,China,AHS,5\n"
+                                + "Widgets,Singapore,China,AHS,5\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.appliedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2));
+    }
+
+    @Test
+    void importModifiedTariffDefinitions_UnknownFormat_ShouldThrowBadRequest() throws Exception {
+        mockMvc.perform(post("/api/tariff-definitions/modified/import")
+                        .param("format", "xlsx")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[] {1, 2, 3}))
+                .andExpect(status().isBadRequest());
+
+        verify(tariffImportService, never()).importTariffs(any(), anyBoolean());
     }
-}
\ No newline at end of file
+}
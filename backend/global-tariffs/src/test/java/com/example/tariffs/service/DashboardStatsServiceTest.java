@@ -0,0 +1,82 @@
+package com.example.tariffs.service;
+
+import com.example.tariffs.dto.WitsRefreshEvent;
+import com.example.tariffs.entity.Product;
+import com.example.tariffs.repository.TariffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DashboardStatsServiceTest {
+
+    @Mock
+    private TariffRepository tariffRepository;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @InjectMocks
+    private DashboardStatsService dashboardStatsService;
+
+    @BeforeEach
+    void setUp() {
+        when(tariffRepository.countRowsByRoute()).thenReturn(List.of(
+                new Object[] {"China", "Singapore", 4L},
+                new Object[] {"China", "USA", 2L},
+                new Object[] {"Japan", "Singapore", 3L}));
+        dashboardStatsService.reconcile();
+    }
+
+    @Test
+    void getStats_AfterReconcile_ReturnsAggregates() {
+        when(productCatalog.getProducts()).thenReturn(List.of(new Product(), new Product()));
+
+        Map<String, Object> stats = dashboardStatsService.getStats();
+
+        assertEquals(9L, stats.get("totalTariffs"));
+        assertEquals(2L, stats.get("totalProducts"));
+        assertEquals(2L, stats.get("totalCountries"));
+        assertEquals(3L, stats.get("totalCountryPairs"));
+        assertEquals(Map.of("China", 2, "Japan", 1), stats.get("routesPerCountry"));
+        Map<?, ?> fta = (Map<?, ?>) stats.get("ftaCoverage");
+        assertEquals(2L, fta.get("ftaRoutes"));
+        assertEquals(66.7, fta.get("percentage"));
+        assertNotNull(stats.get("lastReconciledAt"));
+        assertNull(stats.get("lastRefreshTime"));
+    }
+
+    @Test
+    void recordRows_AdjustsCountersWithoutQueryingDatabase() {
+        dashboardStatsService.recordRowsAdded("India", "China", 1);
+        dashboardStatsService.recordRowsRemoved("China", "USA", 2);
+
+        Map<String, Object> stats = dashboardStatsService.getStats();
+
+        assertEquals(8L, stats.get("totalTariffs"));
+        assertEquals(3L, stats.get("totalCountryPairs"));
+        assertEquals(Map.of("China", 1, "India", 1, "Japan", 1), stats.get("routesPerCountry"));
+        // only the reconcile in setUp touched the table
+        verify(tariffRepository, times(1)).countRowsByRoute();
+    }
+
+    @Test
+    void recordWitsRefresh_ExposesLastRefreshTime() {
+        dashboardStatsService.recordWitsRefresh(new WitsRefreshEvent("2026-01-05T02:00:00Z", 42, 3));
+
+        Map<String, Object> stats = dashboardStatsService.getStats();
+
+        assertEquals("2026-01-05T02:00:00Z", stats.get("lastRefreshTime"));
+        assertEquals(42, stats.get("lastRefreshRoutesUpdated"));
+        assertEquals(9L, stats.get("totalTariffs"));
+    }
+}
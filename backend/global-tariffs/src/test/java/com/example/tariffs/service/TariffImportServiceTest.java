@@ -0,0 +1,139 @@
+package com.example.tariffs.service;
+
+import com.example.tariffs.dto.TariffImportReport;
+import com.example.tariffs.dto.TariffImportReport.RowError;
+import com.example.tariffs.entity.Product;
+import com.example.tariffs.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TariffImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private DashboardStatsService dashboardStatsService;
+
+    @Mock
+    private TariffOverrideStore tariffOverrideStore;
+
+    private TariffImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new TariffImportService(jdbcTemplate, productCatalog, dashboardStatsService,
+                tariffOverrideStore, new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "maxRows", 100);
+        Product electronics = new Product();
+        electronics.setName("Electronics");
+        electronics.setHsCode("850440");
+        lenient().when(productCatalog.findByName("Electronics")).thenReturn(List.of(electronics));
+        lenient().when(productCatalog.findByName("Widgets")).thenReturn(List.of());
+    }
+
+    @Test
+    void parseCsv_HandlesQuotedFieldsAndSnakeCaseHeaders() throws Exception {
+        List<RowError> errors = new ArrayList<>();
+
+        List<TariffImportService.ParsedRow> rows = importService.parseCsv(stream(
+                "product,exporting_from,importing_to,type,rate\r\n"
+                        + "Electronics,\"Korea, Rep.\",China,ahs,5.5\r\n"
+                        + "\n"
+                        + "Electronics,Japan,China,MFN,abc\n"), errors);
+
+        assertEquals(1, rows.size());
+        assertEquals("Korea, Rep.", rows.get(0).dto().getExportingFrom());
+        assertEquals("AHS", rows.get(0).dto().getType());
+        assertEquals(5.5, rows.get(0).dto().getRate());
+        assertEquals(1, errors.size());
+        assertEquals(2, errors.get(0).getRow());
+    }
+
+    @Test
+    void parseCsv_MissingRequiredColumn_Throws() {
+        assertThrows(ValidationException.class,
+                () -> importService.parseCsv(stream("product,importingTo,type,rate\n"), new ArrayList<>()));
+    }
+
+    @Test
+    void importTariffs_ReportsInvalidRowsWithoutTouchingDatabase() {
+        String json = "[{\"product\":\"Widgets\",\"exportingFrom\":\"Japan\",\"importingTo\":\"China\",\"type\":\"AHS\",\"rate\":1},"
+                + "{\"product\":\"Electronics\",\"exportingFrom\":\"Japan\",\"importingTo\":\"China\",\"type\":\"XYZ\",\"rate\":1},"
+                + "{\"product\":\"Electronics\",\"exportingFrom\":\"Japan\",\"importingTo\":\"China\",\"type\":\"AHS\",\"rate\":-2}]";
+
+        TariffImportReport report = importService.importTariffs(stream(json), true);
+
+        assertFalse(report.isSuccess());
+        assertEquals(3, report.getTotalRows());
+        assertEquals(0, report.getAppliedRows());
+        assertEquals(List.of(1, 2, 3), report.getErrors().stream().map(RowError::getRow).toList());
+        assertEquals("Product not found: Widgets", report.getErrors().get(0).getMessage());
+        verifyNoInteractions(jdbcTemplate);
+        verify(tariffOverrideStore, never()).reloadAll();
+    }
+
+    @Test
+    void validate_RejectsDuplicateRoutesAndDefaultsOverrideId() throws Exception {
+        List<RowError> errors = new ArrayList<>();
+        List<TariffImportService.ParsedRow> rows = importService.parseCsv(stream(
+                "product,exportingFrom,importingTo,type,rate\n"
+                        + "Electronics,Japan,China,AHS,3\n"
+                        + "Electronics,Japan,China,MFN,4\n"
+                        + "Electronics,Japan,China,AHS,5\n"), errors);
+
+        List<TariffImportService.StagedRow> staged = importService.validate(rows, errors);
+
+        // AHS and MFN for one route are one staged row carrying both rates, only the second AHS is a duplicate
+        assertEquals(1, staged.size());
+        assertEquals(3.0, staged.get(0).ahsRate());
+        assertEquals(4.0, staged.get(0).mfnRate());
+        assertEquals(2, staged.get(0).row());
+        assertEquals("China_Japan", staged.get(0).overrideId());
+        assertEquals("850440", staged.get(0).hsCode());
+        assertEquals(1, errors.size());
+        assertEquals(3, errors.get(0).getRow());
+        assertTrue(errors.get(0).getMessage().startsWith("Duplicate of row 1"));
+        verify(productCatalog, times(3)).findByName(anyString());
+    }
+
+    @Test
+    void validate_SingleTypeRoute_LeavesOtherRateUnset() throws Exception {
+        List<RowError> errors = new ArrayList<>();
+        List<TariffImportService.ParsedRow> rows = importService.parseCsv(stream(
+                "product,exportingFrom,importingTo,type,rate\n"
+                        + "Electronics,Japan,China,MFN,4\n"
+                        + "Electronics,Korea,China,MFN,6\n"), errors);
+
+        List<TariffImportService.StagedRow> staged = importService.validate(rows, errors);
+
+        assertTrue(errors.isEmpty());
+        assertEquals(2, staged.size());
+        assertNull(staged.get(0).ahsRate());
+        assertEquals(4.0, staged.get(0).mfnRate());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.tariffs.service;
+
+import com.example.tariffs.dto.TariffDefinitionsResponse.TariffDefinitionDto;
+import com.example.tariffs.entity.TariffOverride;
+import com.example.tariffs.repository.TariffOverrideRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TariffOverrideStoreTest {
+
+    private static final String CHANNEL = "global-tariffs:overrides";
+
+    @Mock
+    private TariffOverrideRepository overrideRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private TariffOverrideStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new TariffOverrideStore(overrideRepository, redisTemplate, CHANNEL);
+        when(overrideRepository.findAllInChangeOrder()).thenReturn(List.of(
+                override("China_Singapore", 5.0),
+                override("Japan_USA", 7.5)));
+        store.resync();
+    }
+
+    @Test
+    void resync_LoadsOverridesInChangeOrder() {
+        assertEquals(List.of("China_Singapore", "Japan_USA"), ids(store.findAll()));
+    }
+
+    @Test
+    void upsert_WritesTableReplacesEntryAndPublishes() {
+        store.upsert(dto("China_Singapore", 9.0));
+
+        verify(overrideRepository).upsert("China_Singapore", "Electronics", "Singapore", "China",
+                "AHS", 9.0, "2022-01-01", "Ongoing");
+        // a rewrite moves the override to the end
+        assertEquals(List.of("Japan_USA", "China_Singapore"), ids(store.findAll()));
+        assertEquals(9.0, store.findAll().get(1).getRate());
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+        assertTrue(message.getValue().endsWith("|China_Singapore"));
+    }
+
+    @Test
+    void delete_UnknownId_ReturnsFalseAndDoesNotPublish() {
+        when(overrideRepository.deleteOverride("Missing_Id")).thenReturn(0);
+
+        assertFalse(store.delete("Missing_Id"));
+
+        assertEquals(2, store.findAll().size());
+        verify(redisTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    @Test
+    void onMessage_FromOtherReplica_ReloadsOnlyThatId() {
+        when(overrideRepository.findById("Japan_USA")).thenReturn(Optional.empty());
+        when(overrideRepository.findById("India_China")).thenReturn(Optional.of(override("India_China", 3.0)));
+
+        store.onMessage("other-replica|Japan_USA");
+        store.onMessage("other-replica|India_China");
+
+        assertEquals(List.of("China_Singapore", "India_China"), ids(store.findAll()));
+        // only the startup resync read the whole table
+        verify(overrideRepository, times(1)).findAllInChangeOrder();
+    }
+
+    @Test
+    void onMessage_OwnChange_IsIgnored() {
+        store.upsert(dto("India_China", 3.0));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), message.capture());
+
+        store.onMessage(message.getValue());
+
+        verify(overrideRepository, never()).findById(anyString());
+    }
+
+    private static List<String> ids(List<TariffDefinitionDto> overrides) {
+        return overrides.stream().map(TariffDefinitionDto::getId).toList();
+    }
+
+    private static TariffDefinitionDto dto(String id, double rate) {
+        return new TariffDefinitionDto(id, "Electronics", "Singapore", "China", "AHS", rate, "2022-01-01", "Ongoing");
+    }
+
+    private static TariffOverride override(String id, double rate) {
+        TariffOverride override = new TariffOverride();
+        override.setId(id);
+        override.setProduct("Electronics");
+        override.setExportingFrom("Singapore");
+        override.setImportingTo("China");
+        override.setType("AHS");
+        override.setRate(rate);
+        override.setEffectiveDate("2022-01-01");
+        override.setExpirationDate("Ongoing");
+        return override;
+    }
+}
@@ -1,12 +1,13 @@
 package com.example.tariffs.service;
 
+import com.example.common.querystats.QueryCountAssertions;
 import com.example.tariffs.dto.TariffDefinitionsResponse;
 import com.example.tariffs.dto.TariffDefinitionsResponse.TariffDefinitionDto;
+import com.example.tariffs.entity.Product;
 import com.example.tariffs.entity.Tariff;
 import com.example.tariffs.exception.DataAccessException;
 import com.example.tariffs.exception.NotFoundException;
 import com.example.tariffs.exception.ValidationException;
-import com.example.tariffs.repository.ProductRepository;
 import com.example.tariffs.repository.TariffRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,11 +18,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -33,7 +37,13 @@ public class TariffServiceTest {
     private TariffRepository tariffRepository;
 
     @Mock
-    private ProductRepository productRepository;
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private DashboardStatsService dashboardStatsService;
+
+    @Mock
+    private TariffOverrideStore tariffOverrideStore;
 
     @InjectMocks
     private TariffService tariffService;
@@ -59,6 +69,31 @@ public class TariffServiceTest {
 
         // Test products (2 products = 2 DTOs in getTariffDefinitions)
         testProducts = List.of("Electronics", "Machinery");
+        when(productCatalog.findByName("Electronics")).thenReturn(List.of(product("Electronics", "850440")));
+        when(productCatalog.findByName("Machinery")).thenReturn(List.of(product("Machinery", "847130")));
+    }
+
+    private static Product product(String name, String hsCode) {
+        Product product = new Product();
+        product.setName(name);
+        product.setHsCode(hsCode);
+        return product;
+    }
+
+    // the China <- Singapore route for both test products, as returned by findDistinctCountryPartnerByHsCodes
+    private static List<Object[]> routeRows() {
+        return List.of(
+                new Object[] {"850440", "China", "Singapore", 2.0, 10.0},
+                new Object[] {"847130", "China", "Singapore", 2.0, 10.0});
+    }
+
+    private Tariff savedTariff(double ahsWeighted, double mfnWeighted) {
+        Tariff tariff = new Tariff();
+        tariff.setCountry(testTariff.getCountry());
+        tariff.setPartner(testTariff.getPartner());
+        tariff.setAhsWeighted(ahsWeighted);
+        tariff.setMfnWeighted(mfnWeighted);
+        return tariff;
     }
 
     // ------------------------------
@@ -91,8 +126,8 @@ public class TariffServiceTest {
     @Test
     void getTariffDefinitions_Success_CombinesProductsAndTariffs() {
         // Mock repo responses
-        when(productRepository.findDistinctProducts()).thenReturn(testProducts);
-        when(tariffRepository.findAll()).thenReturn(List.of(testTariff));
+        when(productCatalog.getProductNames()).thenReturn(testProducts);
+        when(tariffRepository.findDistinctCountryPartnerByHsCodes(anyCollection())).thenReturn(routeRows());
 
         TariffDefinitionsResponse response = tariffService.getTariffDefinitions();
 
@@ -112,7 +147,7 @@ public class TariffServiceTest {
 
     @Test
     void getTariffDefinitions_ExceptionThrown_ReturnsErrorResponse() {
-        when(productRepository.findDistinctProducts()).thenThrow(new RuntimeException("DB Connection Failed"));
+        when(productCatalog.getProductNames()).thenThrow(new RuntimeException("DB Connection Failed"));
 
         TariffDefinitionsResponse response = tariffService.getTariffDefinitions();
 
@@ -120,10 +155,37 @@ public class TariffServiceTest {
         assertTrue(response.getError().contains("Failed to retrieve tariff definitions"));
     }
 
+    @Test
+    void getTariffDefinitions_ManyProducts_LoadsRatesInOneQuery() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setHsCode(String.valueOf(850400 + i % 10));
+            names.add(product.getName());
+            when(productCatalog.findByName(product.getName())).thenReturn(List.of(product));
+        }
+        when(productCatalog.getProductNames()).thenReturn(names);
+        when(tariffRepository.findDistinctCountryPartnerByHsCodes(anyCollection()))
+                .thenAnswer(QueryCountAssertions.statement(List.<Object[]>of(
+                        new Object[] {"850400", "China", "Singapore", 2.0, 10.0},
+                        new Object[] {"850401", "Germany", "France", 4.0, 4.0})));
+
+        TariffDefinitionsResponse response = QueryCountAssertions.assertMaxQueries(1,
+                () -> tariffService.getTariffDefinitions());
+
+        assertTrue(response.isSuccess());
+        // products 0, 10, ..., 40 share the FTA route's hs code, 1, 11, ..., 41 the equal-rate one
+        assertEquals(10, response.getData().size());
+        assertEquals("Product 0", response.getData().get(0).getProduct());
+        assertEquals("Product 1", response.getData().get(1).getProduct());
+        assertEquals("MFN", response.getData().get(1).getType());
+    }
+
     @Test
     void getGlobalTariffDefinitions_DelegatesToGetTariffDefinitions() {
-        when(productRepository.findDistinctProducts()).thenReturn(testProducts);
-        when(tariffRepository.findAll()).thenReturn(List.of(testTariff));
+        when(productCatalog.getProductNames()).thenReturn(testProducts);
+        when(tariffRepository.findDistinctCountryPartnerByHsCodes(anyCollection())).thenReturn(routeRows());
 
         TariffDefinitionsResponse globalResponse = tariffService.getGlobalTariffDefinitions();
         TariffDefinitionsResponse combinedResponse = tariffService.getTariffDefinitions();
@@ -133,11 +195,8 @@ public class TariffServiceTest {
     }
 
     @Test
-    void getUserTariffDefinitions_ReturnsInMemoryTariffs() {
-        // Add a tariff to in-memory list
-        when(tariffRepository.findByCountryAndPartner("China", "Singapore")).thenReturn(Optional.of(testTariff));
-        when(tariffRepository.save(any(Tariff.class))).thenReturn(testTariff);
-        tariffService.addAdminTariffDefinition(validDto);
+    void getUserTariffDefinitions_ReturnsStoredOverrides() {
+        when(tariffOverrideStore.findAll()).thenReturn(List.of(validDto));
 
         TariffDefinitionsResponse response = tariffService.getUserTariffDefinitions();
 
@@ -146,14 +205,29 @@ public class TariffServiceTest {
         assertEquals("China_Singapore", response.getData().get(0).getId());
     }
 
+    @Test
+    void addAdminTariffDefinition_RecordsOverrideInStore() {
+        when(tariffRepository.existsByCountryPartnerAndHsCode("China", "Singapore", "850440")).thenReturn(true);
+        when(tariffRepository.findByCountryPartnerAndHsCode("China", "Singapore", "850440"))
+                .thenReturn(Optional.of(testTariff));
+        when(tariffRepository.updateTariffRatesByProduct(anyString(), anyString(), anyString(), any(), any()))
+                .thenReturn(1);
+
+        tariffService.addAdminTariffDefinition(validDto);
+
+        verify(tariffOverrideStore).upsert(argThat(dto -> "China_Singapore".equals(dto.getId())));
+    }
+
     // ------------------------------
     // Admin Operation Tests
     // ------------------------------
     @Test
     void addAdminTariffDefinition_ValidDto_NewTariff_CreatesAndReturnsDto() {
         // Stub with ACTUAL values the service uses (importingTo = China, exportingFrom = Singapore)
-        when(tariffRepository.findByCountryAndPartner("China", "Singapore")).thenReturn(Optional.empty());
-        when(tariffRepository.save(any(Tariff.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(tariffRepository.existsByCountryPartnerAndHsCode("China", "Singapore", "850440")).thenReturn(false);
+        when(tariffRepository.insertTariffRate("China", "Singapore", "850440", 2022, 5.0, 5.0)).thenReturn(1);
+        when(tariffRepository.findByCountryPartnerAndHsCode("China", "Singapore", "850440"))
+                .thenReturn(Optional.of(savedTariff(5.0, 5.0)));
 
         TariffDefinitionsResponse response = tariffService.addAdminTariffDefinition(validDto);
 
@@ -161,18 +235,23 @@ public class TariffServiceTest {
         TariffDefinitionDto responseDto = response.getData().get(0);
         assertEquals("China_Singapore", responseDto.getId());
         assertEquals(5.0, responseDto.getRate()); // AHS rate from DTO
-        verify(tariffRepository, times(1)).save(any(Tariff.class));
+        verify(tariffRepository, times(1)).insertTariffRate("China", "Singapore", "850440", 2022, 5.0, 5.0);
+        verify(dashboardStatsService).recordRowsAdded("China", "Singapore", 1);
     }
 
     @Test
     void addAdminTariffDefinition_ValidDto_ExistingTariff_UpdatesAndReturnsDto() {
-        when(tariffRepository.findByCountryAndPartner("China", "Singapore")).thenReturn(Optional.of(testTariff));
-        when(tariffRepository.save(any(Tariff.class))).thenReturn(testTariff);
+        when(tariffRepository.existsByCountryPartnerAndHsCode("China", "Singapore", "850440")).thenReturn(true);
+        when(tariffRepository.findByCountryPartnerAndHsCode("China", "Singapore", "850440"))
+                .thenReturn(Optional.of(testTariff), Optional.of(savedTariff(5.0, 10.0)));
+        when(tariffRepository.updateTariffRatesByProduct("China", "Singapore", "850440", 5.0, 10.0)).thenReturn(1);
 
         TariffDefinitionsResponse response = tariffService.addAdminTariffDefinition(validDto);
 
         assertEquals(5.0, response.getData().get(0).getRate());
-        verify(tariffRepository, times(1)).save(testTariff);
+        // the existing MFN rate is kept, only AHS changes
+        verify(tariffRepository, times(1)).updateTariffRatesByProduct("China", "Singapore", "850440", 5.0, 10.0);
+        verify(tariffRepository, never()).insertTariffRate(any(), any(), any(), anyInt(), any(), any());
     }
 
     @Test
@@ -185,14 +264,16 @@ public class TariffServiceTest {
     @Test
     void updateAdminTariffDefinition_ValidId_ExistingTariff_UpdatesSuccessfully() {
         String validId = "China_Singapore"; // Correct ID format: "importingTo_exportingFrom"
-        when(tariffRepository.findByCountryAndPartner("China", "Singapore")).thenReturn(Optional.of(testTariff));
-        when(tariffRepository.save(any(Tariff.class))).thenReturn(testTariff);
+        when(tariffRepository.existsByCountryPartnerAndHsCode("China", "Singapore", "850440")).thenReturn(true);
+        when(tariffRepository.findByCountryPartnerAndHsCode("China", "Singapore", "850440"))
+                .thenReturn(Optional.of(testTariff), Optional.of(savedTariff(5.0, 10.0)));
+        when(tariffRepository.updateTariffRatesByProduct("China", "Singapore", "850440", 5.0, 10.0)).thenReturn(1);
 
         TariffDefinitionsResponse response = tariffService.updateAdminTariffDefinition(validId, validDto);
 
         assertTrue(response.isSuccess());
         assertEquals(5.0, response.getData().get(0).getRate());
-        verify(tariffRepository, times(1)).save(testTariff);
+        verify(tariffRepository, times(1)).updateTariffRatesByProduct("China", "Singapore", "850440", 5.0, 10.0);
     }
 
     @Test
@@ -230,4 +311,4 @@ public class TariffServiceTest {
         });
         assertEquals("Tariff rate cannot be negative", exception.getMessage());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.example.loadharness;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+// a throwaway postgres process on a free port, migrated by the same scripts as production and seeded with
+// the synthetic dataset. the binaries ship inside the zonky artifact, so nothing is downloaded at run time
+final class EmbeddedDatabase implements AutoCloseable {
+
+    private static final String USER = "postgres";
+    private static final String DATABASE = "postgres";
+
+    private final EmbeddedPostgres postgres;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static EmbeddedDatabase start(Path migrationsDir) throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "300")
+                .start();
+        try {
+            DataSource dataSource = postgres.getPostgresDatabase();
+            Flyway.configure()
+                    .dataSource(dataSource)
+                    .locations("filesystem:" + migrationsDir.toAbsolutePath())
+                    // same as db-migrations' spring.flyway.postgresql.transactional-lock=false: the concurrent
+                    // index builds would otherwise wait on the transaction holding flyway's lock
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                    .load()
+                    .migrate();
+            SyntheticData.seed(dataSource);
+            return new EmbeddedDatabase(postgres);
+        } catch (RuntimeException | SQLException e) {
+            postgres.close();
+            throw e;
+        }
+    }
+
+    String jdbcUrl() {
+        return postgres.getJdbcUrl(USER, DATABASE);
+    }
+
+    String username() {
+        return USER;
+    }
+
+    String password() {
+        // embedded postgres trusts local connections, any password is accepted
+        return "postgres";
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.loadharness;
+
+import java.io.IOException;
+
+import redis.embedded.RedisServer;
+
+// redis for the session-backed services (gateway, session-management, csv-export), bound to a free port
+final class EmbeddedRedis implements AutoCloseable {
+
+    private final RedisServer server;
+    private final int port;
+
+    private EmbeddedRedis(RedisServer server, int port) {
+        this.server = server;
+        this.port = port;
+    }
+
+    static EmbeddedRedis start() throws IOException {
+        int port = Ports.free();
+        RedisServer server = new RedisServer(port);
+        server.start();
+        return new EmbeddedRedis(server, port);
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.stop();
+    }
+}
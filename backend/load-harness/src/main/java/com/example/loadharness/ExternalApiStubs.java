@@ -0,0 +1,101 @@
+package com.example.loadharness;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// stand-ins for the third-party apis the services call: ExchangeRate-API (tariff-calculator), NewsAPI and the
+// Guardian (trade-insights). every response is delayed by a fixed latency so the services see a realistic
+// outbound wait instead of a loopback round trip
+final class ExternalApiStubs implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ExternalApiStubs(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    static ExternalApiStubs start(Duration latency) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/v6/", exchange -> respond(exchange, latency, exchangeRates()));
+        server.createContext("/newsapi/everything", exchange -> respond(exchange, latency, newsApiArticles()));
+        server.createContext("/guardian/search", exchange -> respond(exchange, latency, guardianResults()));
+        server.start();
+        return new ExternalApiStubs(server, executor);
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    // CurrencyService appends "{apiKey}/latest/USD"
+    String exchangeRateBaseUrl() {
+        return baseUrl() + "/v6/";
+    }
+
+    String newsApiUrl() {
+        return baseUrl() + "/newsapi/everything";
+    }
+
+    String guardianUrl() {
+        return baseUrl() + "/guardian/search";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, Duration latency, String body) throws IOException {
+        try (exchange) {
+            Thread.sleep(latency);
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static String exchangeRates() {
+        return "{\"result\":\"success\",\"base_code\":\"USD\",\"conversion_rates\":{"
+                + "\"USD\":1,\"AUD\":1.52,\"SGD\":1.34,\"CNY\":7.24,\"JPY\":149.8,\"INR\":83.2,"
+                + "\"EUR\":0.92,\"GBP\":0.79,\"VND\":24350,\"MYR\":4.71,\"IDR\":15600,\"PHP\":56.1}}";
+    }
+
+    static String newsApiArticles() {
+        return IntStream.range(0, 10)
+                .mapToObj(i -> "{\"source\":{\"name\":\"Stub Wire\"},\"author\":\"Desk " + i + "\","
+                        + "\"title\":\"Tariff update " + i + "\",\"description\":\"Synthetic article " + i + "\","
+                        + "\"url\":\"https://news.example/tariffs/" + i + "\",\"urlToImage\":null,"
+                        + "\"publishedAt\":\"2024-05-0" + (i % 9 + 1) + "T08:00:00Z\","
+                        + "\"content\":\"Trade ministers discussed tariff schedules.\"}")
+                .collect(Collectors.joining(",", "{\"status\":\"ok\",\"totalResults\":10,\"articles\":[", "]}"));
+    }
+
+    static String guardianResults() {
+        return IntStream.range(0, 10)
+                .mapToObj(i -> "{\"id\":\"business/tariffs-" + i + "\",\"webTitle\":\"Trade talks " + i + "\","
+                        + "\"webUrl\":\"https://guardian.example/business/tariffs-" + i + "\","
+                        + "\"webPublicationDate\":\"2024-05-0" + (i % 9 + 1) + "T09:00:00Z\","
+                        + "\"fields\":{\"trailText\":\"Synthetic trail " + i + "\",\"body\":\"<p>Tariffs</p>\"}}")
+                .collect(Collectors.joining(",", "{\"response\":{\"status\":\"ok\",\"results\":[", "]}}"));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.loadharness;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// command line of the harness: key=value pairs, every key optional.
+// gateway-url points the driver at an already running gateway and skips all stand-ins and service startup
+record HarnessOptions(
+        int users,
+        Duration warmup,
+        Duration duration,
+        Duration window,
+        Duration thinkTime,
+        Duration requestTimeout,
+        Duration stubLatency,
+        Duration startupTimeout,
+        Path servicesDir,
+        Path reportFile,
+        URI gatewayUrl,
+        long seed) {
+
+    static HarnessOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq).trim().toLowerCase(Locale.ROOT), arg.substring(eq + 1).trim());
+        }
+        HarnessOptions options = new HarnessOptions(
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                duration(values.getOrDefault("warmup", "15s")),
+                duration(values.getOrDefault("duration", "60s")),
+                duration(values.getOrDefault("window", "5s")),
+                duration(values.getOrDefault("think-time", "0ms")),
+                duration(values.getOrDefault("request-timeout", "10s")),
+                duration(values.getOrDefault("stub-latency", "50ms")),
+                duration(values.getOrDefault("startup-timeout", "180s")),
+                Path.of(values.getOrDefault("services-dir", "..")).toAbsolutePath().normalize(),
+                Path.of(values.getOrDefault("report", "target/load-report.json")),
+                values.containsKey("gateway-url") ? URI.create(values.get("gateway-url")) : null,
+                Long.parseLong(values.getOrDefault("seed", "42")));
+        if (options.users() < 1) {
+            throw new IllegalArgumentException("users must be at least 1");
+        }
+        if (options.window().isZero() || options.duration().compareTo(options.window()) < 0) {
+            throw new IllegalArgumentException("window must be positive and no longer than duration");
+        }
+        return options;
+    }
+
+    boolean startsStack() {
+        return gatewayUrl == null;
+    }
+
+    // 500ms, 15s, 2m
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        throw new IllegalArgumentException("Duration needs a unit (ms, s, m): " + value);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.loadharness;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import org.HdrHistogram.Histogram;
+
+// closed-loop driver: each virtual user (a virtual thread) sends its next request as soon as the previous
+// one completes, plus an optional think time, so the offered load tracks what the stack can serve.
+// every user keeps its own cookies, i.e. its own gateway session
+final class LoadDriver {
+
+    private final URI gateway;
+    private final TrafficMix mix;
+    private final HarnessOptions options;
+    private final HttpClient client;
+    private final Map<String, RouteStats> stats = new LinkedHashMap<>();
+    private volatile boolean running = true;
+
+    LoadDriver(URI gateway, TrafficMix mix, HarnessOptions options) {
+        this.gateway = gateway;
+        this.mix = mix;
+        this.options = options;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        mix.routes().forEach(route -> stats.put(route.name(), new RouteStats(route.name())));
+    }
+
+    LoadReport run() throws InterruptedException {
+        Instant startedAt = Instant.now();
+        SplittableRandom seeds = new SplittableRandom(options.seed());
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                SplittableRandom random = seeds.split();
+                users.submit(() -> user(random));
+            }
+
+            System.out.printf("warming up for %ss with %d users%n", options.warmup().toSeconds(), options.users());
+            Thread.sleep(options.warmup());
+            stats.values().forEach(RouteStats::reset);
+
+            long windowMillis = options.window().toMillis();
+            int windowCount = (int) (options.duration().toMillis() / windowMillis);
+            for (int w = 1; w <= windowCount; w++) {
+                Thread.sleep(windowMillis);
+                closeWindow(windowMillis / 1000.0);
+                System.out.printf("window %d/%d: %.0f req/s%n", w, windowCount, lastThroughput());
+            }
+            running = false;
+            users.shutdownNow();
+        }
+
+        double measured = options.window().toMillis() / 1000.0
+                * (options.duration().toMillis() / options.window().toMillis());
+        List<LoadReport.RouteResult> routes = stats.values().stream()
+                .map(s -> s.result(measured))
+                .filter(r -> r.requests() > 0)
+                .toList();
+        return new LoadReport(LoadReport.KIND, startedAt.toString(), options.users(), options.warmup().toSeconds(),
+                options.duration().toSeconds(), options.window().toSeconds(), routes, total(routes, measured));
+    }
+
+    private void closeWindow(double seconds) {
+        stats.values().forEach(s -> s.closeWindow(seconds));
+    }
+
+    private double lastThroughput() {
+        return stats.values().stream()
+                .map(s -> s.result(1))
+                .mapToDouble(r -> r.windows().isEmpty() ? 0 : r.windows().get(r.windows().size() - 1).throughput())
+                .sum();
+    }
+
+    private void user(SplittableRandom random) {
+        TrafficMix.UserState state = new TrafficMix.UserState();
+        Map<String, String> cookies = new LinkedHashMap<>();
+        while (running && !Thread.currentThread().isInterrupted()) {
+            TrafficMix.Route route = mix.pick(random);
+            Optional<HttpRequest.Builder> builder = route.factory().create(gateway, state, random);
+            if (builder.isEmpty()) {
+                continue;
+            }
+            HttpRequest.Builder request = builder.get().timeout(options.requestTimeout());
+            if (!cookies.isEmpty()) {
+                request.header("Cookie", cookies.entrySet().stream()
+                        .map(e -> e.getKey() + "=" + e.getValue())
+                        .collect(Collectors.joining("; ")));
+            }
+            RouteStats routeStats = stats.get(route.name());
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+                routeStats.record(response.statusCode(), System.nanoTime() - start);
+                storeCookies(response, cookies);
+                route.hook().accept(state, response.statusCode(), response.body());
+            } catch (IOException e) {
+                routeStats.recordFailure(System.nanoTime() - start);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (!options.thinkTime().isZero()) {
+                try {
+                    Thread.sleep(options.thinkTime());
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void storeCookies(HttpResponse<?> response, Map<String, String> cookies) {
+        for (String header : response.headers().allValues("Set-Cookie")) {
+            String pair = header.split(";", 2)[0];
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                cookies.put(pair.substring(0, eq).trim(), pair.substring(eq + 1).trim());
+            }
+        }
+    }
+
+    private LoadReport.RouteResult total(List<LoadReport.RouteResult> routes, double measured) {
+        Histogram all = new Histogram(RouteStats.MAX_TRACKABLE_NANOS, 3);
+        stats.values().forEach(s -> all.add(s.histogram()));
+        long requests = all.getTotalCount();
+        long errors = routes.stream().mapToLong(LoadReport.RouteResult::errors).sum();
+        List<RouteStats.Window> windows = new ArrayList<>();
+        for (int w = 0; !routes.isEmpty() && w < routes.get(0).windows().size(); w++) {
+            int index = w;
+            double throughput = routes.stream().mapToDouble(r -> r.windows().get(index).throughput()).sum();
+            // per-window percentiles are only kept per route, the total carries throughput and error rate
+            double windowErrors = routes.stream()
+                    .mapToDouble(r -> r.windows().get(index).errorRate() * r.windows().get(index).throughput()).sum();
+            windows.add(new RouteStats.Window(throughput, 0, 0, throughput == 0 ? 0 : windowErrors / throughput));
+        }
+        return new LoadReport.RouteResult("total", requests, requests / measured,
+                requests == 0 ? 0 : all.getValueAtPercentile(50) / 1e6,
+                requests == 0 ? 0 : all.getValueAtPercentile(99) / 1e6,
+                requests == 0 ? 0 : all.getValueAtPercentile(99.9) / 1e6,
+                requests == 0 ? 0 : all.getMaxValue() / 1e6,
+                errors,
+                routes.stream().mapToLong(LoadReport.RouteResult::clientErrors).sum(),
+                requests == 0 ? 0 : (double) errors / requests,
+                windows);
+    }
+}
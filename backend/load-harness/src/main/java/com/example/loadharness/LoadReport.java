@@ -0,0 +1,63 @@
+package com.example.loadharness;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// the run summary: printed as a table and written as json, the format the regression gate reads
+record LoadReport(
+        String kind,
+        String startedAt,
+        int users,
+        long warmupSeconds,
+        long durationSeconds,
+        long windowSeconds,
+        List<RouteResult> routes,
+        RouteResult total) {
+
+    static final String KIND = "load-harness";
+
+    record RouteResult(
+            String route,
+            long requests,
+            double throughput,
+            double p50Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs,
+            long errors,
+            long clientErrors,
+            double errorRate,
+            List<RouteStats.Window> windows) {
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%d users, %ds measured after %ds warmup%n", users, durationSeconds, warmupSeconds);
+        out.printf("%-36s %9s %9s %9s %9s %9s %8s %8s%n",
+                "route", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "err %", "4xx");
+        for (RouteResult route : routes) {
+            printRow(out, route);
+        }
+        printRow(out, total);
+    }
+
+    private static void printRow(PrintStream out, RouteResult r) {
+        out.printf("%-36s %9d %9.1f %9.1f %9.1f %9.1f %8.2f %8d%n",
+                r.route(), r.requests(), r.throughput(), r.p50Ms(), r.p99Ms(), r.p999Ms(), r.errorRate() * 100,
+                r.clientErrors());
+    }
+
+    void write(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), this);
+    }
+}
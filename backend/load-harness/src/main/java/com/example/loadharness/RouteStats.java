@@ -0,0 +1,101 @@
+package com.example.loadharness;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+// latency and outcome counters for one route. the recorder is written lock-free by every virtual user; each
+// window interval is folded into the run-wide histogram and kept as its own sample so the regression gate
+// can put a confidence interval around throughput and percentiles
+final class RouteStats {
+
+    static final long MAX_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    record Window(double throughput, double p50Ms, double p99Ms, double errorRate) {
+    }
+
+    private final String route;
+    private final Recorder recorder = new Recorder(MAX_TRACKABLE_NANOS, 3);
+    private final Histogram total = new Histogram(MAX_TRACKABLE_NANOS, 3);
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final List<Window> windows = new ArrayList<>();
+    private Histogram interval;
+    private long windowServerErrors;
+
+    RouteStats(String route) {
+        this.route = route;
+    }
+
+    String route() {
+        return route;
+    }
+
+    // 5xx and transport failures are errors; 4xx are counted apart because the mix can legitimately produce them
+    void record(int status, long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, MAX_TRACKABLE_NANOS));
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+
+    void recordFailure(long latencyNanos) {
+        record(599, latencyNanos);
+    }
+
+    // called by a single thread at the end of every measurement window
+    synchronized void closeWindow(double seconds) {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        long errorsNow = serverErrors.sum();
+        long windowErrors = errorsNow - windowServerErrors;
+        windowServerErrors = errorsNow;
+        long count = interval.getTotalCount();
+        windows.add(new Window(
+                count / seconds,
+                count == 0 ? 0 : millis(interval.getValueAtPercentile(50)),
+                count == 0 ? 0 : millis(interval.getValueAtPercentile(99)),
+                count == 0 ? 0 : (double) windowErrors / count));
+    }
+
+    // drops everything recorded so far (warmup)
+    synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        windows.clear();
+        serverErrors.reset();
+        clientErrors.reset();
+        windowServerErrors = 0;
+    }
+
+    synchronized LoadReport.RouteResult result(double measuredSeconds) {
+        long requests = total.getTotalCount();
+        long errors = Math.min(windowServerErrors, requests);
+        return new LoadReport.RouteResult(
+                route,
+                requests,
+                requests / measuredSeconds,
+                requests == 0 ? 0 : millis(total.getValueAtPercentile(50)),
+                requests == 0 ? 0 : millis(total.getValueAtPercentile(99)),
+                requests == 0 ? 0 : millis(total.getValueAtPercentile(99.9)),
+                requests == 0 ? 0 : millis(total.getMaxValue()),
+                errors,
+                clientErrors.sum(),
+                requests == 0 ? 0 : (double) errors / requests,
+                List.copyOf(windows));
+    }
+
+    synchronized Histogram histogram() {
+        return total.copy();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
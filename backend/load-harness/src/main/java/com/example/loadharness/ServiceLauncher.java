@@ -0,0 +1,120 @@
+package com.example.loadharness;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+// boots the service jars as child processes, one jvm per service as in docker-compose, so their classpaths
+// never mix. output goes to target/load-harness/logs/<module>.log; a service that exits before reporting
+// healthy aborts the run with a pointer to its log
+final class ServiceLauncher implements AutoCloseable {
+
+    record ServiceSpec(String module, int port, Map<String, String> env) {
+
+        URI baseUrl() {
+            return URI.create("http://127.0.0.1:" + port);
+        }
+    }
+
+    private record Running(ServiceSpec spec, Process process, Path log) {
+    }
+
+    private final Path servicesDir;
+    private final Path logDir;
+    private final Duration startupTimeout;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final List<Running> running = new ArrayList<>();
+
+    ServiceLauncher(Path servicesDir, Path logDir, Duration startupTimeout) {
+        this.servicesDir = servicesDir;
+        this.logDir = logDir;
+        this.startupTimeout = startupTimeout;
+    }
+
+    // started one at a time in dependency order, each waits for health before the next
+    void start(ServiceSpec spec) throws IOException, InterruptedException {
+        Path jar = findJar(spec.module());
+        Files.createDirectories(logDir);
+        Path log = logDir.resolve(spec.module() + ".log");
+        ProcessBuilder builder = new ProcessBuilder(javaBinary(), "-Xmx512m", "-jar", jar.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile());
+        builder.environment().putAll(spec.env());
+        builder.environment().put("SERVER_PORT", String.valueOf(spec.port()));
+        System.out.printf("starting %-20s on :%d%n", spec.module(), spec.port());
+        Running service = new Running(spec, builder.start(), log);
+        running.add(service);
+        awaitHealthy(service);
+    }
+
+    private void awaitHealthy(Running service) throws InterruptedException {
+        URI health = service.spec().baseUrl().resolve("/actuator/health");
+        Instant deadline = Instant.now().plus(startupTimeout);
+        while (Instant.now().isBefore(deadline)) {
+            if (!service.process().isAlive()) {
+                throw new IllegalStateException(service.spec().module() + " exited with code "
+                        + service.process().exitValue() + ", see " + service.log());
+            }
+            try {
+                HttpResponse<Void> response = client.send(
+                        HttpRequest.newBuilder(health).timeout(Duration.ofSeconds(2)).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException(service.spec().module() + " not healthy after " + startupTimeout
+                + ", see " + service.log());
+    }
+
+    private Path findJar(String module) throws IOException {
+        Path target = servicesDir.resolve(module).resolve("target");
+        if (!Files.isDirectory(target)) {
+            throw new IllegalStateException("No build output for " + module + ", run mvn -DskipTests package in "
+                    + servicesDir.resolve(module));
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No jar in " + target
+                            + ", run mvn -DskipTests package in " + servicesDir.resolve(module)));
+        }
+    }
+
+    private static String javaBinary() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    @Override
+    public void close() {
+        // reverse start order: the gateway goes first so nothing keeps calling a stopped service
+        for (int i = running.size() - 1; i >= 0; i--) {
+            Process process = running.get(i).process();
+            process.destroy();
+            try {
+                if (!process.waitFor(20, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        running.clear();
+    }
+}
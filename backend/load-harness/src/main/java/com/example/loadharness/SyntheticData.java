@@ -0,0 +1,72 @@
+package com.example.loadharness;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+// the synthetic dataset: the traffic mix picks products and countries from the same lists the seed writes, so
+// every generated request has matching rows. each country/partner pair carries exactly one hs code because the
+// calculator resolves a route by (country, partner) alone
+final class SyntheticData {
+
+    static final List<String> COUNTRIES = List.of(
+            "Australia", "China", "Indonesia", "India", "Japan", "Malaysia", "Philippines", "Singapore", "Vietnam",
+            "United States", "Germany", "Brazil", "Canada", "Mexico", "France", "Korea, Rep.");
+    static final List<String> CURRENCIES = List.of("USD", "AUD", "SGD", "CNY", "JPY", "INR");
+    static final int PRODUCT_COUNT = 60;
+    static final int HS_CODE_COUNT = 20;
+    static final int FIRST_HISTORY_YEAR = 2010;
+    static final int CURRENT_YEAR = 2022;
+
+    private SyntheticData() {
+    }
+
+    static String productName(int id) {
+        return "Product " + id;
+    }
+
+    // a product whose hs code is the one seeded for this route, so history lookups return a series.
+    // countries are 0-based here and 1-based (ordinality) in the seed
+    static int productForRoute(int importer, int exporter, SplittableRandom random) {
+        int hsIndex = (importer + 1 + exporter + 1) % HS_CODE_COUNT;
+        int first = hsIndex == 0 ? HS_CODE_COUNT : hsIndex;
+        return first + HS_CODE_COUNT * random.nextInt(PRODUCT_COUNT / HS_CODE_COUNT);
+    }
+
+    static void seed(DataSource dataSource) throws SQLException {
+        String countries = COUNTRIES.stream()
+                .map(c -> "'" + c.replace("'", "''") + "'")
+                .collect(Collectors.joining(", ", "ARRAY[", "]::text[]"));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            // products spread over the hs codes, several products per code
+            statement.execute("INSERT INTO \"Products (Test)\" (\"id\", \"hs_code\", \"product\", \"product_cost_usd\", \"unit\") "
+                    + "SELECT i, (850401 + i % " + HS_CODE_COUNT + ")::text, 'Product ' || i, 5 + (i * 37) % 500, 'unit' "
+                    + "FROM generate_series(1, " + PRODUCT_COUNT + ") i");
+            // one current rate row per ordered country pair (self pairs included, they are valid queries)
+            statement.execute("INSERT INTO \"Tariff Rates (Test)\" "
+                    + "(\"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\") "
+                    + "SELECT c.name, p.name, (850401 + (c.idx + p.idx) % " + HS_CODE_COUNT + ")::text, " + CURRENT_YEAR + ", "
+                    + "CASE WHEN (c.idx * p.idx) % 3 = 0 THEN (c.idx + p.idx) % 15 ELSE (c.idx * 7 + p.idx) % 9 END, "
+                    + "(c.idx + p.idx) % 15 "
+                    + "FROM unnest(" + countries + ") WITH ORDINALITY c(name, idx), "
+                    + "unnest(" + countries + ") WITH ORDINALITY p(name, idx)");
+            // yearly series for the history and trend routes
+            statement.execute("INSERT INTO \"Tariff Rate History\" "
+                    + "(\"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\") "
+                    + "SELECT t.\"country\", t.\"partner\", t.\"hs_code\", y, "
+                    + "GREATEST(t.\"ahs_weighted\" + (" + CURRENT_YEAR + " - y) * 0.25, 0), "
+                    + "t.\"mfn_weighted\" + (" + CURRENT_YEAR + " - y) * 0.25 "
+                    + "FROM \"Tariff Rates (Test)\" t, generate_series(" + FIRST_HISTORY_YEAR + ", " + CURRENT_YEAR + ") y");
+            // trade-insights search log; lives in the hosted database, not in the migrations
+            statement.execute("CREATE TABLE IF NOT EXISTS user_searches ("
+                    + "id bigserial PRIMARY KEY, user_id text NOT NULL, search_query varchar(255), "
+                    + "search_type varchar(32), filters text, created_at timestamp NOT NULL)");
+            statement.execute("ANALYZE");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.loadharness;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static com.example.loadharness.SyntheticData.COUNTRIES;
+import static com.example.loadharness.SyntheticData.CURRENCIES;
+
+// weighted routes through the gateway. the weights follow the front end: calculations dominate, catalogue
+// reads are cached by the browser, session and export flows trail them. routes that need session state
+// (adding a saved calculation to the cart) are skipped by users that have none yet
+final class TrafficMix {
+
+    // per virtual user, the calculation ids saved in its session and not yet put in the cart
+    static final class UserState {
+        final Deque<String> savedCalculations = new ArrayDeque<>();
+    }
+
+    interface RequestFactory {
+        Optional<HttpRequest.Builder> create(URI gateway, UserState state, SplittableRandom random);
+    }
+
+    interface ResponseHook {
+        void accept(UserState state, int status, String body);
+    }
+
+    record Route(String name, int weight, RequestFactory factory, ResponseHook hook) {
+
+        Route(String name, int weight, RequestFactory factory) {
+            this(name, weight, factory, (state, status, body) -> { });
+        }
+    }
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+    private static final int MAX_SAVED = 20;
+
+    private final List<Route> routes;
+    private final int totalWeight;
+
+    TrafficMix(List<Route> routes) {
+        this.routes = List.copyOf(routes);
+        this.totalWeight = routes.stream().mapToInt(Route::weight).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Traffic mix needs at least one weighted route");
+        }
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    Route pick(SplittableRandom random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Route route : routes) {
+            ticket -= route.weight();
+            if (ticket < 0) {
+                return route;
+            }
+        }
+        return routes.get(routes.size() - 1);
+    }
+
+    static TrafficMix defaultMix() {
+        return new TrafficMix(List.of(
+                new Route("GET /api/tariff", 30, (gateway, state, random) -> {
+                    int importer = random.nextInt(COUNTRIES.size());
+                    int exporter = random.nextInt(COUNTRIES.size());
+                    return get(gateway, "/api/tariff", "product", SyntheticData.productName(1 + random.nextInt(SyntheticData.PRODUCT_COUNT)),
+                            "exportingFrom", COUNTRIES.get(exporter), "importingTo", COUNTRIES.get(importer),
+                            "quantity", String.valueOf(1 + random.nextInt(500)),
+                            "currency", CURRENCIES.get(random.nextInt(CURRENCIES.size())));
+                }),
+                new Route("GET /api/products", 8, (gateway, state, random) -> get(gateway, "/api/products")),
+                new Route("GET /api/countries", 5, (gateway, state, random) -> get(gateway, "/api/countries")),
+                new Route("GET /api/tariffs", 10, (gateway, state, random) ->
+                        get(gateway, "/api/tariffs", "country", COUNTRIES.get(random.nextInt(COUNTRIES.size())),
+                                "sort", random.nextBoolean() ? "rate" : "route", "limit", "50")),
+                new Route("GET /api/tariff-definitions/global", 4, (gateway, state, random) ->
+                        get(gateway, "/api/tariff-definitions/global")),
+                new Route("POST /api/tariffs/compare", 10, (gateway, state, random) -> {
+                    int exporter = random.nextInt(COUNTRIES.size());
+                    StringBuilder importers = new StringBuilder();
+                    int count = 2 + random.nextInt(5);
+                    for (int i = 0; i < count; i++) {
+                        importers.append(i == 0 ? "" : ",").append(json(COUNTRIES.get(random.nextInt(COUNTRIES.size()))));
+                    }
+                    return post(gateway, "/api/tariffs/compare", "{\"product\":"
+                            + json(SyntheticData.productName(1 + random.nextInt(SyntheticData.PRODUCT_COUNT)))
+                            + ",\"exportingFrom\":" + json(COUNTRIES.get(exporter))
+                            + ",\"importingToCountries\":[" + importers + "],\"quantity\":10,\"currency\":\"USD\"}");
+                }),
+                new Route("GET /api/tariffs/history", 5, (gateway, state, random) -> {
+                    int importer = random.nextInt(COUNTRIES.size());
+                    int exporter = random.nextInt(COUNTRIES.size());
+                    return get(gateway, "/api/tariffs/history",
+                            "product", SyntheticData.productName(SyntheticData.productForRoute(importer, exporter, random)),
+                            "exportingFrom", COUNTRIES.get(exporter), "importingTo", COUNTRIES.get(importer),
+                            "startDate", "2012-01-01", "endDate", "2022-12-31");
+                }),
+                new Route("POST /api/tariff/history/save", 5, (gateway, state, random) -> post(gateway,
+                        "/api/tariff/history/save", "{\"calculationData\":{\"data\":{\"product\":"
+                                + json(SyntheticData.productName(1 + random.nextInt(SyntheticData.PRODUCT_COUNT)))
+                                + ",\"exportingFrom\":" + json(COUNTRIES.get(random.nextInt(COUNTRIES.size())))
+                                + ",\"importingTo\":" + json(COUNTRIES.get(random.nextInt(COUNTRIES.size())))
+                                + ",\"quantity\":10,\"productCost\":125.0,\"totalCost\":131.25,\"tariffRate\":5.0,"
+                                + "\"unit\":\"unit\",\"tariffType\":\"AHS\"}}}"),
+                        (state, status, body) -> {
+                            Matcher id = ID.matcher(body);
+                            if (status == 200 && id.find() && state.savedCalculations.size() < MAX_SAVED) {
+                                state.savedCalculations.add(id.group(1));
+                            }
+                        }),
+                new Route("GET /api/tariff/history", 8, (gateway, state, random) -> get(gateway, "/api/tariff/history")),
+                new Route("POST /api/export-cart/add/{id}", 3, (gateway, state, random) ->
+                        Optional.ofNullable(state.savedCalculations.poll())
+                                .map(id -> HttpRequest.newBuilder(gateway.resolve("/api/export-cart/add/" + encode(id)))
+                                        .POST(HttpRequest.BodyPublishers.noBody()))),
+                new Route("GET /api/export-cart/export", 2, (gateway, state, random) -> get(gateway, "/api/export-cart/export")),
+                new Route("POST /api/trade-insights/search", 5, (gateway, state, random) -> post(gateway,
+                        "/api/trade-insights/search", "{\"query\":\"tariffs\",\"country\":"
+                                + json(COUNTRIES.get(random.nextInt(COUNTRIES.size()))) + ",\"limit\":10}")),
+                new Route("POST /api/news/search", 5, (gateway, state, random) -> post(gateway,
+                        "/api/news/search", "{\"query\":" + json(random.nextBoolean() ? "tariffs" : "trade agreement")
+                                + ",\"limit\":10}"))));
+    }
+
+    private static Optional<HttpRequest.Builder> get(URI gateway, String path, String... params) {
+        StringBuilder query = new StringBuilder();
+        for (int i = 0; i < params.length; i += 2) {
+            query.append(i == 0 ? "?" : "&").append(params[i]).append('=').append(encode(params[i + 1]));
+        }
+        return Optional.of(HttpRequest.newBuilder(gateway.resolve(path + query)).GET());
+    }
+
+    private static Optional<HttpRequest.Builder> post(URI gateway, String path, String json) {
+        return Optional.of(HttpRequest.newBuilder(gateway.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String json(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.loadharness;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RouteStatsTest {
+
+    @Test
+    void result_ReportsPercentilesAndSeparatesClientErrors() {
+        RouteStats stats = new RouteStats("GET /api/tariff");
+        for (int i = 1; i <= 1000; i++) {
+            stats.record(200, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        stats.record(503, TimeUnit.MILLISECONDS.toNanos(5));
+        stats.recordFailure(TimeUnit.MILLISECONDS.toNanos(5));
+        stats.record(404, TimeUnit.MILLISECONDS.toNanos(5));
+        stats.closeWindow(2.0);
+
+        LoadReport.RouteResult result = stats.result(2.0);
+
+        assertEquals(1003, result.requests());
+        assertEquals(501.5, result.throughput(), 1e-9);
+        assertEquals(499, result.p50Ms(), 1.0);
+        assertEquals(990, result.p99Ms(), 1.0);
+        assertEquals(999, result.p999Ms(), 1.0);
+        assertEquals(2, result.errors());
+        assertEquals(1, result.clientErrors());
+        assertEquals(2.0 / 1003, result.errorRate(), 1e-9);
+    }
+
+    @Test
+    void closeWindow_KeepsOneSamplePerWindow() {
+        RouteStats stats = new RouteStats("GET /api/products");
+        stats.record(200, TimeUnit.MILLISECONDS.toNanos(10));
+        stats.record(500, TimeUnit.MILLISECONDS.toNanos(10));
+        stats.closeWindow(1.0);
+        for (int i = 0; i < 4; i++) {
+            stats.record(200, TimeUnit.MILLISECONDS.toNanos(20));
+        }
+        stats.closeWindow(1.0);
+
+        LoadReport.RouteResult result = stats.result(2.0);
+
+        assertEquals(2, result.windows().size());
+        assertEquals(2.0, result.windows().get(0).throughput(), 1e-9);
+        assertEquals(0.5, result.windows().get(0).errorRate(), 1e-9);
+        assertEquals(4.0, result.windows().get(1).throughput(), 1e-9);
+        assertEquals(20, result.windows().get(1).p50Ms(), 0.1);
+        assertEquals(0.0, result.windows().get(1).errorRate(), 1e-9);
+    }
+
+    @Test
+    void reset_DropsWarmup() {
+        RouteStats stats = new RouteStats("GET /api/countries");
+        stats.record(500, TimeUnit.SECONDS.toNanos(3));
+        stats.reset();
+        stats.record(200, TimeUnit.MILLISECONDS.toNanos(4));
+        stats.closeWindow(1.0);
+
+        LoadReport.RouteResult result = stats.result(1.0);
+
+        assertEquals(1, result.requests());
+        assertEquals(0, result.errors());
+        assertEquals(4, result.maxMs(), 0.01);
+    }
+
+    @Test
+    void trafficMix_PicksEveryRouteInProportion() {
+        TrafficMix mix = TrafficMix.defaultMix();
+        SplittableRandom random = new SplittableRandom(7);
+        int calculations = 0;
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            if (mix.pick(random).name().equals("GET /api/tariff")) {
+                calculations++;
+            }
+        }
+        int totalWeight = mix.routes().stream().mapToInt(TrafficMix.Route::weight).sum();
+
+        assertEquals(30.0 / totalWeight, (double) calculations / draws, 0.01);
+    }
+
+    @Test
+    void duration_AcceptsUnits() {
+        assertEquals(500, HarnessOptions.duration("500ms").toMillis());
+        assertEquals(15, HarnessOptions.duration("15s").toSeconds());
+        assertEquals(120, HarnessOptions.duration("2m").toSeconds());
+        assertThrows(IllegalArgumentException.class, () -> HarnessOptions.duration("15"));
+    }
+}
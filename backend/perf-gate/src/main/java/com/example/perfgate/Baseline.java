@@ -0,0 +1,38 @@
+package com.example.perfgate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// a stored result set: the normalised metrics of one jmh or load-harness run plus the machine it ran on,
+// since numbers from different hardware are not comparable
+record Baseline(String kind, String recordedAt, Map<String, String> environment, List<Metric> metrics) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static Baseline read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), Baseline.class);
+    }
+
+    void write(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    static Map<String, String> currentEnvironment() {
+        Map<String, String> environment = new TreeMap<>();
+        environment.put("java.version", System.getProperty("java.version"));
+        environment.put("os.name", System.getProperty("os.name"));
+        environment.put("os.arch", System.getProperty("os.arch"));
+        environment.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        return environment;
+    }
+}
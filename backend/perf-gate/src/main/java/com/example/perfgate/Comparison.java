@@ -0,0 +1,110 @@
+package com.example.perfgate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+import com.example.perfgate.Metric.Direction;
+
+// welch's confidence interval for the difference of means (current - baseline). a metric only counts as
+// regressed when the whole interval lies on the bad side of zero AND the mean moved by more than the
+// threshold, so run-to-run noise is not reported and neither is a real but negligible shift
+final class Comparison {
+
+    enum Status {
+        REGRESSED,
+        IMPROVED,
+        UNCHANGED,
+        // fewer than two samples on a side: no interval, reported but never fails the gate
+        INCONCLUSIVE,
+        NEW,
+        MISSING
+    }
+
+    record Verdict(Metric baseline, Metric current, Status status, double change, double low, double high) {
+
+        String name() {
+            return current != null ? current.name() : baseline.name();
+        }
+    }
+
+    private final double confidence;
+    private final double relativeThreshold;
+    private final double absoluteThreshold;
+
+    // confidence e.g. 0.99; relativeThreshold e.g. 0.05 (5%); absoluteThreshold applies to ratio metrics
+    Comparison(double confidence, double relativeThreshold, double absoluteThreshold) {
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("confidence must be between 0 and 1");
+        }
+        this.confidence = confidence;
+        this.relativeThreshold = relativeThreshold;
+        this.absoluteThreshold = absoluteThreshold;
+    }
+
+    List<Verdict> compare(List<Metric> baseline, List<Metric> current) {
+        Map<String, Metric> remaining = new LinkedHashMap<>();
+        baseline.forEach(m -> remaining.put(m.name(), m));
+        List<Verdict> verdicts = new ArrayList<>();
+        for (Metric metric : current) {
+            Metric base = remaining.remove(metric.name());
+            verdicts.add(base == null
+                    ? new Verdict(null, metric, Status.NEW, Double.NaN, Double.NaN, Double.NaN)
+                    : compare(base, metric));
+        }
+        remaining.values().forEach(base ->
+                verdicts.add(new Verdict(base, null, Status.MISSING, Double.NaN, Double.NaN, Double.NaN)));
+        return verdicts;
+    }
+
+    Verdict compare(Metric base, Metric current) {
+        double diff = current.mean() - base.mean();
+        // ratio metrics move in absolute points, the rest relative to the baseline mean
+        double scale = current.isRatio() ? 1.0 : Math.abs(base.mean());
+        double threshold = current.isRatio() ? absoluteThreshold : relativeThreshold;
+        if (base.count() < 2 || current.count() < 2 || scale == 0) {
+            double change = scale == 0 ? Double.NaN : diff / scale;
+            return new Verdict(base, current, Status.INCONCLUSIVE, change, Double.NaN, Double.NaN);
+        }
+
+        double vb = base.variance() / base.count();
+        double vc = current.variance() / current.count();
+        double halfWidth = 0;
+        if (vb + vc > 0) {
+            // welch-satterthwaite degrees of freedom
+            double df = (vb + vc) * (vb + vc)
+                    / (vb * vb / (base.count() - 1) + vc * vc / (current.count() - 1));
+            double t = new TDistribution(df).inverseCumulativeProbability(1 - (1 - confidence) / 2);
+            halfWidth = t * Math.sqrt(vb + vc);
+        }
+        double change = diff / scale;
+        double low = (diff - halfWidth) / scale;
+        double high = (diff + halfWidth) / scale;
+
+        // orient so that positive means worse
+        double sign = current.direction() == Direction.LOWER_IS_BETTER ? 1 : -1;
+        double worseLow = sign > 0 ? low : -high;
+        double betterLow = sign > 0 ? -high : low;
+        Status status;
+        if (worseLow > 0 && sign * change > threshold) {
+            status = Status.REGRESSED;
+        } else if (betterLow > 0 && -sign * change > threshold) {
+            status = Status.IMPROVED;
+        } else {
+            status = Status.UNCHANGED;
+        }
+        return new Verdict(base, current, status, change, low, high);
+    }
+
+    // half width of the mean's own confidence interval, for display
+    double halfWidth(Metric metric) {
+        if (metric.count() < 2) {
+            return Double.NaN;
+        }
+        double t = new TDistribution(metric.count() - 1).inverseCumulativeProbability(1 - (1 - confidence) / 2);
+        return t * Math.sqrt(metric.variance() / metric.count());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.perfgate;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import com.example.perfgate.Comparison.Status;
+import com.example.perfgate.Comparison.Verdict;
+
+// readable diff: regressions first, then improvements, then the rest. unchanged metrics are listed only
+// with verbose=true
+final class DiffPrinter {
+
+    private final Comparison comparison;
+    private final PrintStream out;
+
+    DiffPrinter(Comparison comparison, PrintStream out) {
+        this.comparison = comparison;
+        this.out = out;
+    }
+
+    void print(String kind, List<Verdict> verdicts, boolean verbose) {
+        long regressed = verdicts.stream().filter(v -> v.status() == Status.REGRESSED).count();
+        long improved = verdicts.stream().filter(v -> v.status() == Status.IMPROVED).count();
+        out.printf("%n== %s: %d compared, %d regressed, %d improved%n", kind, verdicts.size(), regressed, improved);
+        verdicts.stream()
+                .filter(v -> verbose || v.status() != Status.UNCHANGED)
+                .sorted(Comparator.comparing(Verdict::status))
+                .forEach(this::printLine);
+    }
+
+    private void printLine(Verdict v) {
+        String line = switch (v.status()) {
+            case NEW -> "%-12s %s (%s), %s".formatted(v.status(), v.name(), v.current().unit(), score(v.current()));
+            case MISSING -> "%-12s %s, not in this run".formatted(v.status(), v.name());
+            case INCONCLUSIVE -> "%-12s %s (%s), %s -> %s, too few samples for an interval".formatted(
+                    v.status(), v.name(), v.current().unit(), score(v.baseline()), score(v.current()));
+            default -> "%-12s %s (%s)%n             %s -> %s   %s [%s, %s]".formatted(
+                    v.status(), v.name(), v.current().unit(), score(v.baseline()), score(v.current()),
+                    change(v.current(), v.change()), change(v.current(), v.low()), change(v.current(), v.high()));
+        };
+        out.println(line);
+    }
+
+    private String score(Metric metric) {
+        double halfWidth = comparison.halfWidth(metric);
+        return Double.isNaN(halfWidth)
+                ? String.format(Locale.ROOT, "%.4g", metric.mean())
+                : String.format(Locale.ROOT, "%.4g +- %.2g", metric.mean(), halfWidth);
+    }
+
+    // relative metrics as a percentage, ratio metrics in percentage points
+    private static String change(Metric metric, double value) {
+        return metric.isRatio()
+                ? String.format(Locale.ROOT, "%+.2f pp", value * 100)
+                : String.format(Locale.ROOT, "%+.1f%%", value * 100);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.perfgate;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// one comparable quantity with its repeated samples (jmh iterations, load-harness windows).
+// the samples are kept rather than a single score so a comparison can put an interval around the difference
+record Metric(String name, String unit, Direction direction, List<Double> samples) {
+
+    enum Direction {
+        LOWER_IS_BETTER,
+        HIGHER_IS_BETTER
+    }
+
+    // absolute quantities (error rates) are judged by an absolute tolerance, everything else relative
+    static final String RATIO = "ratio";
+
+    Metric {
+        samples = List.copyOf(samples);
+    }
+
+    int count() {
+        return samples.size();
+    }
+
+    double mean() {
+        return samples.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
+    }
+
+    // sample variance (n - 1)
+    double variance() {
+        int n = samples.size();
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = mean();
+        double sum = 0;
+        for (double s : samples) {
+            sum += (s - mean) * (s - mean);
+        }
+        return sum / (n - 1);
+    }
+
+    @JsonIgnore
+    boolean isRatio() {
+        return RATIO.equals(unit);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.perfgate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import com.example.perfgate.Comparison.Status;
+import com.example.perfgate.Comparison.Verdict;
+
+// performance regression gate over the local result files, no network involved.
+//   compare (default)  compare ../benchmarks/target/jmh-result.json and ../load-harness/target/load-report.json
+//                      with baselines/jmh.json and baselines/load-harness.json, fail if anything regressed
+//   record             store the current results as the baselines
+// options (key=value): jmh=, load=, baselines=, confidence=0.99, threshold=5 (percent), error-threshold=0.5
+// (percentage points), verbose=false
+public final class PerfGate {
+
+    private PerfGate() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = "compare";
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                mode = arg.trim().toLowerCase(Locale.ROOT);
+            } else {
+                options.put(arg.substring(0, eq).trim().toLowerCase(Locale.ROOT), arg.substring(eq + 1).trim());
+            }
+        }
+
+        Map<String, Path> inputs = new LinkedHashMap<>();
+        inputs.put(ResultReader.JMH, Path.of(options.getOrDefault("jmh", "../benchmarks/target/jmh-result.json")));
+        inputs.put(ResultReader.LOAD, Path.of(options.getOrDefault("load", "../load-harness/target/load-report.json")));
+        inputs.values().removeIf(path -> !Files.isRegularFile(path));
+        if (inputs.isEmpty()) {
+            throw new IllegalStateException("No results found; run the benchmarks or the load harness first "
+                    + "(or point jmh= / load= at the result files)");
+        }
+        Path baselines = Path.of(options.getOrDefault("baselines", "baselines"));
+
+        switch (mode) {
+            case "record" -> record(inputs, baselines);
+            case "compare" -> compare(inputs, baselines, new Comparison(
+                    Double.parseDouble(options.getOrDefault("confidence", "0.99")),
+                    Double.parseDouble(options.getOrDefault("threshold", "5")) / 100,
+                    Double.parseDouble(options.getOrDefault("error-threshold", "0.5")) / 100),
+                    Boolean.parseBoolean(options.getOrDefault("verbose", "false")));
+            default -> throw new IllegalArgumentException("Unknown mode " + mode + ", expected compare or record");
+        }
+    }
+
+    private static void record(Map<String, Path> inputs, Path baselines) throws Exception {
+        for (Map.Entry<String, Path> input : inputs.entrySet()) {
+            Baseline baseline = ResultReader.read(input.getKey(), input.getValue());
+            Path file = baselines.resolve(input.getKey() + ".json");
+            baseline.write(file);
+            System.out.printf("recorded %d %s metrics from %s to %s%n",
+                    baseline.metrics().size(), input.getKey(), input.getValue(), file);
+        }
+    }
+
+    private static void compare(Map<String, Path> inputs, Path baselines, Comparison comparison, boolean verbose)
+            throws Exception {
+        DiffPrinter printer = new DiffPrinter(comparison, System.out);
+        List<String> regressed = new ArrayList<>();
+        for (Map.Entry<String, Path> input : inputs.entrySet()) {
+            Path file = baselines.resolve(input.getKey() + ".json");
+            if (!Files.isRegularFile(file)) {
+                throw new IllegalStateException("No " + input.getKey() + " baseline at " + file.toAbsolutePath()
+                        + "; record one with -Dgate.args=record");
+            }
+            Baseline baseline = Baseline.read(file);
+            Baseline current = ResultReader.read(input.getKey(), input.getValue());
+            if (!Objects.equals(baseline.environment(), current.environment())) {
+                System.out.printf("warning: %s baseline was recorded on %s, this run is on %s%n",
+                        input.getKey(), baseline.environment(), current.environment());
+            }
+            List<Verdict> verdicts = comparison.compare(baseline.metrics(), current.metrics());
+            printer.print(input.getKey() + " vs baseline of " + baseline.recordedAt(), verdicts, verbose);
+            verdicts.stream().filter(v -> v.status() == Status.REGRESSED).map(Verdict::name).forEach(regressed::add);
+        }
+        if (!regressed.isEmpty()) {
+            throw new IllegalStateException(regressed.size() + " regression(s): " + String.join("; ", regressed));
+        }
+        System.out.println("\nno regressions");
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.perfgate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.ToDoubleFunction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import com.example.perfgate.Metric.Direction;
+
+// turns the raw outputs (benchmarks/target/jmh-result.json, load-harness/target/load-report.json) into metrics
+final class ResultReader {
+
+    static final String JMH = "jmh";
+    static final String LOAD = "load-harness";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ResultReader() {
+    }
+
+    static Baseline read(String kind, Path file) throws IOException {
+        JsonNode root = MAPPER.readTree(file.toFile());
+        List<Metric> metrics = switch (kind) {
+            case JMH -> jmh(root);
+            case LOAD -> load(root);
+            default -> throw new IllegalArgumentException("Unknown result kind: " + kind);
+        };
+        return new Baseline(kind, Instant.now().toString(), Baseline.currentEnvironment(), metrics);
+    }
+
+    // one metric per benchmark and parameter combination; samples are every measured iteration of every fork
+    static List<Metric> jmh(JsonNode root) {
+        List<Metric> metrics = new ArrayList<>();
+        for (JsonNode run : root) {
+            JsonNode primary = run.path("primaryMetric");
+            List<Double> samples = new ArrayList<>();
+            for (JsonNode fork : primary.path("rawData")) {
+                fork.forEach(value -> samples.add(value.asDouble()));
+            }
+            String mode = run.path("mode").asText();
+            metrics.add(new Metric(
+                    run.path("benchmark").asText() + params(run.path("params")),
+                    primary.path("scoreUnit").asText(),
+                    "thrpt".equals(mode) ? Direction.HIGHER_IS_BETTER : Direction.LOWER_IS_BETTER,
+                    samples));
+        }
+        return metrics;
+    }
+
+    private static String params(JsonNode params) {
+        if (params.isMissingNode() || params.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(", ", " {", "}");
+        for (Map.Entry<String, JsonNode> param : params.properties()) {
+            joiner.add(param.getKey() + "=" + param.getValue().asText());
+        }
+        return joiner.toString();
+    }
+
+    // per route: throughput, p50, p99 and error rate, each sampled once per measurement window
+    static List<Metric> load(JsonNode root) {
+        List<Metric> metrics = new ArrayList<>();
+        List<JsonNode> routes = new ArrayList<>();
+        root.path("routes").forEach(routes::add);
+        if (root.has("total")) {
+            routes.add(root.get("total"));
+        }
+        for (JsonNode route : routes) {
+            String name = route.path("route").asText();
+            JsonNode windows = route.path("windows");
+            metrics.add(new Metric(name + " throughput", "req/s", Direction.HIGHER_IS_BETTER,
+                    samples(windows, w -> w.path("throughput").asDouble(), false)));
+            // the total row aggregates throughput only, its per-window percentiles are not kept
+            if (!"total".equals(name)) {
+                metrics.add(new Metric(name + " p50", "ms", Direction.LOWER_IS_BETTER,
+                        samples(windows, w -> w.path("p50Ms").asDouble(), true)));
+                metrics.add(new Metric(name + " p99", "ms", Direction.LOWER_IS_BETTER,
+                        samples(windows, w -> w.path("p99Ms").asDouble(), true)));
+            }
+            metrics.add(new Metric(name + " error rate", Metric.RATIO, Direction.LOWER_IS_BETTER,
+                    samples(windows, w -> w.path("errorRate").asDouble(), true)));
+        }
+        return metrics;
+    }
+
+    // windows without a single request carry no latency or error information
+    private static List<Double> samples(JsonNode windows, ToDoubleFunction<JsonNode> value, boolean skipIdle) {
+        List<Double> samples = new ArrayList<>();
+        for (JsonNode window : windows) {
+            if (skipIdle && window.path("throughput").asDouble() == 0) {
+                continue;
+            }
+            samples.add(value.applyAsDouble(window));
+        }
+        return samples;
+    }
+}
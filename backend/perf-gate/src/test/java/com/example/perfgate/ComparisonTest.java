@@ -0,0 +1,85 @@
+package com.example.perfgate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.perfgate.Comparison.Status;
+import com.example.perfgate.Comparison.Verdict;
+import com.example.perfgate.Metric.Direction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComparisonTest {
+
+    private final Comparison comparison = new Comparison(0.99, 0.05, 0.005);
+
+    @Test
+    void compare_FlagsSignificantSlowdownBeyondThreshold() {
+        Metric base = latency("calculate", 10.0, 10.2, 9.9, 10.1, 10.0);
+        Metric current = latency("calculate", 12.0, 12.1, 11.9, 12.2, 11.8);
+
+        Verdict verdict = comparison.compare(base, current);
+
+        assertEquals(Status.REGRESSED, verdict.status());
+        assertEquals(0.2, verdict.change(), 0.01);
+        assertTrue(verdict.low() > 0 && verdict.high() > verdict.change());
+    }
+
+    @Test
+    void compare_IgnoresShiftInsideNoise() {
+        // mean moved 8% but the samples overlap widely, the interval straddles zero
+        Metric base = latency("definitions", 10, 14, 7, 12, 9);
+        Metric current = latency("definitions", 11, 15, 8, 13, 9.2);
+
+        assertEquals(Status.UNCHANGED, comparison.compare(base, current).status());
+    }
+
+    @Test
+    void compare_IgnoresSignificantButNegligibleShift() {
+        Metric base = latency("products", 10.00, 10.01, 10.00, 10.01);
+        Metric current = latency("products", 10.20, 10.21, 10.20, 10.21);
+
+        Verdict verdict = comparison.compare(base, current);
+
+        assertTrue(verdict.low() > 0);
+        assertEquals(Status.UNCHANGED, verdict.status());
+    }
+
+    @Test
+    void compare_HonoursDirection() {
+        Metric base = new Metric("throughput", "ops/s", Direction.HIGHER_IS_BETTER, List.of(100.0, 101.0, 99.0, 100.0));
+        Metric slower = new Metric("throughput", "ops/s", Direction.HIGHER_IS_BETTER, List.of(80.0, 81.0, 79.0, 80.0));
+        Metric faster = new Metric("throughput", "ops/s", Direction.HIGHER_IS_BETTER, List.of(130.0, 131.0, 129.0, 130.0));
+
+        assertEquals(Status.REGRESSED, comparison.compare(base, slower).status());
+        assertEquals(Status.IMPROVED, comparison.compare(base, faster).status());
+    }
+
+    @Test
+    void compare_JudgesErrorRatesInAbsolutePoints() {
+        Metric base = new Metric("error rate", Metric.RATIO, Direction.LOWER_IS_BETTER, List.of(0.0, 0.0, 0.0, 0.0));
+        Metric fewErrors = new Metric("error rate", Metric.RATIO, Direction.LOWER_IS_BETTER, List.of(0.001, 0.002, 0.001, 0.002));
+        Metric manyErrors = new Metric("error rate", Metric.RATIO, Direction.LOWER_IS_BETTER, List.of(0.04, 0.05, 0.045, 0.05));
+
+        assertEquals(Status.UNCHANGED, comparison.compare(base, fewErrors).status());
+        assertEquals(Status.REGRESSED, comparison.compare(base, manyErrors).status());
+    }
+
+    @Test
+    void compare_ReportsNewMissingAndSingleSamples() {
+        List<Verdict> verdicts = comparison.compare(
+                List.of(latency("a", 1, 1.1), latency("b", 2, 2.1), latency("c", 3)),
+                List.of(latency("a", 1, 1.1), latency("c", 30), latency("d", 4, 4.1)));
+
+        assertEquals(List.of(Status.UNCHANGED, Status.INCONCLUSIVE, Status.NEW, Status.MISSING),
+                verdicts.stream().map(Verdict::status).toList());
+        assertEquals(List.of("a", "c", "d", "b"), verdicts.stream().map(Verdict::name).toList());
+    }
+
+    private static Metric latency(String name, double... samples) {
+        return new Metric(name, "us/op", Direction.LOWER_IS_BETTER,
+                Arrays.stream(samples).boxed().toList());
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.perfgate;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.perfgate.Metric.Direction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void jmh_UsesEveryIterationOfEveryForkAndNamesParams() throws Exception {
+        List<Metric> metrics = ResultReader.jmh(mapper.readTree("""
+                [{"benchmark":"com.example.calculator.service.TariffComparisonServiceBenchmark.compare",
+                  "mode":"avgt","params":{"destinations":"15"},
+                  "primaryMetric":{"score":2.0,"scoreUnit":"us/op","rawData":[[1.9,2.0],[2.1,2.0]]}},
+                 {"benchmark":"com.example.benchmarks.X.run","mode":"thrpt",
+                  "primaryMetric":{"score":5.0,"scoreUnit":"ops/s","rawData":[[5.0]]}}]
+                """));
+
+        assertEquals("com.example.calculator.service.TariffComparisonServiceBenchmark.compare {destinations=15}",
+                metrics.get(0).name());
+        assertEquals(List.of(1.9, 2.0, 2.1, 2.0), metrics.get(0).samples());
+        assertEquals(Direction.LOWER_IS_BETTER, metrics.get(0).direction());
+        assertEquals(Direction.HIGHER_IS_BETTER, metrics.get(1).direction());
+    }
+
+    @Test
+    void load_SamplesWindowsAndSkipsIdleOnesForLatency() throws Exception {
+        List<Metric> metrics = ResultReader.load(mapper.readTree("""
+                {"kind":"load-harness","routes":[{"route":"GET /api/tariff","windows":[
+                    {"throughput":100,"p50Ms":4,"p99Ms":20,"errorRate":0},
+                    {"throughput":0,"p50Ms":0,"p99Ms":0,"errorRate":0},
+                    {"throughput":110,"p50Ms":5,"p99Ms":22,"errorRate":0.01}]}],
+                 "total":{"route":"total","windows":[{"throughput":100,"errorRate":0}]}}
+                """));
+
+        assertEquals(List.of("GET /api/tariff throughput", "GET /api/tariff p50", "GET /api/tariff p99",
+                "GET /api/tariff error rate", "total throughput", "total error rate"),
+                metrics.stream().map(Metric::name).toList());
+        assertEquals(List.of(100.0, 0.0, 110.0), metrics.get(0).samples());
+        assertEquals(List.of(20.0, 22.0), metrics.get(2).samples());
+        assertTrue(metrics.get(3).isRatio());
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.product.client;
 
+import com.example.common.metrics.ClientTimers;
 import com.example.product.dto.TariffDefinitionsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -18,16 +21,20 @@ public class GlobalTariffsClient {
     private String globalTariffsUrl;
 
     private final RestTemplate restTemplate;
+    private final Timer definitionsTimer;
 
-    public GlobalTariffsClient(RestTemplate restTemplate) {
+    public GlobalTariffsClient(RestTemplate restTemplate, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        // countries and partners read the same payload, so both calls share one timer
+        this.definitionsTimer = ClientTimers.of(meterRegistry, "global-tariffs", "globalDefinitions");
     }
 
     // fetch importing countries from global-tariffs definitions
     public List<String> getAllCountries() {
         try {
             String url = globalTariffsUrl + "/api/tariff-definitions/global";
-            ResponseEntity<TariffDefinitionsResponse> response = restTemplate.getForEntity(url, TariffDefinitionsResponse.class);
+            ResponseEntity<TariffDefinitionsResponse> response = definitionsTimer.record(
+                    () -> restTemplate.getForEntity(url, TariffDefinitionsResponse.class));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null && response.getBody().getData() != null) {
                 Set<String> countries = response.getBody().getData().stream()
@@ -47,7 +54,8 @@ public class GlobalTariffsClient {
     public List<String> getAllPartners() {
         try {
             String url = globalTariffsUrl + "/api/tariff-definitions/global";
-            ResponseEntity<TariffDefinitionsResponse> response = restTemplate.getForEntity(url, TariffDefinitionsResponse.class);
+            ResponseEntity<TariffDefinitionsResponse> response = definitionsTimer.record(
+                    () -> restTemplate.getForEntity(url, TariffDefinitionsResponse.class));
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null && response.getBody().getData() != null) {
                 Set<String> partners = response.getBody().getData().stream()
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.example.product.dto.TypeaheadSuggestionDto;
 import com.example.product.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,5 +47,17 @@ public class ProductController {
     public ResponseEntity<List<String>> getAllProducts() {
         return ResponseEntity.ok(productService.getAllProducts());
     }
-}
 
+    @Operation(summary = "Typeahead search over product names, HS codes and countries",
+            description = "Prefix match on normalized names (case, accents and punctuation ignored) with typo "
+                    + "tolerance, returning the top matches. types is a comma separated subset of product, "
+                    + "hs_code and country (default: all); limit defaults to 10, at most 50.")
+    // GET /api/typeahead?q=hor&types=product,hs_code&limit=10 -> ranked suggestions
+    @GetMapping("/typeahead")
+    public ResponseEntity<List<TypeaheadSuggestionDto>> getTypeahead(
+            @RequestParam(value = "q", required = false) String query,
+            @RequestParam(required = false) String types,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productService.getTypeahead(query, types, limit));
+    }
+}
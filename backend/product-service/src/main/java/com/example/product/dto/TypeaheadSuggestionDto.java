@@ -0,0 +1,24 @@
+package com.example.product.dto;
+
+// one typeahead match: type is product, hs_code or country, value is what the dropdown submits
+public class TypeaheadSuggestionDto {
+    private String type;
+    private String value;
+    private String label;
+
+    public TypeaheadSuggestionDto() {}
+
+    public TypeaheadSuggestionDto(String type, String value, String label) {
+        this.type = type;
+        this.value = value;
+        this.label = label;
+    }
+
+    // Getters and setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+    public String getLabel() { return label; }
+    public void setLabel(String label) { this.label = label; }
+}
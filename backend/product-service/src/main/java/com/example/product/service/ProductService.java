@@ -1,20 +1,30 @@
 package com.example.product.service;
 
-import com.example.product.repository.ProductRepository;
+import com.example.product.dto.TypeaheadSuggestionDto;
+import com.example.product.exception.ValidationException;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 // provides product/country lookups and validates downstream responses
 @Service
 public class ProductService {
-    private final ProductRepository productRepository;
+    private static final int TYPEAHEAD_DEFAULT_LIMIT = 10;
+    private static final int TYPEAHEAD_MAX_LIMIT = 50;
+
+    private final ProductCatalog productCatalog;
     private final com.example.product.client.GlobalTariffsClient globalTariffsClient;
+    private final TypeaheadIndex typeaheadIndex;
 
-    public ProductService(ProductRepository productRepository,
-                          com.example.product.client.GlobalTariffsClient globalTariffsClient) {
-        this.productRepository = productRepository;
+    public ProductService(ProductCatalog productCatalog,
+                          com.example.product.client.GlobalTariffsClient globalTariffsClient,
+                          TypeaheadIndex typeaheadIndex) {
+        this.productCatalog = productCatalog;
         this.globalTariffsClient = globalTariffsClient;
+        this.typeaheadIndex = typeaheadIndex;
     }
 
     // list importing countries via global-tariffs service
@@ -27,9 +37,32 @@ public class ProductService {
         return globalTariffsClient.getAllPartners();
     }
 
-    // list local product names from repository
+    // list local product names from the in-memory catalog
     public List<String> getAllProducts() {
-        return productRepository.findDistinctProducts();
+        return productCatalog.getProductNames();
+    }
+
+    // top-k typeahead matches over products, hs codes and countries; types is a comma separated subset
+    public List<TypeaheadSuggestionDto> getTypeahead(String query, String types, Integer limit) {
+        int resolvedLimit = limit != null ? limit : TYPEAHEAD_DEFAULT_LIMIT;
+        if (resolvedLimit < 1 || resolvedLimit > TYPEAHEAD_MAX_LIMIT) {
+            throw new ValidationException("limit must be between 1 and " + TYPEAHEAD_MAX_LIMIT);
+        }
+        return typeaheadIndex.search(query, resolveTypes(types), resolvedLimit);
     }
-}
 
+    private Set<String> resolveTypes(String types) {
+        if (types == null || types.trim().isEmpty()) {
+            return TypeaheadIndex.ALL_TYPES;
+        }
+        Set<String> resolved = new HashSet<>();
+        for (String type : types.split(",")) {
+            String normalized = type.trim().toLowerCase(Locale.ROOT);
+            if (!TypeaheadIndex.ALL_TYPES.contains(normalized)) {
+                throw new ValidationException("Unknown typeahead type: " + type.trim());
+            }
+            resolved.add(normalized);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.product.service;
+
+import com.example.product.client.GlobalTariffsClient;
+import com.example.product.dto.TypeaheadSuggestionDto;
+import com.example.product.entity.Product;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+// in-memory prefix index behind the dropdown typeahead. every product name, hs code and country name is
+// normalized (accents, case and punctuation dropped) and stored as sorted keys: the full label plus one key
+// per later word, so "horses" finds "Live Horses". a query is a binary search to the first key with the
+// prefix and a scan of that range; only when that yields fewer than the requested matches does a bounded
+// edit-distance pass run for typos. that pass stays near the insertion point too: it only looks at keys with
+// the query's first character, walking outward from where the query would sort, and gives up after a fixed
+// number of keys, so a typo costs the same on a large index as on a small one. typos in the first character,
+// or early enough to sort the intended key far away, are not corrected. products come from ProductCatalog
+// (rebuilt when it reloads), countries from global-tariffs on a timer
+@Component
+public class TypeaheadIndex {
+
+    static final String TYPE_PRODUCT = "product";
+    static final String TYPE_HS_CODE = "hs_code";
+    static final String TYPE_COUNTRY = "country";
+    static final Set<String> ALL_TYPES = Set.of(TYPE_PRODUCT, TYPE_HS_CODE, TYPE_COUNTRY);
+
+    // match ranks, lower sorts first
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_PREFIX = 1;
+    private static final int RANK_WORD_PREFIX = 2;
+    private static final int RANK_FUZZY = 3;
+
+    // typo tolerance: none below 3 characters, one edit up to 5, two from 6
+    private static final int FUZZY_MIN_LENGTH = 3;
+    private static final int FUZZY_TWO_EDIT_LENGTH = 6;
+    // most keys the typo pass compares against the query
+    static final int FUZZY_MAX_SCANNED = 1024;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    // separators inside numbers are dropped so "0101.21" and "010121" normalize alike
+    private static final Pattern DIGIT_SEPARATOR = Pattern.compile("(?<=\\d)[.\\-\\s]+(?=\\d)");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private final ProductCatalog productCatalog;
+    private final GlobalTariffsClient globalTariffsClient;
+
+    private volatile Index index = Index.build(List.of(), List.of());
+
+    public TypeaheadIndex(ProductCatalog productCatalog, GlobalTariffsClient globalTariffsClient) {
+        this.productCatalog = productCatalog;
+        this.globalTariffsClient = globalTariffsClient;
+    }
+
+    // top matches for a query, best rank first, then shorter and alphabetically earlier values
+    public List<TypeaheadSuggestionDto> search(String query, Set<String> types, int limit) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Index current = currentIndex();
+
+        Map<Integer, Integer> rankById = new HashMap<>();
+        for (int i = current.lowerBound(normalized); i < current.keys.length; i++) {
+            String key = current.keys[i];
+            if (!key.startsWith(normalized)) {
+                break;
+            }
+            Entry entry = current.entries[current.owners[i]];
+            if (types.contains(entry.type())) {
+                int rank = !current.fullLabel[i] ? RANK_WORD_PREFIX
+                        : key.length() == normalized.length() ? RANK_EXACT : RANK_PREFIX;
+                rankById.merge(current.owners[i], rank, Math::min);
+            }
+        }
+
+        if (rankById.size() < limit && normalized.length() >= FUZZY_MIN_LENGTH) {
+            int maxEdits = normalized.length() >= FUZZY_TWO_EDIT_LENGTH ? 2 : 1;
+            // keys sharing the first character, alternately above and below the query's own position
+            int from = current.lowerBound(normalized.substring(0, 1));
+            int to = current.lowerBound(String.valueOf((char) (normalized.charAt(0) + 1)));
+            int above = current.lowerBound(normalized);
+            int below = above - 1;
+            for (int scanned = 0; scanned < FUZZY_MAX_SCANNED && (above < to || below >= from); scanned++) {
+                int i = above < to && (scanned % 2 == 0 || below < from) ? above++ : below--;
+                int id = current.owners[i];
+                if (!rankById.containsKey(id) && types.contains(current.entries[id].type())
+                        && prefixDistance(normalized, current.keys[i], maxEdits) <= maxEdits) {
+                    rankById.put(id, RANK_FUZZY);
+                }
+            }
+        }
+
+        return rankById.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Integer, Integer>>comparingInt(Map.Entry::getValue)
+                        .thenComparingInt(e -> current.entries[e.getKey()].value().length())
+                        .thenComparing(e -> current.entries[e.getKey()].value()))
+                .limit(limit)
+                .map(e -> current.entries[e.getKey()].toDto())
+                .toList();
+    }
+
+    // country names only change when global-tariffs data does, so they are pulled on a slow timer; a failed
+    // pull keeps the previous list
+    @Scheduled(fixedDelayString = "${typeahead.country-refresh-interval-ms:600000}")
+    public void refreshCountries() {
+        try {
+            TreeSet<String> countries = new TreeSet<>(globalTariffsClient.getAllCountries());
+            countries.addAll(globalTariffsClient.getAllPartners());
+            synchronized (this) {
+                index = Index.build(productCatalog.getProducts(), List.copyOf(countries));
+            }
+        } catch (Exception e) {
+            System.err.println("Failed to refresh typeahead countries: " + e.getMessage());
+        }
+    }
+
+    // the catalog hands out a new product list on every reload, so a reference check is enough to notice it
+    private Index currentIndex() {
+        Index current = index;
+        List<Product> products = productCatalog.getProducts();
+        if (current.products == products) {
+            return current;
+        }
+        synchronized (this) {
+            if (index.products != products) {
+                index = Index.build(products, index.countries);
+            }
+            return index;
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        folded = DIGIT_SEPARATOR.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded).replaceAll(" ").trim();
+    }
+
+    // smallest edit distance between the query and any prefix of the key, or maxEdits + 1 once it is
+    // clear the key can't come within maxEdits
+    static int prefixDistance(String query, String key, int maxEdits) {
+        int[] previous = new int[key.length() + 1];
+        int[] row = new int[key.length() + 1];
+        for (int j = 0; j <= key.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            row[0] = i;
+            int rowMin = row[0];
+            for (int j = 1; j <= key.length(); j++) {
+                int cost = query.charAt(i - 1) == key.charAt(j - 1) ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, row[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+        int best = previous[0];
+        for (int value : previous) {
+            best = Math.min(best, value);
+        }
+        return best;
+    }
+
+    private record Entry(String type, String value, String label) {
+        TypeaheadSuggestionDto toDto() {
+            return new TypeaheadSuggestionDto(type, value, label);
+        }
+    }
+
+    // immutable snapshot: keys sorted, owners[i] is the entry a key belongs to, fullLabel[i] is false for
+    // the keys that start at a later word
+    private static final class Index {
+        private final List<Product> products;
+        private final List<String> countries;
+        private final Entry[] entries;
+        private final String[] keys;
+        private final int[] owners;
+        private final boolean[] fullLabel;
+
+        private Index(List<Product> products, List<String> countries, Entry[] entries,
+                      String[] keys, int[] owners, boolean[] fullLabel) {
+            this.products = products;
+            this.countries = countries;
+            this.entries = entries;
+            this.keys = keys;
+            this.owners = owners;
+            this.fullLabel = fullLabel;
+        }
+
+        static Index build(List<Product> products, List<String> countries) {
+            // one entry per distinct normalized name / code, first product wins
+            Map<String, Entry> entriesByKey = new LinkedHashMap<>();
+            for (Product product : products) {
+                if (product.getName() != null && !normalize(product.getName()).isEmpty()) {
+                    entriesByKey.putIfAbsent(TYPE_PRODUCT + ":" + normalize(product.getName()),
+                            new Entry(TYPE_PRODUCT, product.getName(), product.getName()));
+                }
+                if (product.getHsCode() != null && !normalize(product.getHsCode()).isEmpty()) {
+                    String hsCode = product.getHsCode().trim();
+                    String label = product.getName() != null ? hsCode + " " + product.getName() : hsCode;
+                    entriesByKey.putIfAbsent(TYPE_HS_CODE + ":" + normalize(hsCode),
+                            new Entry(TYPE_HS_CODE, hsCode, label));
+                }
+            }
+            for (String country : countries) {
+                if (!normalize(country).isEmpty()) {
+                    entriesByKey.putIfAbsent(TYPE_COUNTRY + ":" + normalize(country),
+                            new Entry(TYPE_COUNTRY, country, country));
+                }
+            }
+            Entry[] entries = entriesByKey.values().toArray(new Entry[0]);
+
+            List<Key> keyList = new ArrayList<>();
+            for (int id = 0; id < entries.length; id++) {
+                // hs code entries are matched on the code only, not on the product name in their label
+                String normalized = normalize(entries[id].type().equals(TYPE_HS_CODE)
+                        ? entries[id].value() : entries[id].label());
+                keyList.add(new Key(normalized, id, true));
+                for (int space = normalized.indexOf(' '); space >= 0; space = normalized.indexOf(' ', space + 1)) {
+                    keyList.add(new Key(normalized.substring(space + 1), id, false));
+                }
+            }
+            keyList.sort(Comparator.comparing(Key::text));
+
+            String[] keys = new String[keyList.size()];
+            int[] owners = new int[keyList.size()];
+            boolean[] fullLabel = new boolean[keyList.size()];
+            for (int i = 0; i < keyList.size(); i++) {
+                keys[i] = keyList.get(i).text();
+                owners[i] = keyList.get(i).owner();
+                fullLabel[i] = keyList.get(i).full();
+            }
+            return new Index(products, countries, entries, keys, owners, fullLabel);
+        }
+
+        // first key that is >= prefix; every key starting with prefix follows it contiguously
+        int lowerBound(String prefix) {
+            int position = Arrays.binarySearch(keys, prefix);
+            return position >= 0 ? firstEqual(position) : -position - 1;
+        }
+
+        private int firstEqual(int position) {
+            while (position > 0 && keys[position - 1].equals(keys[position])) {
+                position--;
+            }
+            return position;
+        }
+    }
+
+    private record Key(String text, int owner, boolean full) {
+    }
+}
@@ -7,7 +7,7 @@ import java.util.List;
 
 import com.example.product.client.GlobalTariffsClient;
 import com.example.product.entity.Product;
-import com.example.product.repository.ProductRepository;
+import com.example.product.exception.ValidationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,11 +21,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 public class ProductServiceTest {
 
     @Mock
-    private ProductRepository productRepository;
+    private ProductCatalog productCatalog;
 
     @Mock
     private GlobalTariffsClient globalTariffsClient;
 
+    @Mock
+    private TypeaheadIndex typeaheadIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -41,7 +44,7 @@ public class ProductServiceTest {
 
     @Test
     void getAllProducts_Success() {
-        when(productRepository.findDistinctProducts())
+        when(productCatalog.getProductNames())
             .thenReturn(List.of("Product 1", "Product 2", "Product 3"));
 
         List<String> products = productService.getAllProducts();
@@ -74,4 +77,14 @@ public class ProductServiceTest {
         assertEquals(2, partners.size());
         assertTrue(partners.contains("India"));
     }
+
+    @Test
+    void getTypeahead_UnknownType_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> productService.getTypeahead("hor", "product,region", 10));
+    }
+
+    @Test
+    void getTypeahead_LimitOutOfRange_ThrowsValidationException() {
+        assertThrows(ValidationException.class, () -> productService.getTypeahead("hor", null, 500));
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.product.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import com.example.product.client.GlobalTariffsClient;
+import com.example.product.dto.TypeaheadSuggestionDto;
+import com.example.product.entity.Product;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TypeaheadIndexTest {
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private GlobalTariffsClient globalTariffsClient;
+
+    @InjectMocks
+    private TypeaheadIndex typeaheadIndex;
+
+    @BeforeEach
+    void setUp() {
+        List<Product> products = List.of(
+                product("010121", "Live Horses"),
+                product("010129", "Horse Meat"),
+                product("090111", "Coffee Beans"));
+        lenient().when(productCatalog.getProducts()).thenReturn(products);
+    }
+
+    @Test
+    void search_RanksExactThenPrefixThenWordPrefix() {
+        List<TypeaheadSuggestionDto> matches = typeaheadIndex.search("horse", TypeaheadIndex.ALL_TYPES, 10);
+
+        assertEquals(List.of("Horse Meat", "Live Horses"), matches.stream().map(TypeaheadSuggestionDto::getValue).toList());
+        assertEquals("product", matches.get(0).getType());
+    }
+
+    @Test
+    void search_NormalizesCaseAndHsCodePunctuation() {
+        List<TypeaheadSuggestionDto> matches = typeaheadIndex.search(" 0101.2", Set.of(TypeaheadIndex.TYPE_HS_CODE), 10);
+
+        assertEquals(List.of("010121", "010129"), matches.stream().map(TypeaheadSuggestionDto::getValue).toList());
+        assertEquals("010121 Live Horses", matches.get(0).getLabel());
+    }
+
+    @Test
+    void search_ToleratesTypoWhenPrefixFindsTooFew() {
+        List<TypeaheadSuggestionDto> matches = typeaheadIndex.search("cofe", Set.of(TypeaheadIndex.TYPE_PRODUCT), 5);
+
+        assertEquals(1, matches.size());
+        assertEquals("Coffee Beans", matches.get(0).getValue());
+    }
+
+    @Test
+    void search_IncludesCountriesAfterRefreshAndHonoursLimit() {
+        when(globalTariffsClient.getAllCountries()).thenReturn(List.of("China", "Côte d'Ivoire"));
+        when(globalTariffsClient.getAllPartners()).thenReturn(List.of("China", "Chile"));
+
+        typeaheadIndex.refreshCountries();
+
+        List<TypeaheadSuggestionDto> countries = typeaheadIndex.search("c", Set.of(TypeaheadIndex.TYPE_COUNTRY), 2);
+        assertEquals(List.of("Chile", "China"), countries.stream().map(TypeaheadSuggestionDto::getValue).toList());
+        assertEquals("Côte d'Ivoire",
+                typeaheadIndex.search("cote divoire", Set.of(TypeaheadIndex.TYPE_COUNTRY), 5).get(0).getValue());
+    }
+
+    @Test
+    void search_LargeIndex_TypoPassStaysNearInsertionPoint() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            products.add(product(null, String.format("Product %05d", i)));
+        }
+        products.add(product("090111", "Coffee Beans"));
+        when(productCatalog.getProducts()).thenReturn(products);
+
+        // "prodcut" sorts just before every "product ..." key: a target a few keys away is found...
+        List<TypeaheadSuggestionDto> near = typeaheadIndex.search("prodcut 00042", Set.of(TypeaheadIndex.TYPE_PRODUCT), 5);
+        assertEquals(List.of("Product 00042"), near.stream().map(TypeaheadSuggestionDto::getValue).toList());
+        assertEquals("Coffee Beans", typeaheadIndex.search("cofe", TypeaheadIndex.ALL_TYPES, 5).get(0).getValue());
+
+        // ...one further away than the scan budget is not, and neither is a different first character
+        assertTrue(15_000 > TypeaheadIndex.FUZZY_MAX_SCANNED);
+        assertTrue(typeaheadIndex.search("prodcut 15000", Set.of(TypeaheadIndex.TYPE_PRODUCT), 5).isEmpty());
+        assertTrue(typeaheadIndex.search("xoffee", Set.of(TypeaheadIndex.TYPE_PRODUCT), 5).isEmpty());
+    }
+
+    @Test
+    void search_BlankQuery_ReturnsNothing() {
+        assertTrue(typeaheadIndex.search("  ", TypeaheadIndex.ALL_TYPES, 10).isEmpty());
+    }
+
+    private static Product product(String hsCode, String name) {
+        Product product = new Product();
+        product.setHsCode(hsCode);
+        product.setName(name);
+        return product;
+    }
+}
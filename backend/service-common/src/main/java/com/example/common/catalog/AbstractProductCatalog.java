@@ -0,0 +1,161 @@
+package com.example.common.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// in-memory index over the Products (Test) table, shared by the services that read it on their hot paths. the
+// table is small, so it is loaded once at startup and products (with cost and unit) resolve by a hash probe on
+// the normalized name or the hs code. until the first load succeeds lookups fall through to the repository.
+//
+// no service writes the table (it is maintained directly in the database), so there is no write path to
+// invalidate from: a content fingerprint is polled every product-catalog.refresh-interval-ms (default 60s)
+// and the index is rebuilt when it changes. an edit is therefore served stale for at most one interval plus
+// the reload itself; a failed poll or reload keeps the previous index and retries on the next interval.
+//
+// subclasses are the per-service @Component, they only adapt their entity and repository
+public abstract class AbstractProductCatalog<P> {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractProductCatalog.class);
+
+    private final Function<P, String> nameOf;
+    private final Function<P, String> hsCodeOf;
+
+    private volatile Snapshot<P> snapshot;
+
+    protected AbstractProductCatalog(Function<P, String> nameOf, Function<P, String> hsCodeOf) {
+        this.nameOf = nameOf;
+        this.hsCodeOf = hsCodeOf;
+    }
+
+    // every product in id order
+    protected abstract List<P> loadAll();
+
+    // hash over the whole table content, changes with any insert, update or delete
+    protected abstract String loadFingerprint();
+
+    // repository fallbacks used until the first load succeeds
+    protected abstract List<P> queryByName(String name);
+
+    protected abstract List<P> queryByHsCode(String hsCode);
+
+    protected abstract List<String> queryProductNames();
+
+    // products whose name matches ignoring case and surrounding whitespace, in id order
+    public List<P> findByName(String name) {
+        if (name == null) {
+            return Collections.emptyList();
+        }
+        Snapshot<P> current = snapshot;
+        if (current == null) {
+            return queryByName(name.trim());
+        }
+        return current.byName().getOrDefault(normalize(name), Collections.emptyList());
+    }
+
+    // products filed under an hs code, in id order
+    public List<P> findByHsCode(String hsCode) {
+        if (hsCode == null) {
+            return Collections.emptyList();
+        }
+        Snapshot<P> current = snapshot;
+        if (current == null) {
+            return queryByHsCode(hsCode.trim());
+        }
+        return current.byHsCode().getOrDefault(hsCode.trim(), Collections.emptyList());
+    }
+
+    // every product in id order; empty until the first load succeeds (no repository fallback, callers
+    // index the result and compare it by reference to notice a reload)
+    public List<P> getProducts() {
+        Snapshot<P> current = snapshot;
+        return current != null ? current.products() : Collections.emptyList();
+    }
+
+    // distinct product names, sorted
+    public List<String> getProductNames() {
+        Snapshot<P> current = snapshot;
+        return current != null ? current.names() : queryProductNames();
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    // cheap change check: the fingerprint query hashes the table server-side, only a mismatch reloads the rows
+    @Scheduled(
+            initialDelayString = "${product-catalog.refresh-interval-ms:60000}",
+            fixedDelayString = "${product-catalog.refresh-interval-ms:60000}")
+    public void refreshIfChanged() {
+        try {
+            Snapshot<P> current = snapshot;
+            if (current == null || !Objects.equals(current.fingerprint(), loadFingerprint())) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to check product catalog for changes: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void reload() {
+        try {
+            // fingerprint first: a change landing between the two reads is picked up by the next poll
+            String fingerprint = loadFingerprint();
+            snapshot = Snapshot.of(loadAll(), fingerprint, nameOf, hsCodeOf);
+        } catch (Exception e) {
+            // keep serving the previous index (or the repository fallback) until the next poll
+            log.warn("Failed to load product catalog: {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot<P>(
+            List<P> products,
+            Map<String, List<P>> byName,
+            Map<String, List<P>> byHsCode,
+            List<String> names,
+            String fingerprint) {
+
+        static <P> Snapshot<P> of(List<P> products, String fingerprint,
+                                  Function<P, String> nameOf, Function<P, String> hsCodeOf) {
+            Map<String, List<P>> byName = new HashMap<>();
+            Map<String, List<P>> byHsCode = new HashMap<>();
+            TreeSet<String> names = new TreeSet<>();
+            for (P product : products) {
+                String name = nameOf.apply(product);
+                if (name != null) {
+                    byName.computeIfAbsent(normalize(name), k -> new ArrayList<>()).add(product);
+                    names.add(name);
+                }
+                String hsCode = hsCodeOf.apply(product);
+                if (hsCode != null) {
+                    byHsCode.computeIfAbsent(hsCode.trim(), k -> new ArrayList<>()).add(product);
+                }
+            }
+            byName.replaceAll((k, v) -> List.copyOf(v));
+            byHsCode.replaceAll((k, v) -> List.copyOf(v));
+            return new Snapshot<>(List.copyOf(products), Map.copyOf(byName), Map.copyOf(byHsCode),
+                    List.copyOf(names), fingerprint);
+        }
+    }
+}
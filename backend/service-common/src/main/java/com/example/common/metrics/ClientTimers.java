@@ -0,0 +1,23 @@
+package com.example.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// client.requests: latency of every outbound call a service makes (other services and external apis), one
+// series per client/operation pair. the histogram lets dashboards compute p99 across instances
+public final class ClientTimers {
+
+    public static final String NAME = "client.requests";
+
+    private ClientTimers() {
+    }
+
+    // registers the timer on first use, later calls return the same one
+    public static Timer of(MeterRegistry registry, String client, String operation) {
+        return Timer.builder(NAME)
+                .description("Outbound calls to downstream services and external APIs")
+                .tags("client", client, "operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.common.querystats;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// statement count and jdbc time of the current http request. filled by QueryStatsInspector (hibernate)
+// and scoped to one request by QueryStatsFilter. recording outside a scope (startup, schedulers, async
+// executor threads) is a no-op. plain JdbcTemplate calls bypass hibernate and are not counted
+public final class QueryStats {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> countsBySql = new HashMap<>();
+    private int statementCount;
+    private long jdbcNanos;
+
+    private QueryStats() {}
+
+    // opens a scope on the calling thread, replacing any scope already open
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void recordStatement(String sql) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.statementCount++;
+            stats.countsBySql.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    static void recordJdbcTime(long nanos) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public int getStatementCount() { return statementCount; }
+    public long getJdbcNanos() { return jdbcNanos; }
+
+    // statements issued at least threshold times in this scope, most repeated first. parameters are
+    // bound as ?, so the same prepared sql once per row is the N+1 signature
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        countsBySql.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> repeated.put(e.getKey(), e.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.common.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+
+// the services' component scan does not reach this package, so the filter comes in as auto-configuration.
+// the hibernate side is wired by each service's spring.jpa.properties (see QueryStatsInspector); services
+// without hibernate (they only use service-common for tracing) get no filter
+@AutoConfiguration
+@ConditionalOnClass(name = "org.hibernate.resource.jdbc.spi.StatementInspector")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class QueryStatsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryStatsFilter queryStatsFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                             @Value("${query-stats.headers-enabled:false}") boolean headersEnabled,
+                                             @Value("${query-stats.repeat-threshold:10}") int repeatThreshold) {
+        return new QueryStatsFilter(meterRegistry, headersEnabled, repeatThreshold);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.common.querystats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// per-request database statistics: opens a QueryStats scope around each request, then records the
+// statement count and jdbc time per route as metrics. with query-stats.headers-enabled (dev) the numbers
+// also go out as X-Query-Count / X-Query-Time-Ms response headers. requests that repeat one statement
+// repeat-threshold times or more are logged and counted as suspected N+1. registered in every servlet
+// service on the classpath by QueryStatsAutoConfiguration
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsFilter.class);
+
+    public static final String COUNT_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean headersEnabled;
+    private final int repeatThreshold;
+
+    public QueryStatsFilter(ObjectProvider<MeterRegistry> meterRegistry, boolean headersEnabled, int repeatThreshold) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.headersEnabled = headersEnabled;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryStats.begin();
+        StatsHeaderResponse wrapped = headersEnabled ? new StatsHeaderResponse(response, stats) : null;
+        try {
+            chain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            QueryStats.end();
+            if (wrapped != null) {
+                wrapped.applyHeaders();
+            }
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats stats) {
+        // route template rather than raw path keeps the metric cardinality bounded
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("SQL statements issued through hibernate per request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("http.server.requests.db.time")
+                .description("JDBC execution time per request")
+                .tags("uri", uri, "method", method)
+                .register(meterRegistry)
+                .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> repeated = stats.repeatedStatements(repeatThreshold);
+        if (!repeated.isEmpty()) {
+            Counter.builder("http.server.requests.db.repeated")
+                    .description("Requests that repeated one statement repeat-threshold times or more (suspected N+1)")
+                    .tags("uri", uri, "method", method)
+                    .register(meterRegistry)
+                    .increment();
+            Map.Entry<String, Integer> worst = repeated.entrySet().iterator().next();
+            log.warn("Suspected N+1 on {} {}: {} statements, {}x {}", method, uri, stats.getStatementCount(),
+                    worst.getValue(), worst.getKey());
+        }
+    }
+
+    // writes the stats headers just before the response commits: by then the controller has returned,
+    // so the count is final for regular responses (a streamed body only reports what ran before its first write)
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+        private final QueryStats stats;
+        private boolean applied;
+
+        StatsHeaderResponse(HttpServletResponse response, QueryStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void applyHeaders() {
+            if (applied || isCommitted()) {
+                return;
+            }
+            applied = true;
+            setHeader(COUNT_HEADER, Integer.toString(stats.getStatementCount()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", stats.getJdbcNanos() / 1_000_000.0));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            applyHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            applyHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            applyHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            applyHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            applyHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            applyHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.common.querystats;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// hibernate hooks feeding QueryStats: as a statement inspector it sees every sql string hibernate
+// prepares (native queries included), as a session event listener it times each jdbc execution.
+// hibernate instantiates it itself from spring.jpa.properties (one listener per session, so the
+// start timestamp is never shared between threads)
+public class QueryStatsInspector extends BaseSessionEventListener implements StatementInspector {
+
+    private long executeStartedAt;
+
+    @Override
+    public String inspect(String sql) {
+        QueryStats.recordStatement(sql);
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        QueryStats.recordJdbcTime(System.nanoTime() - executeStartedAt);
+    }
+}
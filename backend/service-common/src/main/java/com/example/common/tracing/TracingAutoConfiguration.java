@@ -0,0 +1,63 @@
+package com.example.common.tracing;
+
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+// tracing: micrometer observations bridged to opentelemetry with w3c traceparent propagation. spans cover
+// incoming requests plus outbound http calls, redis commands in the services that use redis and jdbc calls
+// in the ones that have datasource-micrometer; exported over otlp when management.otlp.tracing.endpoint is
+// set (docker-compose points it at the collector), otherwise traceId/spanId only show up in the logs.
+// each service only sets spring.application.name, which names its spans
+@AutoConfiguration
+public class TracingAutoConfiguration {
+
+    // client spans keep the path of the called url only: query strings carry api keys and session ids,
+    // and a uri template (when the call used one) keeps path variables such as api keys unexpanded
+    @Bean
+    @ConditionalOnMissingBean
+    public ClientRequestObservationConvention clientRequestObservationConvention() {
+        return new DefaultClientRequestObservationConvention() {
+            @Override
+            protected KeyValue uri(ClientRequestObservationContext context) {
+                KeyValue uri = super.uri(context);
+                return KeyValue.of(uri.getKey(), withoutQuery(uri.getValue()));
+            }
+
+            @Override
+            protected KeyValue requestUri(ClientRequestObservationContext context) {
+                KeyValue url = super.requestUri(context);
+                String template = context.getUriTemplate();
+                return KeyValue.of(url.getKey(), withoutQuery(template != null ? template : url.getValue()));
+            }
+        };
+    }
+
+    static String withoutQuery(String uri) {
+        int query = uri.indexOf('?');
+        return query >= 0 ? uri.substring(0, query) : uri;
+    }
+
+    // one span per redis command (sessions, caches, override change notifications), command arguments
+    // are not recorded
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass({MicrometerTracing.class, ClientResourcesBuilderCustomizer.class})
+    static class RedisTracingConfiguration {
+
+        @Bean
+        public ClientResourcesBuilderCustomizer redisTracingCustomizer(ObservationRegistry observationRegistry,
+                @Value("${spring.application.name}") String serviceName) {
+            return builder -> builder.tracing(new MicrometerTracing(observationRegistry, serviceName));
+        }
+    }
+}
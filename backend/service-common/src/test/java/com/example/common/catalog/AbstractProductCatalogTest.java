@@ -0,0 +1,122 @@
+package com.example.common.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AbstractProductCatalogTest {
+
+    private TableCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new TableCatalog();
+        catalog.rows.add(new Row("Coffee Beans", "090111"));
+        catalog.rows.add(new Row("Live Horses", "010121"));
+    }
+
+    @Test
+    void edit_IsServedStaleUntilNextRefresh() {
+        catalog.loadOnStartup();
+        List<Row> loaded = catalog.getProducts();
+
+        // the table changes underneath (nothing in the services writes it, so nothing invalidates)
+        catalog.rows.add(new Row("Green Tea", "090210"));
+        catalog.fingerprint = "v2";
+        assertTrue(catalog.findByName("green tea").isEmpty());
+        assertSame(loaded, catalog.getProducts());
+
+        catalog.refreshIfChanged();
+        assertEquals("090210", catalog.findByName(" GREEN TEA ").get(0).hsCode());
+        assertEquals(List.of("Coffee Beans", "Green Tea", "Live Horses"), catalog.getProductNames());
+        assertEquals(2, catalog.loads);
+    }
+
+    @Test
+    void refreshIfChanged_UnchangedFingerprint_KeepsIndex() {
+        catalog.loadOnStartup();
+        catalog.refreshIfChanged();
+        catalog.refreshIfChanged();
+
+        assertEquals(1, catalog.loads);
+        assertEquals(0, catalog.fallbackQueries);
+    }
+
+    @Test
+    void failedReload_KeepsPreviousIndexAndRetriesNextPoll() {
+        catalog.loadOnStartup();
+        catalog.fingerprint = "v2";
+        catalog.rows.clear();
+        catalog.failLoads = true;
+
+        catalog.refreshIfChanged();
+        assertEquals(1, catalog.findByHsCode("010121").size());
+
+        catalog.failLoads = false;
+        catalog.refreshIfChanged();
+        assertTrue(catalog.findByHsCode("010121").isEmpty());
+    }
+
+    @Test
+    void notLoaded_FallsBackToQueries() {
+        catalog.failLoads = true;
+        catalog.loadOnStartup();
+
+        assertFalse(catalog.isLoaded());
+        assertEquals(1, catalog.findByName(" Live Horses ").size());
+        assertTrue(catalog.getProducts().isEmpty());
+        assertEquals(1, catalog.fallbackQueries);
+    }
+
+    private record Row(String name, String hsCode) {
+    }
+
+    // stands in for a service's repository-backed catalog
+    private static final class TableCatalog extends AbstractProductCatalog<Row> {
+        final List<Row> rows = new ArrayList<>();
+        String fingerprint = "v1";
+        boolean failLoads;
+        int loads;
+        int fallbackQueries;
+
+        TableCatalog() {
+            super(Row::name, Row::hsCode);
+        }
+
+        @Override
+        protected List<Row> loadAll() {
+            if (failLoads) {
+                throw new IllegalStateException("database unavailable");
+            }
+            loads++;
+            return List.copyOf(rows);
+        }
+
+        @Override
+        protected String loadFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        protected List<Row> queryByName(String name) {
+            fallbackQueries++;
+            return rows.stream().filter(row -> row.name().equalsIgnoreCase(name)).toList();
+        }
+
+        @Override
+        protected List<Row> queryByHsCode(String hsCode) {
+            fallbackQueries++;
+            return rows.stream().filter(row -> row.hsCode().equals(hsCode)).toList();
+        }
+
+        @Override
+        protected List<String> queryProductNames() {
+            fallbackQueries++;
+            return rows.stream().map(Row::name).sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClientTimersTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void of_RegistersOneTimerPerClientAndOperation() {
+        Timer save = ClientTimers.of(registry, "session-management", "saveCalculation");
+
+        assertSame(save, ClientTimers.of(registry, "session-management", "saveCalculation"));
+        assertNotSame(save, ClientTimers.of(registry, "session-management", "history"));
+        assertSame(save, registry.get("client.requests")
+                .tags("client", "session-management", "operation", "saveCalculation").timer());
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.common.querystats;
+
+import org.mockito.stubbing.Answer;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// caps the statements hibernate issues for a block of code or an endpoint, so an N+1 regression
+// (one query per row instead of one per request) fails the build:
+//   List<X> rows = QueryCountAssertions.assertMaxQueries(2, () -> service.load(...));
+//   mockMvc.perform(get("/api/...")).andExpect(QueryCountAssertions.maxQueries(2));
+// the MockMvc form needs QueryStatsFilter in the context with query-stats.headers-enabled=true. services tested
+// against mocked repositories count each repository call as the one statement it issues:
+//   when(repository.findRoutes(any())).thenAnswer(QueryCountAssertions.statement(rows));
+// published in service-common's test-jar, services pull it in with <type>test-jar</type> in test scope
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {}
+
+    public static <T> T assertMaxQueries(int max, Supplier<T> action) {
+        QueryStats stats = QueryStats.begin();
+        T result;
+        try {
+            result = action.get();
+        } finally {
+            QueryStats.end();
+        }
+        if (stats.getStatementCount() > max) {
+            fail("Expected at most " + max + " statements but " + stats.getStatementCount()
+                    + " were issued, repeated: " + describe(stats.repeatedStatements(2)));
+        }
+        return result;
+    }
+
+    public static void assertMaxQueries(int max, Runnable action) {
+        assertMaxQueries(max, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static ResultMatcher maxQueries(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(QueryStatsFilter.COUNT_HEADER);
+            assertNotNull(header, QueryStatsFilter.COUNT_HEADER + " missing, is query-stats.headers-enabled set?");
+            int count = Integer.parseInt(header);
+            assertTrue(count <= max, "Expected at most " + max + " statements but " + count + " were issued");
+        };
+    }
+
+    // mockito answer returning result and recording one statement named after the stubbed method
+    public static <T> Answer<T> statement(T result) {
+        return invocation -> {
+            QueryStats.recordStatement(invocation.getMethod().getDeclaringClass().getSimpleName()
+                    + "." + invocation.getMethod().getName());
+            return result;
+        };
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        if (repeated.isEmpty()) {
+            return "none";
+        }
+        StringBuilder sb = new StringBuilder();
+        repeated.forEach((sql, count) -> sb.append("\n  ").append(count).append("x ").append(sql));
+        return sb.toString();
+    }
+}
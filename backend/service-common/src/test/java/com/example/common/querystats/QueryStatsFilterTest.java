@@ -0,0 +1,90 @@
+package com.example.common.querystats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class QueryStatsFilterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final QueryStatsInspector inspector = new QueryStatsInspector();
+
+    @Test
+    void doFilter_CountsStatementsAndFlagsRepeatedOnes() throws Exception {
+        QueryStatsFilter filter = filter(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/items");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            inspector.inspect("select * from \"Tariff Rates (Test)\" where country=?");
+            for (int i = 0; i < 3; i++) {
+                inspector.inspect("select * from \"Tariff Rate History\" where country=? and partner=?");
+            }
+            res.getWriter().write("[]");
+        });
+
+        assertEquals("4", response.getHeader(QueryStatsFilter.COUNT_HEADER));
+        assertNotNull(response.getHeader(QueryStatsFilter.TIME_HEADER));
+        assertEquals(4.0, registry.get("http.server.requests.db.statements")
+                .tag("uri", "/api/items").summary().totalAmount());
+        assertEquals(1.0, registry.get("http.server.requests.db.repeated").counter().count());
+    }
+
+    @Test
+    void doFilter_HeadersDisabled_OnlyRecordsMetrics() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(false).doFilter(new MockHttpServletRequest("GET", "/api/items/42"), response,
+                (req, res) -> inspector.inspect("select 1"));
+
+        assertNull(response.getHeader(QueryStatsFilter.COUNT_HEADER));
+        assertEquals(1L, registry.get("http.server.requests.db.statements").tag("uri", "UNKNOWN").summary().count());
+        assertTrue(registry.find("http.server.requests.db.repeated").counters().isEmpty());
+    }
+
+    @Test
+    void assertMaxQueries_FailsWhenBudgetExceeded() {
+        assertEquals("ok", QueryCountAssertions.assertMaxQueries(2, () -> {
+            inspector.inspect("select 1");
+            return "ok";
+        }));
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () ->
+                QueryCountAssertions.assertMaxQueries(2, () -> {
+                    for (int i = 0; i < 3; i++) {
+                        inspector.inspect("select * from \"Products (Test)\" where id=?");
+                    }
+                }));
+        assertTrue(error.getMessage().contains("3x select * from \"Products (Test)\" where id=?"));
+        // outside a scope nothing is recorded
+        inspector.inspect("select 1");
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void statement_CountsEachStubbedCall() {
+        Supplier<String> repository = mock(Supplier.class);
+        when(repository.get()).thenAnswer(QueryCountAssertions.statement("row"));
+
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () ->
+                QueryCountAssertions.assertMaxQueries(1, () -> repository.get() + repository.get()));
+        assertTrue(error.getMessage().contains("2x Supplier.get"));
+    }
+
+    private QueryStatsFilter filter(boolean headersEnabled) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        return new QueryStatsFilter(beans.getBeanProvider(MeterRegistry.class), headersEnabled, 3);
+    }
+}
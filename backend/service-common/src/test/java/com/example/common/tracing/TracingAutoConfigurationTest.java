@@ -0,0 +1,48 @@
+package com.example.common.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.ClientRequestObservationConvention;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TracingAutoConfigurationTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TracingAutoConfiguration.class))
+            .withBean(ObservationRegistry.class, ObservationRegistry::create)
+            .withPropertyValues("spring.application.name=test-service");
+
+    @Test
+    void clientRequestObservationConvention_DropsQueryString() {
+        runner.run(context -> {
+            ClientRequestObservationConvention convention = context.getBean(ClientRequestObservationConvention.class);
+            ClientRequestObservationContext observation = new ClientRequestObservationContext(
+                    new MockClientHttpRequest(HttpMethod.GET, URI.create("https://api.example.com/rates?apiKey=secret")));
+
+            assertTrue(convention.getHighCardinalityKeyValues(observation).stream()
+                    .map(KeyValue::getValue)
+                    .noneMatch(value -> value.contains("apiKey")));
+        });
+    }
+
+    @Test
+    void withoutQuery_KeepsPathOnly() {
+        assertEquals("/v4/latest/USD", TracingAutoConfiguration.withoutQuery("/v4/latest/USD?apiKey=secret"));
+        assertEquals("/api/products", TracingAutoConfiguration.withoutQuery("/api/products"));
+    }
+
+    @Test
+    void redisTracingCustomizer_RegisteredWhenLettuceIsPresent() {
+        runner.run(context -> assertNotNull(context.getBean(ClientResourcesBuilderCustomizer.class)));
+    }
+}
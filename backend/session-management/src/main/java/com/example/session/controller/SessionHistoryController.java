@@ -109,4 +109,44 @@ public class SessionHistoryController {
         }
         return ResponseEntity.ok().build();
     }
+
+    @Operation(summary = "Get several calculations by ID from session history")
+    // POST /api/tariff/history/batch -> fetch many entries in one call (session or cross-session)
+    @PostMapping("/history/batch")
+    public ResponseEntity<List<CalculationHistoryDto>> getCalculationsByIds(
+            @RequestBody List<String> ids,
+            @RequestParam(required = false) String sessionId,
+            HttpSession session) {
+        if (ids == null || ids.isEmpty()) {
+            throw new com.example.session.exception.BadRequestException("At least one calculation ID is required");
+        }
+
+        List<CalculationHistoryDto> calculations;
+        if (sessionId != null && !sessionId.isBlank()) {
+            calculations = sessionHistoryService.getCalculationsByIdsFromSession(sessionId, ids);
+        } else {
+            calculations = sessionHistoryService.getCalculationsByIds(session, ids);
+        }
+        return ResponseEntity.ok(calculations);
+    }
+
+    @Operation(summary = "Remove several calculations from session history and return them")
+    // POST /api/tariff/history/batch/take -> atomic get-and-remove of many entries (session or cross-session)
+    @PostMapping("/history/batch/take")
+    public ResponseEntity<List<CalculationHistoryDto>> takeCalculationsByIds(
+            @RequestBody List<String> ids,
+            @RequestParam(required = false) String sessionId,
+            HttpSession session) {
+        if (ids == null || ids.isEmpty()) {
+            throw new com.example.session.exception.BadRequestException("At least one calculation ID is required");
+        }
+
+        List<CalculationHistoryDto> taken;
+        if (sessionId != null && !sessionId.isBlank()) {
+            taken = sessionHistoryService.takeCalculationsByIdsFromSession(sessionId, ids);
+        } else {
+            taken = sessionHistoryService.takeCalculationsByIds(session, ids);
+        }
+        return ResponseEntity.ok(taken);
+    }
 }
@@ -2,12 +2,17 @@ package com.example.session.service;
 
 import com.example.session.dto.CalculationHistoryDto;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Service;
 import jakarta.servlet.http.HttpSession;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 // manages calculation history stored in http session (with optional redis lookup for cross-service)
 @Service
@@ -17,6 +22,8 @@ public class SessionHistoryService {
     private RedisTemplate<String, Object> redisTemplate;
     
     private static final String HISTORY_SESSION_KEY = "CALCULATION_HISTORY";
+    private static final String HISTORY_HASH_FIELD = "sessionAttr:" + HISTORY_SESSION_KEY;
+    private static final int MAX_TAKE_ATTEMPTS = 5; // optimistic lock retries when history changes mid-take
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(SessionHistoryService.class);
 
 
@@ -154,5 +161,119 @@ public class SessionHistoryService {
             log.error("Failed to remove calculation {} from session {}: {}", calculationId, sessionId, e.getMessage(), e);
         }
     }
-}
 
+    // Get several calculations from history by ID (order follows history, most recent first)
+    public List<CalculationHistoryDto> getCalculationsByIds(HttpSession session, Collection<String> calculationIds) {
+        Set<String> wanted = new HashSet<>(calculationIds);
+        return getCalculationHistory(session).stream()
+                .filter(h -> wanted.contains(h.getId()))
+                .toList();
+    }
+
+    // Get several calculations by ID using session ID (for cross-service calls)
+    public List<CalculationHistoryDto> getCalculationsByIdsFromSession(String sessionId, Collection<String> calculationIds) {
+        if (redisTemplate == null) {
+            log.warn("RedisTemplate is not configured; cannot access session {}", sessionId);
+            return new ArrayList<>();
+        }
+        try {
+            Object historyObj = redisTemplate.opsForHash().get(sessionKey(sessionId), HISTORY_HASH_FIELD);
+            if (!(historyObj instanceof List)) {
+                return new ArrayList<>();
+            }
+            @SuppressWarnings("unchecked")
+            List<CalculationHistoryDto> historyList = (List<CalculationHistoryDto>) historyObj;
+            Set<String> wanted = new HashSet<>(calculationIds);
+            return historyList.stream()
+                    .filter(h -> wanted.contains(h.getId()))
+                    .toList();
+        } catch (Exception e) {
+            throw new com.example.session.exception.DataAccessException(
+                "Failed to read calculations from session " + sessionId, e);
+        }
+    }
+
+    // Remove several calculations from the current session's history and return them
+    public List<CalculationHistoryDto> takeCalculationsByIds(HttpSession session, Collection<String> calculationIds) {
+        @SuppressWarnings("unchecked")
+        List<CalculationHistoryDto> historyList = (List<CalculationHistoryDto>) session.getAttribute(HISTORY_SESSION_KEY);
+        if (historyList == null || historyList.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> wanted = new HashSet<>(calculationIds);
+        List<CalculationHistoryDto> taken = new ArrayList<>();
+        List<CalculationHistoryDto> remaining = new ArrayList<>(historyList.size());
+        for (CalculationHistoryDto h : historyList) {
+            (wanted.contains(h.getId()) ? taken : remaining).add(h);
+        }
+
+        if (!taken.isEmpty()) {
+            session.setAttribute(HISTORY_SESSION_KEY, remaining);
+        }
+        return taken;
+    }
+
+    // Remove several calculations from another session's history and return them (for cross-service calls).
+    // Runs as a single WATCH/MULTI/EXEC transaction on the session hash so a concurrent save or
+    // take can't resurrect or duplicate entries; retried a few times if the history changes underneath us.
+    public List<CalculationHistoryDto> takeCalculationsByIdsFromSession(String sessionId, Collection<String> calculationIds) {
+        if (redisTemplate == null) {
+            log.warn("RedisTemplate is not configured; cannot take calcs from session {}", sessionId);
+            return new ArrayList<>();
+        }
+
+        String sessionKey = sessionKey(sessionId);
+        Set<String> wanted = new HashSet<>(calculationIds);
+        try {
+            List<CalculationHistoryDto> taken = redisTemplate.execute(new SessionCallback<List<CalculationHistoryDto>>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> List<CalculationHistoryDto> execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (int attempt = 1; attempt <= MAX_TAKE_ATTEMPTS; attempt++) {
+                        ops.watch(sessionKey);
+                        Object historyObj = ops.opsForHash().get(sessionKey, HISTORY_HASH_FIELD);
+                        if (!(historyObj instanceof List)) {
+                            ops.unwatch();
+                            return new ArrayList<>();
+                        }
+
+                        List<CalculationHistoryDto> historyList = (List<CalculationHistoryDto>) historyObj;
+                        List<CalculationHistoryDto> matched = new ArrayList<>();
+                        List<CalculationHistoryDto> remaining = new ArrayList<>(historyList.size());
+                        for (CalculationHistoryDto h : historyList) {
+                            (wanted.contains(h.getId()) ? matched : remaining).add(h);
+                        }
+                        if (matched.isEmpty()) {
+                            ops.unwatch();
+                            return matched;
+                        }
+
+                        ops.multi();
+                        ops.opsForHash().put(sessionKey, HISTORY_HASH_FIELD, remaining);
+                        List<Object> results = ops.exec();
+                        if (results != null && !results.isEmpty()) {
+                            return matched;
+                        }
+                        log.debug("History for {} changed during take (attempt {}), retrying", sessionKey, attempt);
+                    }
+                    throw new com.example.session.exception.DataAccessException(
+                        "Session history kept changing while taking calculations from session " + sessionId);
+                }
+            });
+            log.debug("Took {} of {} requested calculations from session {}",
+                    taken != null ? taken.size() : 0, wanted.size(), sessionKey);
+            return taken != null ? taken : new ArrayList<>();
+        } catch (com.example.session.exception.DataAccessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new com.example.session.exception.DataAccessException(
+                "Failed to take calculations from session " + sessionId, e);
+        }
+    }
+
+    private static String sessionKey(String sessionId) {
+        return "spring:session:sessions:" + sessionId;
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.calculator.client;
 
+import com.example.common.metrics.ClientTimers;
+
 import java.util.Map;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -20,9 +24,11 @@ public class SessionManagementClient {
     private String sessionManagementUrl;
     
     private final RestTemplate restTemplate;
+    private final Timer saveTimer;
     
-    public SessionManagementClient(RestTemplate restTemplate) {
+    public SessionManagementClient(RestTemplate restTemplate, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.saveTimer = ClientTimers.of(meterRegistry, "session-management", "saveCalculation");
     }
     
     /**
@@ -45,7 +51,7 @@ public class SessionManagementClient {
             
             HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
             
-            restTemplate.postForEntity(url, requestEntity, Void.class);
+            saveTimer.record(() -> restTemplate.postForEntity(url, requestEntity, Void.class));
         } catch (RestClientException e) {
             // Log error but don't fail the calculation
             System.err.println("Failed to save calculation to session history: " + e.getMessage());
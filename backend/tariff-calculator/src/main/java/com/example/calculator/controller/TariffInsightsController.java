@@ -21,8 +21,11 @@ import com.example.calculator.dto.TariffComparisonDTO;
 import com.example.calculator.dto.TariffComparisonRequest;
 import com.example.calculator.dto.TariffDTO;
 import com.example.calculator.dto.TariffHistoryDTO;
+import com.example.calculator.dto.TariffPageDTO;
+import com.example.calculator.dto.TariffTrendSeriesDTO;
 import com.example.calculator.service.CurrencyService;
 import com.example.calculator.service.TariffComparisonService;
+import com.example.calculator.service.TariffListingService;
 import com.example.calculator.service.TariffService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -41,14 +44,17 @@ public class TariffInsightsController {
     private final TariffService tariffService;
     private final TariffComparisonService comparisonService;
     private final CurrencyService currencyService;
+    private final TariffListingService tariffListingService;
 
     public TariffInsightsController(
             TariffService tariffService,
             TariffComparisonService comparisonService,
-            CurrencyService currencyService) {
+            CurrencyService currencyService,
+            TariffListingService tariffListingService) {
         this.tariffService = tariffService;
         this.comparisonService = comparisonService;
         this.currencyService = currencyService;
+        this.tariffListingService = tariffListingService;
     }
 
     // POST /api/tariffs/compare -> compare tariffs across multiple importing countries
@@ -85,15 +91,16 @@ public class TariffInsightsController {
         return ResponseEntity.ok(response);
     }
 
-    // GET /api/tariffs/history -> get tariff rate history over time period
-    @Operation(summary = "Get tariff rate history over a time period (currently using dummy data)")
+    // GET /api/tariffs/history -> get tariff rate history over time period (maxPoints caps the number of points)
+    @Operation(summary = "Get yearly tariff rate history over a time period")
     @GetMapping("/tariffs/history")
     public ResponseEntity<TariffHistoryDTO> getTariffHistory(
             @RequestParam String product,
             @RequestParam String exportingFrom,
             @RequestParam String importingTo,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Integer maxPoints) {
 
         if (product == null || product.trim().isEmpty()) {
             throw new com.example.calculator.exception.BadRequestException("Product is required");
@@ -110,20 +117,22 @@ public class TariffInsightsController {
                 exportingFrom,
                 importingTo,
                 startDate,
-                endDate
+                endDate,
+                maxPoints
         );
 
         return ResponseEntity.ok(response);
     }
 
-    // GET /api/tariff-trends -> get tariff trends for multiple countries/products
+    // GET /api/tariff-trends -> get tariff trends for multiple countries/products (maxPoints caps points per series)
     @GetMapping("/tariff-trends")
     public ResponseEntity<Map<String, Object>> getTariffTrends(
             @RequestParam String importCountries,
             @RequestParam String exportCountries,
             @RequestParam String products,
             @RequestParam(required = false) String startDate,
-            @RequestParam(required = false) String endDate) {
+            @RequestParam(required = false) String endDate,
+            @RequestParam(required = false) Integer maxPoints) {
 
         List<String> importList = parseCsv(importCountries);
         List<String> exportList = parseCsv(exportCountries);
@@ -136,8 +145,8 @@ public class TariffInsightsController {
         }
 
         try {
-            List<Map<String, Object>> data = comparisonService.getTariffTrends(
-                    importList, exportList, productList, startDate, endDate);
+            List<TariffTrendSeriesDTO> data = comparisonService.getTariffTrends(
+                    importList, exportList, productList, startDate, endDate, maxPoints);
 
             return ResponseEntity.ok(Map.of(
                     "success", true,
@@ -204,15 +213,54 @@ public class TariffInsightsController {
         return ResponseEntity.ok(response);
     }
 
-    // GET /api/tariffs -> get all tariffs with optional currency conversion
-    @Operation(summary = "Get all tariffs with optional currency conversion")
+    // GET /api/tariffs -> one keyset page of tariff rows, filtered and sorted, with optional currency conversion
+    @Operation(summary = "List tariffs page by page (filter by country, partner, HS code and rate range; pass nextCursor to continue)")
     @GetMapping("/tariffs")
-    public ResponseEntity<List<TariffDTO>> getAllTariffs(
+    public ResponseEntity<TariffPageDTO> getTariffs(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String partner,
+            @RequestParam(required = false) String hsCode,
+            @RequestParam(required = false) Double minRate,
+            @RequestParam(required = false) Double maxRate,
+            @RequestParam(required = false, defaultValue = "AHS") String rateType,
+            @RequestParam(required = false, defaultValue = "route") String sort,
+            @RequestParam(required = false, defaultValue = "asc") String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
             @RequestParam(required = false) Double productCost,
             @RequestParam(required = false, defaultValue = "USD") String currency) {
 
-        List<TariffDTO> tariffs = tariffService.getAllTariffs(productCost, currency);
-        return ResponseEntity.ok(tariffs);
+        TariffListingService.Query query = TariffListingService.Query.of(country, partner, hsCode, minRate, maxRate,
+                rateType, sort, direction, productCost, currency);
+        return ResponseEntity.ok(tariffListingService.listTariffs(query, cursor, limit));
+    }
+
+    // GET /api/tariffs/stream -> every matching tariff row as NDJSON, for full dumps
+    @Operation(summary = "Stream all matching tariffs as newline-delimited JSON (same filters and sort as /api/tariffs)")
+    @GetMapping(value = "/tariffs/stream", produces = "application/x-ndjson")
+    public void streamTariffs(
+            @RequestParam(required = false) String country,
+            @RequestParam(required = false) String partner,
+            @RequestParam(required = false) String hsCode,
+            @RequestParam(required = false) Double minRate,
+            @RequestParam(required = false) Double maxRate,
+            @RequestParam(required = false, defaultValue = "AHS") String rateType,
+            @RequestParam(required = false, defaultValue = "route") String sort,
+            @RequestParam(required = false, defaultValue = "asc") String direction,
+            @RequestParam(required = false) Double productCost,
+            @RequestParam(required = false, defaultValue = "USD") String currency,
+            jakarta.servlet.http.HttpServletResponse response) throws java.io.IOException {
+
+        TariffListingService.Query query = TariffListingService.Query.of(country, partner, hsCode, minRate, maxRate,
+                rateType, sort, direction, productCost, currency);
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        try {
+            tariffListingService.streamTariffs(query, response.getOutputStream());
+        } catch (java.io.IOException e) {
+            // response is already committed at this point, so just record the aborted download
+            System.err.println("Tariff stream aborted: " + e.getMessage());
+        }
     }
 
     // GET /api/tariffs/country/{country} -> get tariffs by importing country
@@ -3,8 +3,8 @@ package com.example.calculator.dto;
 import java.util.List;
 
 /**
- * DTO for time-period tariff comparison (Story 2) Currently uses dummy data,
- * ready for historical implementation
+ * DTO for time-period tariff comparison (Story 2), one point per year from the
+ * tariff history table
  */
 public class TariffHistoryDTO {
 
@@ -146,6 +146,9 @@ public class TariffHistoryDTO {
         private String tariffType;
         private double ahsRate;
         private double mfnRate;
+        // only set when the history was downsampled: range of the applied rate within the bucket
+        private Double minRate;
+        private Double maxRate;
 
         public TimePoint() {
         }
@@ -199,6 +202,22 @@ public class TariffHistoryDTO {
         public void setMfnRate(double mfnRate) {
             this.mfnRate = mfnRate;
         }
+
+        public Double getMinRate() {
+            return minRate;
+        }
+
+        public void setMinRate(Double minRate) {
+            this.minRate = minRate;
+        }
+
+        public Double getMaxRate() {
+            return maxRate;
+        }
+
+        public void setMaxRate(Double maxRate) {
+            this.maxRate = maxRate;
+        }
     }
 
     /**
@@ -0,0 +1,30 @@
+package com.example.calculator.dto;
+
+import java.util.List;
+
+// one page of the tariff listing; pass nextCursor back as ?cursor= to get the following page
+// (null once the last page has been returned)
+public class TariffPageDTO {
+    private List<TariffRowDTO> items;
+    private int limit;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public TariffPageDTO() {}
+
+    public TariffPageDTO(List<TariffRowDTO> items, int limit, boolean hasMore, String nextCursor) {
+        this.items = items;
+        this.limit = limit;
+        this.hasMore = hasMore;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TariffRowDTO> getItems() { return items; }
+    public void setItems(List<TariffRowDTO> items) { this.items = items; }
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,50 @@
+package com.example.calculator.dto;
+
+// one row of the tariff rates table as returned by the paginated / streamed listing: the route key
+// (country, partner, hs code, year), both rates and the tariff amounts in the requested currency
+public class TariffRowDTO {
+    private String country;
+    private String partner;
+    private String hsCode;
+    private Integer year;
+    private Double ahsWeightedPercentage;
+    private Double mfnWeightedPercentage;
+    private Double ahsTariffAmount;
+    private Double mfnTariffAmount;
+    private String currency;
+
+    public TariffRowDTO() {}
+
+    public TariffRowDTO(String country, String partner, String hsCode, Integer year,
+            Double ahsWeightedPercentage, Double mfnWeightedPercentage,
+            Double ahsTariffAmount, Double mfnTariffAmount, String currency) {
+        this.country = country;
+        this.partner = partner;
+        this.hsCode = hsCode;
+        this.year = year;
+        this.ahsWeightedPercentage = ahsWeightedPercentage;
+        this.mfnWeightedPercentage = mfnWeightedPercentage;
+        this.ahsTariffAmount = ahsTariffAmount;
+        this.mfnTariffAmount = mfnTariffAmount;
+        this.currency = currency;
+    }
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+    public String getPartner() { return partner; }
+    public void setPartner(String partner) { this.partner = partner; }
+    public String getHsCode() { return hsCode; }
+    public void setHsCode(String hsCode) { this.hsCode = hsCode; }
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
+    public Double getAhsWeightedPercentage() { return ahsWeightedPercentage; }
+    public void setAhsWeightedPercentage(Double ahsWeightedPercentage) { this.ahsWeightedPercentage = ahsWeightedPercentage; }
+    public Double getMfnWeightedPercentage() { return mfnWeightedPercentage; }
+    public void setMfnWeightedPercentage(Double mfnWeightedPercentage) { this.mfnWeightedPercentage = mfnWeightedPercentage; }
+    public Double getAhsTariffAmount() { return ahsTariffAmount; }
+    public void setAhsTariffAmount(Double ahsTariffAmount) { this.ahsTariffAmount = ahsTariffAmount; }
+    public Double getMfnTariffAmount() { return mfnTariffAmount; }
+    public void setMfnTariffAmount(Double mfnTariffAmount) { this.mfnTariffAmount = mfnTariffAmount; }
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+}
@@ -0,0 +1,52 @@
+package com.example.calculator.dto;
+
+// one tariff trend line in columnar form: dates[i] goes with rates[i], ahsRates[i] and mfnRates[i].
+// downsampled series carry one bucket per index (first date, average rates) plus minRates/maxRates
+public class TariffTrendSeriesDTO {
+    private String importCountry;
+    private String exportCountry;
+    private String product;
+    private String tariffType;
+    private String[] dates;
+    private double[] rates;
+    private double[] ahsRates;
+    private double[] mfnRates;
+    // only set when the series was downsampled: range of the applied rate within each bucket
+    private double[] minRates;
+    private double[] maxRates;
+
+    public TariffTrendSeriesDTO() {}
+
+    public TariffTrendSeriesDTO(String importCountry, String exportCountry, String product, String tariffType,
+            String[] dates, double[] rates, double[] ahsRates, double[] mfnRates) {
+        this.importCountry = importCountry;
+        this.exportCountry = exportCountry;
+        this.product = product;
+        this.tariffType = tariffType;
+        this.dates = dates;
+        this.rates = rates;
+        this.ahsRates = ahsRates;
+        this.mfnRates = mfnRates;
+    }
+
+    public String getImportCountry() { return importCountry; }
+    public void setImportCountry(String importCountry) { this.importCountry = importCountry; }
+    public String getExportCountry() { return exportCountry; }
+    public void setExportCountry(String exportCountry) { this.exportCountry = exportCountry; }
+    public String getProduct() { return product; }
+    public void setProduct(String product) { this.product = product; }
+    public String getTariffType() { return tariffType; }
+    public void setTariffType(String tariffType) { this.tariffType = tariffType; }
+    public String[] getDates() { return dates; }
+    public void setDates(String[] dates) { this.dates = dates; }
+    public double[] getRates() { return rates; }
+    public void setRates(double[] rates) { this.rates = rates; }
+    public double[] getAhsRates() { return ahsRates; }
+    public void setAhsRates(double[] ahsRates) { this.ahsRates = ahsRates; }
+    public double[] getMfnRates() { return mfnRates; }
+    public void setMfnRates(double[] mfnRates) { this.mfnRates = mfnRates; }
+    public double[] getMinRates() { return minRates; }
+    public void setMinRates(double[] minRates) { this.minRates = minRates; }
+    public double[] getMaxRates() { return maxRates; }
+    public void setMaxRates(double[] maxRates) { this.maxRates = maxRates; }
+}
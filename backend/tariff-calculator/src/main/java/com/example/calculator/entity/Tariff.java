@@ -14,6 +14,9 @@ public class Tariff implements Serializable {
     @Column(name = "\"partner\"")
     private String partner;
     
+    @Column(name = "\"year\"")
+    private Integer year;
+
     @Column(name = "\"ahs_weighted\"")
     private Double ahsWeighted;
     
@@ -24,6 +27,8 @@ public class Tariff implements Serializable {
     public void setCountry(String country) { this.country = country; }
     public String getPartner() { return partner; }
     public void setPartner(String partner) { this.partner = partner; }
+    public Integer getYear() { return year; }
+    public void setYear(Integer year) { this.year = year; }
     public Double getAhsWeighted() { return ahsWeighted; }
     public void setAhsWeighted(Double ahsWeighted) { this.ahsWeighted = ahsWeighted; }
     public Double getMfnWeighted() { return mfnWeighted; }
@@ -0,0 +1,41 @@
+package com.example.calculator.entity;
+import jakarta.persistence.*;
+import java.io.Serializable;
+
+// yearly AHS/MFN rates per country, partner and hs code from the Tariff Rate History table (filled by wits-api-integration)
+@Entity
+@Table(name = "\"Tariff Rate History\"")
+@IdClass(TariffHistoryId.class)
+public class TariffHistory implements Serializable {
+    @Id
+    @Column(name = "\"country\"")
+    private String country;
+    @Id
+    @Column(name = "\"partner\"")
+    private String partner;
+    @Id
+    @Column(name = "\"hs_code\"")
+    private String hsCode;
+    @Id
+    @Column(name = "\"year\"")
+    private int year;
+
+    @Column(name = "\"ahs_weighted\"")
+    private Double ahsWeighted;
+
+    @Column(name = "\"mfn_weighted\"")
+    private Double mfnWeighted;
+
+    public String getCountry() { return country; }
+    public void setCountry(String country) { this.country = country; }
+    public String getPartner() { return partner; }
+    public void setPartner(String partner) { this.partner = partner; }
+    public String getHsCode() { return hsCode; }
+    public void setHsCode(String hsCode) { this.hsCode = hsCode; }
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+    public Double getAhsWeighted() { return ahsWeighted; }
+    public void setAhsWeighted(Double ahsWeighted) { this.ahsWeighted = ahsWeighted; }
+    public Double getMfnWeighted() { return mfnWeighted; }
+    public void setMfnWeighted(Double mfnWeighted) { this.mfnWeighted = mfnWeighted; }
+}
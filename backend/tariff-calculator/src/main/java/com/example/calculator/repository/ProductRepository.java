@@ -16,5 +16,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     @Query(value = "SELECT DISTINCT \"product\" FROM \"Products (Test)\" ORDER BY \"product\"", nativeQuery = true)
     List<String> findDistinctProducts();
-}
 
+    // content hash of the whole table, polled by ProductCatalog to notice catalog edits
+    @Query(value = "SELECT md5(COALESCE(string_agg(CONCAT_WS('|', \"id\", \"hs_code\", \"product\", \"product_cost_usd\", \"unit\"), ',' ORDER BY \"id\"), '')) FROM \"Products (Test)\"", nativeQuery = true)
+    String findCatalogFingerprint();
+}
@@ -0,0 +1,31 @@
+package com.example.calculator.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.example.calculator.entity.TariffHistory;
+import com.example.calculator.entity.TariffHistoryId;
+
+// range reads over the Tariff Rate History table; both queries are served by its (country, partner, hs_code, year) primary key
+public interface TariffHistoryRepository extends JpaRepository<TariffHistory, TariffHistoryId> {
+
+    // yearly points of one series between fromYear and toYear, oldest first
+    @Query(value = "SELECT * FROM \"Tariff Rate History\" WHERE \"country\" = :country AND \"partner\" = :partner "
+            + "AND \"hs_code\" = :hsCode AND \"year\" BETWEEN :fromYear AND :toYear ORDER BY \"year\"", nativeQuery = true)
+    List<TariffHistory> findSeries(@Param("country") String country, @Param("partner") String partner,
+            @Param("hsCode") String hsCode, @Param("fromYear") int fromYear, @Param("toYear") int toYear);
+
+    // points of every requested series in one scan, grouped by series and ordered by year within each.
+    // plain column rows (country, partner, hs_code, year, ahs_weighted, mfn_weighted), no entity hydration
+    @Query(value = "SELECT \"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\" "
+            + "FROM \"Tariff Rate History\" WHERE \"country\" IN (:countries) AND \"partner\" IN (:partners) "
+            + "AND \"hs_code\" IN (:hsCodes) AND \"year\" BETWEEN :fromYear AND :toYear "
+            + "ORDER BY \"country\", \"partner\", \"hs_code\", \"year\"", nativeQuery = true)
+    List<Object[]> findSeriesPointsIn(@Param("countries") Collection<String> countries,
+            @Param("partners") Collection<String> partners, @Param("hsCodes") Collection<String> hsCodes,
+            @Param("fromYear") int fromYear, @Param("toYear") int toYear);
+}
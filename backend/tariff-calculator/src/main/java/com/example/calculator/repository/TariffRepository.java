@@ -1,5 +1,6 @@
 package com.example.calculator.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,9 @@ public interface TariffRepository extends JpaRepository<Tariff, TariffId> {
     @Query(value = "SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" = ?1 AND \"partner\" = ?2", nativeQuery = true)
     Optional<Tariff> findByCountryAndPartner(String country, String partner);
 
+    @Query(value = "SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" IN (?1) AND \"partner\" IN (?2)", nativeQuery = true)
+    List<Tariff> findByCountriesAndPartners(Collection<String> countries, Collection<String> partners);
+
     @Query(value = "SELECT * FROM \"Tariff Rates (Test)\" WHERE \"country\" = ?1", nativeQuery = true)
     List<Tariff> findByCountry(String country);
     
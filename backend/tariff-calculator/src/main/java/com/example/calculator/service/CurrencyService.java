@@ -1,10 +1,16 @@
 package com.example.calculator.service;
 
+import com.example.common.metrics.ClientTimers;
+
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
@@ -20,13 +26,19 @@ public class CurrencyService {
     private static final double DEFAULT_RATE = 1.0;
     private static final Duration CACHE_DURATION = Duration.ofHours(1);
     private static final String DEFAULT_API_KEY = "a10e795b9ec46cfbbd874b19";
-    private static final String API_BASE_URL = "https://v6.exchangerate-api.com/v6/";
+    private static final String DEFAULT_API_BASE_URL = "https://v6.exchangerate-api.com/v6/";
 
     private final RestTemplate restTemplate;
+    private final Timer ratesTimer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
     @Value("${exchange.rate.api.key:" + DEFAULT_API_KEY + "}")
     private String apiKey;
 
+    @Value("${exchange.rate.api.base-url:" + DEFAULT_API_BASE_URL + "}")
+    private String apiBaseUrl;
+
     // cache for exchange rates
     private Map<String, Double> cachedRates = new HashMap<>();
     private LocalDateTime lastUpdated;
@@ -45,8 +57,15 @@ public class CurrencyService {
             "VND", 24350.0
     );
 
-    public CurrencyService(RestTemplate restTemplate) {
+    public CurrencyService(RestTemplate restTemplate, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.ratesTimer = ClientTimers.of(meterRegistry, "exchange-rate-api", "latestRates");
+        // cache.gets follows micrometer's cache meter naming, the ratio gauge is for quick dashboards
+        this.cacheHits = meterRegistry.counter("cache.gets", "cache", "exchange-rates", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("cache.gets", "cache", "exchange-rates", "result", "miss");
+        Gauge.builder("cache.hit.ratio", this, CurrencyService::cacheHitRatio)
+                .tag("cache", "exchange-rates")
+                .register(meterRegistry);
     }
 
     // get exchange rate from USD to target currency
@@ -59,9 +78,11 @@ public class CurrencyService {
         if (isCacheValid()) {
             Double rate = cachedRates.get(targetCurrency.toUpperCase());
             if (rate != null) {
+                cacheHits.increment();
                 return rate;
             }
         }
+        cacheMisses.increment();
 
         // Try to fetch real-time rates
         try {
@@ -102,8 +123,9 @@ public class CurrencyService {
     // fetch real-time exchange rates from external API
     private Map<String, Double> fetchRealTimeRates() {
         try {
-            String apiUrl = API_BASE_URL + apiKey + "/latest/USD";
-            ExchangeRateResponse response = restTemplate.getForObject(apiUrl, ExchangeRateResponse.class);
+            // key passed as a uri variable so the client span records the template, not the key
+            ExchangeRateResponse response = ratesTimer.record(
+                    () -> restTemplate.getForObject(apiBaseUrl + "{apiKey}/latest/USD", ExchangeRateResponse.class, apiKey));
 
             if (response != null && "success".equals(response.getResult())) {
                 System.out.println("Successfully fetched real-time exchange rates");
@@ -119,6 +141,11 @@ public class CurrencyService {
         }
     }
 
+    private double cacheHitRatio() {
+        double lookups = cacheHits.count() + cacheMisses.count();
+        return lookups == 0 ? 0.0 : cacheHits.count() / lookups;
+    }
+
     // get all supported currencies with current rates and last updated time
     public Map<String, Object> getSupportedCurrencies() {
         Map<String, Object> result = new HashMap<>();
@@ -0,0 +1,48 @@
+package com.example.calculator.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import com.example.common.catalog.AbstractProductCatalog;
+import com.example.calculator.entity.Product;
+import com.example.calculator.repository.ProductRepository;
+
+// in-memory index over the Products (Test) table, read on every calculation. indexing, the fingerprint
+// poll and its staleness window live in AbstractProductCatalog; this only binds the entity and repository
+@Component
+public class ProductCatalog extends AbstractProductCatalog<Product> {
+
+    private final ProductRepository productRepository;
+
+    public ProductCatalog(ProductRepository productRepository) {
+        super(Product::getName, Product::getHsCode);
+        this.productRepository = productRepository;
+    }
+
+    @Override
+    protected List<Product> loadAll() {
+        return productRepository.findAll(Sort.by("id"));
+    }
+
+    @Override
+    protected String loadFingerprint() {
+        return productRepository.findCatalogFingerprint();
+    }
+
+    @Override
+    protected List<Product> queryByName(String name) {
+        return productRepository.findByName(name);
+    }
+
+    @Override
+    protected List<Product> queryByHsCode(String hsCode) {
+        return productRepository.findByHsCode(hsCode);
+    }
+
+    @Override
+    protected List<String> queryProductNames() {
+        return productRepository.findDistinctProducts();
+    }
+}
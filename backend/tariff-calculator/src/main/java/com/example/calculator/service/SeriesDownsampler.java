@@ -0,0 +1,79 @@
+package com.example.calculator.service;
+
+// bucket aggregation for long time series: n points are split into at most maxPoints contiguous buckets of
+// near-equal size, and each bucket is reported as its first date plus avg/min/max of the values in it
+final class SeriesDownsampler {
+
+    private SeriesDownsampler() {
+    }
+
+    // bucket boundaries: bucket i covers [bounds[i], bounds[i + 1]); one bucket per point when no reduction is needed
+    static int[] bucketBounds(int size, int maxPoints) {
+        int buckets = Math.min(size, Math.max(1, maxPoints));
+        int[] bounds = new int[buckets + 1];
+        for (int i = 0; i <= buckets; i++) {
+            bounds[i] = (int) ((long) i * size / buckets);
+        }
+        return bounds;
+    }
+
+    static double avg(double[] values, int from, int to) {
+        double sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+        return sum / (to - from);
+    }
+
+    static double min(double[] values, int from, int to) {
+        double min = values[from];
+        for (int i = from + 1; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+        return min;
+    }
+
+    static double max(double[] values, int from, int to) {
+        double max = values[from];
+        for (int i = from + 1; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+        return max;
+    }
+
+    // per-bucket aggregate of a columnar series; minRates/maxRates bound the applied rate within each bucket
+    static Aggregated aggregate(String[] dates, double[] rates, double[] ahsRates, double[] mfnRates, int maxPoints) {
+        int[] bounds = bucketBounds(dates.length, maxPoints);
+        int buckets = bounds.length - 1;
+        Aggregated result = new Aggregated(buckets);
+        for (int b = 0; b < buckets; b++) {
+            int from = bounds[b];
+            int to = bounds[b + 1];
+            result.dates[b] = dates[from];
+            result.rates[b] = avg(rates, from, to);
+            result.minRates[b] = min(rates, from, to);
+            result.maxRates[b] = max(rates, from, to);
+            result.ahsRates[b] = avg(ahsRates, from, to);
+            result.mfnRates[b] = avg(mfnRates, from, to);
+        }
+        return result;
+    }
+
+    static final class Aggregated {
+        final String[] dates;
+        final double[] rates;
+        final double[] minRates;
+        final double[] maxRates;
+        final double[] ahsRates;
+        final double[] mfnRates;
+
+        private Aggregated(int size) {
+            this.dates = new String[size];
+            this.rates = new double[size];
+            this.minRates = new double[size];
+            this.maxRates = new double[size];
+            this.ahsRates = new double[size];
+            this.mfnRates = new double[size];
+        }
+    }
+}
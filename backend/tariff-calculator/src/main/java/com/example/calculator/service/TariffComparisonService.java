@@ -6,19 +6,25 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.stereotype.Service;
 
 import com.example.calculator.dto.TariffComparisonDTO;
 import com.example.calculator.dto.TariffHistoryDTO;
+import com.example.calculator.dto.TariffTrendSeriesDTO;
 import com.example.calculator.entity.Product;
 import com.example.calculator.entity.Tariff;
+import com.example.calculator.entity.TariffHistory;
 import com.example.calculator.exception.NotFoundException;
 import com.example.calculator.exception.ValidationException;
-import com.example.calculator.repository.ProductRepository;
+import com.example.calculator.repository.TariffHistoryRepository;
 import com.example.calculator.repository.TariffRepository;
 
 // service for handling multi-country tariff comparisons and history
@@ -28,19 +34,29 @@ public class TariffComparisonService {
     private static final String DEFAULT_CURRENCY = "USD";
     private static final double PERCENTAGE_DIVISOR = 100.0;
     private static final double MIN_QUANTITY = 0.0;
-    private static final double VARIATION_FACTOR = 0.5;
-    private static final int MONTHS_BACK_DEFAULT = 6;
+    private static final int HISTORY_YEARS_DEFAULT = 10;
+    private static final String TARIFF_TYPE_AHS = "AHS";
+    private static final String TARIFF_TYPE_MFN = "MFN";
+    // below this many series the parallel stream overhead outweighs the work
+    private static final int PARALLEL_SERIES_THRESHOLD = 16;
+    // points per series returned when the caller doesn't pass maxPoints, and the most a caller may ask for
+    private static final int DEFAULT_MAX_POINTS = 120;
+    private static final int MAX_POINTS_LIMIT = 1000;
+    private static final int MIN_MAX_POINTS = 2;
 
     private final TariffRepository tariffRepository;
-    private final ProductRepository productRepository;
+    private final TariffHistoryRepository tariffHistoryRepository;
+    private final ProductCatalog productCatalog;
     private final CurrencyService currencyService;
 
     public TariffComparisonService(
             TariffRepository tariffRepository,
-            ProductRepository productRepository,
+            TariffHistoryRepository tariffHistoryRepository,
+            ProductCatalog productCatalog,
             CurrencyService currencyService) {
         this.tariffRepository = tariffRepository;
-        this.productRepository = productRepository;
+        this.tariffHistoryRepository = tariffHistoryRepository;
+        this.productCatalog = productCatalog;
         this.currencyService = currencyService;
     }
 
@@ -63,7 +79,7 @@ public class TariffComparisonService {
             validateComparisonInputs(product, exportingFrom, importingToCountries, quantity);
 
             // Get product details
-            List<Product> products = productRepository.findByName(product);
+            List<Product> products = productCatalog.findByName(product);
             if (products == null || products.isEmpty()) {
                 throw new NotFoundException("Product not found: " + product);
             }
@@ -77,10 +93,13 @@ public class TariffComparisonService {
 
             // target currency
             String targetCurrency = (currency != null && !currency.isEmpty()) ? currency.toUpperCase() : DEFAULT_CURRENCY;
+            // current rates of every importing country in one query
+            Map<String, Tariff> currentByPair = loadCurrentTariffs(importingToCountries, List.of(exportingFrom));
             List<TariffComparisonDTO.CountryComparison> comparisons = new ArrayList<>();
             for (String importingTo : importingToCountries) {
                 TariffComparisonDTO.CountryComparison comparison = buildCountryComparison(
-                        exportingFrom, importingTo, productCost, targetCurrency
+                        exportingFrom, importingTo, currentByPair.get(importingTo + "|" + exportingFrom),
+                        productCost, targetCurrency
                 );
                 if (comparison != null) {
                     comparisons.add(comparison);
@@ -121,13 +140,24 @@ public class TariffComparisonService {
         }
     }
 
-    // get tariff history over time (currently using dummy data)
+    // get yearly tariff history between startDate and endDate from the history table
     public TariffHistoryDTO getTariffHistory(
             String product,
             String exportingFrom,
             String importingTo,
             String startDate,
             String endDate) {
+        return getTariffHistory(product, exportingFrom, importingTo, startDate, endDate, null);
+    }
+
+    // same, with at most maxPoints points: longer ranges are aggregated into buckets (avg rate plus min/max)
+    public TariffHistoryDTO getTariffHistory(
+            String product,
+            String exportingFrom,
+            String importingTo,
+            String startDate,
+            String endDate,
+            Integer maxPoints) {
 
         try {
             // Validate inputs
@@ -142,26 +172,32 @@ public class TariffComparisonService {
             }
 
             // Verify product exists
-            List<Product> products = productRepository.findByName(product);
+            List<Product> products = productCatalog.findByName(product);
             if (products == null || products.isEmpty()) {
                 throw new NotFoundException("Product not found: " + product);
             }
             Product selectedProduct = products.get(0);
 
-            // Get current tariff data
-            Tariff currentTariff = tariffRepository.findByCountryAndPartner(importingTo, exportingFrom)
-                    .orElseThrow(() -> new NotFoundException(
-                    "Tariff data not available for " + exportingFrom + " to " + importingTo));
-
+            int pointLimit = resolveMaxPoints(maxPoints);
+            LocalDate start = resolveStartDate(startDate);
+            LocalDate end = resolveEndDate(endDate);
             boolean hasFTA = FTA_COUNTRIES.contains(importingTo) && FTA_COUNTRIES.contains(exportingFrom);
-            double currentRate = hasFTA ? currentTariff.getAhsWeighted() : currentTariff.getMfnWeighted();
-            String tariffType = hasFTA ? "AHS" : "MFN";
 
-            // Generate dummy historical data (for future implementation)
-            List<TariffHistoryDTO.TimePoint> timePoints = generateDummyHistoricalData(
-                    startDate, endDate, currentRate, tariffType,
-                    currentTariff.getAhsWeighted(), currentTariff.getMfnWeighted()
-            );
+            // range scan over one series of the history table
+            List<TariffHistory> rows = tariffHistoryRepository.findSeries(
+                    importingTo, exportingFrom, selectedProduct.getHsCode(), start.getYear(), end.getYear());
+
+            List<TariffHistoryDTO.TimePoint> timePoints;
+            if (!rows.isEmpty()) {
+                timePoints = toTimePoints(rows, hasFTA);
+            } else {
+                // no history loaded for this series yet, fall back to the current rate
+                Tariff currentTariff = tariffRepository.findByCountryAndPartner(importingTo, exportingFrom)
+                        .orElseThrow(() -> new NotFoundException(
+                        "Tariff data not available for " + exportingFrom + " to " + importingTo));
+                timePoints = currentRatePoint(currentTariff, hasFTA, start, end);
+            }
+            timePoints = downsample(timePoints, pointLimit);
 
             // Build chart data
             TariffHistoryDTO.ChartData chartData = buildHistoryChartData(timePoints);
@@ -171,8 +207,8 @@ public class TariffComparisonService {
                     selectedProduct.getName(),
                     exportingFrom,
                     importingTo,
-                    startDate != null ? startDate : "2024-01-01",
-                    endDate != null ? endDate : LocalDate.now().toString(),
+                    start.toString(),
+                    end.toString(),
                     timePoints,
                     chartData
             );
@@ -186,12 +222,26 @@ public class TariffComparisonService {
         }
     }
 
-    public List<Map<String, Object>> getTariffTrends(
+    // trend lines for every import country x export country x product combination. all products are resolved in
+    // one query and all history in one range scan; the rows are kept as parallel arrays and each series is sliced
+    // out of them (in parallel for larger requests) straight into columnar output, no per-point objects
+    public List<TariffTrendSeriesDTO> getTariffTrends(
             List<String> importCountries,
             List<String> exportCountries,
             List<String> products,
             String startDate,
             String endDate) {
+        return getTariffTrends(importCountries, exportCountries, products, startDate, endDate, null);
+    }
+
+    // same, with every series capped at maxPoints bucket-aggregated points
+    public List<TariffTrendSeriesDTO> getTariffTrends(
+            List<String> importCountries,
+            List<String> exportCountries,
+            List<String> products,
+            String startDate,
+            String endDate,
+            Integer maxPoints) {
 
         if (importCountries == null || importCountries.isEmpty()) {
             throw new ValidationException("At least one importing country is required");
@@ -203,64 +253,167 @@ public class TariffComparisonService {
             throw new ValidationException("At least one product is required");
         }
 
-        List<Map<String, Object>> seriesList = new ArrayList<>();
+        int pointLimit = resolveMaxPoints(maxPoints);
+        LocalDate start = resolveStartDate(startDate);
+        LocalDate end = resolveEndDate(endDate);
 
+        // resolve all products to hs codes against the in-memory catalog
+        Map<String, String> hsCodeByProduct = new HashMap<>();
+        for (String product : products) {
+            List<Product> matches = productCatalog.findByName(product);
+            if (!matches.isEmpty()) {
+                hsCodeByProduct.putIfAbsent(product, matches.get(0).getHsCode());
+            }
+        }
+
+        // requested series in output order, unknown products skipped
+        List<TrendRequest> requests = new ArrayList<>();
         for (String importCountry : importCountries) {
             for (String exportCountry : exportCountries) {
+                boolean hasFTA = FTA_COUNTRIES.contains(importCountry) && FTA_COUNTRIES.contains(exportCountry);
                 for (String product : products) {
-                    List<Product> productEntities = productRepository.findByName(product);
-                    if (productEntities == null || productEntities.isEmpty()) {
-                        continue; // Skip unknown products
+                    String hsCode = hsCodeByProduct.get(product);
+                    if (hsCode != null) {
+                        requests.add(new TrendRequest(importCountry, exportCountry, product, hsCode, hasFTA));
                     }
+                }
+            }
+        }
+        if (requests.isEmpty()) {
+            return new ArrayList<>(); // no known products
+        }
 
-                    Tariff tariff = tariffRepository.findByCountryAndPartner(importCountry, exportCountry)
-                            .orElse(null);
-                    if (tariff == null) {
-                        continue; // Skip missing tariff data
-                    }
+        // every requested series in one indexed range scan
+        SeriesColumns columns = SeriesColumns.of(tariffHistoryRepository.findSeriesPointsIn(
+                importCountries, exportCountries, new HashSet<>(hsCodeByProduct.values()),
+                start.getYear(), end.getYear()));
+
+        // current rates, only needed for series that have no history loaded yet
+        boolean anyMissing = requests.stream().anyMatch(r -> !columns.contains(r.key()));
+        Map<String, Tariff> currentByPair = anyMissing
+                ? loadCurrentTariffs(importCountries, exportCountries)
+                : Map.of();
+
+        Stream<TrendRequest> stream = requests.size() >= PARALLEL_SERIES_THRESHOLD
+                ? requests.parallelStream()
+                : requests.stream();
+        return stream
+                .map(request -> buildTrendSeries(request, columns, currentByPair, start, end, pointLimit))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-                    boolean hasFTA = FTA_COUNTRIES.contains(importCountry) && FTA_COUNTRIES.contains(exportCountry);
-                    Double ahs = tariff.getAhsWeighted();
-                    Double mfn = tariff.getMfnWeighted();
+    // slice one series out of the fetched columns, or a single current-rate point when it has no history
+    private TariffTrendSeriesDTO buildTrendSeries(TrendRequest request, SeriesColumns columns,
+            Map<String, Tariff> currentByPair, LocalDate start, LocalDate end, int maxPoints) {
+        String tariffType = request.hasFTA() ? TARIFF_TYPE_AHS : TARIFF_TYPE_MFN;
+        int[] range = columns.range(request.key());
 
-                    double baseRate;
-                    if (Boolean.TRUE.equals(hasFTA)) {
-                        baseRate = ahs != null ? ahs : (mfn != null ? mfn : 0.0);
-                    } else {
-                        baseRate = mfn != null ? mfn : (ahs != null ? ahs : 0.0);
-                    }
+        if (range == null) {
+            Tariff tariff = currentByPair.get(request.importCountry() + "|" + request.exportCountry());
+            if (tariff == null || (tariff.getAhsWeighted() == null && tariff.getMfnWeighted() == null)) {
+                return null; // Skip missing tariff data
+            }
+            List<TariffHistoryDTO.TimePoint> point = currentRatePoint(tariff, request.hasFTA(), start, end);
+            String[] dates = new String[point.size()];
+            double[] rates = new double[point.size()];
+            double[] ahsRates = new double[point.size()];
+            double[] mfnRates = new double[point.size()];
+            for (int i = 0; i < point.size(); i++) {
+                dates[i] = point.get(i).getDate();
+                rates[i] = point.get(i).getTariffRate();
+                ahsRates[i] = point.get(i).getAhsRate();
+                mfnRates[i] = point.get(i).getMfnRate();
+            }
+            return toTrendSeries(request, tariffType, dates, rates, ahsRates, mfnRates, maxPoints);
+        }
 
-                    if (baseRate == 0.0 && ahs == null && mfn == null) {
-                        continue; // No usable rate values
-                    }
+        int from = range[0];
+        int size = range[1] - range[0];
+        String[] dates = new String[size];
+        double[] rates = new double[size];
+        double[] ahsRates = new double[size];
+        double[] mfnRates = new double[size];
+        for (int i = 0; i < size; i++) {
+            double ahs = columns.ahs[from + i];
+            double mfn = columns.mfn[from + i];
+            double rate = selectRate(request.hasFTA(),
+                    Double.isNaN(ahs) ? null : ahs, Double.isNaN(mfn) ? null : mfn);
+            dates[i] = yearStart(columns.years[from + i]);
+            rates[i] = rate;
+            ahsRates[i] = Double.isNaN(ahs) ? rate : ahs;
+            mfnRates[i] = Double.isNaN(mfn) ? rate : mfn;
+        }
+        return toTrendSeries(request, tariffType, dates, rates, ahsRates, mfnRates, maxPoints);
+    }
 
-                    // Generate historical data (placeholder)
-                    List<TariffHistoryDTO.TimePoint> timePoints = generateDummyHistoricalData(
-                            startDate, endDate, baseRate, hasFTA ? "AHS" : "MFN",
-                            ahs != null ? ahs : baseRate,
-                            mfn != null ? mfn : baseRate);
-
-                    List<Map<String, Object>> dataPoints = new ArrayList<>();
-                    for (TariffHistoryDTO.TimePoint point : timePoints) {
-                        Map<String, Object> pointMap = new HashMap<>();
-                        pointMap.put("date", point.getDate());
-                        pointMap.put("rate", point.getTariffRate());
-                        pointMap.put("ahsRate", point.getAhsRate());
-                        pointMap.put("mfnRate", point.getMfnRate());
-                        dataPoints.add(pointMap);
-                    }
+    private TariffTrendSeriesDTO toTrendSeries(TrendRequest request, String tariffType, String[] dates,
+            double[] rates, double[] ahsRates, double[] mfnRates, int maxPoints) {
+        if (dates.length <= maxPoints) {
+            return new TariffTrendSeriesDTO(request.importCountry(), request.exportCountry(), request.product(),
+                    tariffType, dates, rates, ahsRates, mfnRates);
+        }
+        SeriesDownsampler.Aggregated buckets = SeriesDownsampler.aggregate(dates, rates, ahsRates, mfnRates, maxPoints);
+        TariffTrendSeriesDTO series = new TariffTrendSeriesDTO(request.importCountry(), request.exportCountry(),
+                request.product(), tariffType, buckets.dates, buckets.rates, buckets.ahsRates, buckets.mfnRates);
+        series.setMinRates(buckets.minRates);
+        series.setMaxRates(buckets.maxRates);
+        return series;
+    }
 
-                    Map<String, Object> series = new HashMap<>();
-                    series.put("importCountry", importCountry);
-                    series.put("exportCountry", exportCountry);
-                    series.put("product", product);
-                    series.put("dataPoints", dataPoints);
-                    seriesList.add(series);
+    private record TrendRequest(String importCountry, String exportCountry, String product, String hsCode,
+            boolean hasFTA) {
+        String key() {
+            return seriesKey(importCountry, exportCountry, hsCode);
+        }
+    }
+
+    // history rows as parallel arrays (missing rates are NaN) plus the [from, to) row range of every series;
+    // rows arrive ordered by series then year, so each series is one contiguous range
+    private static final class SeriesColumns {
+        private final int[] years;
+        private final double[] ahs;
+        private final double[] mfn;
+        private final Map<String, int[]> ranges;
+
+        private SeriesColumns(int size) {
+            this.years = new int[size];
+            this.ahs = new double[size];
+            this.mfn = new double[size];
+            this.ranges = new HashMap<>();
+        }
+
+        static SeriesColumns of(List<Object[]> rows) {
+            SeriesColumns columns = new SeriesColumns(rows.size());
+            String currentKey = null;
+            int rangeStart = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] row = rows.get(i);
+                String key = seriesKey((String) row[0], (String) row[1], (String) row[2]);
+                if (!key.equals(currentKey)) {
+                    if (currentKey != null) {
+                        columns.ranges.put(currentKey, new int[] {rangeStart, i});
+                    }
+                    currentKey = key;
+                    rangeStart = i;
                 }
+                columns.years[i] = ((Number) row[3]).intValue();
+                columns.ahs[i] = row[4] != null ? ((Number) row[4]).doubleValue() : Double.NaN;
+                columns.mfn[i] = row[5] != null ? ((Number) row[5]).doubleValue() : Double.NaN;
             }
+            if (currentKey != null) {
+                columns.ranges.put(currentKey, new int[] {rangeStart, rows.size()});
+            }
+            return columns;
+        }
+
+        boolean contains(String key) {
+            return ranges.containsKey(key);
         }
 
-        return seriesList;
+        int[] range(String key) {
+            return ranges.get(key);
+        }
     }
 
     // Helper methods
@@ -281,10 +434,7 @@ public class TariffComparisonService {
     }
 
     private TariffComparisonDTO.CountryComparison buildCountryComparison(
-            String exportingFrom, String importingTo, double productCostUSD, String targetCurrency) {
-
-        Tariff tariff = tariffRepository.findByCountryAndPartner(importingTo, exportingFrom)
-                .orElse(null);
+            String exportingFrom, String importingTo, Tariff tariff, double productCostUSD, String targetCurrency) {
 
         if (tariff == null) {
             return null; // Skip countries with no tariff data
@@ -341,38 +491,116 @@ public class TariffComparisonService {
         );
     }
 
-    private List<TariffHistoryDTO.TimePoint> generateDummyHistoricalData(
-            String startDate, String endDate, double currentRate, String tariffType,
-            double ahsRate, double mfnRate) {
+    private int resolveMaxPoints(Integer maxPoints) {
+        if (maxPoints == null) {
+            return DEFAULT_MAX_POINTS;
+        }
+        if (maxPoints < MIN_MAX_POINTS) {
+            throw new ValidationException("maxPoints must be at least " + MIN_MAX_POINTS);
+        }
+        return Math.min(maxPoints, MAX_POINTS_LIMIT);
+    }
 
-        List<TariffHistoryDTO.TimePoint> timePoints = new ArrayList<>();
-        LocalDate start = (startDate != null && !startDate.isEmpty())
+    // bucket-aggregate a history series down to maxPoints points (no-op when it is already short enough)
+    private List<TariffHistoryDTO.TimePoint> downsample(List<TariffHistoryDTO.TimePoint> timePoints, int maxPoints) {
+        if (timePoints.size() <= maxPoints) {
+            return timePoints;
+        }
+        int size = timePoints.size();
+        String[] dates = new String[size];
+        double[] rates = new double[size];
+        double[] ahsRates = new double[size];
+        double[] mfnRates = new double[size];
+        for (int i = 0; i < size; i++) {
+            TariffHistoryDTO.TimePoint point = timePoints.get(i);
+            dates[i] = point.getDate();
+            rates[i] = point.getTariffRate();
+            ahsRates[i] = point.getAhsRate();
+            mfnRates[i] = point.getMfnRate();
+        }
+        SeriesDownsampler.Aggregated buckets = SeriesDownsampler.aggregate(dates, rates, ahsRates, mfnRates, maxPoints);
+
+        String tariffType = timePoints.get(0).getTariffType();
+        List<TariffHistoryDTO.TimePoint> downsampled = new ArrayList<>(buckets.dates.length);
+        for (int b = 0; b < buckets.dates.length; b++) {
+            TariffHistoryDTO.TimePoint point = new TariffHistoryDTO.TimePoint(
+                    buckets.dates[b], buckets.rates[b], tariffType, buckets.ahsRates[b], buckets.mfnRates[b]);
+            point.setMinRate(buckets.minRates[b]);
+            point.setMaxRate(buckets.maxRates[b]);
+            downsampled.add(point);
+        }
+        return downsampled;
+    }
+
+    private LocalDate resolveStartDate(String startDate) {
+        return (startDate != null && !startDate.isEmpty())
                 ? LocalDate.parse(startDate)
-                : LocalDate.now().minusMonths(MONTHS_BACK_DEFAULT);
-        LocalDate end = (endDate != null && !endDate.isEmpty())
+                : LocalDate.now().minusYears(HISTORY_YEARS_DEFAULT);
+    }
+
+    private LocalDate resolveEndDate(String endDate) {
+        return (endDate != null && !endDate.isEmpty())
                 ? LocalDate.parse(endDate)
                 : LocalDate.now();
+    }
 
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE;
+    private static String yearStart(int year) {
+        return LocalDate.of(year, 1, 1).format(DateTimeFormatter.ISO_DATE);
+    }
 
-        // generate monthly data points (dummy data with slight variations)
-        LocalDate current = start;
-        while (!current.isAfter(end)) {
-            // add slight random variation to simulate historical changes
-            double variation = (Math.random() - 0.5) * VARIATION_FACTOR; // ±0.25%
-            double historicalRate = Math.max(0, currentRate + variation);
+    private static String seriesKey(String country, String partner, String hsCode) {
+        return country + "|" + partner + "|" + hsCode;
+    }
 
+    private Map<String, Tariff> loadCurrentTariffs(List<String> importCountries, List<String> exportCountries) {
+        Map<String, Tariff> byPair = new HashMap<>();
+        for (Tariff tariff : tariffRepository.findByCountriesAndPartners(importCountries, exportCountries)) {
+            byPair.putIfAbsent(tariff.getCountry() + "|" + tariff.getPartner(), tariff);
+        }
+        return byPair;
+    }
+
+    // applied rate: AHS between FTA partners, MFN otherwise, falling back to the other one when missing
+    private static double selectRate(boolean hasFTA, Double ahs, Double mfn) {
+        if (hasFTA) {
+            return ahs != null ? ahs : (mfn != null ? mfn : 0.0);
+        }
+        return mfn != null ? mfn : (ahs != null ? ahs : 0.0);
+    }
+
+    // one point per stored year, dated the first of january
+    private List<TariffHistoryDTO.TimePoint> toTimePoints(List<TariffHistory> rows, boolean hasFTA) {
+        String tariffType = hasFTA ? TARIFF_TYPE_AHS : TARIFF_TYPE_MFN;
+        List<TariffHistoryDTO.TimePoint> timePoints = new ArrayList<>(rows.size());
+        for (TariffHistory row : rows) {
+            double rate = selectRate(hasFTA, row.getAhsWeighted(), row.getMfnWeighted());
             timePoints.add(new TariffHistoryDTO.TimePoint(
-                    current.format(formatter),
-                    historicalRate,
+                    yearStart(row.getYear()),
+                    rate,
                     tariffType,
-                    ahsRate,
-                    mfnRate
+                    row.getAhsWeighted() != null ? row.getAhsWeighted() : rate,
+                    row.getMfnWeighted() != null ? row.getMfnWeighted() : rate
             ));
-
-            current = current.plusMonths(1);
         }
+        return timePoints;
+    }
 
+    // single point from the current-rate table, dated by its year (or the end of the range if unknown)
+    private List<TariffHistoryDTO.TimePoint> currentRatePoint(Tariff tariff, boolean hasFTA,
+            LocalDate start, LocalDate end) {
+        int year = tariff.getYear() != null && tariff.getYear() > 0 ? tariff.getYear() : end.getYear();
+        if (year < start.getYear() || year > end.getYear()) {
+            return new ArrayList<>();
+        }
+        double rate = selectRate(hasFTA, tariff.getAhsWeighted(), tariff.getMfnWeighted());
+        List<TariffHistoryDTO.TimePoint> timePoints = new ArrayList<>(1);
+        timePoints.add(new TariffHistoryDTO.TimePoint(
+                yearStart(year),
+                rate,
+                hasFTA ? TARIFF_TYPE_AHS : TARIFF_TYPE_MFN,
+                tariff.getAhsWeighted() != null ? tariff.getAhsWeighted() : rate,
+                tariff.getMfnWeighted() != null ? tariff.getMfnWeighted() : rate
+        ));
         return timePoints;
     }
 
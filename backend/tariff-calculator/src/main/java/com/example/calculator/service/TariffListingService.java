@@ -0,0 +1,323 @@
+package com.example.calculator.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.calculator.dto.TariffPageDTO;
+import com.example.calculator.dto.TariffRowDTO;
+import com.example.calculator.exception.ValidationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// filtered tariff listing over the Tariff Rates (Test) table. reads plain column tuples with jdbc (no managed
+// entities) and pages with a keyset cursor: the next page starts strictly after the last row's sort key, so
+// page n costs the same as page 1 and concurrent inserts never shift or repeat rows the way OFFSET would.
+// the exchange rate is looked up once per request instead of twice per row. full dumps use the NDJSON
+// stream, which pulls rows from a server-side cursor and writes them out as they arrive
+@Service
+public class TariffListingService {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+    static final String SORT_ROUTE = "route";
+    static final String SORT_RATE = "rate";
+
+    private static final String DEFAULT_CURRENCY = "USD";
+    // same fallback as TariffService: without a product cost there is nothing to price, so amounts stay null
+    private static final double DEFAULT_COST = 0.0;
+    private static final double PERCENTAGE_DIVISOR = 100.0;
+    private static final String CURSOR_SEPARATOR = "\u001f";
+
+    private static final String SELECT_SQL =
+            "SELECT \"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\" " +
+            "FROM \"Tariff Rates (Test)\"";
+    // route key; the rate sort puts the rate in front of it, so every sort order is total
+    private static final List<String> ROUTE_KEY = List.of("\"country\"", "\"partner\"", "\"hs_code\"", "\"year\"");
+
+    private static final RowMapper<RateRow> RATE_ROW_MAPPER = (rs, rowNum) -> new RateRow(
+            rs.getString(1),
+            rs.getString(2),
+            rs.getString(3),
+            nullableInt(rs, 4),
+            nullableDouble(rs, 5),
+            nullableDouble(rs, 6));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CurrencyService currencyService;
+    private final ObjectMapper objectMapper;
+
+    // rows pulled per round trip while streaming; postgres only honours this inside a transaction
+    @Value("${tariffs.listing.stream-fetch-size:1000}")
+    private int fetchSize;
+
+    public TariffListingService(JdbcTemplate jdbcTemplate, CurrencyService currencyService, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.currencyService = currencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    // one page of rows after the cursor (first page when cursor is null)
+    public TariffPageDTO listTariffs(Query query, String cursor, Integer limit) {
+        int pageSize = limit != null ? limit : DEFAULT_LIMIT;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        List<Object> params = new ArrayList<>();
+        String sql = buildSql(query, decodeCursor(query, cursor), params) + " LIMIT ?";
+        // one extra row tells whether another page exists without a COUNT(*)
+        params.add(pageSize + 1);
+        List<RateRow> rows = jdbcTemplate.query(sql, RATE_ROW_MAPPER, params.toArray());
+
+        boolean hasMore = rows.size() > pageSize;
+        List<RateRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+        Pricing pricing = pricing(query);
+        List<TariffRowDTO> items = new ArrayList<>(page.size());
+        for (RateRow row : page) {
+            items.add(pricing.toDto(row));
+        }
+        String nextCursor = hasMore ? encodeCursor(query, page.get(page.size() - 1)) : null;
+        return new TariffPageDTO(items, pageSize, hasMore, nextCursor);
+    }
+
+    // every matching row as newline-delimited json, in the query's sort order; returns the number of rows written
+    @Transactional(readOnly = true)
+    public long streamTariffs(Query query, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        String sql = buildSql(query, null, params);
+        Pricing pricing = pricing(query);
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        long[] written = {0};
+        RowCallbackHandler rowWriter = rs -> {
+            try {
+                generator.writeObject(pricing.toDto(RATE_ROW_MAPPER.mapRow(rs, 0)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            written[0]++;
+        };
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    ps.setObject(i + 1, params.get(i));
+                }
+                return ps;
+            }, rowWriter);
+        } catch (UncheckedIOException e) {
+            // client went away mid-download; nothing useful left to send
+            throw e.getCause();
+        }
+        if (written[0] > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+        return written[0];
+    }
+
+    // WHERE for the filters (and the keyset position when resuming) plus ORDER BY; fills params in order
+    String buildSql(Query query, Object[] after, List<Object> params) {
+        List<String> conditions = new ArrayList<>();
+        if (query.country() != null) {
+            conditions.add("\"country\" = ?");
+            params.add(query.country());
+        }
+        if (query.partner() != null) {
+            conditions.add("\"partner\" = ?");
+            params.add(query.partner());
+        }
+        if (query.hsCode() != null) {
+            conditions.add("\"hs_code\" = ?");
+            params.add(query.hsCode());
+        }
+        if (query.minRate() != null) {
+            conditions.add(query.rateColumn() + " >= ?");
+            params.add(query.minRate());
+        }
+        if (query.maxRate() != null) {
+            conditions.add(query.rateColumn() + " <= ?");
+            params.add(query.maxRate());
+        }
+
+        List<String> sortKey = sortKey(query);
+        if (after != null) {
+            // row-value comparison; one index range scan when an index matches the sort key
+            String placeholders = "?" + ", ?".repeat(after.length - 1);
+            conditions.add("(" + String.join(", ", sortKey) + ") " + (query.descending() ? "<" : ">")
+                    + " (" + placeholders + ")");
+            for (Object value : after) {
+                params.add(value);
+            }
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        String direction = query.descending() ? " DESC" : " ASC";
+        sql.append(" ORDER BY ").append(String.join(direction + ", ", sortKey)).append(direction);
+        return sql.toString();
+    }
+
+    // rates may be NULL; NaN sorts above every number in postgres and compares equal to itself, so it stands
+    // in for NULL and keeps the keyset comparison total
+    private static List<String> sortKey(Query query) {
+        if (!SORT_RATE.equals(query.sort())) {
+            return ROUTE_KEY;
+        }
+        List<String> key = new ArrayList<>();
+        key.add("COALESCE(" + query.rateColumn() + ", 'NaN'::float8)");
+        key.addAll(ROUTE_KEY);
+        return key;
+    }
+
+    // cursor = base64url(sort, direction, [rate,] country, partner, hs code, year), opaque to clients
+    String encodeCursor(Query query, RateRow last) {
+        List<String> parts = new ArrayList<>();
+        parts.add(query.sort());
+        parts.add(query.descending() ? "desc" : "asc");
+        if (SORT_RATE.equals(query.sort())) {
+            Double rate = "\"mfn_weighted\"".equals(query.rateColumn()) ? last.mfnWeighted() : last.ahsWeighted();
+            parts.add(rate != null ? Double.toString(rate) : "NaN");
+        }
+        parts.add(last.country());
+        parts.add(last.partner());
+        parts.add(last.hsCode());
+        parts.add(last.year() != null ? Integer.toString(last.year()) : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(CURSOR_SEPARATOR, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    Object[] decodeCursor(Query query, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+        boolean rateSort = SORT_RATE.equals(query.sort());
+        int expected = rateSort ? 7 : 6;
+        if (parts.length != expected || !parts[0].equals(query.sort())
+                || !parts[1].equals(query.descending() ? "desc" : "asc")) {
+            // a cursor only makes sense for the sort it was issued for
+            throw new ValidationException("Cursor does not match the requested sort order");
+        }
+        try {
+            List<Object> values = new ArrayList<>();
+            int i = 2;
+            if (rateSort) {
+                values.add(Double.parseDouble(parts[i++]));
+            }
+            values.add(parts[i++]);
+            values.add(parts[i++]);
+            values.add(parts[i++]);
+            values.add(parts[i].isEmpty() ? null : Integer.parseInt(parts[i]));
+            return values.toArray();
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private static Integer nullableInt(ResultSet rs, int column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static Double nullableDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private Pricing pricing(Query query) {
+        double costUSD = query.productCost() != null ? query.productCost() : DEFAULT_COST;
+        return new Pricing(costUSD, currencyService.getExchangeRate(query.currency()), query.currency());
+    }
+
+    // listing filters and sort; values are normalized by of()
+    public record Query(String country, String partner, String hsCode, Double minRate, Double maxRate,
+                        String rateColumn, String sort, boolean descending, Double productCost, String currency) {
+
+        public static Query of(String country, String partner, String hsCode, Double minRate, Double maxRate,
+                               String rateType, String sort, String direction, Double productCost, String currency) {
+            String rateColumn;
+            if (rateType == null || rateType.isBlank() || "AHS".equalsIgnoreCase(rateType)) {
+                rateColumn = "\"ahs_weighted\"";
+            } else if ("MFN".equalsIgnoreCase(rateType)) {
+                rateColumn = "\"mfn_weighted\"";
+            } else {
+                throw new ValidationException("Rate type must be either 'AHS' or 'MFN'");
+            }
+            String sortBy = sort == null || sort.isBlank() ? SORT_ROUTE : sort.trim().toLowerCase(Locale.ROOT);
+            if (!SORT_ROUTE.equals(sortBy) && !SORT_RATE.equals(sortBy)) {
+                throw new ValidationException("Sort must be either '" + SORT_ROUTE + "' or '" + SORT_RATE + "'");
+            }
+            boolean descending;
+            if (direction == null || direction.isBlank() || "asc".equalsIgnoreCase(direction)) {
+                descending = false;
+            } else if ("desc".equalsIgnoreCase(direction)) {
+                descending = true;
+            } else {
+                throw new ValidationException("Direction must be either 'asc' or 'desc'");
+            }
+            if (minRate != null && maxRate != null && minRate > maxRate) {
+                throw new ValidationException("minRate cannot be greater than maxRate");
+            }
+            if (productCost != null && productCost < 0) {
+                throw new ValidationException("Product cost cannot be negative");
+            }
+            return new Query(blankToNull(country), blankToNull(partner), blankToNull(hsCode), minRate, maxRate,
+                    rateColumn, sortBy, descending, productCost,
+                    currency != null && !currency.isBlank() ? currency.trim().toUpperCase(Locale.ROOT) : DEFAULT_CURRENCY);
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+
+    // raw column values of one table row
+    record RateRow(String country, String partner, String hsCode, Integer year, Double ahsWeighted, Double mfnWeighted) {
+    }
+
+    // tariff amount = cost * rate% converted with the request's exchange rate
+    private record Pricing(double costUSD, double exchangeRate, String currency) {
+
+        TariffRowDTO toDto(RateRow row) {
+            return new TariffRowDTO(row.country(), row.partner(), row.hsCode(), row.year(),
+                    row.ahsWeighted(), row.mfnWeighted(),
+                    amount(row.ahsWeighted()), amount(row.mfnWeighted()), currency);
+        }
+
+        private Double amount(Double ratePercent) {
+            if (costUSD <= 0 || ratePercent == null) {
+                return null;
+            }
+            return costUSD * (ratePercent / PERCENTAGE_DIVISOR) * exchangeRate;
+        }
+    }
+}
@@ -11,7 +11,6 @@ import com.example.calculator.dto.TariffDTO;
 import com.example.calculator.dto.TariffResponse;
 import com.example.calculator.entity.Product;
 import com.example.calculator.entity.Tariff;
-import com.example.calculator.repository.ProductRepository;
 import com.example.calculator.repository.TariffRepository;
 
 import jakarta.servlet.http.HttpSession;
@@ -39,17 +38,17 @@ public class TariffService {
     );
 
     private final TariffRepository tariffRepository;
-    private final ProductRepository productRepository;
+    private final ProductCatalog productCatalog;
     private final SessionTariffService sessionTariffService;
     private final CurrencyService currencyService;
 
     public TariffService(
             TariffRepository tariffRepository,
-            ProductRepository productRepository,
+            ProductCatalog productCatalog,
             SessionTariffService sessionTariffService,
             CurrencyService currencyService) {
         this.tariffRepository = tariffRepository;
-        this.productRepository = productRepository;
+        this.productCatalog = productCatalog;
         this.sessionTariffService = sessionTariffService;
         this.currencyService = currencyService;
     }
@@ -79,7 +78,7 @@ public class TariffService {
 
             try {
                 // 🔹 Find product by name only
-                List<Product> products = productRepository.findByName(productName);
+                List<Product> products = productCatalog.findByName(productName);
                 if (products.isEmpty()) {
                     return new TariffResponse(false, "Product not found in database");
                 }
@@ -181,7 +180,7 @@ public class TariffService {
             }
 
             // find product by name only
-            List<Product> products = productRepository.findByName(productName);
+            List<Product> products = productCatalog.findByName(productName);
             if (products.isEmpty()) {
                 throw new com.example.calculator.exception.NotFoundException("Product not found: " + productName);
             }
@@ -248,17 +247,6 @@ public class TariffService {
         return FTA_COUNTRIES.contains(importCountry) && FTA_COUNTRIES.contains(exportCountry);
     }
 
-    // get all tariffs with optional currency conversion
-    public List<TariffDTO> getAllTariffs(Double productCostUSD, String currency) {
-        String targetCurrency = (currency != null && !currency.isEmpty()) ? currency : DEFAULT_CURRENCY;
-        double costUSD = (productCostUSD != null) ? productCostUSD : DEFAULT_COST;
-        List<Tariff> tariffs = tariffRepository.findAll();
-
-        return tariffs.stream()
-                .map(tariff -> convertTariffToDTO(tariff, costUSD, targetCurrency))
-                .collect(Collectors.toList());
-    }
-
     // get tariffs filtered by importing country
     public List<TariffDTO> getTariffsByCountry(String country, Double productCostUSD, String currency) {
         String targetCurrency = (currency != null && !currency.isEmpty()) ? currency : DEFAULT_CURRENCY;
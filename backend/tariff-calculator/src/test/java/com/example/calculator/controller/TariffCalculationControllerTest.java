@@ -1,19 +1,28 @@
 package com.example.calculator.controller;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import com.example.calculator.service.TariffCalculationService;
+import com.example.calculator.client.SessionManagementClient;
+import com.example.calculator.dto.TariffResponse;
+import com.example.calculator.exception.GlobalExceptionHandler;
+import com.example.calculator.service.TariffService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.http.MediaType;
+import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
-import jakarta.servlet.http.HttpSession;
+import java.util.List;
 
 @ExtendWith(MockitoExtension.class)
 public class TariffCalculationControllerTest {
@@ -21,75 +30,100 @@ public class TariffCalculationControllerTest {
     private MockMvc mockMvc;
 
     @Mock
-    private TariffCalculationService tariffCalculationService;
+    private TariffService tariffService;
 
     @Mock
-    private HttpSession session;
+    private SessionManagementClient sessionManagementClient;
 
     @InjectMocks
     private TariffCalculationController controller;
 
     @BeforeEach
     public void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private static TariffResponse response(double totalCost, String tariffType) {
+        return new TariffResponse(true, new TariffResponse.TariffCalculationData(
+                "Electronics", "Singapore", "China", 2, "units", 100.0, totalCost, 5.0, tariffType,
+                List.of(), "USD"));
     }
 
     @Test
     public void testCalculateTariff_globalMode_success() throws Exception {
-        // Mock service response
-        when(tariffCalculationService.calculateTariff(any(), eq("global"))).thenReturn(123.45);
+        when(tariffService.calculate("Electronics", "Singapore", "China", 2.0, null, "USD"))
+                .thenReturn(response(123.45, "AHS"));
 
         mockMvc.perform(get("/api/tariff")
-                        .param("productId", "1")
-                        .param("mode", "global")
-                        .sessionAttr("tariffHistory", null))
+                        .param("product", "Electronics")
+                        .param("exportingFrom", "Singapore")
+                        .param("importingTo", "China")
+                        .param("quantity", "2"))
                 .andExpect(status().isOk())
-                .andExpect(content().string("123.45"));
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.totalCost").value(123.45));
 
-        verify(tariffCalculationService).calculateTariff(any(), eq("global"));
+        verify(tariffService).calculate("Electronics", "Singapore", "China", 2.0, null, "USD");
+        verify(tariffService, never()).calculateWithMode(any(), any(), any(), anyDouble(), any(), any(), any(), any(), any());
     }
 
     @Test
-    public void testCalculateTariff_simulatorMode_success() throws Exception {
-        when(tariffCalculationService.calculateTariff(any(), eq("simulator"))).thenReturn(67.89);
+    public void testCalculateTariff_userMode_success() throws Exception {
+        when(tariffService.calculateWithMode(eq("Electronics"), eq("Singapore"), eq("China"), eq(2.0), any(),
+                eq("USD"), eq("user"), eq("China_Singapore"), any()))
+                .thenReturn(response(67.89, "MFN"));
 
         mockMvc.perform(get("/api/tariff")
-                        .param("productId", "2")
-                        .param("mode", "simulator")
-                        .sessionAttr("tariffHistory", null))
+                        .param("product", "Electronics")
+                        .param("exportingFrom", "Singapore")
+                        .param("importingTo", "China")
+                        .param("quantity", "2")
+                        .param("mode", "user")
+                        .param("userTariffId", "China_Singapore"))
                 .andExpect(status().isOk())
-                .andExpect(content().string("67.89"));
+                .andExpect(jsonPath("$.data.totalCost").value(67.89));
 
-        verify(tariffCalculationService).calculateTariff(any(), eq("simulator"));
+        verify(tariffService, never()).calculate(any(), any(), any(), anyDouble(), any(), any());
     }
 
     @Test
-    public void testCalculateTariff_missingProductId_returnsBadRequest() throws Exception {
+    public void testCalculateTariff_missingProduct_returnsBadRequest() throws Exception {
         mockMvc.perform(get("/api/tariff")
-                        .param("mode", "global"))
+                        .param("exportingFrom", "Singapore")
+                        .param("importingTo", "China")
+                        .param("quantity", "2"))
                 .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tariffService);
     }
 
     @Test
-    public void testCalculateTariff_invalidMode_returnsBadRequest() throws Exception {
+    public void testCalculateTariff_invalidQuantity_returnsBadRequest() throws Exception {
         mockMvc.perform(get("/api/tariff")
-                        .param("productId", "1")
-                        .param("mode", "invalidMode"))
-                .andExpect(status().isBadRequest());
+                        .param("product", "Electronics")
+                        .param("exportingFrom", "Singapore")
+                        .param("importingTo", "China")
+                        .param("quantity", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Quantity must be greater than 0"));
+
+        verifyNoInteractions(tariffService);
     }
 
     @Test
     public void testSessionHistorySaving() throws Exception {
-        when(tariffCalculationService.calculateTariff(any(), eq("global"))).thenReturn(50.0);
+        when(tariffService.calculate(anyString(), anyString(), anyString(), anyDouble(), any(), anyString()))
+                .thenReturn(response(50.0, "AHS"));
 
         mockMvc.perform(get("/api/tariff")
-                        .param("productId", "1")
-                        .param("mode", "global")
-                        .sessionAttr("tariffHistory", null))
-                .andExpect(status().isOk())
-                .andExpect(content().string("50.0"));
+                        .param("product", "Electronics")
+                        .param("exportingFrom", "Singapore")
+                        .param("importingTo", "China")
+                        .param("quantity", "2"))
+                .andExpect(status().isOk());
 
-        // Can add verify for session.setAttribute if your controller saves history
-        verify(session, atLeastOnce()).setAttribute(eq("tariffHistory"), any());
+        verify(sessionManagementClient, times(1)).saveCalculation(anyString(), anyMap());
     }
 }
@@ -0,0 +1,86 @@
+package com.example.calculator.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import com.example.calculator.entity.Product;
+import com.example.calculator.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductCatalogTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private ProductCatalog productCatalog;
+
+    @Test
+    void findByName_AfterLoad_ProbesIndexIgnoringCase() {
+        when(productRepository.findCatalogFingerprint()).thenReturn("v1");
+        when(productRepository.findAll(any(Sort.class))).thenReturn(List.of(
+                product(1L, "010121", "Live Horses", 900.0, "head"),
+                product(2L, "090111", "Coffee Beans", 4.5, "kg")));
+
+        productCatalog.loadOnStartup();
+
+        List<Product> matches = productCatalog.findByName("  coffee BEANS ");
+        assertEquals(1, matches.size());
+        assertEquals(4.5, matches.get(0).getCost());
+        assertEquals("kg", matches.get(0).getUnit());
+        assertEquals("Live Horses", productCatalog.findByHsCode("010121").get(0).getName());
+        assertTrue(productCatalog.findByName("Tea").isEmpty());
+        assertEquals(List.of("Coffee Beans", "Live Horses"), productCatalog.getProductNames());
+        verify(productRepository, never()).findByName(anyString());
+    }
+
+    @Test
+    void findByName_NotLoaded_FallsBackToRepository() {
+        Product horses = product(1L, "010121", "Live Horses", 900.0, "head");
+        when(productRepository.findByName("Live Horses")).thenReturn(List.of(horses));
+
+        assertFalse(productCatalog.isLoaded());
+        assertEquals(List.of(horses), productCatalog.findByName("Live Horses"));
+    }
+
+    @Test
+    void refreshIfChanged_ReloadsOnlyWhenFingerprintChanges() {
+        when(productRepository.findCatalogFingerprint()).thenReturn("v1", "v1", "v2", "v2");
+        when(productRepository.findAll(any(Sort.class)))
+                .thenReturn(List.of(product(1L, "010121", "Live Horses", 900.0, "head")))
+                .thenReturn(List.of(product(1L, "010121", "Live Horses", 950.0, "head")));
+
+        productCatalog.loadOnStartup();
+        productCatalog.refreshIfChanged();
+        assertEquals(900.0, productCatalog.findByName("live horses").get(0).getCost());
+
+        productCatalog.refreshIfChanged();
+        assertEquals(950.0, productCatalog.findByName("live horses").get(0).getCost());
+        verify(productRepository, times(2)).findAll(any(Sort.class));
+    }
+
+    private static Product product(Long id, String hsCode, String name, Double cost, String unit) {
+        Product product = new Product();
+        product.setId(id);
+        product.setHsCode(hsCode);
+        product.setName(name);
+        product.setCost(cost);
+        product.setUnit(unit);
+        return product;
+    }
+}
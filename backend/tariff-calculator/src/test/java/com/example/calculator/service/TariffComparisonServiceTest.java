@@ -0,0 +1,330 @@
+package com.example.calculator.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.calculator.dto.TariffComparisonDTO;
+import com.example.calculator.dto.TariffHistoryDTO;
+import com.example.calculator.dto.TariffTrendSeriesDTO;
+import com.example.calculator.entity.Product;
+import com.example.calculator.entity.Tariff;
+import com.example.calculator.entity.TariffHistory;
+import com.example.calculator.repository.TariffHistoryRepository;
+import com.example.calculator.repository.TariffRepository;
+import com.example.common.querystats.QueryCountAssertions;
+
+@ExtendWith(MockitoExtension.class)
+public class TariffComparisonServiceTest {
+
+    @Mock
+    private TariffRepository tariffRepository;
+
+    @Mock
+    private TariffHistoryRepository tariffHistoryRepository;
+
+    @Mock
+    private ProductCatalog productCatalog;
+
+    @Mock
+    private CurrencyService currencyService;
+
+    @InjectMocks
+    private TariffComparisonService comparisonService;
+
+    private Product testProduct;
+
+    @BeforeEach
+    public void setUp() {
+        testProduct = new Product();
+        testProduct.setName("Test Product");
+        testProduct.setHsCode("010121");
+        testProduct.setCost(10.0);
+        testProduct.setUnit("piece");
+    }
+
+    // === History ===
+
+    @Test
+    void getTariffHistory_ReturnsStoredYearsInRange() {
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeries("China", "Singapore", "010121", 2018, 2020)).thenReturn(List.of(
+                history("China", "Singapore", "010121", 2018, 4.0, 9.0),
+                history("China", "Singapore", "010121", 2019, 3.0, 9.0),
+                history("China", "Singapore", "010121", 2020, 2.0, 8.0)));
+
+        TariffHistoryDTO response = comparisonService.getTariffHistory(
+                "Test Product", "Singapore", "China", "2018-01-01", "2020-12-31");
+
+        assertTrue(response.isSuccess());
+        List<TariffHistoryDTO.TimePoint> points = response.getData().getTimePoints();
+        assertEquals(3, points.size());
+        assertEquals("2018-01-01", points.get(0).getDate());
+        // FTA partners use the AHS rate
+        assertEquals(4.0, points.get(0).getTariffRate());
+        assertEquals("AHS", points.get(0).getTariffType());
+        assertEquals(List.of(4.0, 3.0, 2.0), response.getData().getChartData().getTariffRates());
+        verify(tariffRepository, never()).findByCountryAndPartner(anyString(), anyString());
+    }
+
+    @Test
+    void getTariffHistory_NoStoredHistory_FallsBackToCurrentRate() {
+        Tariff current = new Tariff();
+        current.setCountry("China");
+        current.setPartner("USA");
+        current.setYear(2022);
+        current.setAhsWeighted(5.0);
+        current.setMfnWeighted(15.0);
+
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeries(anyString(), anyString(), anyString(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+        when(tariffRepository.findByCountryAndPartner("China", "USA")).thenReturn(Optional.of(current));
+
+        TariffHistoryDTO response = comparisonService.getTariffHistory(
+                "Test Product", "USA", "China", "2015-01-01", "2024-12-31");
+
+        assertTrue(response.isSuccess());
+        List<TariffHistoryDTO.TimePoint> points = response.getData().getTimePoints();
+        assertEquals(1, points.size());
+        assertEquals("2022-01-01", points.get(0).getDate());
+        assertEquals(15.0, points.get(0).getTariffRate());
+        assertEquals("MFN", points.get(0).getTariffType());
+    }
+
+    @Test
+    void getTariffHistory_ProductNotFound_ReturnsError() {
+        when(productCatalog.findByName("Missing")).thenReturn(List.of());
+
+        TariffHistoryDTO response = comparisonService.getTariffHistory("Missing", "USA", "China", null, null);
+
+        assertFalse(response.isSuccess());
+        assertEquals("Product not found: Missing", response.getError());
+    }
+
+    @Test
+    void getTariffHistory_LongRange_DownsampledToMaxPoints() {
+        List<TariffHistory> rows = new ArrayList<>();
+        for (int year = 1990; year < 2020; year++) {
+            rows.add(history("China", "Singapore", "010121", year, year - 1990, 10.0));
+        }
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeries("China", "Singapore", "010121", 1990, 2019)).thenReturn(rows);
+
+        TariffHistoryDTO response = comparisonService.getTariffHistory(
+                "Test Product", "Singapore", "China", "1990-01-01", "2019-12-31", 10);
+
+        assertTrue(response.isSuccess());
+        List<TariffHistoryDTO.TimePoint> points = response.getData().getTimePoints();
+        assertEquals(10, points.size());
+        // 30 yearly points -> buckets of 3 years, dated by their first year
+        assertEquals("1990-01-01", points.get(0).getDate());
+        assertEquals(1.0, points.get(0).getTariffRate());
+        assertEquals(0.0, points.get(0).getMinRate());
+        assertEquals(2.0, points.get(0).getMaxRate());
+        assertEquals("2017-01-01", points.get(9).getDate());
+        assertEquals(10, response.getData().getChartData().getDates().size());
+    }
+
+    @Test
+    void getTariffHistory_InvalidMaxPoints_ReturnsError() {
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+
+        TariffHistoryDTO response = comparisonService.getTariffHistory(
+                "Test Product", "Singapore", "China", null, null, 1);
+
+        assertFalse(response.isSuccess());
+        assertEquals("maxPoints must be at least 2", response.getError());
+    }
+
+    // === Trends ===
+
+    @Test
+    void getTariffTrends_FetchesAllSeriesInOneQuery() {
+        when(productCatalog.findByName("test product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeriesPointsIn(anyCollection(), anyCollection(), anyCollection(), anyInt(), anyInt()))
+                .thenReturn(List.of(
+                        point("China", "Singapore", "010121", 2019, 3.0f, 9.0f),
+                        point("China", "Singapore", "010121", 2020, 2.0f, 8.0f),
+                        point("Japan", "Singapore", "010121", 2020, 1.0f, null)));
+
+        List<TariffTrendSeriesDTO> series = comparisonService.getTariffTrends(
+                List.of("China", "Japan"), List.of("Singapore"), List.of("test product"),
+                "2019-01-01", "2020-12-31");
+
+        assertEquals(2, series.size());
+        assertEquals("China", series.get(0).getImportCountry());
+        assertEquals("test product", series.get(0).getProduct());
+        assertArrayEquals(new String[] {"2019-01-01", "2020-01-01"}, series.get(0).getDates());
+        assertArrayEquals(new double[] {3.0, 2.0}, series.get(0).getRates());
+        assertEquals("Japan", series.get(1).getImportCountry());
+        // missing MFN falls back to the applied rate
+        assertArrayEquals(new double[] {1.0}, series.get(1).getMfnRates());
+        verify(tariffHistoryRepository, times(1))
+                .findSeriesPointsIn(anyCollection(), anyCollection(), anyCollection(), anyInt(), anyInt());
+        verify(productCatalog, times(1)).findByName("test product");
+        verify(tariffRepository, never()).findByCountriesAndPartners(anyCollection(), anyCollection());
+    }
+
+    @Test
+    void getTariffTrends_ManySeries_KeepsRequestOrder() {
+        List<String> importCountries = List.of("Australia", "China", "India", "Japan", "Malaysia");
+        List<String> exportCountries = List.of("Singapore", "Vietnam", "Indonesia", "Philippines");
+        List<Object[]> rows = new ArrayList<>();
+        for (String importCountry : importCountries.stream().sorted().toList()) {
+            for (String exportCountry : exportCountries.stream().sorted().toList()) {
+                rows.add(point(importCountry, exportCountry, "010121", 2020, 1.0f, 5.0f));
+                rows.add(point(importCountry, exportCountry, "010121", 2021, 0.5f, 5.0f));
+            }
+        }
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeriesPointsIn(anyCollection(), anyCollection(), anyCollection(), anyInt(), anyInt()))
+                .thenReturn(rows);
+
+        List<TariffTrendSeriesDTO> series = comparisonService.getTariffTrends(
+                importCountries, exportCountries, List.of("Test Product"), "2020-01-01", "2021-12-31");
+
+        assertEquals(20, series.size());
+        int i = 0;
+        for (String importCountry : importCountries) {
+            for (String exportCountry : exportCountries) {
+                assertEquals(importCountry, series.get(i).getImportCountry());
+                assertEquals(exportCountry, series.get(i).getExportCountry());
+                assertEquals(2, series.get(i).getDates().length);
+                i++;
+            }
+        }
+    }
+
+    @Test
+    void getTariffTrends_NoHistory_UsesCurrentRatesFromOneQuery() {
+        Tariff current = new Tariff();
+        current.setCountry("China");
+        current.setPartner("USA");
+        current.setYear(2022);
+        current.setAhsWeighted(5.0);
+        current.setMfnWeighted(15.0);
+
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeriesPointsIn(anyCollection(), anyCollection(), anyCollection(), anyInt(), anyInt()))
+                .thenReturn(List.of());
+        when(tariffRepository.findByCountriesAndPartners(anyCollection(), anyCollection())).thenReturn(List.of(current));
+
+        List<TariffTrendSeriesDTO> series = comparisonService.getTariffTrends(
+                List.of("China", "Japan"), List.of("USA"), List.of("Test Product"), "2020-01-01", "2024-12-31");
+
+        // Japan-USA has no data at all and is skipped
+        assertEquals(1, series.size());
+        assertArrayEquals(new String[] {"2022-01-01"}, series.get(0).getDates());
+        assertArrayEquals(new double[] {15.0}, series.get(0).getRates());
+        assertEquals("MFN", series.get(0).getTariffType());
+    }
+
+    @Test
+    void getTariffTrends_ManySeriesWithoutHistory_StaysWithinTwoQueries() {
+        when(productCatalog.findByName(anyString())).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeriesPointsIn(anyCollection(), anyCollection(), anyCollection(), anyInt(), anyInt()))
+                .thenAnswer(QueryCountAssertions.statement(List.of()));
+        when(tariffRepository.findByCountriesAndPartners(anyCollection(), anyCollection()))
+                .thenAnswer(QueryCountAssertions.statement(List.of(tariff("China", "USA", 5.0, 15.0))));
+
+        // 4 x 3 x 3 = 36 requested series: one history scan plus one current-rate query, whatever the count
+        List<TariffTrendSeriesDTO> series = QueryCountAssertions.assertMaxQueries(2, () ->
+                comparisonService.getTariffTrends(
+                        List.of("China", "Japan", "India", "Germany"), List.of("USA", "Brazil", "Canada"),
+                        List.of("Product A", "Product B", "Product C"), "2015-01-01", "2024-12-31"));
+
+        assertEquals(3, series.size());
+    }
+
+    @Test
+    void getTariffTrends_LongSeries_CappedWithMinMax() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int year = 1980; year < 2020; year++) {
+            rows.add(point("China", "USA", "010121", year, 1.0f, (float) (year % 4)));
+        }
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffHistoryRepository.findSeriesPointsIn(anyCollection(), anyCollection(), anyCollection(), anyInt(), anyInt()))
+                .thenReturn(rows);
+
+        List<TariffTrendSeriesDTO> series = comparisonService.getTariffTrends(
+                List.of("China"), List.of("USA"), List.of("Test Product"), "1980-01-01", "2019-12-31", 5);
+
+        assertEquals(1, series.size());
+        TariffTrendSeriesDTO line = series.get(0);
+        assertEquals(5, line.getDates().length);
+        assertEquals(5, line.getRates().length);
+        assertArrayEquals(new double[] {0.0, 0.0, 0.0, 0.0, 0.0}, line.getMinRates());
+        assertArrayEquals(new double[] {3.0, 3.0, 3.0, 3.0, 3.0}, line.getMaxRates());
+        assertEquals(1.5, line.getRates()[0]);
+    }
+
+    // === Comparison ===
+
+    @Test
+    void compareMultipleCountries_ManyCountries_LoadsRatesInOneQuery() {
+        List<String> importing = List.of("China", "Japan", "India", "Germany", "Brazil", "Canada", "Mexico", "France");
+        List<Tariff> rates = new ArrayList<>();
+        for (int i = 0; i < importing.size(); i++) {
+            rates.add(tariff(importing.get(i), "USA", 1.0, 10.0 - i));
+        }
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(tariffRepository.findByCountriesAndPartners(anyCollection(), anyCollection()))
+                .thenAnswer(QueryCountAssertions.statement(rates));
+        when(currencyService.convertFromUSD(anyDouble(), anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TariffComparisonDTO response = QueryCountAssertions.assertMaxQueries(1, () ->
+                comparisonService.compareMultipleCountries("Test Product", "USA", importing, 10, null, "USD"));
+
+        assertTrue(response.isSuccess());
+        assertEquals(importing.size(), response.getData().getComparisons().size());
+        // cheapest (lowest MFN) first
+        assertEquals("France", response.getData().getComparisons().get(0).getCountry());
+        verify(tariffRepository, never()).findByCountryAndPartner(anyString(), anyString());
+    }
+
+    private static Tariff tariff(String country, String partner, double ahs, double mfn) {
+        Tariff tariff = new Tariff();
+        tariff.setCountry(country);
+        tariff.setPartner(partner);
+        tariff.setYear(2022);
+        tariff.setAhsWeighted(ahs);
+        tariff.setMfnWeighted(mfn);
+        return tariff;
+    }
+
+    private static Object[] point(String country, String partner, String hsCode, int year, Float ahs, Float mfn) {
+        return new Object[] {country, partner, hsCode, (short) year, ahs, mfn};
+    }
+
+    private static TariffHistory history(String country, String partner, String hsCode, int year,
+            double ahs, double mfn) {
+        TariffHistory row = new TariffHistory();
+        row.setCountry(country);
+        row.setPartner(partner);
+        row.setHsCode(hsCode);
+        row.setYear(year);
+        row.setAhsWeighted(ahs);
+        row.setMfnWeighted(mfn);
+        return row;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.calculator.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import com.example.calculator.dto.TariffPageDTO;
+import com.example.calculator.exception.ValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+public class TariffListingServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private CurrencyService currencyService;
+
+    private TariffListingService listingService;
+
+    @BeforeEach
+    void setUp() {
+        listingService = new TariffListingService(jdbcTemplate, currencyService, new ObjectMapper());
+    }
+
+    @Test
+    void buildSql_FiltersAndResumesAfterCursorKey() {
+        TariffListingService.Query query = TariffListingService.Query.of(
+                "China", null, "850440", 1.0, 10.0, "MFN", "rate", "desc", null, null);
+        List<Object> params = new ArrayList<>();
+
+        String sql = listingService.buildSql(query, new Object[] {5.0, "China", "Japan", "850440", 2022}, params);
+
+        assertTrue(sql.contains("\"country\" = ? AND \"hs_code\" = ? AND \"mfn_weighted\" >= ? AND \"mfn_weighted\" <= ?"));
+        assertTrue(sql.contains("(COALESCE(\"mfn_weighted\", 'NaN'::float8), \"country\", \"partner\", \"hs_code\", \"year\") < (?, ?, ?, ?, ?)"));
+        assertTrue(sql.endsWith("ORDER BY COALESCE(\"mfn_weighted\", 'NaN'::float8) DESC, \"country\" DESC, "
+                + "\"partner\" DESC, \"hs_code\" DESC, \"year\" DESC"));
+        assertEquals(List.of("China", "850440", 1.0, 10.0, 5.0, "China", "Japan", "850440", 2022), params);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listTariffs_ReturnsPageWithCursorAndConvertsOnce() {
+        TariffListingService.Query query = TariffListingService.Query.of(
+                null, null, null, null, null, null, null, null, 200.0, "sgd");
+        when(currencyService.getExchangeRate("SGD")).thenReturn(1.5);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new TariffListingService.RateRow("China", "Japan", "850440", 2022, 10.0, null),
+                new TariffListingService.RateRow("China", "USA", "850440", 2022, 5.0, 7.0),
+                new TariffListingService.RateRow("India", "Japan", "850440", 2022, 1.0, 1.0)));
+
+        TariffPageDTO page = listingService.listTariffs(query, null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasMore());
+        assertEquals(30.0, page.getItems().get(0).getAhsTariffAmount(), 1e-9);
+        assertNull(page.getItems().get(0).getMfnTariffAmount());
+        assertEquals("SGD", page.getItems().get(1).getCurrency());
+        verify(currencyService, times(1)).getExchangeRate("SGD");
+        verify(jdbcTemplate).query(eq("SELECT \"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", "
+                + "\"mfn_weighted\" FROM \"Tariff Rates (Test)\" ORDER BY \"country\" ASC, \"partner\" ASC, "
+                + "\"hs_code\" ASC, \"year\" ASC LIMIT ?"), any(RowMapper.class), eq(3));
+
+        // the cursor resumes after the last row on the page
+        assertArrayEquals(new Object[] {"China", "USA", "850440", 2022},
+                listingService.decodeCursor(query, page.getNextCursor()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void listTariffs_WithoutProductCost_KeepsRatesAndLeavesAmountsNull() {
+        TariffListingService.Query query = TariffListingService.Query.of(
+                null, null, null, null, null, null, null, null, null, null);
+        when(currencyService.getExchangeRate("USD")).thenReturn(1.0);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(
+                new TariffListingService.RateRow("China", "Japan", "850440", 2022, 10.0, 12.0)));
+
+        TariffPageDTO page = listingService.listTariffs(query, null, null);
+
+        // matches the old unpaged listing, which priced against DEFAULT_COST (0.0) and returned no amounts
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+        assertEquals(10.0, page.getItems().get(0).getAhsWeightedPercentage());
+        assertEquals(12.0, page.getItems().get(0).getMfnWeightedPercentage());
+        assertNull(page.getItems().get(0).getAhsTariffAmount());
+        assertNull(page.getItems().get(0).getMfnTariffAmount());
+        assertEquals("USD", page.getItems().get(0).getCurrency());
+    }
+
+    @Test
+    void decodeCursor_RejectsCursorFromOtherSort() {
+        TariffListingService.Query routeSort = TariffListingService.Query.of(
+                null, null, null, null, null, null, null, null, null, null);
+        TariffListingService.Query rateSort = TariffListingService.Query.of(
+                null, null, null, null, null, null, "rate", null, null, null);
+        String cursor = listingService.encodeCursor(routeSort,
+                new TariffListingService.RateRow("China", "Japan", "850440", 2022, 3.0, 4.0));
+
+        assertThrows(ValidationException.class, () -> listingService.decodeCursor(rateSort, cursor));
+        assertThrows(ValidationException.class, () -> listingService.decodeCursor(routeSort, "not-a-cursor!"));
+    }
+
+    @Test
+    void query_RejectsInvalidParameters() {
+        assertThrows(ValidationException.class, () -> TariffListingService.Query.of(
+                null, null, null, 5.0, 1.0, null, null, null, null, null));
+        assertThrows(ValidationException.class, () -> TariffListingService.Query.of(
+                null, null, null, null, null, "XYZ", null, null, null, null));
+        assertThrows(ValidationException.class, () -> listingService.listTariffs(TariffListingService.Query.of(
+                null, null, null, null, null, null, null, null, null, null), null, 5000));
+        assertFalse(TariffListingService.Query.of(null, null, null, null, null, null, null, "ASC", null, null).descending());
+    }
+}
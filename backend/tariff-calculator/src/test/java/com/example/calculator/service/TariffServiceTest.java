@@ -15,20 +15,22 @@ import org.mockito.Mock;
 import static org.mockito.Mockito.when;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
 
 import com.example.calculator.dto.TariffResponse;
 import com.example.calculator.entity.Product;
 import com.example.calculator.entity.Tariff;
 import com.example.calculator.exception.NotFoundException;
 import com.example.calculator.exception.ValidationException;
-import com.example.calculator.repository.ProductRepository;
 import com.example.calculator.repository.TariffRepository;
 
 @ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT) // shared currency stub and lookups a validation failure never reaches
 public class TariffServiceTest {
 
     @Mock
-    private ProductRepository productRepository;
+    private ProductCatalog productCatalog;
 
     @Mock
     private TariffRepository tariffRepository;
@@ -73,7 +75,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_Success_WithFTA() {
-        when(productRepository.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
         when(tariffRepository.findByCountryAndPartner("China", "Singapore"))
                 .thenReturn(Optional.of(testTariffWithFTA));
 
@@ -91,7 +93,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_Success_WithoutFTA() {
-        when(productRepository.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
         when(tariffRepository.findByCountryAndPartner("China", "USA"))
                 .thenReturn(Optional.of(testTariffWithoutFTA));
 
@@ -109,7 +111,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_ProductNotFound_ShouldThrow() {
-        when(productRepository.findByName("Non-existent Product")).thenReturn(List.of());
+        when(productCatalog.findByName("Non-existent Product")).thenReturn(List.of());
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () ->
                 tariffService.calculate("Non-existent Product", "Singapore", "China", 3, null, "USD")
@@ -119,7 +121,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_TariffNotFound_ShouldThrow() {
-        when(productRepository.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
         when(tariffRepository.findByCountryAndPartner("Mars", "Earth"))
                 .thenReturn(Optional.empty());
 
@@ -131,7 +133,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_QuantityZero_ShouldThrow() {
-        when(productRepository.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
         when(tariffRepository.findByCountryAndPartner("China", "Singapore"))
                 .thenReturn(Optional.of(testTariffWithFTA));
 
@@ -169,7 +171,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_CustomCostNonNumeric_ShouldThrow() {
-        when(productRepository.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
         when(tariffRepository.findByCountryAndPartner("China", "Singapore"))
                 .thenReturn(Optional.of(testTariffWithFTA));
 
@@ -181,7 +183,7 @@ public class TariffServiceTest {
 
     @Test
     void calculate_VeryLargeQuantity_Success() {
-        when(productRepository.findByName("Test Product")).thenReturn(List.of(testProduct));
+        when(productCatalog.findByName("Test Product")).thenReturn(List.of(testProduct));
         when(tariffRepository.findByCountryAndPartner("China", "Singapore"))
                 .thenReturn(Optional.of(testTariffWithFTA));
 
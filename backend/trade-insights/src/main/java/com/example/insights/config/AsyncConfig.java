@@ -1,31 +1,76 @@
 package com.example.insights.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
-import java.util.concurrent.Executor;
-
-// async executor configuration for parallel news and agreement fetching
+// async executor configuration for parallel news and agreement fetching.
+// trade-insights.executor.mode=platform (default) uses bounded thread pools, =virtual runs every task on its
+// own virtual thread so tasks blocked on http/jdbc don't hold a platform thread or sit in a queue.
+// both modes carry the submitting thread's trace context into the task, so fan-out calls stay in one trace
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    static final String MODE_VIRTUAL = "virtual";
+
     private static final int CORE_POOL_SIZE = 4;
     private static final int MAX_POOL_SIZE = 8;
     private static final int QUEUE_CAPACITY = 100;
 
-    // thread pool executor for trade insights aggregation tasks
+    // provider calls get their own pool so insights tasks never wait on their own executor
+    private static final int NEWS_PROVIDER_POOL_SIZE = 8;
+    private static final int NEWS_PROVIDER_QUEUE_CAPACITY = 200;
+
+    @Value("${trade-insights.executor.mode:platform}")
+    private String executorMode;
+
+    // executor for trade insights aggregation tasks
     @Bean(name = "tradeInsightsExecutor")
-    public Executor tradeInsightsExecutor() {
+    public AsyncTaskExecutor tradeInsightsExecutor() {
+        if (isVirtualMode()) {
+            return virtualThreadExecutor("trade-insights-");
+        }
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(CORE_POOL_SIZE);
         executor.setMaxPoolSize(MAX_POOL_SIZE);
         executor.setQueueCapacity(QUEUE_CAPACITY);
         executor.setThreadNamePrefix("trade-insights-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
         executor.initialize();
         return executor;
     }
-}
 
+    // executor for concurrent external news provider calls (NewsAPI, Guardian)
+    @Bean(name = "newsProviderExecutor")
+    public AsyncTaskExecutor newsProviderExecutor() {
+        if (isVirtualMode()) {
+            return virtualThreadExecutor("news-provider-");
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(NEWS_PROVIDER_POOL_SIZE);
+        executor.setMaxPoolSize(NEWS_PROVIDER_POOL_SIZE);
+        executor.setQueueCapacity(NEWS_PROVIDER_QUEUE_CAPACITY);
+        executor.setThreadNamePrefix("news-provider-");
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    private boolean isVirtualMode() {
+        return MODE_VIRTUAL.equalsIgnoreCase(executorMode == null ? "" : executorMode.trim());
+    }
+
+    // unbounded thread-per-task executor; cancel(true) on a submitted task interrupts its virtual thread
+    private AsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(new ContextPropagatingTaskDecorator());
+        return executor;
+    }
+}
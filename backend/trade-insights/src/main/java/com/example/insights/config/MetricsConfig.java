@@ -0,0 +1,67 @@
+package com.example.insights.config;
+
+import com.example.insights.service.NewsService;
+import com.example.insights.service.QueryLoggerService;
+import com.example.insights.service.ResultCache;
+import com.example.insights.service.TradeInsightsService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// gauges for the in-memory structures actuator cannot see on its own. the thread pool executors
+// (tradeInsightsExecutor, newsProviderExecutor) are already bound by actuator as executor.* meters
+@Configuration
+public class MetricsConfig {
+
+    // news and agreements result caches: cache.gets by result (micrometer's cache naming), size and hit ratio
+    @Bean
+    public MeterBinder resultCacheMetrics(NewsService newsService, TradeInsightsService tradeInsightsService) {
+        return registry -> {
+            bindCache(registry, "news-results", newsService.getResultCache());
+            bindCache(registry, "agreement-results", tradeInsightsService.getAgreementsCache());
+        };
+    }
+
+    private static void bindCache(MeterRegistry registry, String name, ResultCache<?> cache) {
+        FunctionCounter.builder("cache.gets", cache, ResultCache::getHits)
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, ResultCache::getMisses)
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", cache, ResultCache::size)
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("cache.hit.ratio", cache, MetricsConfig::hitRatio)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    // search log write-behind buffer: queue depth plus dropped/written/failed totals
+    @Bean
+    public MeterBinder searchLogMetrics(QueryLoggerService queryLoggerService) {
+        return registry -> {
+            Gauge.builder("search_log.buffer.size", queryLoggerService, QueryLoggerService::getBufferedCount)
+                    .description("Search log entries waiting for the next batch insert")
+                    .register(registry);
+            FunctionCounter.builder("search_log.entries", queryLoggerService, QueryLoggerService::getDroppedCount)
+                    .tag("result", "dropped")
+                    .register(registry);
+            FunctionCounter.builder("search_log.entries", queryLoggerService, QueryLoggerService::getWrittenCount)
+                    .tag("result", "written")
+                    .register(registry);
+            FunctionCounter.builder("search_log.entries", queryLoggerService, QueryLoggerService::getFailedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+        };
+    }
+
+    static double hitRatio(ResultCache<?> cache) {
+        long hits = cache.getHits();
+        long lookups = hits + cache.getMisses();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
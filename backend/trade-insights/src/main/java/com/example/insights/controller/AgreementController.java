@@ -65,7 +65,8 @@ public class AgreementController {
             request.getCountry(),
             request.getAgreementType(),
             request.getLimit(),
-            request.getOffset()
+            request.getOffset(),
+            request.getCursor()
         );
 
         return ResponseEntity.ok(response);
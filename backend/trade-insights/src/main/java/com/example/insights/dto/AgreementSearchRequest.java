@@ -17,5 +17,7 @@ public class AgreementSearchRequest {
     private Integer limit = 10;
     @Min(0)
     private Integer offset = 0;
+    // nextCursor from the previous page; takes precedence over offset
+    private String cursor;
 }
 
@@ -12,8 +12,11 @@ import java.util.List;
 public class AgreementSearchResultDto {
     private String status;
     private List<AgreementDto> agreements;
+    // total and page number are only filled on the first (cursor-less) request
     private Integer totalResults;
     private Integer pageSize;
     private Integer page;
+    // opaque keyset cursor for the next page, null on the last page
+    private String nextCursor;
 }
 
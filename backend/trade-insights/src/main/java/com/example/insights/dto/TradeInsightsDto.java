@@ -23,6 +23,8 @@ public class TradeInsightsDto {
         private String title;
         private List<NewsArticleDto> articles;
         private Integer totalCount;
+        // complete, partial (some providers missed their deadline), timed_out or unavailable
+        private String status;
     }
 
     @Data
@@ -32,6 +34,8 @@ public class TradeInsightsDto {
         private String title;
         private List<AgreementDto> agreements;
         private Integer totalCount;
+        // complete, timed_out or unavailable
+        private String status;
     }
 }
 
@@ -3,9 +3,49 @@ package com.example.insights.repository;
 import com.example.insights.entity.Tariff;
 import com.example.insights.entity.TariffId;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface TariffRepository extends JpaRepository<Tariff, TariffId> {
-}
 
+    // one row per (country, partner) route touching the country (either side), latest year first and
+    // lowest hs_code within that year so the picked rates are stable across requests and pages,
+    // keyset-paginated on (country, partner); pass '' for country to match every route and for the
+    // after* values to start from the beginning. row = [country, partner, ahs_weighted, mfn_weighted]
+    @Query(value = "SELECT DISTINCT ON (t.\"country\", t.\"partner\") " +
+                   "t.\"country\", t.\"partner\", t.\"ahs_weighted\", t.\"mfn_weighted\" " +
+                   "FROM \"Tariff Rates (Test)\" t " +
+                   "WHERE (:country = '' OR LOWER(t.\"country\") = :country OR LOWER(t.\"partner\") = :country) " +
+                   "AND (t.\"country\", t.\"partner\") > (:afterCountry, :afterPartner) " +
+                   "ORDER BY t.\"country\", t.\"partner\", t.\"year\" DESC, t.\"hs_code\" " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findAgreementRoutes(@Param("country") String normalizedCountry,
+                                       @Param("afterCountry") String afterCountry,
+                                       @Param("afterPartner") String afterPartner,
+                                       @Param("limit") int limit);
+
+    // same routes addressed by offset, for clients still paging with offset instead of a cursor
+    @Query(value = "SELECT DISTINCT ON (t.\"country\", t.\"partner\") " +
+                   "t.\"country\", t.\"partner\", t.\"ahs_weighted\", t.\"mfn_weighted\" " +
+                   "FROM \"Tariff Rates (Test)\" t " +
+                   "WHERE (:country = '' OR LOWER(t.\"country\") = :country OR LOWER(t.\"partner\") = :country) " +
+                   "ORDER BY t.\"country\", t.\"partner\", t.\"year\" DESC, t.\"hs_code\" " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Object[]> findAgreementRoutesAtOffset(@Param("country") String normalizedCountry,
+                                               @Param("limit") int limit,
+                                               @Param("offset") int offset);
+
+    // number of distinct (country, partner) routes touching the country ('' = all routes)
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "SELECT DISTINCT t.\"country\", t.\"partner\" FROM \"Tariff Rates (Test)\" t " +
+                   "WHERE (:country = '' OR LOWER(t.\"country\") = :country OR LOWER(t.\"partner\") = :country)" +
+                   ") routes",
+           nativeQuery = true)
+    long countAgreementRoutes(@Param("country") String normalizedCountry);
+}
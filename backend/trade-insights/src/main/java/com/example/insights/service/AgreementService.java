@@ -10,7 +10,9 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.Base64;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -28,6 +30,10 @@ public class AgreementService {
     private static final String AGREEMENT_SOURCE = "Tariff Database";
     private static final String AGREEMENT_TITLE_FORMAT = "%s - %s Tariff Agreement";
     private static final String AGREEMENT_SUMMARY_FORMAT = "Tariff rates: AHS %.2f%%, MFN %.2f%%";
+    private static final String CURSOR_SEPARATOR = "\u001F";
+    static final String STATUS_SUCCESS = "success";
+    // database error: empty page, but not a real "no agreements" answer (callers must not cache it)
+    static final String STATUS_UNAVAILABLE = "unavailable";
 
     private final TariffRepository tariffRepository;
 
@@ -41,91 +47,121 @@ public class AgreementService {
         String agreementType,
         Integer limit,
         Integer offset
+    ) {
+        return searchAgreements(country, agreementType, limit, offset, null);
+    }
+
+    // same as above, but continues after an opaque cursor from a previous page (keyset pagination);
+    // filtering and paging happen in sql so a cursor page costs the page size, not the table size.
+    // the route count is only taken for the first (cursor-less) request: continuation pages leave
+    // totalResults and page null, the client already has the total from the first page
+    public AgreementSearchResultDto searchAgreements(
+        String country,
+        String agreementType,
+        Integer limit,
+        Integer offset,
+        String cursor
     ) {
         int resolvedLimit = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
         int resolvedOffset = offset != null && offset >= 0 ? offset : DEFAULT_OFFSET;
-        String normalizedCountry = country == null ? "" : country.trim();
+        String normalizedCountry = country == null ? "" : country.trim().toLowerCase(Locale.ROOT);
         String normalizedAgreementType = agreementType == null ? "" : agreementType.trim();
 
+        String[] after;
         try {
-            List<Tariff> allTariffs = tariffRepository.findAll();
+            after = decodeCursor(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new com.example.insights.exception.BadRequestException("Invalid pagination cursor");
+        }
 
-            List<Tariff> filtered = allTariffs.stream()
-                .filter(tariff -> matchesCountry(tariff, normalizedCountry))
+        try {
+            List<Object[]> rows;
+            if (after != null) {
+                rows = tariffRepository.findAgreementRoutes(normalizedCountry, after[0], after[1], resolvedLimit);
+            } else if (resolvedOffset > 0) {
+                // legacy offset paging, kept for clients that don't send cursors yet
+                rows = tariffRepository.findAgreementRoutesAtOffset(normalizedCountry, resolvedLimit, resolvedOffset);
+            } else {
+                rows = tariffRepository.findAgreementRoutes(normalizedCountry, "", "", resolvedLimit);
+            }
+            Integer total = after == null ? (int) tariffRepository.countAgreementRoutes(normalizedCountry) : null;
+
+            List<AgreementDto> page = rows.stream()
+                .map(row -> convertToDto(toTariff(row), normalizedAgreementType))
                 .collect(Collectors.toList());
 
-            List<AgreementDto> page = filtered.stream()
-                .skip(resolvedOffset)
-                .limit(resolvedLimit)
-                .map(tariff -> convertToDto(tariff, normalizedAgreementType))
-                .collect(Collectors.toList());
+            String nextCursor = null;
+            if (rows.size() == resolvedLimit) {
+                Object[] last = rows.get(rows.size() - 1);
+                nextCursor = encodeCursor((String) last[0], (String) last[1]);
+            }
 
-            int pageNumber = resolvedLimit > 0 ? resolvedOffset / resolvedLimit : 0;
+            Integer pageNumber = after == null ? resolvedOffset / resolvedLimit : null;
 
             return new AgreementSearchResultDto(
-                "success",
+                STATUS_SUCCESS,
                 page,
-                filtered.size(),
+                total,
                 resolvedLimit,
-                pageNumber
+                pageNumber,
+                nextCursor
             );
         } catch (InvalidDataAccessResourceUsageException e) {
             // tariff table doesn't exist - return empty results gracefully
             log.debug("Tariff database table not available, returning empty agreement results");
-            return new AgreementSearchResultDto(
-                "success",
-                Collections.emptyList(),
-                0,
-                resolvedLimit,
-                0
-            );
+            return emptyResult(resolvedLimit, STATUS_SUCCESS);
         } catch (SQLGrammarException e) {
             // SQL grammar error (table doesn't exist) - return empty results gracefully
             log.debug("Tariff database table not available (SQL grammar error), returning empty agreement results");
-            return new AgreementSearchResultDto(
-                "success",
-                Collections.emptyList(),
-                0,
-                resolvedLimit,
-                0
-            );
+            return emptyResult(resolvedLimit, STATUS_SUCCESS);
         } catch (DataAccessException e) {
             // other database errors - log and return empty results
             log.warn("Database error searching agreements: {}", e.getMessage());
-            return new AgreementSearchResultDto(
-                "success",
-                Collections.emptyList(),
-                0,
-                resolvedLimit,
-                0
-            );
+            return emptyResult(resolvedLimit, STATUS_UNAVAILABLE);
         } catch (Exception e) {
             // any other errors - log and return empty results
             log.warn("Error searching agreements: {}", e.getMessage());
-            return new AgreementSearchResultDto(
-                "success",
-                Collections.emptyList(),
-                0,
-                resolvedLimit,
-                0
-            );
+            return emptyResult(resolvedLimit, STATUS_UNAVAILABLE);
         }
     }
 
-    // check if tariff matches the country filter
-    private boolean matchesCountry(Tariff tariff, String country) {
-        if (country.isEmpty()) {
-            return true;
-        }
-        return countryEquals(tariff.getCountry(), country) || countryEquals(tariff.getPartner(), country);
+    private AgreementSearchResultDto emptyResult(int resolvedLimit, String status) {
+        return new AgreementSearchResultDto(
+            status,
+            Collections.emptyList(),
+            0,
+            resolvedLimit,
+            0,
+            null
+        );
+    }
+
+    // row = [country, partner, ahs_weighted, mfn_weighted]
+    private Tariff toTariff(Object[] row) {
+        Tariff tariff = new Tariff();
+        tariff.setCountry((String) row[0]);
+        tariff.setPartner((String) row[1]);
+        tariff.setAhsWeighted(row[2] != null ? ((Number) row[2]).doubleValue() : null);
+        tariff.setMfnWeighted(row[3] != null ? ((Number) row[3]).doubleValue() : null);
+        return tariff;
     }
 
-    // case-insensitive country name comparison
-    private boolean countryEquals(String value, String target) {
-        if (value == null) {
-            return false;
+    // cursor = base64url("country\u001Fpartner") of the last route on the previous page
+    private String encodeCursor(String country, String partner) {
+        String raw = country + CURSOR_SEPARATOR + partner;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+        String[] parts = raw.split(CURSOR_SEPARATOR, 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Malformed cursor");
         }
-        return value.trim().equalsIgnoreCase(target);
+        return parts;
     }
 
     // convert tariff entity to agreement DTO
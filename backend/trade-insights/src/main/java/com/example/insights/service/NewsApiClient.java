@@ -1,7 +1,10 @@
 package com.example.insights.service;
 
+import com.example.common.metrics.ClientTimers;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -18,14 +21,14 @@ import java.util.List;
 @Service
 public class NewsApiClient {
 
-    private static final String NEWS_API_BASE_URL = "https://newsapi.org/v2/everything";
-    private static final String GUARDIAN_API_BASE_URL = "https://content.guardianapis.com/search";
     private static final String NEWS_API_PREFIX = "newsapi-";
     private static final String GUARDIAN_API_PREFIX = "guardian-";
     private static final String GUARDIAN_SOURCE_NAME = "The Guardian";
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final Timer newsApiTimer;
+    private final Timer guardianTimer;
 
     @Value("${news.api.key:}")
     private String newsApiKey;
@@ -33,9 +36,22 @@ public class NewsApiClient {
     @Value("${guardian.api.key:}")
     private String guardianApiKey;
 
-    public NewsApiClient(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    // overridable so tests/benchmarks can point at local stand-in servers
+    @Value("${news.api.base-url:https://newsapi.org/v2/everything}")
+    private String newsApiBaseUrl;
+
+    @Value("${guardian.api.base-url:https://content.guardianapis.com/search}")
+    private String guardianApiBaseUrl;
+
+    public NewsApiClient(RestTemplate restTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.newsApiTimer = providerTimer(meterRegistry, "newsapi");
+        this.guardianTimer = providerTimer(meterRegistry, "guardian");
+    }
+
+    private static Timer providerTimer(MeterRegistry meterRegistry, String client) {
+        return ClientTimers.of(meterRegistry, client, "search");
     }
 
     // fetch news articles from NewsAPI
@@ -47,10 +63,10 @@ public class NewsApiClient {
 
         try {
             String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-            String url = NEWS_API_BASE_URL + "?q=" + encodedQuery
+            String url = newsApiBaseUrl + "?q=" + encodedQuery
                 + "&sortBy=relevancy&language=en&apiKey=" + newsApiKey;
 
-            String response = restTemplate.getForObject(url, String.class);
+            String response = newsApiTimer.record(() -> restTemplate.getForObject(url, String.class));
             if (response == null) {
                 return List.of();
             }
@@ -77,10 +93,10 @@ public class NewsApiClient {
             return articles;
         } catch (RestClientException ex) {
             log.error("HTTP error fetching from NewsAPI: {}", ex.getMessage());
-            return List.of();
+            throw new ProviderException("NewsAPI request failed", ex);
         } catch (Exception e) {
             log.error("Error parsing NewsAPI response", e);
-            return List.of();
+            throw new ProviderException("NewsAPI response could not be parsed", e);
         }
     }
 
@@ -93,10 +109,10 @@ public class NewsApiClient {
 
         try {
             String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
-            String url = GUARDIAN_API_BASE_URL + "?q=" + encodedQuery
+            String url = guardianApiBaseUrl + "?q=" + encodedQuery
                 + "&show-fields=trailText,body&api-key=" + guardianApiKey;
 
-            String response = restTemplate.getForObject(url, String.class);
+            String response = guardianTimer.record(() -> restTemplate.getForObject(url, String.class));
             if (response == null) {
                 return List.of();
             }
@@ -121,10 +137,17 @@ public class NewsApiClient {
             return articles;
         } catch (RestClientException ex) {
             log.error("HTTP error fetching from Guardian API: {}", ex.getMessage());
-            return List.of();
+            throw new ProviderException("Guardian API request failed", ex);
         } catch (Exception e) {
             log.error("Error parsing Guardian API response", e);
-            return List.of();
+            throw new ProviderException("Guardian API response could not be parsed", e);
+        }
+    }
+
+    // provider call failed (http error or unreadable body), as opposed to a search with no articles
+    public static class ProviderException extends RuntimeException {
+        public ProviderException(String message, Throwable cause) {
+            super(message, cause);
         }
     }
 
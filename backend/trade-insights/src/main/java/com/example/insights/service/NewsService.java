@@ -3,12 +3,22 @@ package com.example.insights.service;
 import com.example.insights.dto.NewsArticleDto;
 import com.example.insights.dto.NewsSearchResultDto;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 // service for aggregating and processing news articles from multiple sources
@@ -19,25 +29,46 @@ public class NewsService {
     private static final int DEFAULT_LIMIT = 10;
     private static final int DEFAULT_OFFSET = 0;
     private static final double DEFAULT_RELEVANCE_SCORE = 0.95;
+    private static final String STATUS_SUCCESS = "success";
+    private static final String STATUS_PARTIAL = "partial";
 
     private final NewsApiClient newsApiClient;
-
-    public NewsService(NewsApiClient newsApiClient) {
+    private final Executor newsProviderExecutor;
+    private final long providerTimeoutMs;
+    private final ResultCache<List<NewsApiClient.NewsArticle>> resultCache;
+    // provider fan-outs currently running, so identical concurrent searches share one set of external calls
+    private final Map<String, ProviderFanOut> inFlight = new ConcurrentHashMap<>();
+
+    public NewsService(
+        NewsApiClient newsApiClient,
+        @Qualifier("newsProviderExecutor") Executor newsProviderExecutor,
+        @Value("${news.provider.timeout-ms:3000}") long providerTimeoutMs,
+        @Value("${news.cache.ttl-seconds:300}") long cacheTtlSeconds,
+        @Value("${news.cache.max-entries:500}") int cacheMaxEntries
+    ) {
         this.newsApiClient = newsApiClient;
+        this.newsProviderExecutor = newsProviderExecutor;
+        this.providerTimeoutMs = providerTimeoutMs;
+        this.resultCache = new ResultCache<>(TimeUnit.SECONDS.toMillis(cacheTtlSeconds), cacheMaxEntries);
     }
 
     // search for news articles across multiple sources with pagination
     public NewsSearchResultDto searchNews(String query, String country, String product,
                                           Integer limit, Integer offset) {
+        return searchNews(query, country, product, limit, offset, providerTimeoutMs);
+    }
+
+    // same search with an explicit budget for the provider fan-out; status is "partial" when a provider
+    // failed or didn't answer within it (a late successful answer still ends up in the cache for the next caller)
+    public NewsSearchResultDto searchNews(String query, String country, String product,
+                                          Integer limit, Integer offset, long timeoutMs) {
         String searchString = buildSearchQuery(query, country, product);
         int resolvedLimit = limit != null && limit > 0 ? limit : DEFAULT_LIMIT;
         int resolvedOffset = offset != null && offset >= 0 ? offset : DEFAULT_OFFSET;
 
-        List<NewsApiClient.NewsArticle> articles = new ArrayList<>();
-        articles.addAll(newsApiClient.fetchFromNewsAPI(searchString));
-        articles.addAll(newsApiClient.fetchFromGuardianAPI(searchString));
-
-        List<NewsApiClient.NewsArticle> deduped = deduplicateArticles(articles);
+        // full deduplicated result set is cached, so paging only slices it
+        FetchResult fetched = fetchArticles(searchString, timeoutMs);
+        List<NewsApiClient.NewsArticle> deduped = fetched.articles();
 
         List<NewsArticleDto> page = deduped.stream()
             .skip(resolvedOffset)
@@ -48,7 +79,7 @@ public class NewsService {
         int pageNumber = resolvedLimit > 0 ? resolvedOffset / resolvedLimit : 0;
 
         return new NewsSearchResultDto(
-            "success",
+            fetched.complete() ? STATUS_SUCCESS : STATUS_PARTIAL,
             page,
             deduped.size(),
             resolvedLimit,
@@ -56,6 +87,117 @@ public class NewsService {
         );
     }
 
+    // deduplicated articles for a search string, served from cache when fresh; otherwise fans out to all
+    // providers concurrently and waits at most timeoutMs for them
+    FetchResult fetchArticles(String searchString, long timeoutMs) {
+        String key = searchString.toLowerCase(Locale.ROOT);
+        List<NewsApiClient.NewsArticle> cached = resultCache.get(key);
+        if (cached != null) {
+            return new FetchResult(cached, true);
+        }
+
+        ProviderFanOut candidate = new ProviderFanOut();
+        ProviderFanOut fanOut = inFlight.putIfAbsent(key, candidate);
+        if (fanOut == null) {
+            fanOut = candidate;
+            startFanOut(key, searchString, fanOut);
+        }
+        return fanOut.collect(timeoutMs);
+    }
+
+    public ResultCache<List<NewsApiClient.NewsArticle>> getResultCache() {
+        return resultCache;
+    }
+
+    int inFlightSearches() {
+        return inFlight.size();
+    }
+
+    // kick off both provider calls; once every provider has answered (even after callers gave up waiting)
+    // the complete result goes into the cache for the next caller. a failed or rejected provider call is
+    // never cached, so the next search retries it instead of serving a degraded list for the whole ttl
+    private void startFanOut(String key, String searchString, ProviderFanOut fanOut) {
+        runProvider("NewsAPI", () -> newsApiClient.fetchFromNewsAPI(searchString), fanOut.newsApi);
+        runProvider("Guardian", () -> newsApiClient.fetchFromGuardianAPI(searchString), fanOut.guardian);
+
+        CompletableFuture.allOf(fanOut.newsApi, fanOut.guardian).whenComplete((ignored, ex) -> {
+            if (ex == null) {
+                resultCache.put(key, fanOut.merge());
+            }
+            inFlight.remove(key, fanOut);
+        });
+    }
+
+    private void runProvider(String provider, Supplier<List<NewsApiClient.NewsArticle>> fetch,
+                             CompletableFuture<List<NewsApiClient.NewsArticle>> target) {
+        try {
+            CompletableFuture.supplyAsync(fetch, newsProviderExecutor).whenComplete((articles, ex) -> {
+                if (ex != null) {
+                    log.warn("{} fetch failed: {}", provider, ex.getMessage());
+                    target.completeExceptionally(ex);
+                } else {
+                    target.complete(articles != null ? articles : List.of());
+                }
+            });
+        } catch (java.util.concurrent.RejectedExecutionException e) {
+            log.warn("{} fetch rejected, provider executor saturated", provider);
+            target.completeExceptionally(e);
+        }
+    }
+
+    // per-query set of provider futures; completed by the provider calls, read by any number of callers
+    private final class ProviderFanOut {
+        private final CompletableFuture<List<NewsApiClient.NewsArticle>> newsApi = new CompletableFuture<>();
+        private final CompletableFuture<List<NewsApiClient.NewsArticle>> guardian = new CompletableFuture<>();
+
+        // wait for each provider up to the shared deadline and merge whatever arrived; complete only when
+        // every provider answered successfully in time
+        FetchResult collect(long timeoutMs) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+            List<NewsApiClient.NewsArticle> newsApiArticles = await("NewsAPI", newsApi, deadline, timeoutMs);
+            List<NewsApiClient.NewsArticle> guardianArticles = await("Guardian", guardian, deadline, timeoutMs);
+
+            List<NewsApiClient.NewsArticle> articles = new ArrayList<>();
+            if (newsApiArticles != null) {
+                articles.addAll(newsApiArticles);
+            }
+            if (guardianArticles != null) {
+                articles.addAll(guardianArticles);
+            }
+            return new FetchResult(deduplicateArticles(articles), newsApiArticles != null && guardianArticles != null);
+        }
+
+        // only called once both providers completed normally
+        List<NewsApiClient.NewsArticle> merge() {
+            List<NewsApiClient.NewsArticle> articles = new ArrayList<>();
+            articles.addAll(newsApi.join());
+            articles.addAll(guardian.join());
+            return List.copyOf(deduplicateArticles(articles));
+        }
+
+        // provider articles, or null when the provider failed or missed the deadline
+        private List<NewsApiClient.NewsArticle> await(String provider,
+                                                      CompletableFuture<List<NewsApiClient.NewsArticle>> future,
+                                                      long deadline, long timeoutMs) {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                return future.get(remaining, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("{} did not answer within {} ms, returning results without it", provider, timeoutMs);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    // merged articles plus whether every provider answered in time
+    record FetchResult(List<NewsApiClient.NewsArticle> articles, boolean complete) {
+    }
+
     // build combined search query from query, country, and product
     private String buildSearchQuery(String query, String country, String product) {
         StringBuilder sb = new StringBuilder(query == null ? "" : query.trim());
@@ -1,18 +1,30 @@
 package com.example.insights.service;
 
 import com.example.insights.entity.SearchType;
-import com.example.insights.entity.UserSearch;
-import com.example.insights.repository.UserSearchRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
-// service for logging user search queries for analytics
+// service for logging user search queries for analytics; searches only enqueue an entry, a background
+// flusher writes them to user_searches in jdbc batches every flush interval or once a batch fills up
 @Slf4j
 @Service
 public class QueryLoggerService {
@@ -22,33 +34,153 @@ public class QueryLoggerService {
     private static final String FILTER_PRODUCT = "product";
     private static final String FILTER_AGREEMENT_TYPE = "agreementType";
     private static final String QUERY_SEPARATOR = " | ";
+    private static final int MAX_QUERY_LENGTH = 255; // search_query column length
 
-    private final UserSearchRepository userSearchRepository;
+    private static final String INSERT_SQL =
+        "INSERT INTO user_searches (user_id, search_query, search_type, filters, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
     private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final BlockingQueue<SearchLogEntry> buffer;
+    private final ScheduledExecutorService flusher;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
 
-    public QueryLoggerService(UserSearchRepository userSearchRepository, ObjectMapper objectMapper) {
-        this.userSearchRepository = userSearchRepository;
+    public QueryLoggerService(
+        JdbcTemplate jdbcTemplate,
+        ObjectMapper objectMapper,
+        @Value("${search-log.buffer-capacity:10000}") int bufferCapacity,
+        @Value("${search-log.batch-size:200}") int batchSize,
+        @Value("${search-log.flush-interval-ms:1000}") long flushIntervalMs
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "search-log-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
     }
 
-    // log user search query to database for analytics (runs in separate transaction to avoid breaking main request)
-    @Transactional(propagation = Propagation.REQUIRES_NEW, noRollbackFor = {InvalidDataAccessResourceUsageException.class, Exception.class})
+    // record a user search for analytics; never blocks and never touches the database on the caller's thread
     public void logSearch(String userId, SearchType searchType, Map<String, String> filters) {
+        SearchLogEntry entry = new SearchLogEntry(userId, searchType, new HashMap<>(filters), LocalDateTime.now());
+        if (!buffer.offer(entry)) {
+            long total = dropped.incrementAndGet();
+            if (total == 1 || total % 1000 == 0) {
+                log.warn("Search log buffer full, {} entries dropped so far", total);
+            }
+            return;
+        }
+        enqueued.incrementAndGet();
+
+        // don't wait for the next tick when a full batch is already waiting
+        if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushSafely);
+            } catch (java.util.concurrent.RejectedExecutionException e) {
+                flushRequested.set(false); // shutting down, final flush will pick it up
+            }
+        }
+    }
+
+    // drain the buffer in batch-size chunks; runs on the flusher thread (and once more on shutdown)
+    void flush() {
+        flushRequested.set(false);
+        List<SearchLogEntry> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void flushSafely() {
         try {
-            UserSearch search = new UserSearch();
-            search.setUserId(userId);
-            search.setSearchType(searchType);
-            search.setSearchQuery(buildSearchQuery(filters));
-            search.setFilters(objectMapper.writeValueAsString(filters));
+            flush();
+        } catch (Exception e) {
+            // keep the scheduled task alive whatever happens
+            log.warn("Search log flush failed: {}", e.getMessage());
+        }
+    }
 
-            userSearchRepository.save(search);
+    private void writeBatch(List<SearchLogEntry> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (SearchLogEntry entry : batch) {
+            rows.add(toRow(entry));
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            written.addAndGet(rows.size());
         } catch (InvalidDataAccessResourceUsageException e) {
-            // table doesn't exist - log at debug level and continue silently
-            log.debug("Search logging table not available, skipping log for user {}", userId);
+            // table doesn't exist - log at debug level and drop the batch silently
+            failed.addAndGet(rows.size());
+            log.debug("Search logging table not available, dropped {} entries", rows.size());
+        } catch (Exception e) {
+            // other database errors - analytics are best effort, drop the batch
+            failed.addAndGet(rows.size());
+            log.warn("Failed to write {} search log entries: {}", rows.size(), e.getMessage());
+        }
+    }
+
+    private Object[] toRow(SearchLogEntry entry) {
+        String filtersJson;
+        try {
+            filtersJson = objectMapper.writeValueAsString(entry.filters());
         } catch (Exception e) {
-            // other database errors - log at warn level but don't break the request
-            log.warn("Failed to log search for user {}: {}", userId, e.getMessage());
+            filtersJson = null;
+        }
+        String query = buildSearchQuery(entry.filters());
+        if (query.length() > MAX_QUERY_LENGTH) {
+            query = query.substring(0, MAX_QUERY_LENGTH);
         }
+        return new Object[] {
+            entry.userId(),
+            query,
+            entry.searchType() != null ? entry.searchType().name() : null,
+            filtersJson,
+            Timestamp.valueOf(entry.createdAt())
+        };
+    }
+
+    // flush whatever is still buffered before the context goes away
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            flusher.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Search log stopped: {} enqueued, {} written, {} failed, {} dropped",
+            enqueued.get(), written.get(), failed.get(), dropped.get());
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
     }
 
     // build human-readable search query string from filters
@@ -68,5 +200,8 @@ public class QueryLoggerService {
         }
         return sb.toString();
     }
-}
 
+    private record SearchLogEntry(String userId, SearchType searchType, Map<String, String> filters,
+                                  LocalDateTime createdAt) {
+    }
+}
@@ -3,13 +3,23 @@ package com.example.insights.service;
 import com.example.insights.dto.AgreementSearchResultDto;
 import com.example.insights.dto.NewsSearchResultDto;
 import com.example.insights.dto.TradeInsightsDto;
-import com.example.insights.exception.DataAccessException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 // service for aggregating news and agreements into a combined trade insights view
 @Slf4j
@@ -17,76 +27,174 @@ import java.util.concurrent.Executor;
 public class TradeInsightsService {
 
     private static final String STATUS_SUCCESS = "success";
-    private static final String STATUS_ERROR = "error";
+    private static final String STATUS_PARTIAL = "partial";
     private static final String NEWS_SECTION_TITLE = "Related News Articles";
     private static final String AGREEMENTS_SECTION_TITLE = "Related Trade Agreements";
 
+    // per-section status reported to the client
+    static final String SECTION_COMPLETE = "complete";
+    static final String SECTION_PARTIAL = "partial";
+    static final String SECTION_TIMED_OUT = "timed_out";
+    static final String SECTION_UNAVAILABLE = "unavailable";
+
+    // headroom between the provider budget handed to NewsService and the news section deadline, so the
+    // news task can merge and return partial provider results before the section itself times out
+    private static final long NEWS_MERGE_HEADROOM_MS = 100;
+
     private final NewsService newsService;
     private final AgreementService agreementService;
-    private final Executor tradeInsightsExecutor;
+    private final AsyncTaskExecutor tradeInsightsExecutor;
+    private final long newsDeadlineMs;
+    private final long agreementsDeadlineMs;
+    // agreements sections by (country, limit); filled whenever a lookup succeeds, also after its deadline
+    private final ResultCache<AgreementSearchResultDto> agreementsCache;
+    // agreement lookups currently running, so identical concurrent requests share one query
+    private final Map<String, CompletableFuture<AgreementSearchResultDto>> agreementsInFlight = new ConcurrentHashMap<>();
 
     public TradeInsightsService(
         NewsService newsService,
         AgreementService agreementService,
-        @Qualifier("tradeInsightsExecutor") Executor tradeInsightsExecutor
+        @Qualifier("tradeInsightsExecutor") AsyncTaskExecutor tradeInsightsExecutor,
+        @Value("${trade-insights.deadline-ms:5000}") long deadlineMs,
+        @Value("${trade-insights.news.deadline-ms:2500}") long newsDeadlineMs,
+        @Value("${trade-insights.agreements.deadline-ms:2000}") long agreementsDeadlineMs,
+        @Value("${trade-insights.agreements.cache.ttl-seconds:120}") long agreementsCacheTtlSeconds,
+        @Value("${trade-insights.agreements.cache.max-entries:500}") int agreementsCacheMaxEntries
     ) {
         this.newsService = newsService;
         this.agreementService = agreementService;
         this.tradeInsightsExecutor = tradeInsightsExecutor;
+        // a section never gets more time than the whole request
+        this.newsDeadlineMs = Math.min(newsDeadlineMs, deadlineMs);
+        this.agreementsDeadlineMs = Math.min(agreementsDeadlineMs, deadlineMs);
+        this.agreementsCache = new ResultCache<>(TimeUnit.SECONDS.toMillis(agreementsCacheTtlSeconds),
+            agreementsCacheMaxEntries);
     }
 
-    // aggregate news and agreements in parallel and combine into single response (handles errors gracefully)
+    // aggregate news and agreements in parallel and combine into single response. each section has its own
+    // deadline; whatever finished in time is returned and the rest is reported per section as partial or
+    // timed out. a news task still running afterwards is cancelled (interrupted); the provider calls behind
+    // it are not, they finish in the background and NewsService caches their results for the next caller.
+    // an agreement lookup that overran is left to finish the same way and its result cached here
     public TradeInsightsDto getTradeInsights(String query, String country, String product, Integer limit) {
-        try {
-            // fetch news and agreements in parallel using async executor
-            CompletableFuture<NewsSearchResultDto> newsFuture =
-                CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return newsService.searchNews(query, country, product, limit, 0);
-                    } catch (Exception e) {
-                        log.warn("Failed to fetch news: {}", e.getMessage());
-                        return new NewsSearchResultDto("success", java.util.Collections.emptyList(), 0, limit != null ? limit : 10, 0);
-                    }
-                }, tradeInsightsExecutor);
+        long start = System.nanoTime();
+        long newsProviderBudgetMs = Math.max(0, newsDeadlineMs - NEWS_MERGE_HEADROOM_MS);
 
-            CompletableFuture<AgreementSearchResultDto> agreementsFuture =
-                CompletableFuture.supplyAsync(() -> agreementService.searchAgreements(country, null, limit, 0),
-                    tradeInsightsExecutor);
+        Future<NewsSearchResultDto> newsTask = submit(
+            () -> newsService.searchNews(query, country, product, limit, 0, newsProviderBudgetMs));
+        Future<AgreementSearchResultDto> agreementsTask = agreements(country, limit);
 
-            // wait for both futures to complete
-            CompletableFuture.allOf(newsFuture, agreementsFuture).join();
+        try {
+            SectionResult<NewsSearchResultDto> news = await("news", newsTask, start, newsDeadlineMs);
+            SectionResult<AgreementSearchResultDto> agreements =
+                await("agreements", agreementsTask, start, agreementsDeadlineMs);
+            if (agreements.value() != null
+                && AgreementService.STATUS_UNAVAILABLE.equals(agreements.value().getStatus())) {
+                agreements = new SectionResult<>(null, SECTION_UNAVAILABLE);
+            }
 
-            NewsSearchResultDto news = newsFuture.join();
-            AgreementSearchResultDto agreements = agreementsFuture.join();
+            String newsStatus = news.status();
+            if (news.value() != null && STATUS_PARTIAL.equals(news.value().getStatus())) {
+                newsStatus = SECTION_PARTIAL;
+            }
 
             // build combined response
             TradeInsightsDto dto = new TradeInsightsDto();
-            dto.setStatus(STATUS_SUCCESS);
-            dto.setQuery(query);
-            dto.setCountry(country);
-            dto.setNewsSection(new TradeInsightsDto.NewsSection(
-                NEWS_SECTION_TITLE,
-                news.getArticles(),
-                news.getTotalResults()
-            ));
-            dto.setAgreementsSection(new TradeInsightsDto.AgreementsSection(
-                AGREEMENTS_SECTION_TITLE,
-                agreements.getAgreements(),
-                agreements.getTotalResults()
-            ));
-
-            return dto;
-        } catch (Exception e) {
-            log.error("Failed to aggregate trade insights", e);
-            // return empty results instead of throwing exception
-            TradeInsightsDto dto = new TradeInsightsDto();
-            dto.setStatus(STATUS_SUCCESS);
+            dto.setStatus(SECTION_COMPLETE.equals(newsStatus) && SECTION_COMPLETE.equals(agreements.status())
+                ? STATUS_SUCCESS : STATUS_PARTIAL);
             dto.setQuery(query);
             dto.setCountry(country);
-            dto.setNewsSection(new TradeInsightsDto.NewsSection(NEWS_SECTION_TITLE, java.util.Collections.emptyList(), 0));
-            dto.setAgreementsSection(new TradeInsightsDto.AgreementsSection(AGREEMENTS_SECTION_TITLE, java.util.Collections.emptyList(), 0));
+            dto.setNewsSection(news.value() != null
+                ? new TradeInsightsDto.NewsSection(NEWS_SECTION_TITLE, news.value().getArticles(),
+                    news.value().getTotalResults(), newsStatus)
+                : new TradeInsightsDto.NewsSection(NEWS_SECTION_TITLE, Collections.emptyList(), 0, newsStatus));
+            dto.setAgreementsSection(agreements.value() != null
+                ? new TradeInsightsDto.AgreementsSection(AGREEMENTS_SECTION_TITLE, agreements.value().getAgreements(),
+                    agreements.value().getTotalResults(), agreements.status())
+                : new TradeInsightsDto.AgreementsSection(AGREEMENTS_SECTION_TITLE, Collections.emptyList(), 0,
+                    agreements.status()));
             return dto;
+        } finally {
+            // no-op for a finished task, interrupts one that overran its deadline
+            cancel(newsTask);
+        }
+    }
+
+    public ResultCache<AgreementSearchResultDto> getAgreementsCache() {
+        return agreementsCache;
+    }
+
+    // cached agreements section, or the lookup for it (joining one already running for the same key). only
+    // successful results are cached, a database error is retried by the next request
+    private Future<AgreementSearchResultDto> agreements(String country, Integer limit) {
+        String key = (country == null ? "" : country.trim().toLowerCase(Locale.ROOT)) + "|" + limit;
+        AgreementSearchResultDto cached = agreementsCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<AgreementSearchResultDto> candidate = new CompletableFuture<>();
+        CompletableFuture<AgreementSearchResultDto> running = agreementsInFlight.putIfAbsent(key, candidate);
+        if (running != null) {
+            return running;
+        }
+        try {
+            CompletableFuture.supplyAsync(() -> agreementService.searchAgreements(country, null, limit, 0),
+                tradeInsightsExecutor).whenComplete((result, ex) -> {
+                    if (ex == null && result != null && AgreementService.STATUS_SUCCESS.equals(result.getStatus())) {
+                        agreementsCache.put(key, result);
+                    }
+                    agreementsInFlight.remove(key, candidate);
+                    if (ex != null) {
+                        candidate.completeExceptionally(ex);
+                    } else {
+                        candidate.complete(result);
+                    }
+                });
+            return candidate;
+        } catch (RejectedExecutionException e) {
+            log.warn("Trade insights executor saturated, skipping task");
+            agreementsInFlight.remove(key, candidate);
+            candidate.completeExceptionally(e);
+            return null;
+        }
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return tradeInsightsExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            log.warn("Trade insights executor saturated, skipping task");
+            return null;
+        }
+    }
+
+    // wait for a section until start + sectionDeadlineMs; the value is null unless the section completed
+    private <T> SectionResult<T> await(String section, Future<T> task, long start, long sectionDeadlineMs) {
+        if (task == null) {
+            return new SectionResult<>(null, SECTION_UNAVAILABLE);
+        }
+        try {
+            long remaining = Math.max(0, start + TimeUnit.MILLISECONDS.toNanos(sectionDeadlineMs) - System.nanoTime());
+            return new SectionResult<>(task.get(remaining, TimeUnit.NANOSECONDS), SECTION_COMPLETE);
+        } catch (TimeoutException e) {
+            log.warn("Trade insights {} missed its {} ms deadline", section, sectionDeadlineMs);
+            return new SectionResult<>(null, SECTION_TIMED_OUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new SectionResult<>(null, SECTION_TIMED_OUT);
+        } catch (ExecutionException e) {
+            log.warn("Failed to fetch {}: {}", section, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return new SectionResult<>(null, SECTION_UNAVAILABLE);
         }
     }
-}
 
+    private void cancel(Future<?> task) {
+        if (task != null) {
+            task.cancel(true);
+        }
+    }
+
+    private record SectionResult<T>(T value, String status) {
+    }
+}
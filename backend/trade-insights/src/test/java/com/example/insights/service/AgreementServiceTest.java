@@ -0,0 +1,119 @@
+package com.example.insights.service;
+
+import com.example.common.querystats.QueryCountAssertions;
+import com.example.insights.dto.AgreementSearchResultDto;
+import com.example.insights.exception.BadRequestException;
+import com.example.insights.repository.TariffRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AgreementServiceTest {
+
+    private TariffRepository tariffRepository;
+    private AgreementService agreementService;
+
+    @BeforeEach
+    public void setUp() {
+        tariffRepository = mock(TariffRepository.class);
+        agreementService = new AgreementService(tariffRepository);
+    }
+
+    @Test
+    public void searchAgreements_FirstPage_CountsRoutesAndReturnsCursor() {
+        when(tariffRepository.findAgreementRoutes("china", "", "", 2))
+            .thenReturn(List.of(route("China", "Japan"), route("China", "Korea, Rep.")));
+        when(tariffRepository.countAgreementRoutes("china")).thenReturn(5L);
+
+        AgreementSearchResultDto first = agreementService.searchAgreements(" China ", null, 2, 0, null);
+
+        assertEquals(2, first.getAgreements().size());
+        assertEquals(5, first.getTotalResults());
+        assertEquals(0, first.getPage());
+        assertNotNull(first.getNextCursor());
+        verify(tariffRepository, never()).findAgreementRoutesAtOffset(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void searchAgreements_Cursor_ContinuesAfterLastRouteWithoutCounting() {
+        when(tariffRepository.findAgreementRoutes("china", "", "", 2))
+            .thenReturn(List.of(route("China", "Japan"), route("China", "Korea, Rep.")));
+        when(tariffRepository.countAgreementRoutes("china")).thenReturn(3L);
+        when(tariffRepository.findAgreementRoutes("china", "China", "Korea, Rep.", 2))
+            .thenReturn(List.<Object[]>of(route("India", "China")));
+
+        String cursor = agreementService.searchAgreements("China", null, 2, 0, null).getNextCursor();
+        // offset is ignored once a cursor is given
+        AgreementSearchResultDto next = agreementService.searchAgreements("China", null, 2, 40, cursor);
+
+        assertEquals(1, next.getAgreements().size());
+        assertEquals("India-China", next.getAgreements().get(0).getId());
+        assertNull(next.getNextCursor());
+        assertNull(next.getTotalResults());
+        assertNull(next.getPage());
+        verify(tariffRepository, times(1)).countAgreementRoutes("china");
+        verify(tariffRepository, never()).findAgreementRoutesAtOffset(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void searchAgreements_OffsetWithoutCursor_UsesOffsetQuery() {
+        when(tariffRepository.findAgreementRoutesAtOffset("", 10, 20)).thenReturn(List.<Object[]>of(route("Chile", "Peru")));
+        when(tariffRepository.countAgreementRoutes("")).thenReturn(21L);
+
+        AgreementSearchResultDto page = agreementService.searchAgreements(null, "FTA", 10, 20, null);
+
+        assertEquals(2, page.getPage());
+        assertEquals(21, page.getTotalResults());
+        assertEquals("FTA", page.getAgreements().get(0).getAgreementType());
+        verify(tariffRepository, never()).findAgreementRoutes(anyString(), anyString(), anyString(), anyInt());
+    }
+
+    @Test
+    public void searchAgreements_MalformedCursor_ThrowsBadRequest() {
+        String noSeparator = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("China".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(BadRequestException.class,
+            () -> agreementService.searchAgreements("China", null, 10, 0, "not a cursor!"));
+        assertThrows(BadRequestException.class,
+            () -> agreementService.searchAgreements("China", null, 10, 0, noSeparator));
+        verifyNoInteractions(tariffRepository);
+    }
+
+    @Test
+    public void searchAgreements_FullPages_StayWithinQueryCeiling() {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rows.add(route("China", String.format("Partner %02d", i)));
+        }
+        when(tariffRepository.findAgreementRoutes("china", "", "", 50))
+            .thenAnswer(QueryCountAssertions.statement(rows));
+        when(tariffRepository.countAgreementRoutes("china"))
+            .thenAnswer(QueryCountAssertions.statement(120L));
+        when(tariffRepository.findAgreementRoutes("china", "China", "Partner 49", 50))
+            .thenAnswer(QueryCountAssertions.statement(rows));
+
+        // the agreements listing: one page query plus the count, then the page query alone, never per route
+        AgreementSearchResultDto first = QueryCountAssertions.assertMaxQueries(2,
+            () -> agreementService.searchAgreements("China", null, 50, 0, null));
+        AgreementSearchResultDto next = QueryCountAssertions.assertMaxQueries(1,
+            () -> agreementService.searchAgreements("China", null, 50, 0, first.getNextCursor()));
+
+        assertEquals(50, first.getAgreements().size());
+        assertEquals(50, next.getAgreements().size());
+    }
+
+    // row = [country, partner, ahs_weighted, mfn_weighted]
+    private static Object[] route(String country, String partner) {
+        return new Object[] {country, partner, 2.5, 4.0};
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.insights.service;
+
+import com.example.insights.dto.NewsSearchResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// runs NewsService against local stand-ins for NewsAPI and the Guardian instead of the real providers
+public class NewsServiceTest {
+
+    private static final String NEWS_API_BODY = "{\"articles\":["
+        + "{\"url\":\"https://example.com/a\",\"title\":\"Tariffs rise\",\"source\":{\"name\":\"Example\"}},"
+        + "{\"url\":\"https://example.com/b\",\"title\":\"Trade talks\",\"source\":{\"name\":\"Example\"}}]}";
+    private static final String GUARDIAN_BODY = "{\"response\":{\"results\":["
+        + "{\"id\":\"business/1\",\"webTitle\":\"Steel duties\",\"webUrl\":\"https://guardian.example/1\"}]}}";
+
+    private HttpServer newsApiServer;
+    private HttpServer guardianServer;
+    private final AtomicInteger newsApiHits = new AtomicInteger();
+    private final AtomicInteger guardianHits = new AtomicInteger();
+    private volatile long guardianDelayMs = 0;
+    private volatile int guardianStatus = 200;
+
+    private ExecutorService providerExecutor;
+    private NewsApiClient newsApiClient;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        newsApiServer = startStub(newsApiHits, NEWS_API_BODY, () -> 0L, () -> 200);
+        guardianServer = startStub(guardianHits, GUARDIAN_BODY, () -> guardianDelayMs, () -> guardianStatus);
+
+        newsApiClient = new NewsApiClient(new RestTemplate(), new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(newsApiClient, "newsApiKey", "test-key");
+        ReflectionTestUtils.setField(newsApiClient, "guardianApiKey", "test-key");
+        ReflectionTestUtils.setField(newsApiClient, "newsApiBaseUrl", baseUrl(newsApiServer));
+        ReflectionTestUtils.setField(newsApiClient, "guardianApiBaseUrl", baseUrl(guardianServer));
+
+        providerExecutor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        newsApiServer.stop(0);
+        guardianServer.stop(0);
+        providerExecutor.shutdownNow();
+    }
+
+    @Test
+    public void searchNews_RepeatedQueryAndPaging_HitsEachProviderOnce() {
+        NewsService newsService = new NewsService(newsApiClient, providerExecutor, 2000, 300, 100);
+
+        NewsSearchResultDto firstPage = newsService.searchNews("tariffs", "China", null, 2, 0);
+        NewsSearchResultDto secondPage = newsService.searchNews("tariffs", "China", null, 2, 2);
+        NewsSearchResultDto sameQueryAgain = newsService.searchNews("Tariffs", "china", null, 2, 0);
+
+        assertEquals(3, firstPage.getTotalResults());
+        assertEquals(2, firstPage.getArticles().size());
+        assertEquals(1, secondPage.getArticles().size());
+        assertEquals(3, sameQueryAgain.getTotalResults());
+        assertEquals(1, newsApiHits.get());
+        assertEquals(1, guardianHits.get());
+    }
+
+    @Test
+    public void searchNews_SlowProvider_ReturnsOtherProviderWithinTimeout() {
+        guardianDelayMs = 2000;
+        NewsService newsService = new NewsService(newsApiClient, providerExecutor, 200, 300, 100);
+
+        long start = System.nanoTime();
+        NewsSearchResultDto result = newsService.searchNews("steel", null, null, 10, 0);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(2, result.getTotalResults());
+        assertEquals("partial", result.getStatus());
+        assertTrue(elapsedMs < 1500, "search should not wait for the slow provider, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    public void searchNews_LateProviderResult_IsCachedForNextCaller() throws InterruptedException {
+        NewsService newsService = new NewsService(newsApiClient, providerExecutor, 2000, 300, 100);
+        // the first call through a cold RestTemplate and ObjectMapper can take longer than the deadline below
+        newsService.searchNews("warm-up", null, null, 10, 0);
+
+        guardianDelayMs = 1000;
+        NewsSearchResultDto partial = newsService.searchNews("steel", null, null, 10, 0, 250);
+        assertEquals("partial", partial.getStatus());
+        assertEquals(2, partial.getTotalResults());
+
+        // the guardian call keeps running after the caller gave up and lands in the cache
+        long waitUntil = System.currentTimeMillis() + 3000;
+        while (newsService.inFlightSearches() > 0 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(20);
+        }
+
+        NewsSearchResultDto next = newsService.searchNews("steel", null, null, 10, 0, 250);
+        assertEquals("success", next.getStatus());
+        assertEquals(3, next.getTotalResults());
+        assertEquals(2, guardianHits.get());
+        assertEquals(2, newsApiHits.get());
+    }
+
+    @Test
+    public void searchNews_FailedProvider_IsNotCachedAndRetriedByNextCaller() throws InterruptedException {
+        guardianStatus = 503;
+        NewsService newsService = new NewsService(newsApiClient, providerExecutor, 2000, 300, 100);
+
+        NewsSearchResultDto degraded = newsService.searchNews("steel", null, null, 10, 0);
+        assertEquals("partial", degraded.getStatus());
+        assertEquals(2, degraded.getTotalResults());
+
+        long waitUntil = System.currentTimeMillis() + 2000;
+        while (newsService.inFlightSearches() > 0 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, newsService.getResultCache().size());
+
+        // provider is back: the next search calls it again instead of serving the degraded list
+        guardianStatus = 200;
+        NewsSearchResultDto next = newsService.searchNews("steel", null, null, 10, 0);
+        assertEquals("success", next.getStatus());
+        assertEquals(3, next.getTotalResults());
+        assertEquals(2, guardianHits.get());
+        assertEquals(2, newsApiHits.get());
+    }
+
+    private static HttpServer startStub(AtomicInteger hits, String body, java.util.function.LongSupplier delayMs,
+                                        java.util.function.IntSupplier status) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMs.getAsLong());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status.getAsInt(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static String baseUrl(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/search";
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.insights.service;
+
+import com.example.insights.entity.SearchType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.InvalidDataAccessResourceUsageException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryLoggerServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private QueryLoggerService queryLoggerService;
+
+    @AfterEach
+    public void tearDown() {
+        if (queryLoggerService != null) {
+            queryLoggerService.shutdown();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void logSearch_DoesNotWriteOnCallerThread_FlushWritesOneBatch() {
+        // long interval so only the explicit flush writes
+        queryLoggerService = new QueryLoggerService(jdbcTemplate, new ObjectMapper(), 100, 50, 60_000);
+
+        queryLoggerService.logSearch("user-1", SearchType.NEWS, Map.of("query", "steel"));
+        queryLoggerService.logSearch("user-2", SearchType.AGREEMENTS, Map.of("country", "China"));
+        verifyNoInteractions(jdbcTemplate);
+
+        queryLoggerService.flush();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertEquals("user-1", rows.getValue().get(0)[0]);
+        assertEquals("NEWS", rows.getValue().get(0)[2]);
+        assertEquals(" | Country: China", rows.getValue().get(1)[1]);
+        assertEquals(2, queryLoggerService.getWrittenCount());
+    }
+
+    @Test
+    public void logSearch_BufferFull_CountsDroppedEntries() {
+        queryLoggerService = new QueryLoggerService(jdbcTemplate, new ObjectMapper(), 2, 50, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            queryLoggerService.logSearch("user", SearchType.NEWS, Map.of("query", "q" + i));
+        }
+
+        assertEquals(2, queryLoggerService.getBufferedCount());
+        assertEquals(3, queryLoggerService.getDroppedCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void flush_MissingTable_DropsBatchWithoutThrowing() {
+        queryLoggerService = new QueryLoggerService(jdbcTemplate, new ObjectMapper(), 100, 50, 60_000);
+        when(jdbcTemplate.batchUpdate(anyString(), any(List.class)))
+            .thenThrow(new InvalidDataAccessResourceUsageException("relation \"user_searches\" does not exist"));
+
+        queryLoggerService.logSearch("user", SearchType.COMBINED, Map.of("query", "rice"));
+
+        assertDoesNotThrow(() -> queryLoggerService.flush());
+        assertEquals(1, queryLoggerService.getFailedCount());
+        assertEquals(0, queryLoggerService.getBufferedCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shutdown_FlushesBufferedEntries() {
+        queryLoggerService = new QueryLoggerService(jdbcTemplate, new ObjectMapper(), 100, 50, 60_000);
+        queryLoggerService.logSearch("user", SearchType.NEWS, Map.of("query", "tariffs"));
+
+        queryLoggerService.shutdown();
+        queryLoggerService = null;
+
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), any(List.class));
+    }
+}
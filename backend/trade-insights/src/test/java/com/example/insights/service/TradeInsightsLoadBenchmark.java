@@ -0,0 +1,187 @@
+package com.example.insights.service;
+
+import com.example.insights.config.AsyncConfig;
+import com.example.insights.dto.AgreementDto;
+import com.example.insights.dto.AgreementSearchResultDto;
+import com.example.insights.dto.TradeInsightsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+// load benchmark: 500 concurrent insight requests against stand-in news providers (local http servers with
+// fixed latency) and an agreements stub that blocks like a jdbc call, once with platform pools, once with
+// virtual threads. opt-in only: mvn test -Dtest=TradeInsightsLoadBenchmark -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class TradeInsightsLoadBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 500;
+    private static final long PROVIDER_LATENCY_MS = 150;
+    private static final long AGREEMENTS_LATENCY_MS = 100;
+    private static final long DEADLINE_MS = 5000;
+
+    private static final String NEWS_API_BODY = "{\"articles\":[{\"url\":\"https://example.com/a\",\"title\":\"Tariffs\"}]}";
+    private static final String GUARDIAN_BODY = "{\"response\":{\"results\":[{\"id\":\"business/1\",\"webTitle\":\"Duties\"}]}}";
+
+    private HttpServer newsApiServer;
+    private HttpServer guardianServer;
+    private ExecutorService stubServerThreads;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        stubServerThreads = Executors.newVirtualThreadPerTaskExecutor();
+        newsApiServer = startStub(NEWS_API_BODY);
+        guardianServer = startStub(GUARDIAN_BODY);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        newsApiServer.stop(0);
+        guardianServer.stop(0);
+        stubServerThreads.shutdownNow();
+    }
+
+    @Test
+    public void platformVersusVirtualThreads() throws Exception {
+        Result platform = run("platform");
+        Result virtual = run("virtual");
+
+        System.out.println();
+        System.out.printf("%-9s %8s %8s %8s %8s %10s%n", "mode", "wall ms", "p50 ms", "p99 ms", "max ms", "degraded");
+        platform.print();
+        virtual.print();
+
+        assertEquals(0, virtual.degraded, "virtual-thread mode should serve every request in full");
+    }
+
+    private Result run(String mode) throws Exception {
+        AsyncConfig asyncConfig = new AsyncConfig();
+        ReflectionTestUtils.setField(asyncConfig, "executorMode", mode);
+        AsyncTaskExecutor insightsExecutor = asyncConfig.tradeInsightsExecutor();
+        AsyncTaskExecutor providerExecutor = asyncConfig.newsProviderExecutor();
+
+        NewsApiClient newsApiClient = new NewsApiClient(new RestTemplate(), new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(newsApiClient, "newsApiKey", "bench");
+        ReflectionTestUtils.setField(newsApiClient, "guardianApiKey", "bench");
+        ReflectionTestUtils.setField(newsApiClient, "newsApiBaseUrl", baseUrl(newsApiServer));
+        ReflectionTestUtils.setField(newsApiClient, "guardianApiBaseUrl", baseUrl(guardianServer));
+
+        // caches disabled and every request uses its own query and country, so each one really reaches the
+        // providers and the agreements lookup
+        NewsService newsService = new NewsService(newsApiClient, providerExecutor, DEADLINE_MS, 0, 0);
+        AgreementService agreementService = mock(AgreementService.class);
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(AGREEMENTS_LATENCY_MS);
+            List<AgreementDto> agreements = List.of(new AgreementDto());
+            return new AgreementSearchResultDto("success", agreements, 1, 10, 0, null);
+        });
+
+        TradeInsightsService service = new TradeInsightsService(
+            newsService, agreementService, insightsExecutor, DEADLINE_MS, DEADLINE_MS, DEADLINE_MS, 0, 0);
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger degraded = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                String query = "tariffs " + mode + " " + i;
+                String country = "Country " + i;
+                clients.submit(() -> {
+                    try {
+                        start.await();
+                        long t0 = System.nanoTime();
+                        TradeInsightsDto dto = service.getTradeInsights(query, country, null, 10);
+                        latencies.add((System.nanoTime() - t0) / 1_000_000);
+                        if (dto.getNewsSection().getArticles().isEmpty()
+                            || dto.getAgreementsSection().getAgreements().isEmpty()) {
+                            degraded.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                });
+            }
+
+            long wallStart = System.nanoTime();
+            start.countDown();
+            done.await();
+            long wallMs = (System.nanoTime() - wallStart) / 1_000_000;
+
+            return new Result(mode, wallMs, new ArrayList<>(latencies), degraded.get());
+        } finally {
+            shutdown(insightsExecutor);
+            shutdown(providerExecutor);
+        }
+    }
+
+    private static void shutdown(AsyncTaskExecutor executor) {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    private HttpServer startStub(String body) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), CONCURRENT_REQUESTS * 4);
+        server.setExecutor(stubServerThreads);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(PROVIDER_LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static String baseUrl(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/search";
+    }
+
+    private record Result(String mode, long wallMs, List<Long> latencies, int degraded) {
+        void print() {
+            Collections.sort(latencies);
+            System.out.printf("%-9s %8d %8d %8d %8d %10d%n",
+                mode, wallMs, percentile(0.50), percentile(0.99), latencies.get(latencies.size() - 1), degraded);
+        }
+
+        long percentile(double p) {
+            int index = (int) Math.ceil(p * latencies.size()) - 1;
+            return latencies.get(Math.max(0, Math.min(index, latencies.size() - 1)));
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.insights.service;
+
+import com.example.insights.dto.AgreementDto;
+import com.example.insights.dto.AgreementSearchResultDto;
+import com.example.insights.dto.NewsArticleDto;
+import com.example.insights.dto.NewsSearchResultDto;
+import com.example.insights.dto.TradeInsightsDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class TradeInsightsServiceTest {
+
+    private NewsService newsService;
+    private AgreementService agreementService;
+    private SimpleAsyncTaskExecutor executor;
+    private TradeInsightsService service;
+
+    @BeforeEach
+    public void setUp() {
+        newsService = mock(NewsService.class);
+        agreementService = mock(AgreementService.class);
+        executor = new SimpleAsyncTaskExecutor("insights-test-");
+        service = new TradeInsightsService(newsService, agreementService, executor, 1000, 300, 300, 60, 100);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void getTradeInsights_AllSectionsInTime_ReturnsComplete() {
+        when(newsService.searchNews(any(), any(), any(), any(), any(), anyLong())).thenReturn(news("success"));
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenReturn(agreements());
+
+        TradeInsightsDto result = service.getTradeInsights("tariffs", "China", null, 10);
+
+        assertEquals("success", result.getStatus());
+        assertEquals(TradeInsightsService.SECTION_COMPLETE, result.getNewsSection().getStatus());
+        assertEquals(TradeInsightsService.SECTION_COMPLETE, result.getAgreementsSection().getStatus());
+        assertEquals(1, result.getNewsSection().getArticles().size());
+        assertEquals(1, result.getAgreementsSection().getAgreements().size());
+    }
+
+    @Test
+    public void getTradeInsights_SlowAgreements_ReturnsNewsAndTimesOutAgreements() {
+        when(newsService.searchNews(any(), any(), any(), any(), any(), anyLong())).thenReturn(news("success"));
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(5000);
+            return agreements();
+        });
+
+        long start = System.nanoTime();
+        TradeInsightsDto result = service.getTradeInsights("tariffs", "China", null, 10);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("partial", result.getStatus());
+        assertEquals(TradeInsightsService.SECTION_COMPLETE, result.getNewsSection().getStatus());
+        assertEquals(1, result.getNewsSection().getArticles().size());
+        assertEquals(TradeInsightsService.SECTION_TIMED_OUT, result.getAgreementsSection().getStatus());
+        assertTrue(result.getAgreementsSection().getAgreements().isEmpty());
+        assertTrue(elapsedMs < 1000, "response should be bounded by the section deadline, took " + elapsedMs + " ms");
+    }
+
+    @Test
+    public void getTradeInsights_ProviderMissedBudget_MarksNewsPartial() {
+        when(newsService.searchNews(any(), any(), any(), any(), any(), anyLong())).thenReturn(news("partial"));
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenReturn(agreements());
+
+        TradeInsightsDto result = service.getTradeInsights("tariffs", "China", null, 10);
+
+        assertEquals("partial", result.getStatus());
+        assertEquals(TradeInsightsService.SECTION_PARTIAL, result.getNewsSection().getStatus());
+        assertEquals(1, result.getNewsSection().getArticles().size());
+        // provider budget leaves headroom inside the news section deadline
+        verify(newsService).searchNews(eq("tariffs"), eq("China"), isNull(), eq(10), eq(0), eq(200L));
+    }
+
+    @Test
+    public void getTradeInsights_NewsFails_MarksNewsUnavailable() {
+        when(newsService.searchNews(any(), any(), any(), any(), any(), anyLong()))
+            .thenThrow(new RuntimeException("provider down"));
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenReturn(agreements());
+
+        TradeInsightsDto result = service.getTradeInsights("tariffs", "China", null, 10);
+
+        assertEquals(TradeInsightsService.SECTION_UNAVAILABLE, result.getNewsSection().getStatus());
+        assertTrue(result.getNewsSection().getArticles().isEmpty());
+        assertEquals(TradeInsightsService.SECTION_COMPLETE, result.getAgreementsSection().getStatus());
+    }
+
+    @Test
+    public void getTradeInsights_LateAgreements_AreCachedForNextCaller() throws InterruptedException {
+        when(newsService.searchNews(any(), any(), any(), any(), any(), anyLong())).thenReturn(news("success"));
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(600);
+            return agreements();
+        });
+
+        TradeInsightsDto first = service.getTradeInsights("tariffs", "China", null, 10);
+        assertEquals(TradeInsightsService.SECTION_TIMED_OUT, first.getAgreementsSection().getStatus());
+
+        // the lookup keeps running after the deadline and lands in the cache
+        long waitUntil = System.currentTimeMillis() + 2000;
+        while (service.getAgreementsCache().size() == 0 && System.currentTimeMillis() < waitUntil) {
+            Thread.sleep(20);
+        }
+
+        TradeInsightsDto next = service.getTradeInsights("tariffs", " china ", null, 10);
+        assertEquals("success", next.getStatus());
+        assertEquals(TradeInsightsService.SECTION_COMPLETE, next.getAgreementsSection().getStatus());
+        assertEquals(1, next.getAgreementsSection().getAgreements().size());
+        verify(agreementService, times(1)).searchAgreements(any(), any(), any(), any());
+    }
+
+    @Test
+    public void getTradeInsights_AgreementsUnavailable_IsNotCached() {
+        when(newsService.searchNews(any(), any(), any(), any(), any(), anyLong())).thenReturn(news("success"));
+        when(agreementService.searchAgreements(any(), any(), any(), any())).thenReturn(
+            new AgreementSearchResultDto(AgreementService.STATUS_UNAVAILABLE, List.of(), 0, 10, 0, null));
+
+        TradeInsightsDto first = service.getTradeInsights("tariffs", "China", null, 10);
+        TradeInsightsDto second = service.getTradeInsights("tariffs", "China", null, 10);
+
+        assertEquals(TradeInsightsService.SECTION_UNAVAILABLE, first.getAgreementsSection().getStatus());
+        assertEquals(TradeInsightsService.SECTION_UNAVAILABLE, second.getAgreementsSection().getStatus());
+        assertEquals(0, service.getAgreementsCache().size());
+        verify(agreementService, times(2)).searchAgreements(any(), any(), any(), any());
+    }
+
+    private static NewsSearchResultDto news(String status) {
+        NewsArticleDto article = new NewsArticleDto();
+        article.setId("https://example.com/a");
+        return new NewsSearchResultDto(status, List.of(article), 1, 10, 0);
+    }
+
+    private static AgreementSearchResultDto agreements() {
+        return new AgreementSearchResultDto("success", List.of(new AgreementDto()), 1, 10, 0, null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.integration.client;
+
+import com.example.common.metrics.ClientTimers;
+
+import java.time.Instant;
+import java.util.Map;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+// rest client used to tell global-tariffs that a WITS refresh batch has committed
+@Component
+public class GlobalTariffsClient {
+
+    private static final String REFRESH_EVENTS_PATH = "/api/admin/dashboard/refresh-events";
+
+    @Value("${services.global-tariffs.url:http://localhost:8083}")
+    private String globalTariffsUrl;
+
+    private final RestClient restClient;
+    private final Timer reportTimer;
+
+    public GlobalTariffsClient(RestClient restClient, MeterRegistry meterRegistry) {
+        this.restClient = restClient;
+        this.reportTimer = ClientTimers.of(meterRegistry, "global-tariffs", "reportRefresh");
+    }
+
+    // best effort: the dashboard only loses its "last refresh" time if this fails
+    public void reportRefresh(Instant completedAt, int routesUpdated, int routesSkipped) {
+        try {
+            reportTimer.record(() -> restClient.post()
+                    .uri(globalTariffsUrl + REFRESH_EVENTS_PATH)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of(
+                            "completedAt", completedAt.toString(),
+                            "routesUpdated", routesUpdated,
+                            "routesSkipped", routesSkipped))
+                    .retrieve()
+                    .toBodilessEntity());
+        } catch (RestClientException e) {
+            System.err.println("Failed to report refresh to global-tariffs: " + e.getMessage());
+        }
+    }
+}
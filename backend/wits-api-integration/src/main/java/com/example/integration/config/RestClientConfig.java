@@ -8,9 +8,10 @@ import org.springframework.web.client.RestClient;
 @Configuration
 public class RestClientConfig {
     
+    // built from the auto-configured builder so calls are observed (client spans, traceparent header)
     @Bean
-    public RestClient restClient() {
-        return RestClient.create();
+    public RestClient restClient(RestClient.Builder builder) {
+        return builder.build();
     }
 }
 
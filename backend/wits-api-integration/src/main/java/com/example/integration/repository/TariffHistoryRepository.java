@@ -0,0 +1,35 @@
+package com.example.integration.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.integration.dto.TariffRateDto;
+import com.example.integration.entity.TariffHistory;
+import com.example.integration.entity.TariffHistoryId;
+
+public interface TariffHistoryRepository extends JpaRepository<TariffHistory, TariffHistoryId> {
+
+    // insert a yearly observation or overwrite the rates if WITS revised that year
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO \"Tariff Rate History\" (\"country\", \"partner\", \"hs_code\", \"year\", \"ahs_weighted\", \"mfn_weighted\") "
+            + "VALUES (:country, :partner, :hsCode, :year, :ahs, :mfn) "
+            + "ON CONFLICT (\"country\", \"partner\", \"hs_code\", \"year\") DO UPDATE "
+            + "SET \"ahs_weighted\" = EXCLUDED.\"ahs_weighted\", \"mfn_weighted\" = EXCLUDED.\"mfn_weighted\"",
+            nativeQuery = true)
+    int upsert(@Param("country") String country, @Param("partner") String partner, @Param("hsCode") String hsCode,
+               @Param("year") int year, @Param("ahs") double ahs, @Param("mfn") double mfn);
+
+    // write a whole WITS series for one reporter/partner/HS code in a single transaction
+    @Transactional
+    default void upsertSeries(String country, String partner, String hsCode, List<TariffRateDto> series) {
+        for (TariffRateDto point : series) {
+            upsert(country, partner, hsCode, point.getYear(), point.getAhsWeighted(), point.getMfnWeighted());
+        }
+    }
+}
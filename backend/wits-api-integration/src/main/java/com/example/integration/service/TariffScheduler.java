@@ -1,14 +1,17 @@
 package com.example.integration.service;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.integration.client.GlobalTariffsClient;
 import com.example.integration.entity.Product;
 import com.example.integration.repository.ProductRepository;
 import com.example.integration.repository.TariffRepository;
@@ -24,6 +27,7 @@ public class TariffScheduler {
     private final TariffService tariffService;
     private final TariffRepository tariffRepository;
     private final ProductRepository productRepository;
+    private final GlobalTariffsClient globalTariffsClient;
 
     private static final Map<String, String> COUNTRY_NAME_TO_CODE_MAP = Map.of(
             "Australia", "036", "China", "156", "India", "356",
@@ -31,10 +35,12 @@ public class TariffScheduler {
             "Malaysia", "608", "Singapore", "702", "Vietnam", "704", "United States", "840"
     );
 
-    public TariffScheduler(TariffService tariffService, TariffRepository tariffRepository, ProductRepository productRepository) {
+    public TariffScheduler(TariffService tariffService, TariffRepository tariffRepository,
+            ProductRepository productRepository, GlobalTariffsClient globalTariffsClient) {
         this.tariffService = tariffService;
         this.tariffRepository = tariffRepository;
         this.productRepository = productRepository;
+        this.globalTariffsClient = globalTariffsClient;
     }
 
     // run batch update of all tariff combinations asynchronously
@@ -43,15 +49,25 @@ public class TariffScheduler {
         System.out.println(TASK_STARTED_MSG);
 
         List<RequestCombination> requestCombinations = buildRequestCombinations();
+        List<CompletableFuture<Boolean>> updates = new ArrayList<>();
 
         for (RequestCombination combo : requestCombinations) {
             try {
-                tariffService.updateTariffsAsync(combo.reporterCode, combo.partnerCode, combo.hsCode);
+                updates.add(tariffService.updateTariffsAsync(combo.reporterCode, combo.partnerCode, combo.hsCode));
             } catch (Exception e) {
                 System.err.printf(ERROR_LOG_FORMAT + "%n", combo.reporterCode, combo.partnerCode, combo.hsCode, e.getMessage());
             }
         }
 
+        // wait for every combination to commit, then let the admin dashboard know
+        int updated = 0;
+        for (CompletableFuture<Boolean> update : updates) {
+            if (Boolean.TRUE.equals(update.exceptionally(e -> false).join())) {
+                updated++;
+            }
+        }
+        globalTariffsClient.reportRefresh(Instant.now(), updated, requestCombinations.size() - updated);
+
         System.out.println(TASK_COMPLETED_MSG);
     }
 
@@ -3,6 +3,7 @@ package com.example.integration.service;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.example.integration.dto.TariffRateDto;
 import com.example.integration.entity.Tariff;
 import com.example.integration.exception.DataAccessException;
+import com.example.integration.repository.TariffHistoryRepository;
 import com.example.integration.repository.TariffRepository;
 
 // service for updating tariff data from WITS API
@@ -23,8 +25,10 @@ public class TariffService {
     private static final String UPDATE_LOG_FORMAT = "[Updated] Reporter=%s, Partner=%s, HS=%s, Year=%d | AHS=%.2f%% | MFN=%.2f%%";
     private static final String ERROR_LOG_FORMAT = "[Error] No existing DB record for Reporter=%s, Partner=%s, HS=%s";
     private static final String ERROR_WITH_MSG_FORMAT = "[Error] Reporter=%s, Partner=%s, HS=%s: %s";
+    private static final String HISTORY_LOG_FORMAT = "[History] Reporter=%s, Partner=%s, HS=%s | %d years (%d-%d)";
 
     private final TariffRepository tariffRepository;
+    private final TariffHistoryRepository tariffHistoryRepository;
     private final WitsApiService witsApiService;
 
     private static final Map<String, String> COUNTRY_CODE_MAP = Map.of(
@@ -33,24 +37,32 @@ public class TariffService {
             "704", "Vietnam", "840", "United States"
     );
 
-    public TariffService(TariffRepository tariffRepository, WitsApiService witsApiService) {
+    public TariffService(TariffRepository tariffRepository, TariffHistoryRepository tariffHistoryRepository,
+            WitsApiService witsApiService) {
         this.tariffRepository = tariffRepository;
+        this.tariffHistoryRepository = tariffHistoryRepository;
         this.witsApiService = witsApiService;
     }
 
-    // update existing DB row with latest tariff from WITS API (does NOT insert new rows)
+    // store the full yearly series from WITS API in the history table, then update the existing current-rate
+    // row with the latest year (does NOT insert new current-rate rows). completes with true once a
+    // current-rate row was saved, false when nothing was updated or the call failed
     @Async("tariffApiExecutor")
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
-    public void updateTariffsAsync(String reporterCode, String partnerCode, String hsCode) {
+    public CompletableFuture<Boolean> updateTariffsAsync(String reporterCode, String partnerCode, String hsCode) {
         String reporterName = COUNTRY_CODE_MAP.getOrDefault(reporterCode, reporterCode);
         String partnerName = COUNTRY_CODE_MAP.getOrDefault(partnerCode, partnerCode);
 
         try {
-            // fetch latest tariff(s) from WITS API
-            List<TariffRateDto> latestTariffs = witsApiService.fetchTariffs(reporterCode, partnerCode, hsCode);
+            // fetch every year WITS has for this combination (one call, oldest year first)
+            List<TariffRateDto> series = witsApiService.fetchTariffSeries(reporterCode, partnerCode, hsCode);
 
-            if (!latestTariffs.isEmpty()) {
-                TariffRateDto latestTariff = latestTariffs.get(0);
+            if (!series.isEmpty()) {
+                tariffHistoryRepository.upsertSeries(reporterName, partnerName, hsCode, series);
+                System.out.printf(HISTORY_LOG_FORMAT + "%n", reporterName, partnerName, hsCode,
+                        series.size(), series.get(0).getYear(), series.get(series.size() - 1).getYear());
+
+                TariffRateDto latestTariff = series.get(series.size() - 1);
 
                 // fetch existing DB row by reporter + partner + HS code (ignore year)
                 Optional<Tariff> existingTariffOpt = tariffRepository.findByCountryAndPartnerAndHsCode(
@@ -70,6 +82,7 @@ public class TariffService {
                             reporterName, partnerName, hsCode, latestTariff.getYear(),
                             latestTariff.getAhsWeighted(),
                             latestTariff.getMfnWeighted());
+                    return CompletableFuture.completedFuture(true);
                 } else {
                     // row missing in DB, do NOT insert
                     System.err.printf(ERROR_LOG_FORMAT + "%n",
@@ -83,5 +96,6 @@ public class TariffService {
             System.err.printf(ERROR_WITH_MSG_FORMAT + "%n",
                     reporterName, partnerName, hsCode, msg);
         }
+        return CompletableFuture.completedFuture(false);
     }
 }
@@ -5,12 +5,16 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestClientResponseException;
 
+import com.example.common.metrics.ClientTimers;
 import com.example.integration.dto.TariffRateDto;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
@@ -28,84 +32,95 @@ public class WitsApiService {
 
     private final RestClient restClient;
     private final ObjectMapper objectMapper;
+    private final Timer seriesTimer;
 
-    public WitsApiService(RestClient restClient, ObjectMapper objectMapper) {
+    public WitsApiService(RestClient restClient, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
         this.restClient = restClient;
         this.objectMapper = objectMapper;
+        this.seriesTimer = ClientTimers.of(meterRegistry, "wits", "tariffSeries");
     }
 
-    // fetch tariff rates from WITS API for given reporter, partner, and HS code
+    // fetch the latest year's tariff rate from WITS API for given reporter, partner, and HS code
     public List<TariffRateDto> fetchTariffs(String reporterCode, String partnerCode, String hsCode) {
-        List<TariffRateDto> result = new ArrayList<>();
+        List<TariffRateDto> series = fetchTariffSeries(reporterCode, partnerCode, hsCode);
+        if (series.isEmpty()) {
+            return series;
+        }
+        TariffRateDto latest = series.get(series.size() - 1);
+        System.out.printf(API_DATA_FOUND_LOG + "%n", reporterCode, partnerCode, hsCode, latest.getYear());
+        return List.of(latest);
+    }
+
+    // fetch every year WITS reports for given reporter, partner, and HS code, oldest year first
+    public List<TariffRateDto> fetchTariffSeries(String reporterCode, String partnerCode, String hsCode) {
         String apiUrl = String.format(WITS_API_BASE_URL, reporterCode, partnerCode, hsCode);
 
         try {
-            
-            String apiResponse = restClient.get()
+            String apiResponse = seriesTimer.record(() -> restClient.get()
                     .uri(apiUrl)
                     .retrieve()
-                    .body(String.class);
-
-            JsonNode rootNode = objectMapper.readTree(apiResponse);
+                    .body(String.class));
 
-            JsonNode dataSets = rootNode.path("dataSets");
-            if (dataSets.isMissingNode() || !dataSets.isArray() || dataSets.size() == 0) {
-                return result;
-            }
+            return parseSeries(apiResponse, reporterCode, partnerCode, hsCode);
+        } catch (JsonProcessingException | NumberFormatException | RestClientResponseException e) {
+            return Collections.emptyList();
+        } catch (RestClientException e) {
+            return Collections.emptyList();
+        }
+    }
 
-            JsonNode seriesNode = dataSets.get(0).path("series");
-            if (seriesNode.isMissingNode() || seriesNode.isEmpty()) {
-                return result;
-            }
+    // parse the SDMX-JSON payload into one dto per year (a later series wins if two report the same year)
+    List<TariffRateDto> parseSeries(String apiResponse, String reporterCode, String partnerCode, String hsCode)
+            throws JsonProcessingException {
+        JsonNode rootNode = objectMapper.readTree(apiResponse);
 
-            JsonNode obsYearsNode = rootNode.path("structure")
-                    .path("dimensions")
-                    .path("observation")
-                    .get(0)
-                    .path("values");
+        JsonNode dataSets = rootNode.path("dataSets");
+        if (dataSets.isMissingNode() || !dataSets.isArray() || dataSets.size() == 0) {
+            return Collections.emptyList();
+        }
 
-            // build index to year mapping from observation dimensions
-            Map<Integer, Integer> indexToYearMap = new HashMap<>();
-            for (int i = 0; i < obsYearsNode.size(); i++) {
-                indexToYearMap.put(i, obsYearsNode.get(i).path("id").asInt());
-            }
+        JsonNode seriesNode = dataSets.get(0).path("series");
+        if (seriesNode.isMissingNode() || seriesNode.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            // parse tariff data from series observations
-            Map<Integer, TariffRateDto> yearToTariffMap = new HashMap<>();
-            for (Map.Entry<String, JsonNode> seriesEntry : seriesNode.properties()) {
-                JsonNode observations = seriesEntry.getValue().path("observations");
-                if (observations.isMissingNode() || observations.isEmpty()) {
-                    continue;
-                }
+        JsonNode obsYearsNode = rootNode.path("structure")
+                .path("dimensions")
+                .path("observation")
+                .path(0)
+                .path("values");
 
-                for (Map.Entry<String, JsonNode> obsEntry : observations.properties()) {
-                    int obsIndex = Integer.parseInt(obsEntry.getKey());
-                    int year = indexToYearMap.getOrDefault(obsIndex, DEFAULT_YEAR);
+        // build index to year mapping from observation dimensions
+        Map<Integer, Integer> indexToYearMap = new HashMap<>();
+        for (int i = 0; i < obsYearsNode.size(); i++) {
+            indexToYearMap.put(i, obsYearsNode.get(i).path("id").asInt());
+        }
 
-                    JsonNode obsValues = obsEntry.getValue();
-                    double ahsRate = obsValues.get(AHS_RATE_INDEX).asDouble();
-                    double mfnRate = obsValues.get(MFN_RATE_INDEX).asDouble();
+        // parse tariff data from series observations, ordered by year
+        TreeMap<Integer, TariffRateDto> yearToTariffMap = new TreeMap<>();
+        for (Map.Entry<String, JsonNode> seriesEntry : seriesNode.properties()) {
+            JsonNode observations = seriesEntry.getValue().path("observations");
+            if (observations.isMissingNode() || observations.isEmpty()) {
+                continue;
+            }
 
-                    yearToTariffMap.put(year,
-                            new TariffRateDto(reporterCode, partnerCode, hsCode, year, ahsRate, mfnRate));
+            for (Map.Entry<String, JsonNode> obsEntry : observations.properties()) {
+                int obsIndex = Integer.parseInt(obsEntry.getKey());
+                int year = indexToYearMap.getOrDefault(obsIndex, DEFAULT_YEAR);
+                if (year == DEFAULT_YEAR) {
+                    continue; // observation without a known year can't be placed in the series
                 }
-            }
 
-            // return latest year's tariff data
-            if (!yearToTariffMap.isEmpty()) {
-                int latestYear = Collections.max(yearToTariffMap.keySet());
-                result.add(yearToTariffMap.get(latestYear));
-                System.out.printf(API_DATA_FOUND_LOG + "%n",
-                        reporterCode, partnerCode, hsCode, latestYear);
-            }
+                JsonNode obsValues = obsEntry.getValue();
+                double ahsRate = obsValues.path(AHS_RATE_INDEX).asDouble();
+                double mfnRate = obsValues.path(MFN_RATE_INDEX).asDouble();
 
-        } catch (JsonProcessingException | NumberFormatException | RestClientResponseException e) {
-            return Collections.emptyList();
-        } catch (RestClientException e) {
-            return Collections.emptyList();
+                yearToTariffMap.put(year,
+                        new TariffRateDto(reporterCode, partnerCode, hsCode, year, ahsRate, mfnRate));
+            }
         }
 
-        return result;
+        return new ArrayList<>(yearToTariffMap.values());
     }
 
 }
@@ -24,6 +24,8 @@ interface DashboardStats {
   totalProducts: number
   totalCountries: number
   totalCountryPairs: number
+  ftaCoverage?: { ftaRoutes: number; totalRoutes: number; percentage: number }
+  lastRefreshTime?: string | null
 }
 
 export function AdminDashboard() {
@@ -179,11 +181,17 @@ export function AdminDashboard() {
                 </div>
                 <p className="text-xs text-muted-foreground mt-1">
                   Trade relationships
+                  {stats?.ftaCoverage ? ` · ${stats.ftaCoverage.percentage}% FTA` : ""}
                 </p>
               </CardContent>
             </Card>
           </div>
 
+          <p className="text-xs text-muted-foreground">
+            Last WITS refresh:{" "}
+            {stats?.lastRefreshTime ? new Date(stats.lastRefreshTime).toLocaleString() : "not recorded yet"}
+          </p>
+
           {/* Quick Actions */}
           <Card>
             <CardHeader>
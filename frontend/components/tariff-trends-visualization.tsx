@@ -34,6 +34,8 @@ export interface FilterSelection {
 
 const API_BASE_URL = "http://localhost:8080/api"
 const MAX_LINES = 10
+// server aggregates longer ranges into this many buckets per line
+const MAX_POINTS_PER_LINE = 120
 
 export function TariffTrendsVisualization() {
   const [filters, setFilters] = useState<FilterSelection>({
@@ -103,7 +105,8 @@ export function TariffTrendsVisualization() {
       endDate: filters.dateRange.end,
       importCountries: filters.importCountries.join(','),
       exportCountries: filters.exportCountries.join(','),
-      products: filters.products.join(',')
+      products: filters.products.join(','),
+      maxPoints: String(MAX_POINTS_PER_LINE)
     })
 
     const response = await fetch(`${API_BASE_URL}/tariff-trends?${params}`, {
@@ -144,9 +147,10 @@ export function TariffTrendsVisualization() {
       importCountry: series.importCountry,
       exportCountry: series.exportCountry,
       product: series.product,
-      data: series.dataPoints.map((point: any) => ({
-        date: point.date,
-        tariffRate: point.rate
+      // columnar series: dates[i] pairs with rates[i]
+      data: (series.dates ?? []).map((date: string, i: number) => ({
+        date,
+        tariffRate: series.rates[i]
       })),
       color: colors[index % colors.length]
     }))
@@ -62,14 +62,24 @@ interface TradeInsightsResult {
     title?: string;
     articles?: NewsArticle[];
     totalCount?: number;
+    status?: string;
   };
   agreementsSection?: {
     title?: string;
     agreements?: AgreementDto[];
     totalCount?: number;
+    status?: string;
   };
 }
 
+// sections the backend couldn't fully load within its deadline
+const sectionNotice = (status?: string) => {
+  if (status === "partial") return " Some sources did not respond in time.";
+  if (status === "timed_out") return " This section timed out, try again shortly.";
+  if (status === "unavailable") return " This section is currently unavailable.";
+  return "";
+};
+
 const formatDate = (value?: string) => {
   if (!value) return "";
   const date = new Date(value);
@@ -364,6 +374,7 @@ export function TradeInsightsView({ apiBaseUrl, getAuthToken }: TradeInsightsVie
             {combinedResult.newsSection?.totalCount
               ? `${combinedResult.newsSection.totalCount} related articles found.`
               : "No related news found yet."}
+            {sectionNotice(combinedResult.newsSection?.status)}
           </p>
           {combinedResult.newsSection?.articles && combinedResult.newsSection.articles.length > 0 ? (
             <div className="space-y-4">
@@ -410,6 +421,7 @@ export function TradeInsightsView({ apiBaseUrl, getAuthToken }: TradeInsightsVie
             {combinedResult.agreementsSection?.totalCount
               ? `${combinedResult.agreementsSection.totalCount} related agreements found.`
               : "No related agreements found yet."}
+            {sectionNotice(combinedResult.agreementsSection?.status)}
           </p>
           {combinedResult.agreementsSection?.agreements && combinedResult.agreementsSection.agreements.length > 0 ? (
             <div className="space-y-4">